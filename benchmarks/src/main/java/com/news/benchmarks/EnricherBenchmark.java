@@ -0,0 +1,101 @@
+package com.news.benchmarks;
+
+import com.news.model.Article;
+import com.news.model.ArticleStatus;
+import com.news.parser.enriched.BBCArticleParser;
+import com.news.parser.enriched.KedrArticleParser;
+import com.news.parser.enriched.KommersantArticleParser;
+import com.news.parser.enriched.NHKArticleParser;
+import com.news.parser.enriched.NipponArticleParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Article page throughput: parsing a recorded article and filling an article from it
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EnricherBenchmark {
+    private static final String BBC_URL = "https://www.bbc.com/news/articles/c0001";
+    private static final String NHK_URL = "https://www3.nhk.or.jp/nhkworld/en/news/20250610_001/";
+    private static final String KOMMERSANT_URL = "https://www.kommersant.ru/doc/7700000";
+    private static final String NIPPON_URL = "https://www.nippon.com/ru/japan-topics/g02400/";
+    private static final String KEDR_URL = "https://kedr.media/news/article-1/";
+
+    private final BBCArticleParser bbc = new BBCArticleParser();
+    private final NHKArticleParser nhk = new NHKArticleParser();
+    private final KommersantArticleParser kommersant = new KommersantArticleParser();
+    private final NipponArticleParser nippon = new NipponArticleParser();
+    private final KedrArticleParser kedr = new KedrArticleParser();
+
+    private byte[] bbcArticle;
+    private byte[] nhkArticle;
+    private byte[] kommersantArticle;
+    private byte[] nipponArticle;
+    private byte[] kedrArticle;
+
+    @Setup
+    public void load() {
+        bbcArticle = Fixtures.bytes("bbc-article.html");
+        nhkArticle = Fixtures.bytes("nhk-article.html");
+        kommersantArticle = Fixtures.bytes("kommersant-article.html");
+        nipponArticle = Fixtures.bytes("nippon-article.html");
+        kedrArticle = Fixtures.bytes("kedr-article.html");
+    }
+
+    @Benchmark
+    public Article bbcArticle() {
+        Article article = raw(BBC_URL);
+        bbc.enrich(article, Fixtures.html(bbcArticle, BBC_URL));
+        return article;
+    }
+
+    @Benchmark
+    public Article nhkArticle() {
+        Article article = raw(NHK_URL);
+        nhk.enrich(article, Fixtures.html(nhkArticle, NHK_URL));
+        return article;
+    }
+
+    @Benchmark
+    public Article kommersantArticle() {
+        Article article = raw(KOMMERSANT_URL);
+        kommersant.enrich(article, Fixtures.html(kommersantArticle, KOMMERSANT_URL));
+        return article;
+    }
+
+    @Benchmark
+    public Article nipponArticle() {
+        Article article = raw(NIPPON_URL);
+        nippon.enrich(article, Fixtures.html(nipponArticle, NIPPON_URL));
+        return article;
+    }
+
+    @Benchmark
+    public Article kedrArticle() {
+        Article article = raw(KEDR_URL);
+        kedr.enrich(article, Fixtures.html(kedrArticle, KEDR_URL));
+        return article;
+    }
+
+    private static Article raw(String url) {
+        return Article.builder()
+                .url(url)
+                .status(ArticleStatus.RAW)
+                .build();
+    }
+}
@@ -0,0 +1,91 @@
+package com.news.benchmarks;
+
+import com.news.executor.impl.system.export.ExportService;
+import com.news.executor.impl.system.export.Exporter;
+import com.news.executor.impl.system.export.ExporterFactory;
+import com.news.model.Article;
+import com.news.model.ExportFormat;
+import com.news.storage.inter.ArticleRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exporter throughput per format, both building the whole document in memory and streaming
+ * it, and ExportService combining cursor batches into one export
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExporterBenchmark {
+    @Param({"CSV", "JSON", "HTML"})
+    public ExportFormat format;
+
+    @Param({"100", "1000"})
+    public int articleCount;
+
+    private List<Article> articles;
+    private Exporter exporter;
+    private ExportService exportService;
+
+    @Setup
+    public void load() {
+        articles = Fixtures.articles(articleCount);
+        exporter = ExporterFactory.getExporter(format);
+        exportService = new ExportService(repositoryOf(articles));
+    }
+
+    @Benchmark
+    public String exportToString() {
+        return exporter.export(articles);
+    }
+
+    @Benchmark
+    public void exportStreaming() throws IOException {
+        try (Exporter.ArticleWriter writer = exporter.openWriter(Writer.nullWriter())) {
+            for (Article article : articles) {
+                writer.write(article);
+            }
+        }
+    }
+
+    @Benchmark
+    public int exportServiceAll() throws IOException {
+        return exportService.exportAll(format, Writer.nullWriter());
+    }
+
+    /**
+     * Repository whose cursor streams the fixture articles; everything else is unsupported
+     */
+    private static ArticleRepository repositoryOf(List<Article> articles) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getName().equals("streamAll")) {
+                return articles.stream();
+            }
+            if (method.isDefault()) {
+                return InvocationHandler.invokeDefault(proxy, method, args);
+            }
+            throw new UnsupportedOperationException(method.getName());
+        };
+        return (ArticleRepository) Proxy.newProxyInstance(
+                ArticleRepository.class.getClassLoader(), new Class<?>[]{ArticleRepository.class}, handler);
+    }
+}
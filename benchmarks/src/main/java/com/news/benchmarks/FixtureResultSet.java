@@ -0,0 +1,73 @@
+package com.news.benchmarks;
+
+import com.news.model.Article;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only, forward-only ResultSet over in-memory rows of the articles table, so the mapper
+ * can be measured without a database. Only the getters the mapper uses are supported.
+ */
+public final class FixtureResultSet {
+    private FixtureResultSet() {
+    }
+
+    public static List<Map<String, Object>> rowsOf(List<Article> articles) {
+        List<Map<String, Object>> rows = new ArrayList<>(articles.size());
+        for (Article article : articles) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("id", article.getId());
+            row.put("title", article.getTitle());
+            row.put("url", article.getUrl());
+            row.put("summary", article.getSummary());
+            row.put("content", article.getContent());
+            row.put("region", article.getRegion());
+            row.put("published_at", article.getPublishedAt() != null ? Timestamp.valueOf(article.getPublishedAt()) : null);
+            row.put("author", article.getAuthor());
+            row.put("source_name", article.getSourceName());
+            row.put("image_url", article.getImageUrl());
+            row.put("language", article.getLanguage());
+            row.put("status", article.getStatus().name());
+            row.put("rating", article.getRating());
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    public static ResultSet over(List<Map<String, Object>> rows) {
+        int[] cursor = {-1};
+        Object[] lastValue = {null};
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "next":
+                            return ++cursor[0] < rows.size();
+                        case "close":
+                            return null;
+                        case "wasNull":
+                            return lastValue[0] == null;
+                        default:
+                            break;
+                    }
+                    if (args == null || args.length != 1 || !(args[0] instanceof String column)) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    Object value = rows.get(cursor[0]).get(column);
+                    lastValue[0] = value;
+                    return switch (method.getName()) {
+                        case "getLong" -> value != null ? ((Number) value).longValue() : 0L;
+                        case "getInt" -> value != null ? ((Number) value).intValue() : 0;
+                        case "getString" -> (String) value;
+                        case "getTimestamp" -> (Timestamp) value;
+                        case "getObject" -> value;
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    };
+                });
+    }
+}
@@ -0,0 +1,72 @@
+package com.news.benchmarks;
+
+import com.news.model.Article;
+import com.news.model.ArticleStatus;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Recorded pages under resources/fixtures; HTML is parsed the way HttpFetcher parses fetched bytes
+ */
+public final class Fixtures {
+    private Fixtures() {
+    }
+
+    public static byte[] bytes(String name) {
+        try (InputStream in = Fixtures.class.getResourceAsStream("/fixtures/" + name)) {
+            if (in == null) {
+                throw new IllegalArgumentException("No fixture named " + name);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static Document html(byte[] page, String baseUri) {
+        try {
+            return Jsoup.parse(new ByteArrayInputStream(page), null, baseUri);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Analyzed articles with realistic field sizes, as the exporters and mappers see them
+     */
+    public static List<Article> articles(int count) {
+        String paragraph = "The government said on Tuesday that new measures would be introduced to support " +
+                "households facing higher energy costs, while officials warned that markets remained volatile, " +
+                "\"unusually so\" for the season; analysts expected further changes. ";
+        LocalDateTime publishedAt = LocalDateTime.of(2025, 6, 10, 18, 0);
+
+        List<Article> articles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            articles.add(Article.builder()
+                    .id((long) i + 1)
+                    .title("Energy support measures announced, part " + i)
+                    .url("https://www.bbc.com/news/articles/c" + i)
+                    .summary(paragraph)
+                    .content(paragraph.repeat(12))
+                    .region(i % 2 == 0 ? "Europe" : "East Asia")
+                    .tags(new ArrayList<>(List.of("Energy", "Economy", "Government")))
+                    .publishedAt(publishedAt.minusMinutes(i))
+                    .author("Jane Smith")
+                    .sourceName(i % 3 == 0 ? "BBC" : "NHK")
+                    .imageUrl("https://ichef.bbci.co.uk/news/" + i + ".jpg")
+                    .language("eng")
+                    .status(ArticleStatus.ANALYZED)
+                    .rating(50 + i % 50)
+                    .build());
+        }
+        return articles;
+    }
+}
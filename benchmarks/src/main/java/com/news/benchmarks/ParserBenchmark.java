@@ -0,0 +1,89 @@
+package com.news.benchmarks;
+
+import com.news.model.Article;
+import com.news.parser.raw.BBCParser;
+import com.news.parser.raw.KedrParser;
+import com.news.parser.raw.KommersantParser;
+import com.news.parser.raw.NHKParser;
+import com.news.parser.raw.NipponParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listing page throughput: parsing the recorded bytes and extracting the article links, which
+ * is the per-crawl cost of each parser once the page has been downloaded
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParserBenchmark {
+    private final BBCParser bbc = new BBCParser();
+    private final NHKParser nhk = new NHKParser();
+    private final KommersantParser kommersant = new KommersantParser();
+    private final NipponParser nippon = new NipponParser();
+    private final KedrParser kedr = new KedrParser();
+
+    private byte[] bbcFrontPage;
+    private byte[] nhkNewsList;
+    private byte[] kommersantSitemap;
+    private byte[] nipponSitemap;
+    private byte[] kedrSection;
+
+    @Setup
+    public void load() {
+        bbcFrontPage = Fixtures.bytes("bbc-news.html");
+        nhkNewsList = Fixtures.bytes("nhk-news-list.html");
+        kommersantSitemap = Fixtures.bytes("kommersant-sitemap-rubric.xml");
+        nipponSitemap = Fixtures.bytes("nippon-articles.xml");
+        kedrSection = Fixtures.bytes("kedr-news.html");
+    }
+
+    @Benchmark
+    public List<Article> bbcFrontPage() {
+        return bbc.parseFrontPage(Fixtures.html(bbcFrontPage, "https://www.bbc.com/news"));
+    }
+
+    @Benchmark
+    public List<Article> nhkNewsList() {
+        return nhk.parseNewsList(Fixtures.html(nhkNewsList, "https://www3.nhk.or.jp/nhkworld/en/news/list/"));
+    }
+
+    // no cutoff: the whole sitemap is read, the worst case for a first crawl
+    @Benchmark
+    public List<Article> kommersantSitemap() throws IOException {
+        return kommersant.parseRubric(new ByteArrayInputStream(kommersantSitemap), LocalDateTime.MIN);
+    }
+
+    // the fixture's newest entry is from 18:00, so only the last hour is read
+    @Benchmark
+    public List<Article> kommersantSitemapLastHour() throws IOException {
+        return kommersant.parseRubric(new ByteArrayInputStream(kommersantSitemap), LocalDateTime.of(2025, 6, 10, 17, 0));
+    }
+
+    @Benchmark
+    public List<Article> nipponSitemap() throws IOException {
+        return nippon.parseSitemap(new ByteArrayInputStream(nipponSitemap), LocalDateTime.MIN);
+    }
+
+    @Benchmark
+    public List<Article> kedrSection() {
+        return kedr.parseSection(Fixtures.html(kedrSection, "https://kedr.media/category/news"), null);
+    }
+}
@@ -0,0 +1,46 @@
+package com.news.benchmarks;
+
+import com.news.model.Article;
+import com.news.storage.util.ArticleResultSetMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning article rows into Article objects, without the tag lookup round trip
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResultSetMapperBenchmark {
+    @Param({"100", "1000"})
+    public int rowCount;
+
+    private List<Map<String, Object>> rows;
+
+    @Setup
+    public void load() {
+        rows = FixtureResultSet.rowsOf(Fixtures.articles(rowCount));
+    }
+
+    @Benchmark
+    public List<Article> mapRows() throws SQLException {
+        return ArticleResultSetMapper.mapRows(FixtureResultSet.over(rows), null);
+    }
+}
@@ -14,7 +14,14 @@ CREATE TABLE articles
     status       TEXT        DEFAULT 'RAW',
     rating       INT         DEFAULT 0,
     published_at TIMESTAMPTZ,
-    created_at   TIMESTAMPTZ DEFAULT CURRENT_TIMESTAMP
+    created_at   TIMESTAMPTZ DEFAULT CURRENT_TIMESTAMP,
+    -- title ranks above content; ru articles use the russian stemmer, everything else english
+    search_vector TSVECTOR GENERATED ALWAYS AS (
+        setweight(to_tsvector(CASE WHEN language = 'ru' THEN 'russian'::regconfig ELSE 'english'::regconfig END,
+                              coalesce(title, '')), 'A') ||
+        setweight(to_tsvector(CASE WHEN language = 'ru' THEN 'russian'::regconfig ELSE 'english'::regconfig END,
+                              coalesce(content, '')), 'B')
+    ) STORED
 );
 
 CREATE TABLE tags
@@ -30,6 +37,56 @@ CREATE TABLE article_tags
     PRIMARY KEY (article_id, tag_id)
 );
 
-CREATE INDEX IF NOT EXISTS idx_articles_status ON articles (status);
 CREATE INDEX IF NOT EXISTS idx_articles_published_at ON articles (published_at);
-CREATE INDEX IF NOT EXISTS idx_articles_source_name ON articles (source_name);
+
+-- keyset pagination for `list`: one (sort key, id) index per sort column, matching the
+-- expressions in JdbcArticleRepository; btrees scan backwards, so they serve asc and desc
+CREATE INDEX IF NOT EXISTS idx_articles_published_keyset
+    ON articles ((COALESCE(published_at, '-infinity'::timestamptz)), id);
+CREATE INDEX IF NOT EXISTS idx_articles_title_keyset ON articles ((COALESCE(title, '')), id);
+CREATE INDEX IF NOT EXISTS idx_articles_source_keyset ON articles ((COALESCE(source_name, '')), id);
+CREATE INDEX IF NOT EXISTS idx_articles_author_keyset ON articles ((COALESCE(author, '')), id);
+-- the common filtered listings; the leading column also serves plain status/source lookups
+CREATE INDEX IF NOT EXISTS idx_articles_status_published_keyset
+    ON articles (status, (COALESCE(published_at, '-infinity'::timestamptz)), id);
+CREATE INDEX IF NOT EXISTS idx_articles_source_published_keyset
+    ON articles (source_name, (COALESCE(published_at, '-infinity'::timestamptz)), id);
+CREATE INDEX IF NOT EXISTS idx_article_tags_tag_id ON article_tags (tag_id);
+CREATE INDEX IF NOT EXISTS idx_articles_search_vector ON articles USING GIN (search_vector);
+CREATE INDEX IF NOT EXISTS idx_articles_top_rated ON articles (rating DESC, published_at DESC) WHERE rating > 0;
+
+-- statistics snapshot read by `stats`; refreshed concurrently by JdbcStatsSnapshotRepository,
+-- which needs a unique index on every view
+CREATE MATERIALIZED VIEW IF NOT EXISTS article_counts_mv AS
+SELECT status,
+       source_name,
+       language,
+       (published_at AT TIME ZONE 'UTC')::date AS published_day,
+       COUNT(*)                                AS count
+FROM articles
+GROUP BY status, source_name, language, published_day;
+CREATE UNIQUE INDEX IF NOT EXISTS idx_article_counts_mv_key
+    ON article_counts_mv (status, source_name, language, published_day) NULLS NOT DISTINCT;
+
+CREATE MATERIALIZED VIEW IF NOT EXISTS author_counts_mv AS
+SELECT author, COUNT(*) AS count
+FROM articles
+WHERE author IS NOT NULL
+GROUP BY author;
+CREATE UNIQUE INDEX IF NOT EXISTS idx_author_counts_mv_author ON author_counts_mv (author);
+CREATE INDEX IF NOT EXISTS idx_author_counts_mv_count ON author_counts_mv (count DESC);
+
+CREATE MATERIALIZED VIEW IF NOT EXISTS tag_counts_mv AS
+SELECT t.name, COUNT(*) AS count
+FROM tags t
+         JOIN article_tags at ON t.id = at.tag_id
+GROUP BY t.name;
+CREATE UNIQUE INDEX IF NOT EXISTS idx_tag_counts_mv_name ON tag_counts_mv (name);
+CREATE INDEX IF NOT EXISTS idx_tag_counts_mv_count ON tag_counts_mv (count DESC);
+
+CREATE TABLE IF NOT EXISTS stats_snapshot
+(
+    id           INTEGER PRIMARY KEY CHECK (id = 1),
+    refreshed_at TIMESTAMPTZ NOT NULL
+);
+INSERT INTO stats_snapshot (id, refreshed_at) VALUES (1, NOW()) ON CONFLICT (id) DO NOTHING;
@@ -47,4 +47,26 @@ public class ConfigLoader {
         }
     }
 
+    public static String getProperty(String key) {
+        try (FileInputStream in = new FileInputStream("config.properties")) {
+            Properties props = new Properties();
+            props.load(in);
+            return props.getProperty(key);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        String value = getProperty(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            System.out.println("Invalid value for " + key + ": " + value + ", using " + defaultValue);
+            return defaultValue;
+        }
+    }
 }
@@ -3,6 +3,7 @@ package com.news;
 import com.news.executor.CliEngine;
 import com.news.executor.CommandExecutorService;
 import com.news.executor.CommandRegistry;
+import com.news.metrics.MetricsDumper;
 import com.news.parser.ParserRegistry;
 import com.news.storage.DatabaseService;
 
@@ -20,11 +21,15 @@ public class Main {
 
             CommandExecutorService executor = new CommandExecutorService(registry);
             CliEngine engine = new CliEngine(executor);
+            MetricsDumper metricsDumper = MetricsDumper.startFromConfig();
 
             // Add shutdown hook to close database connection | gpt fix
             Runtime.getRuntime().addShutdownHook(new Thread(() -> {
                 System.out.println("Closing database connections...");
                 databaseService.close();
+                if (metricsDumper != null) {
+                    metricsDumper.close();
+                }
             }));
 
             // run cli engine
@@ -1,47 +1,137 @@
 package com.news.ai;
 
+import com.news.ConfigLoader;
+import com.news.ai.client.OllamaRequestScheduler;
+import com.news.metrics.MetricsRegistry;
 import com.news.model.Article;
 import com.news.model.ArticleStatus;
 import com.news.storage.DatabaseService;
 
+import java.util.Iterator;
 import java.util.List;
-
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Analyzes articles concurrently on virtual threads. At most maxConcurrentArticles articles are
+ * in analysis at once and they are started in submission order, so earlier articles finish
+ * first; the Ollama request scheduler bounds the calls that actually reach the server.
+ */
 public class AIAnalysisService {
     private final DatabaseService databaseService;
     private final ArticleAnalyzer analyzer;
+    private final int maxConcurrentArticles;
+    private final Semaphore articleSlots;
+    private final ExecutorService tasks = Executors.newVirtualThreadPerTaskExecutor();
+    private final MetricsRegistry metrics = MetricsRegistry.shared();
     private static final int INITIAL_DELAY_MS = 2500;  // 2.5 seconds
     private static final int MAX_RETRIES = 3;
 
     public AIAnalysisService(DatabaseService databaseService, ArticleAnalyzer analyzer) {
+        this(databaseService, analyzer, ConfigLoader.getInt("AI_MAX_CONCURRENT_ARTICLES",
+                OllamaRequestScheduler.shared().getMaxInFlight()));
+    }
+
+    public AIAnalysisService(DatabaseService databaseService, ArticleAnalyzer analyzer, int maxConcurrentArticles) {
         this.databaseService = databaseService;
         this.analyzer = analyzer;
+        this.maxConcurrentArticles = Math.max(1, maxConcurrentArticles);
+        this.articleSlots = new Semaphore(this.maxConcurrentArticles, true);
     }
 
     public int analyzeArticles(List<Article> articles) {
-        int successCount = 0;
-
         System.out.println("Starting AI analysis of " + articles.size() + " articles...");
+        return analyzeArticles(articles.stream());
+    }
 
-        for (Article article : articles) {
-            try {
-                if (processArticleWithRetry(article)) {
-                    successCount++;
-                }
-            } catch (InterruptedException e) {
-                System.err.println("Analysis interrupted for article: " + article.getTitle());
-                Thread.currentThread().interrupt(); // Preserve interrupt status
-                break;
+    /**
+     * Analyzes and saves articles as the stream produces them. Only a small window of articles
+     * beyond the ones being analyzed is read ahead, so a long backlog is never loaded whole.
+     *
+     * @return number of articles analyzed and saved successfully
+     */
+    public int analyzeArticles(Stream<Article> articles) {
+        int window = maxConcurrentArticles * 2;
+        Semaphore pending = new Semaphore(window);
+        AtomicInteger successCount = new AtomicInteger();
+        Set<CompletableFuture<Boolean>> running = ConcurrentHashMap.newKeySet();
+
+        try {
+            Iterator<Article> iterator = articles.iterator();
+            while (iterator.hasNext()) {
+                Article article = iterator.next();
+                pending.acquire();
+                CompletableFuture<Boolean> future = submit(article);
+                running.add(future);
+                future.whenComplete((success, error) -> {
+                    if (Boolean.TRUE.equals(success)) {
+                        successCount.incrementAndGet();
+                    } else if (error != null && !(error instanceof CancellationException)) {
+                        System.err.println("Analysis interrupted for article: " + article.getTitle());
+                    }
+                    running.remove(future);
+                    pending.release();
+                });
             }
+            // wait for the articles still in analysis
+            pending.acquire(window);
+        } catch (InterruptedException e) {
+            System.err.println("Analysis interrupted, cancelling " + running.size() + " articles in progress");
+            running.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt(); // Preserve interrupt status
         }
 
-        return successCount;
+        return successCount.get();
     }
 
-    private boolean processArticleWithRetry(Article article) throws InterruptedException {
+    /**
+     * Queues the article for analysis and saving. The future completes with true when the
+     * article was analyzed and saved; cancelling it interrupts the analysis.
+     */
+    public CompletableFuture<Boolean> submit(Article article) {
+        CompletableFuture<Boolean> completion = new CompletableFuture<>();
+        Future<?> task = tasks.submit(() -> {
+            try {
+                completion.complete(analyzeAndSave(article));
+            } catch (Throwable e) {
+                completion.completeExceptionally(e);
+            }
+        });
+        completion.whenComplete((result, error) -> {
+            if (completion.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        return completion;
+    }
+
+    private boolean analyzeAndSave(Article article) throws InterruptedException {
+        articleSlots.acquire();
+        try {
+            boolean success = analyzeWithRetry(article);
+            return save(article) && success;
+        } finally {
+            articleSlots.release();
+        }
+    }
+
+    /**
+     * Runs the analyzer with retries and applies the result to the article without saving it.
+     * The article ends up ANALYZED on success and ERROR otherwise.
+     */
+    public boolean analyzeWithRetry(Article article) throws InterruptedException {
         int retries = 0;
-        boolean success = false;
+        long start = System.nanoTime();
 
-        while (!success && retries < MAX_RETRIES) {
+        while (retries < MAX_RETRIES) {
             try {
                 EnrichmentResult result = analyzer.analyze(article);
 
@@ -53,58 +143,57 @@ public class AIAnalysisService {
                          result.getRating() != null)) {
 
                     System.out.println("Successfully analyzed article: " + article.getTitle());
+                    applyResult(article, result);
+                    metrics.timer("news_analysis_seconds").recordSince(start);
+                    metrics.counter("news_articles_analyzed_total").increment();
+                    return true;
+                }
 
-                    // Update article with AI analysis results
-                    if (result.getSummary() != null) {
-                        article.setSummary(result.getSummary());
-                    }
-
-                    // Update region only if it's not null and not empty
-                    if (result.getRegion() != null && !result.getRegion().isBlank()) {
-                        article.setRegion(result.getRegion());
-                    }
-
-                    // Update tags if present
-                    if (result.getTags() != null) {
-                        article.setTags(result.getTags());
-                    }
+                System.out.println("Incomplete result for article: " + article.getTitle());
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                System.err.println("Error analyzing article " + article.getTitle() + ": " + e.getMessage());
+            }
+            retries++;
+            // Exponential backoff for retries
+            Thread.sleep((long) (INITIAL_DELAY_MS * Math.pow(2, retries)));
+        }
 
-                    // Add rating evaluation
-                    if (result.getRating() != null) {
-                        article.setRating(result.getRating());
-                    }
+        System.err.println("Failed to analyze article after " + MAX_RETRIES + " attempts: " + article.getTitle());
+        article.setStatus(ArticleStatus.ERROR);
+        metrics.counter("news_analysis_failures_total").increment();
+        return false;
+    }
 
-                    // Update status
-                    article.setStatus(ArticleStatus.ANALYZED);
+    private void applyResult(Article article, EnrichmentResult result) {
+        if (result.getSummary() != null) {
+            article.setSummary(result.getSummary());
+        }
 
-                    // Save to database
-                    databaseService.saveArticle(article);
+        // Update region only if it's not null and not empty
+        if (result.getRegion() != null && !result.getRegion().isBlank()) {
+            article.setRegion(result.getRegion());
+        }
 
-                    success = true;
-                } else {
-                    System.out.println("Incomplete result for article: " + article.getTitle());
-                    retries++;
-                    // Exponential backoff for retries
-                    Thread.sleep((long) (INITIAL_DELAY_MS * Math.pow(2, retries)));
-                }
-            } catch (Exception e) {
-                System.err.println("Error analyzing article " + article.getTitle() + ": " + e.getMessage());
-                retries++;
-                // Exponential backoff for retries
-                Thread.sleep((long) (INITIAL_DELAY_MS * Math.pow(2, retries)));
-            }
+        if (result.getTags() != null) {
+            article.setTags(result.getTags());
         }
 
-        if (!success) {
-            System.err.println("Failed to analyze article after " + MAX_RETRIES + " attempts: " + article.getTitle());
-            article.setStatus(ArticleStatus.ERROR);
-            try {
-                databaseService.saveArticle(article);
-            } catch (Exception e) {
-                System.err.println("Failed to update article status to ERROR: " + e.getMessage());
-            }
+        if (result.getRating() != null) {
+            article.setRating(result.getRating());
         }
 
-        return success;
+        article.setStatus(ArticleStatus.ANALYZED);
+    }
+
+    private boolean save(Article article) {
+        try {
+            databaseService.saveArticle(article);
+            return true;
+        } catch (Exception e) {
+            System.err.println("Failed to save analyzed article " + article.getTitle() + ": " + e.getMessage());
+            return false;
+        }
     }
-}
\ No newline at end of file
+}
@@ -8,6 +8,12 @@ import com.news.model.Article;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
 
 public class ConfigurableArticleAnalyzer implements ArticleAnalyzer {
     private final Map<String, AIOperation<?>> operations;
@@ -25,61 +31,86 @@ public class ConfigurableArticleAnalyzer implements ArticleAnalyzer {
         if (content == null || content.isBlank()) {
             return EnrichmentResult.empty();
         }
-        EnrichmentResult.EnrichmentResultBuilder builder = EnrichmentResult.builder();
 
-        // Execute summarization if enabled
-        if (operations.containsKey("summarization")) {
-            try {
-                String summary = (String) operations.get("summarization").execute(article);
-                builder.summary(summary);
-                if (summary == null || summary.isEmpty()) {
-                    System.out.println("Failed to generate summary");
-                }
-            } catch (Exception e) {
-                System.err.println("Error generating summary: " + e.getMessage());
-            }
-        }
+        EnrichmentResult combined = analyzeCombined(article);
 
-        // Execute region classification if enabled
-        if (operations.containsKey("region_classification")) {
-            try {
-                String region = (String) operations.get("region_classification").execute(article);
-                builder.region(region);
-                if (region == null || region.isBlank()) {
-                    System.out.println("Failed to classify region");
-                }
-            } catch (Exception e) {
-                System.err.println("Error classifying region: " + e.getMessage());
-            }
+        // The remaining operations are independent, so they are submitted together; the shared
+        // Ollama scheduler decides how many of them actually reach the server at once
+        Future<String> summary;
+        Future<String> region;
+        Future<List<String>> tags;
+        Future<Integer> rating;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            summary = start(executor, "summarization", article, combined.getSummary(),
+                    s -> s == null || s.isEmpty(), "Failed to generate summary", "Error generating summary: ");
+            region = start(executor, "region_classification", article, combined.getRegion(),
+                    r -> r == null || r.isBlank(), "Failed to classify region", "Error classifying region: ");
+            tags = start(executor, "tag_generation", article, combined.getTags(),
+                    t -> t == null || t.isEmpty(), "Failed to generate tags", "Error generating tags: ");
+            rating = start(executor, "evaluation", article, combined.getRating(),
+                    Objects::isNull, "Failed to evaluate article", "Error evaluating article: ");
         }
+        if (Thread.interrupted()) {
+            throw new InterruptedException("Analysis interrupted for article: " + article.getTitle());
+        }
+
+        return EnrichmentResult.builder()
+                .summary(resultOf(summary))
+                .region(resultOf(region))
+                .tags(resultOf(tags))
+                .rating(resultOf(rating))
+                .build();
+    }
 
-        // Execute tag generation if enabled
-        if (operations.containsKey("tag_generation")) {
+    /**
+     * Runs the single-prompt analysis if it is configured; an empty result means every enabled
+     * operation runs on its own
+     */
+    private EnrichmentResult analyzeCombined(Article article) throws InterruptedException {
+        AIOperation<?> operation = operations.get("combined_analysis");
+        if (operation != null) {
             try {
-                @SuppressWarnings("unchecked") // W
-                List<String> tags = (List<String>) operations.get("tag_generation").execute(article);
-                builder.tags(tags);
-                if (tags == null || tags.isEmpty()) {
-                    System.out.println("Failed to generate tags");
+                EnrichmentResult result = (EnrichmentResult) operation.execute(article);
+                if (result != null) {
+                    return result;
                 }
+            } catch (InterruptedException e) {
+                throw e;
             } catch (Exception e) {
-                System.err.println("Error generating tags: " + e.getMessage());
+                System.err.println("Error in combined analysis: " + e.getMessage());
             }
         }
+        return EnrichmentResult.builder().build();
+    }
 
-        // Execute evaluation if enabled
-        if (operations.containsKey("evaluation")) {
+    /**
+     * Starts the operation unless the combined analysis already produced its field
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Future<T> start(ExecutorService executor, String operationName, Article article, T known,
+                                Predicate<T> isMissing, String missingMessage, String errorPrefix) {
+        AIOperation<?> operation = operations.get(operationName);
+        if (operation == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (!isMissing.test(known)) {
+            return CompletableFuture.completedFuture(known);
+        }
+        return executor.submit(() -> {
             try {
-                Integer rating = (Integer) operations.get("evaluation").execute(article);
-                builder.rating(rating);
-                if (rating == null) {
-                    System.out.println("Failed to evaluate article");
+                T value = (T) operation.execute(article);
+                if (isMissing.test(value)) {
+                    System.out.println(missingMessage);
                 }
+                return value;
             } catch (Exception e) {
-                System.err.println("Error evaluating article: " + e.getMessage());
+                System.err.println(errorPrefix + e.getMessage());
+                return null;
             }
-        }
+        });
+    }
 
-        return builder.build();
+    private static <T> T resultOf(Future<T> future) {
+        return future.state() == Future.State.SUCCESS ? future.resultNow() : null;
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,9 @@
 package com.news.ai.client;
 
+import com.news.ai.EnrichmentResult;
+
 import java.util.List;
+import java.util.Set;
 
 public interface AIClient {
     String summarize(String content) throws Exception;
@@ -10,4 +13,10 @@ public interface AIClient {
     List<String> generateTags(String content) throws Exception;
 
     Integer evaluateArticle(String content) throws Exception;
-}
\ No newline at end of file
+
+    /**
+     * Produces the requested operations' fields with a single model call; fields the model
+     * could not produce are left null
+     */
+    EnrichmentResult analyzeCombined(String title, String content, Set<String> operations) throws Exception;
+}
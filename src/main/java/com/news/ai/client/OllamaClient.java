@@ -2,6 +2,9 @@ package com.news.ai.client;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.news.ConfigLoader;
+import com.news.ai.EnrichmentResult;
+import com.news.metrics.MetricsRegistry;
 import com.news.model.RequestModel;
 
 import java.io.IOException;
@@ -9,19 +12,38 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 import static com.news.storage.impl.JdbcTagRepository.parseTags;
 
 public class OllamaClient implements AIClient {
-    private static final String API_URL = "http://localhost:11434/api/generate";
+    private static final String DEFAULT_BASE_URL = "http://localhost:11434";
     private static final ObjectMapper objectMapper = new ObjectMapper();
     private static final HttpClient client = HttpClient.newHttpClient();
+    private static final double[] TOKENS_PER_SECOND_BUCKETS = {1, 2, 5, 10, 20, 30, 50, 75, 100, 150, 200};
 
     private final String modelName;
+    private final OllamaRequestScheduler scheduler;
+    private final URI apiUrl;
 
     public OllamaClient(String modelName) {
+        this(modelName, OllamaRequestScheduler.shared());
+    }
+
+    public OllamaClient(String modelName, OllamaRequestScheduler scheduler) {
+        this(modelName, scheduler, Objects.requireNonNullElse(ConfigLoader.getProperty("OLLAMA_URL"), DEFAULT_BASE_URL));
+    }
+
+    /**
+     * @param baseUrl Ollama server, e.g. http://localhost:11434 or a replay server
+     */
+    public OllamaClient(String modelName, OllamaRequestScheduler scheduler, String baseUrl) {
         this.modelName = modelName;
+        this.scheduler = scheduler;
+        this.apiUrl = URI.create(baseUrl.trim().replaceAll("/+$", "") + "/api/generate");
     }
 
     @Override
@@ -31,7 +53,7 @@ public class OllamaClient implements AIClient {
                 "Return ONLY the summary, without additional comments or formatting.\n" +
                 "\n" + articleContent;
 
-        JsonNode jsonNode = generateResponse(prompt);
+        JsonNode jsonNode = generateResponse(prompt, null, "summarization");
         return jsonNode.has("response") ? cleanResponse(jsonNode.get("response").asText()) : "No 'response' field in response.";
     }
 
@@ -44,7 +66,7 @@ public class OllamaClient implements AIClient {
                 "Return ONLY the most appropriate location name without any explanation.\n\n" +
                 shortenedContent;
 
-        JsonNode jsonNode = generateResponse(prompt);
+        JsonNode jsonNode = generateResponse(prompt, null, "region_classification");
         return jsonNode.has("response") ? cleanResponse(jsonNode.get("response").asText()) : "No 'response' field in response.";
     }
 
@@ -57,7 +79,7 @@ public class OllamaClient implements AIClient {
                 "\n" +
                 shortenedContent;
 
-        JsonNode jsonNode = generateResponse(prompt);
+        JsonNode jsonNode = generateResponse(prompt, null, "tag_generation");
         return jsonNode.has("response") ? parseTags(cleanResponse(jsonNode.get("response").asText())) : List.of();
     }
 
@@ -69,7 +91,7 @@ public class OllamaClient implements AIClient {
                 "Consider factors like: factual accuracy, writing quality, completeness of information, and overall value to readers.\n" +
                 "Output ONLY the number, without explanation.";
 
-        JsonNode jsonNode = generateResponse(prompt);
+        JsonNode jsonNode = generateResponse(prompt, null, "evaluation");
         if (jsonNode.has("response")) {
             try {
                 String response = cleanResponse(jsonNode.get("response").asText());
@@ -82,17 +104,130 @@ public class OllamaClient implements AIClient {
         return null;
     }
 
-    private JsonNode generateResponse(String prompt) throws IOException, InterruptedException {
-        String jsonRequest = objectMapper.writeValueAsString(new RequestModel(modelName, prompt, false));
+    @Override
+    public EnrichmentResult analyzeCombined(String title, String content, Set<String> operations)
+            throws IOException, InterruptedException {
+        StringBuilder fields = new StringBuilder();
+        if (operations.contains("summarization")) {
+            fields.append("- \"summary\": a concise summary in the same language as the article, focused on the main events, people, or topics\n");
+        }
+        if (operations.contains("region_classification")) {
+            fields.append("- \"region\": the geographic region where the events occur; a city or prefecture if they are localized" +
+                    " (e.g., Tokyo), otherwise a broader region name (e.g., East Asia)\n");
+        }
+        if (operations.contains("tag_generation")) {
+            fields.append("- \"tags\": an array of 1 to 4 tags capturing key people, events, organizations, locations or concepts\n");
+        }
+        if (operations.contains("evaluation")) {
+            fields.append("- \"rating\": an integer from 1 to 100 rating how appealing the article is to university students" +
+                    " interested in technologies, IT, world news, travelling, advances in science, gaming, and developments" +
+                    " that may affect the stock market\n");
+        }
+        String prompt = "Analyze the news article below and respond with a single JSON object with these fields:\n" +
+                fields +
+                "Return ONLY the JSON object.\n\n" +
+                "Title: " + title + "\n\n" +
+                content;
+
+        JsonNode jsonNode = generateResponse(prompt, "json", "combined_analysis");
+        if (!jsonNode.has("response")) {
+            return EnrichmentResult.builder().build();
+        }
+        return parseCombinedResponse(cleanResponse(jsonNode.get("response").asText()));
+    }
+
+    static EnrichmentResult parseCombinedResponse(String response) {
+        EnrichmentResult.EnrichmentResultBuilder builder = EnrichmentResult.builder();
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(response);
+        } catch (IOException e) {
+            System.err.println("Failed to parse combined analysis response: " + e.getMessage());
+            return builder.build();
+        }
+        if (root == null || !root.isObject()) {
+            return builder.build();
+        }
+
+        builder.summary(textOrNull(root.get("summary")));
+        builder.region(textOrNull(root.get("region")));
+
+        JsonNode tags = root.get("tags");
+        if (tags != null && tags.isArray()) {
+            List<String> parsed = new ArrayList<>();
+            tags.forEach(tag -> {
+                String text = textOrNull(tag);
+                if (text != null) {
+                    parsed.add(text);
+                }
+            });
+            builder.tags(parsed.isEmpty() ? null : parsed);
+        } else if (tags != null && tags.isTextual()) {
+            List<String> parsed = parseTags(tags.asText());
+            builder.tags(parsed.isEmpty() ? null : parsed);
+        }
+
+        JsonNode rating = root.get("rating");
+        if (rating != null && rating.canConvertToInt()) {
+            builder.rating(rating.asInt());
+        } else if (rating != null && rating.isTextual()) {
+            try {
+                builder.rating(Integer.parseInt(rating.asText().trim()));
+            } catch (NumberFormatException e) {
+                System.err.println("Failed to parse rating from response: " + rating.asText());
+            }
+        }
+        return builder.build();
+    }
+
+    private static String textOrNull(JsonNode node) {
+        if (node == null || !node.isValueNode() || node.isNull()) {
+            return null;
+        }
+        String text = node.asText().trim();
+        return text.isEmpty() ? null : text;
+    }
+
+    /**
+     * @param operation label the request's latency and token throughput are recorded under
+     */
+    private JsonNode generateResponse(String prompt, String format, String operation) throws IOException, InterruptedException {
+        String jsonRequest = objectMapper.writeValueAsString(new RequestModel(modelName, prompt, false, format));
 
         HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(API_URL))
+                .uri(apiUrl)
                 .header("Content-Type", "application/json")
                 .POST(HttpRequest.BodyPublishers.ofString(jsonRequest))
                 .build();
 
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-        return objectMapper.readTree(response.body());
+        MetricsRegistry metrics = MetricsRegistry.shared();
+        long queuedAt = System.nanoTime();
+        HttpResponse<String> response = scheduler.submit(() -> {
+            metrics.timer("news_ollama_queue_seconds").recordSince(queuedAt);
+            long sentAt = System.nanoTime();
+            try {
+                return client.send(request, HttpResponse.BodyHandlers.ofString());
+            } finally {
+                metrics.timer("news_ollama_request_seconds", "operation", operation).recordSince(sentAt);
+            }
+        });
+        JsonNode jsonNode = objectMapper.readTree(response.body());
+        recordTokens(metrics, operation, jsonNode);
+        return jsonNode;
+    }
+
+    /**
+     * Ollama reports the generated token count and the generation time in nanoseconds
+     */
+    private static void recordTokens(MetricsRegistry metrics, String operation, JsonNode jsonNode) {
+        long tokens = jsonNode.path("eval_count").asLong(0);
+        long evalNanos = jsonNode.path("eval_duration").asLong(0);
+        if (tokens <= 0 || evalNanos <= 0) {
+            return;
+        }
+        metrics.counter("news_ollama_eval_tokens_total", "operation", operation).add(tokens);
+        metrics.histogram("news_ollama_tokens_per_second", TOKENS_PER_SECOND_BUCKETS, "operation", operation)
+                .observe(tokens / (evalNanos / 1e9));
     }
 
     private static String shortenArticleByHalf(String article) {
@@ -0,0 +1,57 @@
+package com.news.ai.client;
+
+import com.news.ConfigLoader;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Caps the number of generate requests sent to the Ollama server at once. The limit should
+ * match the server's parallelism (OLLAMA_NUM_PARALLEL); anything above it only queues on the
+ * server side. Waiting requests are admitted in arrival order.
+ */
+public class OllamaRequestScheduler {
+    private static final int DEFAULT_MAX_IN_FLIGHT = 2;
+
+    private final int maxInFlight;
+    private final Semaphore permits;
+
+    @FunctionalInterface
+    public interface Request<T> {
+        T send() throws IOException, InterruptedException;
+    }
+
+    private static final class SharedHolder {
+        private static final OllamaRequestScheduler INSTANCE =
+                new OllamaRequestScheduler(ConfigLoader.getInt("OLLAMA_MAX_IN_FLIGHT", DEFAULT_MAX_IN_FLIGHT));
+    }
+
+    public OllamaRequestScheduler(int maxInFlight) {
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.permits = new Semaphore(this.maxInFlight, true);
+    }
+
+    /**
+     * Scheduler shared by every Ollama client in the process
+     */
+    public static OllamaRequestScheduler shared() {
+        return SharedHolder.INSTANCE;
+    }
+
+    public <T> T submit(Request<T> request) throws IOException, InterruptedException {
+        permits.acquire();
+        try {
+            return request.send();
+        } finally {
+            permits.release();
+        }
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public int getQueueLength() {
+        return permits.getQueueLength();
+    }
+}
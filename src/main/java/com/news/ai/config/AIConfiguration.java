@@ -3,6 +3,13 @@ package com.news.ai.config;
 import java.util.Set;
 
 public record AIConfiguration(String modelName, Set<String> enabledOperations) {
+    public static final String DEFAULT_MODEL = "qwen3:4b";
+    public static final Set<String> ALL_OPERATIONS =
+            Set.of("summarization", "region_classification", "tag_generation", "evaluation");
+
+    public static AIConfiguration defaults() {
+        return new AIConfiguration(DEFAULT_MODEL, ALL_OPERATIONS);
+    }
 
     public boolean isOperationEnabled(String operationName) {
         return enabledOperations.contains(operationName);
@@ -1,5 +1,6 @@
 package com.news.ai.factory;
 
+import com.news.ConfigLoader;
 import com.news.ai.client.AIClient;
 import com.news.ai.client.OllamaClient;
 import com.news.ai.config.AIConfiguration;
@@ -7,6 +8,7 @@ import com.news.ai.operation.*;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 public class AIServiceFactory {
 
@@ -33,6 +35,11 @@ public class AIServiceFactory {
             operations.put("evaluation", new ArticleEvaluationOperation(client));
         }
 
+        // One prompt for all fields; the individual operations only fill in what it misses
+        if (operations.size() > 1 && !"false".equalsIgnoreCase(ConfigLoader.getProperty("AI_COMBINED_ANALYSIS"))) {
+            operations.put("combined_analysis", new CombinedAnalysisOperation(client, Set.copyOf(operations.keySet())));
+        }
+
         return operations;
     }
 }
\ No newline at end of file
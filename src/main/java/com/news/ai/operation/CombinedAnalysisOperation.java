@@ -0,0 +1,36 @@
+package com.news.ai.operation;
+
+import com.news.ai.EnrichmentResult;
+import com.news.ai.client.AIClient;
+import com.news.model.Article;
+
+import java.util.Set;
+
+/**
+ * Asks for every enabled field in one structured request, so the article content is sent to
+ * the model once instead of once per operation. Fields the model leaves out are filled in by
+ * the individual operations.
+ */
+public class CombinedAnalysisOperation implements AIOperation<EnrichmentResult> {
+    private final AIClient client;
+    private final Set<String> operations;
+
+    public CombinedAnalysisOperation(AIClient client, Set<String> operations) {
+        this.client = client;
+        this.operations = operations;
+    }
+
+    @Override
+    public EnrichmentResult execute(Article article) throws Exception {
+        String content = article.getContent();
+        if (content == null || content.isBlank()) {
+            return null;
+        }
+        return client.analyzeCombined(article.getTitle(), content, operations);
+    }
+
+    @Override
+    public String getOperationName() {
+        return "combined_analysis";
+    }
+}
@@ -7,7 +7,9 @@ import com.news.executor.impl.system.cron.CronCommand;
 import com.news.executor.impl.system.ExitCommand;
 import com.news.executor.impl.system.export.ExportCommand;
 import com.news.executor.impl.system.HelpCommand;
+import com.news.executor.impl.system.MetricsCommand;
 import com.news.executor.impl.manip.*;
+import com.news.metrics.MetricsRegistry;
 import com.news.parser.ParserRegistry;
 import com.news.storage.DatabaseService;
 
@@ -21,6 +23,7 @@ public class CommandRegistry {
 
     public CommandRegistry() {
         commands.put("help", new HelpCommand(this));
+        commands.put("metrics", new MetricsCommand(MetricsRegistry.shared()));
     }
 
     public void registerWithDatabaseService(DatabaseService databaseService) {
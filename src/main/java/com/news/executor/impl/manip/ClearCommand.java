@@ -47,7 +47,7 @@ public class ClearCommand implements ValidatableCommand {
     private void handleClearById(ParsedCommand parsedCommand) {
         try {
             Long id = Long.parseLong(parsedCommand.getOption("id"));
-            databaseService.getArticleRepository().deleteById(id);
+            databaseService.deleteArticle(id);
             System.out.println("Successfully deleted article with ID: " + id);
         } catch (NumberFormatException e) {
             System.err.println("Error: --id argument must be a number.");
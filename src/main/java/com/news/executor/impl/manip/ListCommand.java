@@ -5,6 +5,7 @@ import com.news.executor.spec.CommandSpec;
 import com.news.executor.spec.OptionSpec;
 import com.news.model.Article;
 import com.news.model.ArticleFilter;
+import com.news.model.ArticlePage;
 import com.news.model.ArticleStatus;
 import com.news.model.ParsedCommand;
 import com.news.storage.DatabaseService;
@@ -31,6 +32,7 @@ public class ListCommand implements ValidatableCommand {
                         OptionSpec.withSingleArg("source", "Filter by source", OptionSpec.OptionType.STRING),
                         OptionSpec.withSingleArg("limit", "Limit number of results (default: 10)", OptionSpec.OptionType.INTEGER),
                         OptionSpec.withSingleArg("offset", "Offset for pagination", OptionSpec.OptionType.INTEGER),
+                        OptionSpec.withSingleArg("cursor", "Continue from the cursor printed with the previous page", OptionSpec.OptionType.STRING),
                         OptionSpec.withSingleArg("status", "Filter by status (RAW, ENRICHED, SUPPLEMENTED)", OptionSpec.OptionType.STRING),
                         OptionSpec.withSingleArg("lang", "Filter by language", OptionSpec.OptionType.STRING),
                         OptionSpec.withMultipleArgs("author", "Filter by author", 1, Integer.MAX_VALUE, OptionSpec.OptionType.STRING),
@@ -40,7 +42,7 @@ public class ListCommand implements ValidatableCommand {
                         OptionSpec.withSingleArg("sort", "Sort field (date, title, source, author)", OptionSpec.OptionType.STRING),
                         OptionSpec.flag("asc", "Sort in ascending order")
                 ))
-                .mutuallyExclusiveGroups(Set.of(Set.of("today", "published")))
+                .mutuallyExclusiveGroups(Set.of(Set.of("today", "published"), Set.of("offset", "cursor")))
                 .build();
     }
 
@@ -66,9 +68,21 @@ public class ListCommand implements ValidatableCommand {
 
         printFilterSummary(filter);
 
-        List<Article> articles = databaseService.getArticleRepository().findArticlesWithFilters(filter);
+        // offset paging is kept for compatibility; everything else seeks by cursor
+        if (filter.getOffset() != null) {
+            List<Article> articles = databaseService.getArticleRepository().findArticlesWithFilters(filter);
+            displayResults(articles, filter);
+            return;
+        }
 
-        displayResults(articles, filter);
+        ArticlePage page;
+        try {
+            page = databaseService.getArticleRepository().findArticlesPage(filter);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage() + ". Run the listing again without --cursor.");
+            return;
+        }
+        displayPage(page);
     }
 
     private void applySourceFilter(ParsedCommand parsedCommand, ArticleFilter.Builder filterBuilder) {
@@ -90,6 +104,10 @@ public class ListCommand implements ValidatableCommand {
             filterBuilder.limit(10);
         }
 
+        if (parsedCommand.hasOption("cursor")) {
+            filterBuilder.cursor(parsedCommand.getOption("cursor"));
+        }
+
         if (parsedCommand.hasOption("offset")) {
             try {
                 filterBuilder.offset(Integer.parseInt(parsedCommand.getOption("offset")));
@@ -228,6 +246,21 @@ public class ListCommand implements ValidatableCommand {
         }
     }
 
+    private void displayPage(ArticlePage page) {
+        if (page.articles().isEmpty()) {
+            System.out.println("❌ No articles found matching the criteria.");
+            return;
+        }
+
+        displayArticles(page.articles());
+
+        if (page.nextCursor() != null) {
+            System.out.println("\n💡 Showing " + page.articles().size() + " articles. For more results, use --cursor " + page.nextCursor());
+        } else {
+            System.out.println("\n✅ No more matching articles.");
+        }
+    }
+
     private void displayArticles(List<Article> articles) {
         System.out.println("📋 Found " + articles.size() + " articles:");
         System.out.println("═══════════════════════════════════════════════════════════════════════════════");
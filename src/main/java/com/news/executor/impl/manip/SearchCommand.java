@@ -5,12 +5,18 @@ import com.news.executor.spec.CommandSpec;
 import com.news.executor.spec.OptionSpec;
 import com.news.model.Article;
 import com.news.model.ParsedCommand;
+import com.news.search.InvertedIndex;
+import com.news.search.SearchHit;
 import com.news.storage.DatabaseService;
 
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class SearchCommand implements ValidatableCommand {
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int REINDEX_FETCH_SIZE = 500;
+
     private final DatabaseService databaseService;
     private final CommandSpec commandSpec;
 
@@ -18,11 +24,21 @@ public class SearchCommand implements ValidatableCommand {
         this.databaseService = databaseService;
         this.commandSpec = new CommandSpec.Builder()
                 .name("search")
-                .description("Search articles by content, title, or tags")
+                .description("Search articles by content, title, tags, or ranked full-text query")
                 .options(Set.of(
                         OptionSpec.withMultipleArgs("content", "Search in article content", 1, Integer.MAX_VALUE, OptionSpec.OptionType.STRING),
                         OptionSpec.withMultipleArgs("title", "Search in article titles", 1, Integer.MAX_VALUE, OptionSpec.OptionType.STRING),
-                        OptionSpec.withMultipleArgs("tags", "Search by tags (comma-separated or space-separated)", 1, Integer.MAX_VALUE, OptionSpec.OptionType.STRING)
+                        OptionSpec.withMultipleArgs("tags", "Search by tags (comma-separated or space-separated)", 1, Integer.MAX_VALUE, OptionSpec.OptionType.STRING),
+                        OptionSpec.withMultipleArgs("query", "Full-text search in title and content, ranked by relevance", 1, Integer.MAX_VALUE, OptionSpec.OptionType.STRING),
+                        OptionSpec.withSingleArg("limit", "Limit number of results, at least 1 (default: 10 for --query, all otherwise)", OptionSpec.OptionType.INTEGER),
+                        OptionSpec.withSingleArg("offset", "Number of results to skip", OptionSpec.OptionType.INTEGER),
+                        OptionSpec.flag("offline", "Answer --query from the local search index instead of the database"),
+                        OptionSpec.flag("reindex", "Rebuild the local search index from all stored articles")
+                ))
+                .mutuallyExclusiveGroups(Set.of(
+                        Set.of("query", "content"),
+                        Set.of("query", "title"),
+                        Set.of("query", "tags")
                 ))
                 .build();
     }
@@ -34,17 +50,37 @@ public class SearchCommand implements ValidatableCommand {
 
     @Override
     public void executeValidated(ParsedCommand parsedCommand) {
+        if (parsedCommand.hasOption("reindex")) {
+            reindex();
+            return;
+        }
+
+        if (parsedCommand.hasOption("offline")) {
+            if (!parsedCommand.hasOption("query")) {
+                System.err.println("Error: --offline requires --query.");
+                return;
+            }
+            runOfflineSearch(parsedCommand);
+            return;
+        }
+
+        if (parsedCommand.hasOption("query")) {
+            runFullTextSearch(parsedCommand);
+            return;
+        }
+
         boolean hasContent = parsedCommand.hasOption("content");
         boolean hasTitle = parsedCommand.hasOption("title");
         boolean hasTags = parsedCommand.hasOption("tags");
 
         if (!hasContent && !hasTitle && !hasTags) {
-            System.err.println("Error: Must specify at least one of --content, --title, or --tags.");
+            System.err.println("Error: Must specify --query or at least one of --content, --title, or --tags.");
             return;
         }
 
         List<Article> articles;
         StringBuilder queryDescription = new StringBuilder();
+        String where = "multiple criteria";
 
         if (hasContent && hasTitle && hasTags) {
             String contentSubstring = String.join(" ", parsedCommand.getOptionValues("content"));
@@ -87,27 +123,121 @@ public class SearchCommand implements ValidatableCommand {
                     .findBySubstrInContent(substring)
                     .orElse(List.of());
             queryDescription.append("\"").append(substring).append("\"");
-            printResults(articles, substring, "content");
-            return;
+            where = "content";
         } else if (hasTitle) {
             String substring = String.join(" ", parsedCommand.getOptionValues(("title")));
             articles = databaseService.getArticleRepository()
                     .findBySubstrInTitle(substring)
                     .orElse(List.of());
             queryDescription.append("\"").append(substring).append("\"");
-            printResults(articles, substring, "title");
-            return;
+            where = "title";
         } else {
             List<String> tagNames = parsedCommand.getOptionValues(("tags"));
             articles = databaseService.getArticleRepository()
                     .findByTags(tagNames)
                     .orElse(List.of());
-            queryDescription.append("tags: ").append(tagNames);
-            printResults(articles, tagNames.toString(), "tags");
+            queryDescription.append(tagNames);
+            where = "tags";
+        }
+
+        int limit = parseAtLeast(parsedCommand, "limit", 1, Integer.MAX_VALUE);
+        int offset = parseAtLeast(parsedCommand, "offset", 0, 0);
+        int from = Math.min(offset, articles.size());
+        List<Article> page = articles.subList(from, (int) Math.min((long) from + limit, articles.size()));
+        printResults(page, queryDescription.toString(), where);
+        if (from + page.size() < articles.size()) {
+            System.out.println("Showing " + page.size() + " of " + articles.size() + " matches; use --offset " +
+                    (from + page.size()) + " for more");
+        }
+    }
+
+    private void runFullTextSearch(ParsedCommand parsedCommand) {
+        String query = String.join(" ", parsedCommand.getOptionValues("query"));
+        int limit = parseAtLeast(parsedCommand, "limit", 1, DEFAULT_LIMIT);
+        int offset = parseAtLeast(parsedCommand, "offset", 0, 0);
+
+        // one extra row tells whether another page exists
+        List<Article> articles = databaseService.getArticleRepository().fullTextSearch(query, limit + 1, offset);
+        boolean hasMore = articles.size() > limit;
+        if (hasMore) {
+            articles = articles.subList(0, limit);
+        }
+        printResults(articles, "\"" + query + "\" (limit " + limit + ", offset " + offset + ")", "title and content");
+
+        if (hasMore) {
+            System.out.println("More results: search --query \"" + query + "\" --limit " + limit +
+                    " --offset " + (offset + limit));
+        }
+    }
+
+    private void runOfflineSearch(ParsedCommand parsedCommand) {
+        InvertedIndex index = databaseService.getSearchIndex();
+        if (index == null) {
+            System.err.println("Error: local search index is not available.");
+            return;
+        }
+
+        String query = String.join(" ", parsedCommand.getOptionValues("query"));
+        int limit = parseAtLeast(parsedCommand, "limit", 1, DEFAULT_LIMIT);
+        int offset = parseAtLeast(parsedCommand, "offset", 0, 0);
+
+        long start = System.nanoTime();
+        List<SearchHit> hits = index.search(query, (int) Math.min((long) offset + limit, Integer.MAX_VALUE));
+        double elapsedMs = (System.nanoTime() - start) / 1_000_000.0;
+        hits = hits.subList(Math.min(offset, hits.size()), hits.size());
+
+        System.out.println("=========================================");
+        System.out.println(" Search Results (offline index) ");
+        System.out.println("=========================================");
+        System.out.printf("Query: \"%s\" (%d hits, %.3f ms)%n", query, hits.size(), elapsedMs);
+        System.out.println("-----------------------------------------");
+        if (hits.isEmpty()) {
+            System.out.println("No articles found matching your query.");
+        } else {
+            for (SearchHit hit : hits) {
+                System.out.println("-----");
+                System.out.println("ID:     " + hit.articleId());
+                System.out.println("Title:  " + hit.title());
+                System.out.println("URL:    " + hit.url());
+                System.out.printf("Score:  %.3f%n", hit.score());
+            }
+            System.out.println("-----------------------------------------");
+            System.out.println("To read an article, use: read --id <id>");
+        }
+        System.out.println("=========================================");
+    }
+
+    private void reindex() {
+        InvertedIndex index = databaseService.getSearchIndex();
+        if (index == null) {
+            System.err.println("Error: local search index is not available.");
             return;
         }
 
-        printResults(articles, queryDescription.toString(), "multiple criteria");
+        index.clear();
+        AtomicInteger count = new AtomicInteger();
+        databaseService.getArticleRepository().forEachArticle(REINDEX_FETCH_SIZE, article -> {
+            index.index(article);
+            count.incrementAndGet();
+        });
+        index.flush();
+        System.out.println("Reindexed " + count.get() + " articles.");
+    }
+
+    private int parseAtLeast(ParsedCommand parsedCommand, String option, int min, int defaultValue) {
+        if (!parsedCommand.hasOption(option)) {
+            return defaultValue;
+        }
+        try {
+            int value = Integer.parseInt(parsedCommand.getOption(option));
+            if (value >= min) {
+                return value;
+            }
+        } catch (NumberFormatException ignored) {
+        }
+        System.err.println("Invalid " + option + " value, must be at least " + min + ". Using default (" +
+                (defaultValue == Integer.MAX_VALUE ? "all" : defaultValue) + ").");
+        return defaultValue;
     }
 
     private void printResults(List<Article> articles, String substr, String where) {
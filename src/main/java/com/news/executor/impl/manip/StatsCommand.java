@@ -1,12 +1,17 @@
 package com.news.executor.impl.manip;
 
+import com.news.ConfigLoader;
 import com.news.executor.ValidatableCommand;
 import com.news.executor.spec.CommandSpec;
 import com.news.executor.spec.OptionSpec;
 import com.news.model.ArticleStatus;
 import com.news.model.ParsedCommand;
 import com.news.storage.DatabaseService;
+import com.news.storage.impl.JdbcStatsSnapshotRepository;
+import com.news.storage.inter.ArticleStatsRepository;
 
+import java.time.Duration;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -14,6 +19,9 @@ import java.util.Set;
 public class StatsCommand implements ValidatableCommand {
     private final DatabaseService databaseService;
     private final CommandSpec commandSpec;
+    private static final int DEFAULT_SNAPSHOT_MAX_AGE_SECONDS = 600;
+    private static final DateTimeFormatter SNAPSHOT_TIME_FORMAT = DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss");
+    private ArticleStatsRepository stats;
 
     public StatsCommand(DatabaseService databaseService) {
         this.databaseService = databaseService;
@@ -21,7 +29,8 @@ public class StatsCommand implements ValidatableCommand {
                 .name("stats")
                 .description("Display database statistics")
                 .options(Set.of(
-                        OptionSpec.flag("detailed", "Show detailed statistics by source, language, dates, and tags")
+                        OptionSpec.flag("detailed", "Show detailed statistics by source, language, dates, and tags"),
+                        OptionSpec.flag("fresh", "Recompute the statistics snapshot before showing it")
                 ))
                 .build();
     }
@@ -36,6 +45,7 @@ public class StatsCommand implements ValidatableCommand {
         boolean showDetailed = parsedCommand.hasOption("detailed");
 
         System.out.println("📊 === DATABASE STATISTICS ===");
+        stats = resolveStats(parsedCommand.hasOption("fresh"));
         displayBasicStats();
 
         if (showDetailed) {
@@ -44,15 +54,39 @@ public class StatsCommand implements ValidatableCommand {
         }
     }
 
+    /**
+     * Reads from the materialized snapshot, refreshing it first when asked to or when it is
+     * older than STATS_SNAPSHOT_MAX_AGE_SECONDS; databases created before the snapshot views
+     * existed fall back to live queries
+     */
+    private ArticleStatsRepository resolveStats(boolean fresh) {
+        JdbcStatsSnapshotRepository snapshot = databaseService.getStatsSnapshotRepository();
+        try {
+            if (fresh) {
+                snapshot.refresh();
+            } else {
+                snapshot.refreshIfOlderThan(Duration.ofSeconds(
+                        ConfigLoader.getInt("STATS_SNAPSHOT_MAX_AGE_SECONDS", DEFAULT_SNAPSHOT_MAX_AGE_SECONDS)));
+            }
+            snapshot.getRefreshedAt().ifPresent(refreshedAt ->
+                    System.out.println("🕒 Snapshot from " + refreshedAt.format(SNAPSHOT_TIME_FORMAT) +
+                            " (use --fresh to recompute)"));
+            return snapshot;
+        } catch (Exception e) {
+            System.err.println("⚠️  Statistics snapshot unavailable, computing live: " + e.getMessage());
+            return databaseService.getArticleStatsRepository();
+        }
+    }
+
     private void displayBasicStats() {
         try {
-            long totalArticles = databaseService.getArticleStatsRepository().countAllArticles();
+            long totalArticles = stats.countAllArticles();
             System.out.printf("📰 Total Articles: %,d%n", totalArticles);
 
             if (totalArticles > 0) {
                 System.out.println("\n📊 By Status:");
                 for (ArticleStatus status : ArticleStatus.values()) {
-                    long count = databaseService.getArticleStatsRepository().countByStatus(status);
+                    long count = stats.countByStatus(status);
                     double percentage = (count * 100.0) / totalArticles;
                     System.out.printf("   %s: %,d (%.1f%%)%n",
                             getStatusIcon(status) + " " + status.name(), count, percentage);
@@ -78,7 +112,7 @@ public class StatsCommand implements ValidatableCommand {
     private void displaySourceStats() {
         try {
             System.out.println("\n🏢 Articles by Source:");
-            Map<String, Long> sourceCounts = databaseService.getArticleStatsRepository().countBySource();
+            Map<String, Long> sourceCounts = stats.countBySource();
 
             if (sourceCounts.isEmpty()) {
                 System.out.println("   No source data available");
@@ -102,7 +136,7 @@ public class StatsCommand implements ValidatableCommand {
     private void displayLanguageStats() {
         try {
             System.out.println("\n🌐 Articles by Language:");
-            Map<String, Long> languageCounts = databaseService.getArticleStatsRepository().countByLanguage();
+            Map<String, Long> languageCounts = stats.countByLanguage();
 
             if (languageCounts.isEmpty()) {
                 System.out.println("   No language data available");
@@ -120,7 +154,7 @@ public class StatsCommand implements ValidatableCommand {
     private void displayDateRangeStats() {
         try {
             System.out.println("\n📅 Articles by Time Period:");
-            Map<String, Long> dateStats = databaseService.getArticleStatsRepository().getDateRangeStats();
+            Map<String, Long> dateStats = stats.getDateRangeStats();
 
             if (dateStats.isEmpty()) {
                 System.out.println("   No date data available");
@@ -138,7 +172,7 @@ public class StatsCommand implements ValidatableCommand {
     private void displayAuthorStats() {
         try {
             System.out.println("\n✍️ Top Authors:");
-            List<String> topAuthors = databaseService.getArticleStatsRepository().getTopAuthors(10);
+            List<String> topAuthors = stats.getTopAuthors(10);
 
             if (topAuthors.isEmpty()) {
                 System.out.println("   No author data available");
@@ -156,7 +190,7 @@ public class StatsCommand implements ValidatableCommand {
     private void displayTagStats() {
         try {
             System.out.println("\n🏷️ Top Tags:");
-            Map<String, Long> topTags = databaseService.getArticleStatsRepository().getTopTags(15);
+            Map<String, Long> topTags = stats.getTopTags(15);
 
             if (topTags.isEmpty()) {
                 System.out.println("   No tag data available");
@@ -175,7 +209,7 @@ public class StatsCommand implements ValidatableCommand {
         try {
             System.out.println("\n📊 Source Status Breakdown (Top 5 Sources):");
             Map<String, Map<String, Long>> sourceStatusCounts =
-                    databaseService.getArticleStatsRepository().countBySourceAndStatus();
+                    stats.countBySourceAndStatus();
 
             if (sourceStatusCounts.isEmpty()) {
                 System.out.println("   No source/status data available");
@@ -200,7 +234,7 @@ public class StatsCommand implements ValidatableCommand {
     private void displayTopRatedArticles() {
         try {
             System.out.println("\n⭐ Top Rated Articles:");
-            List<String> topRatedArticles = databaseService.getArticleStatsRepository().getTopRatedArticles(10);
+            List<String> topRatedArticles = stats.getTopRatedArticles(10);
 
             if (topRatedArticles.isEmpty()) {
                 System.out.println("   No rated articles available");
@@ -6,7 +6,6 @@ import com.news.executor.spec.OptionSpec;
 import com.news.model.Article;
 import com.news.model.ArticleStatus;
 import com.news.model.ParsedCommand;
-import com.news.parser.ArticleEnricher;
 import com.news.parser.EnrichmentService;
 import com.news.parser.ParserRegistry;
 import com.news.storage.DatabaseService;
@@ -15,8 +14,12 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
 public class EnrichCommand implements ValidatableCommand {
+    private static final int FETCH_SIZE = 200;
+    private static final int SAVE_BATCH_SIZE = 100;
+
     private final DatabaseService databaseService;
     private final ParserRegistry parserRegistry;
     private final CommandSpec commandSpec;
@@ -47,16 +50,15 @@ public class EnrichCommand implements ValidatableCommand {
             return;
         }
 
-        List<ArticleEnricher> enrichers = parserRegistry.getAllEnrichers();
-        EnrichmentService enrichmentService = new EnrichmentService(enrichers);
-        List<Article> articlesToEnrich;
+        EnrichmentService enrichmentService = new EnrichmentService(parserRegistry.getEnricherRegistry());
 
-        if (parsedCommand.hasOption("id")) {
-            articlesToEnrich = handleEnrichById(parsedCommand);
-        } else {
-            articlesToEnrich = handleEnrichAll();
+        if (parsedCommand.hasOption("all")) {
+            handleEnrichAll(enrichmentService);
+            return;
         }
 
+        List<Article> articlesToEnrich = handleEnrichById(parsedCommand);
+
         if (articlesToEnrich.isEmpty()) {
             return;
         }
@@ -64,14 +66,12 @@ public class EnrichCommand implements ValidatableCommand {
         enrichmentService.enrichAll(articlesToEnrich);
 
         // save
-        int savedCount = 0;
-        for (Article article : articlesToEnrich) {
-            try {
-                databaseService.saveArticle(article);
-                savedCount++;
-            } catch (Exception e) {
-                System.err.println("Failed to save article: " + article.getUrl());
-            }
+        int savedCount;
+        try {
+            savedCount = databaseService.saveArticles(articlesToEnrich);
+        } catch (Exception e) {
+            System.err.println("Failed to save enriched articles: " + e.getMessage());
+            return;
         }
 
         System.out.println("Successfully enriched and updated " + savedCount + " articles");
@@ -94,16 +94,28 @@ public class EnrichCommand implements ValidatableCommand {
         }
     }
 
-    private List<Article> handleEnrichAll() {
+    /**
+     * Streams RAW articles from the database and saves them in batches as they are enriched,
+     * instead of loading the whole backlog first
+     */
+    private void handleEnrichAll(EnrichmentService enrichmentService) {
         System.out.println("Fetching all RAW articles...");
-        List<Article> articles = databaseService.getArticleRepository().findByStatus(ArticleStatus.RAW);
+        long total = databaseService.getArticleStatsRepository().countByStatus(ArticleStatus.RAW);
 
-        if (articles.isEmpty()) {
+        if (total == 0) {
             System.out.println("No articles found for enrichment. Run 'parse' command first.");
-            return List.of();
+            return;
+        }
+
+        System.out.println("Found " + total + " articles for enrichment.");
+        int savedCount;
+        try (Stream<Article> articles = databaseService.getArticleRepository().streamByStatus(ArticleStatus.RAW, FETCH_SIZE)) {
+            savedCount = enrichmentService.enrichAll(articles, SAVE_BATCH_SIZE, databaseService::saveArticles);
+        } catch (Exception e) {
+            System.err.println("Failed to enrich articles: " + e.getMessage());
+            return;
         }
 
-        System.out.println("Found " + articles.size() + " articles for enrichment.");
-        return articles;
+        System.out.println("Successfully enriched and updated " + savedCount + " articles");
     }
-}
\ No newline at end of file
+}
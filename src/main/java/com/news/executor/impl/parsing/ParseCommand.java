@@ -5,14 +5,13 @@ import com.news.executor.spec.CommandSpec;
 import com.news.executor.spec.OptionSpec;
 import com.news.model.Article;
 import com.news.model.ParsedCommand;
-import com.news.model.ParserName;
 import com.news.parser.Parser;
 import com.news.parser.ParserRegistry;
 import com.news.parser.ParserService;
+import com.news.parser.util.CrawlStateStore;
 import com.news.storage.DatabaseService;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
 
@@ -55,11 +54,13 @@ public class ParseCommand implements ValidatableCommand {
         Integer limit = parseLimit(parsedCommand);
 
         // execute parsing
-        ParserService parserService = new ParserService(parsers, limit);
+        CrawlStateStore crawlState = CrawlStateStore.shared();
+        ParserService parserService = new ParserService(parsers, limit, databaseService.getKnownUrls(), crawlState);
         List<Article> articles = parserService.collectAllArticlesParallel();
 
-        // save em
+        // save em; listings only advance past what was stored, so the rest is parsed again next time
         int savedCount = saveArticles(articles);
+        crawlState.collected(articles.stream().filter(article -> article.getId() != null).toList());
         System.out.println("Successfully parsed and saved " + savedCount + " articles");
     }
 
@@ -72,8 +73,7 @@ public class ParseCommand implements ValidatableCommand {
 
         for (String src : sources) {
             try {
-                ParserName name = ParserName.valueOf(src.toUpperCase());
-                parsers.add(parserRegistry.getParser(name));
+                parsers.add(parserRegistry.getParser(src));
             } catch (IllegalArgumentException e) {
                 System.err.println("Warning: unknown parser source '" + src + "'. Skipping...");
             }
@@ -96,22 +96,15 @@ public class ParseCommand implements ValidatableCommand {
     }
 
     private int saveArticles(List<Article> articles) {
-        int savedCount = 0;
-        for (Article article : articles) {
-            try {
-                databaseService.saveArticle(article);
-                savedCount++;
-            } catch (Exception e) {
-                System.err.println("Failed to save article: " + article.getUrl());
-            }
+        try {
+            return databaseService.saveArticles(articles);
+        } catch (Exception e) {
+            System.err.println("Failed to save parsed articles: " + e.getMessage());
+            return 0;
         }
-        return savedCount;
     }
 
     private String[] getAvailableSourceNames() {
-        return Arrays.stream(ParserName.values())
-                .map(Enum::name)
-                .map(String::toLowerCase)
-                .toArray(String[]::new);
+        return parserRegistry.getSourceNames().toArray(String[]::new);
     }
 }
\ No newline at end of file
@@ -13,8 +13,11 @@ import com.news.model.ParsedCommand;
 import com.news.storage.DatabaseService;
 
 import java.util.*;
+import java.util.stream.Stream;
 
 public class SupplementCommand implements ValidatableCommand {
+    private static final int FETCH_SIZE = 100;
+
     private final DatabaseService databaseService;
     private final CommandSpec commandSpec;
 
@@ -48,24 +51,26 @@ public class SupplementCommand implements ValidatableCommand {
             return;
         }
 
-        List<Article> articlesToSupplement;
-
-        if (parsedCommand.hasOption("id")) {
-            articlesToSupplement = handleSupplementById(parsedCommand);
-        } else {
-            articlesToSupplement = handleSupplementAll();
-        }
-
-        if (articlesToSupplement.isEmpty()) {
-            return;
-        }
-
         // Create AI configuration based on command line options
         AIConfiguration config = createAIConfiguration(parsedCommand);
         ArticleAnalyzer articleAnalyzer = new ConfigurableArticleAnalyzer(config);
         AIAnalysisService analysisService = new AIAnalysisService(databaseService, articleAnalyzer);
 
-        int savedCount = analysisService.analyzeArticles(articlesToSupplement);
+        int savedCount;
+        if (parsedCommand.hasOption("id")) {
+            List<Article> articlesToSupplement = handleSupplementById(parsedCommand);
+            if (articlesToSupplement.isEmpty()) {
+                return;
+            }
+            savedCount = analysisService.analyzeArticles(articlesToSupplement);
+        } else {
+            Integer supplemented = handleSupplementAll(analysisService);
+            if (supplemented == null) {
+                return;
+            }
+            savedCount = supplemented;
+        }
+
         System.out.println("Successfully supplemented and updated " + savedCount + " articles using model: " + config.modelName());
         System.out.println("Enabled operations: " + config.enabledOperations());
     }
@@ -74,7 +79,7 @@ public class SupplementCommand implements ValidatableCommand {
         // Default model
         String model = parsedCommand.getOption("model");
         if (model == null || model.isEmpty()) {
-            model = "qwen3:4b";
+            model = AIConfiguration.DEFAULT_MODEL;
         }
 
         // Determine enabled operations
@@ -88,7 +93,7 @@ public class SupplementCommand implements ValidatableCommand {
                 parsedCommand.hasOption("evaluate");
 
         if (!hasSpecificOperations) {
-            enabledOperations.addAll(Set.of("summarization", "region_classification", "tag_generation", "evaluation"));
+            enabledOperations.addAll(AIConfiguration.ALL_OPERATIONS);
         } else {
             if (parsedCommand.hasOption("summarize")) {
                 enabledOperations.add("summarization");
@@ -130,16 +135,26 @@ public class SupplementCommand implements ValidatableCommand {
         }
     }
 
-    private List<Article> handleSupplementAll() {
+    /**
+     * Streams ENRICHED articles from the database, so analysis starts on the first row
+     *
+     * @return number of supplemented articles, or null if there was nothing to do
+     */
+    private Integer handleSupplementAll(AIAnalysisService analysisService) {
         System.out.println("Fetching all ENRICHED articles");
-        List<Article> articles = databaseService.getArticleRepository().findByStatus(ArticleStatus.ENRICHED);
+        long total = databaseService.getArticleStatsRepository().countByStatus(ArticleStatus.ENRICHED);
 
-        if (articles.isEmpty()) {
+        if (total == 0) {
             System.out.println("No articles found for AI enrichment. Run command 'enrich' first to continue.");
-            return List.of();
+            return null;
         }
 
-        System.out.println("Found " + articles.size() + " articles for AI enrichment...");
-        return articles;
+        System.out.println("Found " + total + " articles for AI enrichment...");
+        try (Stream<Article> articles = databaseService.getArticleRepository().streamByStatus(ArticleStatus.ENRICHED, FETCH_SIZE)) {
+            return analysisService.analyzeArticles(articles);
+        } catch (Exception e) {
+            System.err.println("Failed to supplement articles: " + e.getMessage());
+            return null;
+        }
     }
-}
\ No newline at end of file
+}
@@ -103,10 +103,12 @@ public class HelpCommand implements ValidatableCommand {
                 System.out.println("  list");
                 System.out.println("  list --status ENRICHED --limit 5");
                 System.out.println("  list --author \"John Doe\" --today");
+                System.out.println("  list --sort title --asc --cursor <token from the previous page>");
             }
             case "search" -> {
                 System.out.println("  search --title \"climate change\"");
                 System.out.println("  search --content \"artificial intelligence\"");
+                System.out.println("  search --query \"climate -policy\" --limit 20 --offset 20");
             }
             case "export" -> {
                 System.out.println("  export --format JSON");
@@ -117,6 +119,15 @@ public class HelpCommand implements ValidatableCommand {
                 System.out.println("  clear --id 123");
                 System.out.println("  clear --all");
             }
+            case "stats" -> {
+                System.out.println("  stats");
+                System.out.println("  stats --detailed --fresh");
+            }
+            case "metrics" -> {
+                System.out.println("  metrics");
+                System.out.println("  metrics --filter ollama");
+                System.out.println("  metrics --prometheus");
+            }
             case "read" -> {
                 System.out.println("  read --id 123");
                 System.out.println("  read --id 123 --no-content");
@@ -152,6 +163,7 @@ public class HelpCommand implements ValidatableCommand {
               help       - Display this help (you're here!)
               exit       - Exit the application
               cron       - Set auto-parsing
+              metrics    - Show fetch, database and AI performance metrics
            \s
             💡 TIPS:
               • Use 'help --command <name>' for detailed command help
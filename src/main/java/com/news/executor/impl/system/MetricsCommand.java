@@ -0,0 +1,114 @@
+package com.news.executor.impl.system;
+
+import com.news.executor.ValidatableCommand;
+import com.news.executor.spec.CommandSpec;
+import com.news.executor.spec.OptionSpec;
+import com.news.metrics.Counter;
+import com.news.metrics.Gauge;
+import com.news.metrics.Histogram;
+import com.news.metrics.Metric;
+import com.news.metrics.MetricsRegistry;
+import com.news.metrics.Timer;
+import com.news.model.ParsedCommand;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class MetricsCommand implements ValidatableCommand {
+    private final MetricsRegistry registry;
+    private final CommandSpec commandSpec;
+
+    public MetricsCommand(MetricsRegistry registry) {
+        this.registry = registry;
+        this.commandSpec = new CommandSpec.Builder()
+                .name("metrics")
+                .description("Show fetch, database and AI performance metrics collected since startup")
+                .options(Set.of(
+                        OptionSpec.flag("prometheus", "Print the raw Prometheus text format"),
+                        OptionSpec.withSingleArg("filter", "Only show metrics whose name contains the text", OptionSpec.OptionType.STRING)
+                ))
+                .build();
+    }
+
+    @Override
+    public CommandSpec getCommandSpec() {
+        return commandSpec;
+    }
+
+    @Override
+    public void executeValidated(ParsedCommand parsedCommand) {
+        if (parsedCommand.hasOption("prometheus")) {
+            System.out.print(registry.scrape());
+            return;
+        }
+
+        String filter = parsedCommand.getOptionOrDefault("filter", "");
+        List<Metric> metrics = registry.snapshot().stream()
+                .filter(metric -> metric.name().contains(filter))
+                .toList();
+
+        double uptimeSeconds = Math.max(1e-3, registry.uptime().toMillis() / 1000.0);
+        System.out.printf("📈 === METRICS (uptime %s) ===%n", formatUptime(uptimeSeconds));
+        if (metrics.isEmpty()) {
+            System.out.println("   No metrics recorded yet");
+            return;
+        }
+
+        String currentName = null;
+        for (Metric metric : metrics) {
+            if (!metric.name().equals(currentName)) {
+                currentName = metric.name();
+                System.out.println("\n" + currentName);
+            }
+            System.out.println("   " + formatLabels(metric.labels()) + describe(metric, uptimeSeconds));
+        }
+    }
+
+    private static String describe(Metric metric, double uptimeSeconds) {
+        if (metric instanceof Counter counter) {
+            return String.format("%,d (%.2f/s)", counter.get(), counter.get() / uptimeSeconds);
+        }
+        if (metric instanceof Gauge gauge) {
+            double value = gauge.get();
+            return value == Math.rint(value) ? String.format("%,d", (long) value) : String.format("%.2f", value);
+        }
+        if (metric instanceof Timer timer) {
+            return String.format("count %,d, avg %s, p50 ≤ %s, p95 ≤ %s",
+                    timer.count(), formatSeconds(timer.mean()),
+                    formatSeconds(timer.quantile(0.5)), formatSeconds(timer.quantile(0.95)));
+        }
+        if (metric instanceof Histogram histogram) {
+            return String.format("count %,d, avg %.2f, p50 ≤ %s, p95 ≤ %s",
+                    histogram.count(), histogram.mean(),
+                    formatBound(histogram.quantile(0.5)), formatBound(histogram.quantile(0.95)));
+        }
+        return metric.type();
+    }
+
+    private static String formatLabels(Map<String, String> labels) {
+        if (labels.isEmpty()) {
+            return "";
+        }
+        return labels.entrySet().stream()
+                .map(label -> label.getKey() + "=" + label.getValue())
+                .collect(Collectors.joining(", ", "[", "] "));
+    }
+
+    private static String formatSeconds(double seconds) {
+        if (Double.isInfinite(seconds)) {
+            return "∞";
+        }
+        return seconds < 1 ? String.format("%.1fms", seconds * 1000) : String.format("%.2fs", seconds);
+    }
+
+    private static String formatBound(double bound) {
+        return Double.isInfinite(bound) ? "∞" : String.format("%.1f", bound);
+    }
+
+    private static String formatUptime(double seconds) {
+        long total = (long) seconds;
+        return String.format("%dh %02dm %02ds", total / 3600, total % 3600 / 60, total % 60);
+    }
+}
@@ -1,23 +1,32 @@
 package com.news.executor.impl.system.cron;
 
+import com.news.ConfigLoader;
+import com.news.ai.AIAnalysisService;
+import com.news.ai.ConfigurableArticleAnalyzer;
+import com.news.ai.client.OllamaRequestScheduler;
+import com.news.ai.config.AIConfiguration;
 import com.news.executor.ValidatableCommand;
-import com.news.executor.impl.parsing.EnrichCommand;
-import com.news.executor.impl.parsing.ParseCommand;
-import com.news.executor.impl.parsing.SupplementCommand;
 import com.news.executor.spec.CommandSpec;
 import com.news.executor.spec.OptionSpec;
+import com.news.model.ArticleStatus;
 import com.news.model.ParsedCommand;
+import com.news.parser.EnrichmentService;
+import com.news.parser.Parser;
 import com.news.parser.ParserRegistry;
+import com.news.parser.util.CrawlStateStore;
+import com.news.pipeline.ArticlePipeline;
 import com.news.storage.DatabaseService;
+import com.news.storage.inter.ArticleRepository;
 
 import java.io.Console;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 
 import static com.news.ConfigLoader.AI_SUPPLEMENT_TIME_PER_ARTICLE;
 
 public class CronCommand implements ValidatableCommand {
+    private static final int FETCH_SIZE = 200;
 
     private final DatabaseService databaseService;
     private final ParserRegistry parserRegistry;
@@ -171,7 +180,7 @@ public class CronCommand implements ValidatableCommand {
 
     private int estimateArticleCount(Integer limit) {
         try {
-            int totalArticles = databaseService.getArticleRepository().findAll().size();
+            int totalArticles = (int) databaseService.getArticleStatsRepository().countAllArticles();
             return limit != null ? Math.min(limit, totalArticles) : totalArticles;
         } catch (Exception e) {
             return limit != null ? limit : 100;
@@ -192,56 +201,75 @@ public class CronCommand implements ValidatableCommand {
         cronScheduler.schedule(schedule, cronTask, mode, sourcesDesc);
     }
 
+    /**
+     * Runs parse, enrich and (in full mode) AI analysis as one streaming pipeline, so each
+     * article is stored as soon as it has been through every stage instead of after the
+     * whole cycle. Articles earlier cycles left RAW (and ENRICHED, in full mode) are fed in
+     * as well, as the separate enrich and supplement steps used to do.
+     */
     private void executeParsingSequence(boolean isFullMode, List<String> sources, Integer limit) {
-        try {
-            if (cronScheduler.shouldStop()) return;
-
-            System.out.println("  📥 Executing: parse --source all");
-            executeParsing(sources, limit);
-
-            if (cronScheduler.shouldStop()) return;
+        if (cronScheduler.shouldStop()) return;
 
-            System.out.println("  🔍 Executing: enrich --all");
-            executeEnriching();
-
-            if (cronScheduler.shouldStop()) return;
+        List<Parser> parsers = resolveParsers(sources);
+        if (parsers.isEmpty()) {
+            System.err.println("  No valid parsers selected for the cron job");
+            return;
+        }
 
-            if (isFullMode) {
-                System.out.println("  🤖 Executing: supplement --all (AI processing...)");
-                executeSupplementing();
-            }
+        AIAnalysisService analysisService = isFullMode
+                ? new AIAnalysisService(databaseService, new ConfigurableArticleAnalyzer(AIConfiguration.defaults()))
+                : null;
+
+        System.out.println(isFullMode
+                ? "  📥 Executing pipeline: parse → enrich → supplement (AI processing...) → save"
+                : "  📥 Executing pipeline: parse → enrich → save");
+
+        ArticleRepository articles = databaseService.getArticleRepository();
+        ArticlePipeline.Builder builder = new ArticlePipeline.Builder()
+                .parsers(parsers)
+                .backlog(() -> articles.streamByStatus(ArticleStatus.RAW, FETCH_SIZE))
+                .perSourceLimit(limit)
+                .enrichmentService(new EnrichmentService(parserRegistry.getEnricherRegistry()))
+                .analysisService(analysisService)
+                .databaseService(databaseService)
+                .crawlState(CrawlStateStore.shared())
+                .queueCapacity(ConfigLoader.getInt("PIPELINE_QUEUE_SIZE", 100))
+                .enrichWorkers(ConfigLoader.getInt("PIPELINE_ENRICH_WORKERS", 16))
+                .analyzeWorkers(OllamaRequestScheduler.shared().getMaxInFlight())
+                .saveBatchSize(ConfigLoader.getInt("PIPELINE_SAVE_BATCH_SIZE", 100))
+                .stopRequested(cronScheduler::shouldStop);
+        if (isFullMode) {
+            builder.backlog(() -> articles.streamByStatus(ArticleStatus.ENRICHED, FETCH_SIZE));
+        }
 
+        try {
+            ArticlePipeline.Result result = builder.build().run();
+            System.out.printf("  Fetched %d new and %d stored, enriched %d, analyzed %d, saved %d articles%n",
+                    result.fetched(), result.resumed(), result.enriched(), result.analyzed(), result.saved());
         } catch (Exception e) {
             throw new RuntimeException("Error in parsing sequence", e);
         }
-    }
 
-    private void executeParsing(List<String> sources, Integer limit) {
-        List<String> sourceList = sources != null ? sources : List.of("all");
-        ParsedCommand parsedCommand = ParsedCommand.builder()
-                .name("parse")
-                .options(Map.of("source", sourceList))
-                .build();
-
-        ParseCommand parseCommand = new ParseCommand(databaseService, parserRegistry);
-        parseCommand.executeValidated(parsedCommand);
+        try {
+            databaseService.getStatsSnapshotRepository().refresh();
+        } catch (Exception e) {
+            System.err.println("  ⚠️  Could not refresh statistics snapshot: " + e.getMessage());
+        }
     }
 
-    private void executeEnriching() {
-        ParsedCommand parsedCommand = ParsedCommand.builder()
-                .name("enrich")
-                .options(Map.of("all", List.of("true")))
-                .build();
-        EnrichCommand enrichCommand = new EnrichCommand(databaseService, parserRegistry);
-        enrichCommand.executeValidated(parsedCommand);
-    }
+    private List<Parser> resolveParsers(List<String> sources) {
+        if (sources == null || (sources.size() == 1 && sources.getFirst().equalsIgnoreCase("all"))) {
+            return parserRegistry.getAllParsers();
+        }
 
-    private void executeSupplementing() {
-        ParsedCommand parsedCommand = ParsedCommand.builder()
-                .name("supplement")
-                .options(Map.of("all", List.of("true")))
-                .build();
-        SupplementCommand supplementCommand = new SupplementCommand(databaseService);
-        supplementCommand.executeValidated(parsedCommand);
+        List<Parser> parsers = new ArrayList<>();
+        for (String src : sources) {
+            try {
+                parsers.add(parserRegistry.getParser(src));
+            } catch (IllegalArgumentException e) {
+                System.err.println("Warning: unknown parser source '" + src + "'. Skipping...");
+            }
+        }
+        return parsers;
     }
-}
\ No newline at end of file
+}
@@ -9,6 +9,7 @@ import com.news.storage.DatabaseService;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.Writer;
 import java.util.Set;
 
 public class ExportCommand implements ValidatableCommand {
@@ -57,20 +58,21 @@ public class ExportCommand implements ValidatableCommand {
             return;
         }
 
-        // Export logic
         ExportService exportService = new ExportService(databaseService.getArticleRepository());
+
+        if (!parsedCommand.hasOption("id")) {
+            exportAll(exportService, fileService, format, outputDir);
+            return;
+        }
+
+        // Export logic
         String exportedContent;
         String fileName;
 
         try {
-            if (parsedCommand.hasOption("id")) {
-                Long id = Long.parseLong(parsedCommand.getOption("id"));
-                exportedContent = exportService.exportById(id, format);
-                fileName = "article_" + id + "." + format.name().toLowerCase();
-            } else {
-                exportedContent = exportService.exportAll(format);
-                fileName = "articles_all." + format.name().toLowerCase();
-            }
+            Long id = Long.parseLong(parsedCommand.getOption("id"));
+            exportedContent = exportService.exportById(id, format);
+            fileName = "article_" + id + "." + format.name().toLowerCase();
         } catch (Exception e) {
             System.err.println("Error during export: " + e.getMessage());
             return;
@@ -86,6 +88,24 @@ public class ExportCommand implements ValidatableCommand {
         }
     }
 
+    /**
+     * Writes the articles to the file as they are read from the database; a failed export
+     * does not leave a truncated file behind
+     */
+    private void exportAll(ExportService exportService, FileService fileService, ExportFormat format, File outputDir) {
+        File outputFile = new File(outputDir, "articles_all." + format.name().toLowerCase());
+        try (Writer writer = fileService.openWriter(outputFile)) {
+            int count = exportService.exportAll(format, writer);
+            writer.flush();
+            System.out.println("Export successful! " + count + " articles saved to: " + outputFile.getAbsolutePath());
+        } catch (Exception e) {
+            System.err.println("Error during export: " + e.getMessage());
+            if (outputFile.exists() && !outputFile.delete()) {
+                System.err.println("Could not remove incomplete export file: " + outputFile.getAbsolutePath());
+            }
+        }
+    }
+
     private String[] getValidFormats() {
         return java.util.Arrays.stream(ExportFormat.values())
                 .map(Enum::name)
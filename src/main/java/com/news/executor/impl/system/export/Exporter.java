@@ -2,8 +2,36 @@ package com.news.executor.impl.system.export;
 
 import com.news.model.Article;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.List;
 
 public interface Exporter {
-    String export(List<Article> articles);
+
+    /**
+     * Incremental export: the document is started when the writer is opened, articles are
+     * appended one at a time and the document is finished on close. The target is not closed.
+     */
+    interface ArticleWriter extends Closeable {
+        void write(Article article) throws IOException;
+    }
+
+    ArticleWriter openWriter(Writer out) throws IOException;
+
+    default String export(List<Article> articles) {
+        StringWriter out = new StringWriter();
+        try (ArticleWriter writer = openWriter(out)) {
+            if (articles != null) {
+                for (Article article : articles) {
+                    writer.write(article);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
 }
@@ -1,5 +1,6 @@
 package com.news.executor.impl.system.export;
 
+import java.io.BufferedWriter;
 import java.io.FileOutputStream;
 import java.io.OutputStreamWriter;
 import java.io.File;
@@ -8,6 +9,8 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 
 public class FileService {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     public File createDirectoryIfNotExists(String dirPath) throws IOException {
         File outputDir = new File(dirPath);
         if (!outputDir.exists() && !outputDir.mkdirs()) {
@@ -16,6 +19,10 @@ public class FileService {
         return outputDir;
     }
 
+    public Writer openWriter(File file) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
     public void writeToFile(File file, String content) throws IOException {
         try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
             writer.write(content);
@@ -3,60 +3,64 @@ package com.news.executor.impl.system.export.impl;
 import com.news.executor.impl.system.export.Exporter;
 import com.news.model.Article;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.List;
 
 public class CsvExporter implements Exporter {
 
     @Override
-    public String export(List<Article> articles) {
-        StringBuilder csv = new StringBuilder();
+    public ArticleWriter openWriter(Writer out) throws IOException {
+        // Add complete header with all fields, even for an empty export
+        out.write("id,title,url,summary,content,region,tags,publishedAt,author,sourceName,imageUrl,language,status,rating\n");
 
-        // Add complete header with all fields
-        csv.append("id,title,url,summary,content,region,tags,publishedAt,author,sourceName,imageUrl,language,status,rating\n");
-
-        if (articles == null || articles.isEmpty()) {
-            return csv.toString(); // Return header even for empty list
-        }
+        return new ArticleWriter() {
+            @Override
+            public void write(Article article) throws IOException {
+                writeRow(out, article);
+            }
 
-        // Add data rows
-        for (Article article : articles) {
-            if (article == null) {
-                // Add empty row with proper column count for null articles
-                csv.append(",,,,,,,,,,,,,\n");
-                continue;
+            @Override
+            public void close() {
             }
+        };
+    }
 
-            csv.append(safeString(article.getId()))
-                    .append(",")
-                    .append(escape(safeString(article.getTitle())))
-                    .append(",")
-                    .append(escape(safeString(article.getUrl())))
-                    .append(",")
-                    .append(escape(safeString(article.getSummary())))
-                    .append(",")
-                    .append(escape(safeString(article.getContent())))
-                    .append(",")
-                    .append(escape(safeString(article.getRegion())))
-                    .append(",")
-                    .append(escape(formatTags(article.getTags())))
-                    .append(",")
-                    .append(escape(safeString(article.getPublishedAt())))
-                    .append(",")
-                    .append(escape(safeString(article.getAuthor())))
-                    .append(",")
-                    .append(escape(safeString(article.getSourceName())))
-                    .append(",")
-                    .append(escape(safeString(article.getImageUrl())))
-                    .append(",")
-                    .append(escape(safeString(article.getLanguage())))
-                    .append(",")
-                    .append(escape(safeString(article.getStatus())))
-                    .append(",")
-                    .append(safeString(article.getRating()))
-                    .append("\n");
+    private void writeRow(Writer out, Article article) throws IOException {
+        if (article == null) {
+            // Add empty row with proper column count for null articles
+            out.write(",,,,,,,,,,,,,\n");
+            return;
         }
 
-        return csv.toString();
+        out.append(safeString(article.getId()))
+                .append(",")
+                .append(escape(safeString(article.getTitle())))
+                .append(",")
+                .append(escape(safeString(article.getUrl())))
+                .append(",")
+                .append(escape(safeString(article.getSummary())))
+                .append(",")
+                .append(escape(safeString(article.getContent())))
+                .append(",")
+                .append(escape(safeString(article.getRegion())))
+                .append(",")
+                .append(escape(formatTags(article.getTags())))
+                .append(",")
+                .append(escape(safeString(article.getPublishedAt())))
+                .append(",")
+                .append(escape(safeString(article.getAuthor())))
+                .append(",")
+                .append(escape(safeString(article.getSourceName())))
+                .append(",")
+                .append(escape(safeString(article.getImageUrl())))
+                .append(",")
+                .append(escape(safeString(article.getLanguage())))
+                .append(",")
+                .append(escape(safeString(article.getStatus())))
+                .append(",")
+                .append(safeString(article.getRating()))
+                .append("\n");
     }
 
     private String formatTags(List<String> tags) {
@@ -79,4 +83,4 @@ public class CsvExporter implements Exporter {
     private String safeString(Object value) {
         return value != null ? value.toString() : "";
     }
-}
\ No newline at end of file
+}
@@ -3,51 +3,62 @@ package com.news.executor.impl.system.export.impl;
 import com.news.executor.impl.system.export.Exporter;
 import com.news.model.Article;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.List;
 
 public class HtmlExporter implements Exporter {
     @Override
-    public String export(List<Article> articles) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("<!DOCTYPE html>")
+    public ArticleWriter openWriter(Writer out) throws IOException {
+        out.append("<!DOCTYPE html>")
                 .append("<html><head><title>Articles Export</title></head>")
                 .append("<body><h1>Articles</h1>");
 
-        if (articles == null || articles.isEmpty()) {
-            sb.append("<p>No articles to display.</p>");
-        } else {
-            sb.append("<ul>");
-            for (Article article : articles) {
-                if (article == null) {
-                    sb.append("<li><p>NULL ARTICLE</p></li>");
-                    continue;
-                }
-
-                sb.append("<li>")
-                        .append("<h2>").append(safeHtml(article.getTitle())).append("</h2>")
-                        .append("<p><strong>URL:</strong> ").append(safeHtml(article.getUrl())).append("</p>")
-                        .append("<p><strong>Summary:</strong> ").append(safeHtml(article.getSummary())).append("</p>")
-                        .append("<p><strong>Content:</strong> ").append(safeHtml(article.getContent())).append("</p>")
-                        .append("<p><strong>Region:</strong> ").append(safeHtml(article.getRegion())).append("</p>")
-                        .append("<p><strong>Tags:</strong> ").append(formatTagsHtml(article.getTags())).append("</p>")
-                        .append("<p><strong>Author:</strong> ").append(safeHtml(article.getAuthor())).append("</p>")
-                        .append("<p><strong>Source:</strong> ").append(safeHtml(article.getSourceName())).append("</p>")
-                        .append("<p><strong>Language:</strong> ").append(safeHtml(article.getLanguage())).append("</p>")
-                        .append("<p><strong>Status:</strong> ").append(safeHtml(article.getStatus())).append("</p>")
-                        .append("<p><strong>Rating:</strong> ").append(safeHtml(article.getRating())).append("</p>");
+        return new ArticleWriter() {
+            private boolean listOpened;
 
-                if (article.getImageUrl() != null && !article.getImageUrl().trim().isEmpty()) {
-                    sb.append("<p><img src=\"").append(safeHtml(article.getImageUrl())).append("\" alt=\"Article Image\" style=\"max-width:200px;\"></p>");
+            @Override
+            public void write(Article article) throws IOException {
+                if (!listOpened) {
+                    out.write("<ul>");
+                    listOpened = true;
                 }
+                writeItem(out, article);
+            }
 
-                sb.append("<small><strong>Published:</strong> ").append(safeHtml(article.getPublishedAt())).append("</small>")
-                        .append("</li>");
+            @Override
+            public void close() throws IOException {
+                out.write(listOpened ? "</ul>" : "<p>No articles to display.</p>");
+                out.write("</body></html>");
             }
-            sb.append("</ul>");
+        };
+    }
+
+    private void writeItem(Writer out, Article article) throws IOException {
+        if (article == null) {
+            out.write("<li><p>NULL ARTICLE</p></li>");
+            return;
+        }
+
+        out.append("<li>")
+                .append("<h2>").append(safeHtml(article.getTitle())).append("</h2>")
+                .append("<p><strong>URL:</strong> ").append(safeHtml(article.getUrl())).append("</p>")
+                .append("<p><strong>Summary:</strong> ").append(safeHtml(article.getSummary())).append("</p>")
+                .append("<p><strong>Content:</strong> ").append(safeHtml(article.getContent())).append("</p>")
+                .append("<p><strong>Region:</strong> ").append(safeHtml(article.getRegion())).append("</p>")
+                .append("<p><strong>Tags:</strong> ").append(formatTagsHtml(article.getTags())).append("</p>")
+                .append("<p><strong>Author:</strong> ").append(safeHtml(article.getAuthor())).append("</p>")
+                .append("<p><strong>Source:</strong> ").append(safeHtml(article.getSourceName())).append("</p>")
+                .append("<p><strong>Language:</strong> ").append(safeHtml(article.getLanguage())).append("</p>")
+                .append("<p><strong>Status:</strong> ").append(safeHtml(article.getStatus())).append("</p>")
+                .append("<p><strong>Rating:</strong> ").append(safeHtml(article.getRating())).append("</p>");
+
+        if (article.getImageUrl() != null && !article.getImageUrl().trim().isEmpty()) {
+            out.append("<p><img src=\"").append(safeHtml(article.getImageUrl())).append("\" alt=\"Article Image\" style=\"max-width:200px;\"></p>");
         }
 
-        sb.append("</body></html>");
-        return sb.toString();
+        out.append("<small><strong>Published:</strong> ").append(safeHtml(article.getPublishedAt())).append("</small>")
+                .append("</li>");
     }
 
     private String formatTagsHtml(List<String> tags) {
@@ -67,4 +78,4 @@ public class HtmlExporter implements Exporter {
                 .replace(">", "&gt;")
                 .replace("\"", "&quot;");
     }
-}
\ No newline at end of file
+}
@@ -1,11 +1,14 @@
 package com.news.executor.impl.system.export.impl;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.news.executor.impl.system.export.Exporter;
 import com.news.model.Article;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.List;
 
 public class JsonExporter implements Exporter {
@@ -15,6 +18,9 @@ public class JsonExporter implements Exporter {
         this.objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule());
         objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        // the caller owns the writer and decides when to flush it
+        objectMapper.disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        objectMapper.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
         objectMapper.findAndRegisterModules();
     }
 
@@ -29,4 +35,24 @@ public class JsonExporter implements Exporter {
             throw new RuntimeException("Failed to export to JSON", e);
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public ArticleWriter openWriter(Writer out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.useDefaultPrettyPrinter();
+        generator.writeStartArray();
+
+        return new ArticleWriter() {
+            @Override
+            public void write(Article article) throws IOException {
+                objectMapper.writeValue(generator, article);
+            }
+
+            @Override
+            public void close() throws IOException {
+                generator.writeEndArray();
+                generator.close();
+            }
+        };
+    }
+}
@@ -0,0 +1,50 @@
+package com.news.metrics;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic count, cheap to increment from many threads
+ */
+public class Counter implements Metric {
+    private final String name;
+    private final Map<String, String> labels;
+    private final LongAdder value = new LongAdder();
+
+    Counter(String name, Map<String, String> labels) {
+        this.name = name;
+        this.labels = labels;
+    }
+
+    public void increment() {
+        value.increment();
+    }
+
+    public void add(long amount) {
+        value.add(amount);
+    }
+
+    public long get() {
+        return value.sum();
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public Map<String, String> labels() {
+        return labels;
+    }
+
+    @Override
+    public String type() {
+        return "counter";
+    }
+
+    @Override
+    public void writeSamples(StringBuilder out) {
+        out.append(name).append(MetricsRegistry.renderLabels(labels, null)).append(' ').append(get()).append('\n');
+    }
+}
@@ -0,0 +1,60 @@
+package com.news.metrics;
+
+import java.util.Map;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Series whose value is read from its owner when sampled, e.g. the state of a pool. Values
+ * that only grow are exposed with the counter type so rate() works on them.
+ */
+public class Gauge implements Metric {
+    private final String name;
+    private final Map<String, String> labels;
+    private final String type;
+    private volatile DoubleSupplier value;
+
+    Gauge(String name, Map<String, String> labels, String type, DoubleSupplier value) {
+        this.name = name;
+        this.labels = labels;
+        this.type = type;
+        this.value = value;
+    }
+
+    /**
+     * Points the series at a new source, e.g. when the pool it reports on is replaced
+     */
+    public void bind(DoubleSupplier value) {
+        this.value = value;
+    }
+
+    public double get() {
+        return value.getAsDouble();
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public Map<String, String> labels() {
+        return labels;
+    }
+
+    @Override
+    public String type() {
+        return type;
+    }
+
+    @Override
+    public void writeSamples(StringBuilder out) {
+        double current = get();
+        out.append(name).append(MetricsRegistry.renderLabels(labels, null)).append(' ');
+        if (current == Math.rint(current) && !Double.isInfinite(current)) {
+            out.append((long) current);
+        } else {
+            out.append(current);
+        }
+        out.append('\n');
+    }
+}
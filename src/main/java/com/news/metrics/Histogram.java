@@ -0,0 +1,101 @@
+package com.news.metrics;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Distribution over fixed bucket upper bounds, exported as cumulative Prometheus buckets
+ */
+public class Histogram implements Metric {
+    private final String name;
+    private final Map<String, String> labels;
+    private final double[] bounds;
+    private final LongAdder[] buckets;
+    private final LongAdder count = new LongAdder();
+    private final DoubleAdder sum = new DoubleAdder();
+
+    Histogram(String name, Map<String, String> labels, double[] bounds) {
+        this.name = name;
+        this.labels = labels;
+        this.bounds = bounds.clone();
+        Arrays.sort(this.bounds);
+        // the last bucket is +Inf
+        this.buckets = new LongAdder[this.bounds.length + 1];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void observe(double value) {
+        int index = Arrays.binarySearch(bounds, value);
+        buckets[index >= 0 ? index : -index - 1].increment();
+        count.increment();
+        sum.add(value);
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public double sum() {
+        return sum.sum();
+    }
+
+    public double mean() {
+        long n = count();
+        return n == 0 ? 0 : sum() / n;
+    }
+
+    /**
+     * Upper bound of the bucket holding the q-quantile; infinite if it is past the last bound
+     */
+    public double quantile(double q) {
+        long n = count();
+        if (n == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(q * n);
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i].sum();
+            if (seen >= rank) {
+                return i < bounds.length ? bounds[i] : Double.POSITIVE_INFINITY;
+            }
+        }
+        return Double.POSITIVE_INFINITY;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public Map<String, String> labels() {
+        return labels;
+    }
+
+    @Override
+    public String type() {
+        return "histogram";
+    }
+
+    @Override
+    public void writeSamples(StringBuilder out) {
+        long cumulative = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            cumulative += buckets[i].sum();
+            String le = i < bounds.length ? formatBound(bounds[i]) : "+Inf";
+            out.append(name).append("_bucket").append(MetricsRegistry.renderLabels(labels, le))
+                    .append(' ').append(cumulative).append('\n');
+        }
+        out.append(name).append("_sum").append(MetricsRegistry.renderLabels(labels, null)).append(' ').append(sum()).append('\n');
+        out.append(name).append("_count").append(MetricsRegistry.renderLabels(labels, null)).append(' ').append(count()).append('\n');
+    }
+
+    private static String formatBound(double bound) {
+        return bound == Math.rint(bound) ? String.valueOf((long) bound) : String.valueOf(bound);
+    }
+}
@@ -0,0 +1,22 @@
+package com.news.metrics;
+
+import java.util.Map;
+
+/**
+ * One labelled time series, or a group of them for a histogram
+ */
+public interface Metric {
+    String name();
+
+    Map<String, String> labels();
+
+    /**
+     * Prometheus type: counter, gauge or histogram
+     */
+    String type();
+
+    /**
+     * Appends the sample lines of this series in Prometheus text format
+     */
+    void writeSamples(StringBuilder out);
+}
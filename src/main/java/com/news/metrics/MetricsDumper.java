@@ -0,0 +1,79 @@
+package com.news.metrics;
+
+import com.news.ConfigLoader;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically writes the registry to a file in Prometheus text format, e.g. for the node
+ * exporter's textfile collector. The file is replaced atomically, so readers never see a
+ * partial dump.
+ */
+public class MetricsDumper {
+    private static final int DEFAULT_INTERVAL_SECONDS = 60;
+
+    private final MetricsRegistry registry;
+    private final Path file;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "metrics-dumper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public MetricsDumper(MetricsRegistry registry, Path file) {
+        this.registry = registry;
+        this.file = file;
+    }
+
+    /**
+     * Starts dumping the shared registry to METRICS_FILE every METRICS_DUMP_SECONDS;
+     * an interval of 0 turns dumping off
+     *
+     * @return the running dumper, or null if it is disabled
+     */
+    public static MetricsDumper startFromConfig() {
+        int seconds = ConfigLoader.getInt("METRICS_DUMP_SECONDS", DEFAULT_INTERVAL_SECONDS);
+        if (seconds <= 0) {
+            return null;
+        }
+        MetricsDumper dumper = new MetricsDumper(MetricsRegistry.shared(),
+                Path.of(Objects.requireNonNullElse(ConfigLoader.getProperty("METRICS_FILE"), "metrics.prom")));
+        dumper.start(Duration.ofSeconds(seconds));
+        return dumper;
+    }
+
+    public void start(Duration interval) {
+        scheduler.scheduleAtFixedRate(this::dumpQuietly, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void dump() throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.writeString(tmp, registry.scrape(), StandardCharsets.UTF_8);
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Writes a last dump and stops the schedule
+     */
+    public void close() {
+        scheduler.shutdownNow();
+        dumpQuietly();
+    }
+
+    private void dumpQuietly() {
+        try {
+            dump();
+        } catch (IOException e) {
+            System.err.println("Failed to write metrics to " + file + ": " + e.getMessage());
+        }
+    }
+}
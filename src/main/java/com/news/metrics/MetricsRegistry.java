@@ -0,0 +1,138 @@
+package com.news.metrics;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+
+/**
+ * Process-wide set of counters, gauges, timers and histograms. A series is identified by its name and
+ * label pairs; asking for the same one twice returns the same instance, so callers can look
+ * metrics up on the hot path or keep a reference.
+ */
+public class MetricsRegistry {
+    private final Map<String, Metric> series = new ConcurrentHashMap<>();
+    private final Map<String, String> types = new ConcurrentHashMap<>();
+    private final long startedAt = System.nanoTime();
+
+    private static final class SharedHolder {
+        private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+    }
+
+    public static MetricsRegistry shared() {
+        return SharedHolder.INSTANCE;
+    }
+
+    /**
+     * @param labels alternating label names and values
+     */
+    public Counter counter(String name, String... labels) {
+        return register(name, "counter", labels, map -> new Counter(name, map), Counter.class);
+    }
+
+    public Timer timer(String name, String... labels) {
+        return register(name, "histogram", labels, map -> new Timer(name, map), Timer.class);
+    }
+
+    public Histogram histogram(String name, double[] bounds, String... labels) {
+        return register(name, "histogram", labels, map -> new Histogram(name, map, bounds), Histogram.class);
+    }
+
+    /**
+     * Series sampled from value on every read; registering it again rebinds it to the new value
+     */
+    public Gauge gauge(String name, DoubleSupplier value, String... labels) {
+        return bound(register(name, "gauge", labels, map -> new Gauge(name, map, "gauge", value), Gauge.class), value);
+    }
+
+    /**
+     * Like gauge, for a value that only grows, such as a count kept by the component itself
+     */
+    public Gauge functionCounter(String name, DoubleSupplier value, String... labels) {
+        return bound(register(name, "counter", labels, map -> new Gauge(name, map, "counter", value), Gauge.class), value);
+    }
+
+    private static Gauge bound(Gauge gauge, DoubleSupplier value) {
+        gauge.bind(value);
+        return gauge;
+    }
+
+    public Duration uptime() {
+        return Duration.ofNanos(System.nanoTime() - startedAt);
+    }
+
+    /**
+     * All series, ordered by name and then labels
+     */
+    public List<Metric> snapshot() {
+        List<Metric> all = new ArrayList<>(series.values());
+        all.sort(Comparator.comparing(Metric::name).thenComparing(metric -> metric.labels().toString()));
+        return all;
+    }
+
+    /**
+     * Every series in the Prometheus text exposition format
+     */
+    public String scrape() {
+        StringBuilder out = new StringBuilder();
+        String currentName = null;
+        for (Metric metric : snapshot()) {
+            if (!metric.name().equals(currentName)) {
+                currentName = metric.name();
+                out.append("# TYPE ").append(currentName).append(' ').append(metric.type()).append('\n');
+            }
+            metric.writeSamples(out);
+        }
+        return out.toString();
+    }
+
+    private <M extends Metric> M register(String name, String type, String[] labels,
+                                          Function<Map<String, String>, M> factory, Class<M> kind) {
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("Labels of " + name + " must be name/value pairs");
+        }
+        String registeredType = types.putIfAbsent(name, type);
+        if (registeredType != null && !registeredType.equals(type)) {
+            throw new IllegalArgumentException(name + " is already registered as a " + registeredType);
+        }
+
+        Map<String, String> labelMap = new LinkedHashMap<>();
+        for (int i = 0; i < labels.length; i += 2) {
+            labelMap.put(labels[i], labels[i + 1] != null ? labels[i + 1] : "");
+        }
+        Metric metric = series.computeIfAbsent(name + renderLabels(labelMap, null), key -> factory.apply(labelMap));
+        if (!kind.isInstance(metric)) {
+            throw new IllegalArgumentException(name + " is already registered as " + metric.getClass().getSimpleName());
+        }
+        return kind.cast(metric);
+    }
+
+    static String renderLabels(Map<String, String> labels, String le) {
+        if (labels.isEmpty() && le == null) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder("{");
+        labels.forEach((name, value) -> {
+            if (out.length() > 1) {
+                out.append(',');
+            }
+            out.append(name).append("=\"").append(escape(value)).append('"');
+        });
+        if (le != null) {
+            if (out.length() > 1) {
+                out.append(',');
+            }
+            out.append("le=\"").append(le).append('"');
+        }
+        return out.append('}').toString();
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
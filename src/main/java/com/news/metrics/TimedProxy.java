@@ -0,0 +1,46 @@
+package com.news.metrics;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wraps an interface implementation so every call is timed per method, e.g. to get database
+ * latency per repository method without touching each query
+ */
+public final class TimedProxy {
+    private TimedProxy() {
+    }
+
+    /**
+     * @param labels label pairs added to every timer; each timer also gets a "method" label
+     */
+    public static <T> T wrap(Class<T> type, T target, MetricsRegistry registry, String metricName, String... labels) {
+        Map<Method, Timer> timers = new ConcurrentHashMap<>();
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(target, args);
+            }
+            Timer timer = timers.computeIfAbsent(method, m -> registry.timer(metricName, withMethod(labels, m)));
+            long start = System.nanoTime();
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            } finally {
+                timer.recordSince(start);
+            }
+        });
+        return type.cast(proxy);
+    }
+
+    private static String[] withMethod(String[] labels, Method method) {
+        String[] all = Arrays.copyOf(labels, labels.length + 2);
+        all[labels.length] = "method";
+        all[labels.length + 1] = method.getName();
+        return all;
+    }
+}
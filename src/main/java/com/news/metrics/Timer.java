@@ -0,0 +1,38 @@
+package com.news.metrics;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Latency histogram in seconds
+ */
+public class Timer extends Histogram {
+    static final double[] LATENCY_BUCKETS = {
+            0.001, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30, 60, 120
+    };
+
+    Timer(String name, Map<String, String> labels) {
+        super(name, labels, LATENCY_BUCKETS);
+    }
+
+    public void record(Duration duration) {
+        observe(duration.toNanos() / 1e9);
+    }
+
+    /**
+     * @param startNanos a {@link System#nanoTime()} reading taken when the work began
+     */
+    public void recordSince(long startNanos) {
+        observe((System.nanoTime() - startNanos) / 1e9);
+    }
+
+    public <T> T time(Callable<T> work) throws Exception {
+        long start = System.nanoTime();
+        try {
+            return work.call();
+        } finally {
+            recordSince(start);
+        }
+    }
+}
@@ -18,6 +18,7 @@ public class ArticleFilter {
     private final List<String> tags;
     private final Integer limit;
     private final Integer offset;
+    private final String cursor;
     private final String sortBy;
     private final boolean ascending;
 
@@ -32,6 +33,7 @@ public class ArticleFilter {
         this.tags = builder.tags;
         this.limit = builder.limit;
         this.offset = builder.offset;
+        this.cursor = builder.cursor;
         this.sortBy = builder.sortBy;
         this.ascending = builder.ascending;
     }
@@ -47,6 +49,7 @@ public class ArticleFilter {
         private List<String> tags = new ArrayList<>();
         private Integer limit;
         private Integer offset;
+        private String cursor;
         private String sortBy = "published_at";
         private boolean ascending = false;
 
@@ -105,6 +108,14 @@ public class ArticleFilter {
             return this;
         }
 
+        /**
+         * Token from a previous page's {@link ArticlePage#nextCursor()}; used instead of offset
+         */
+        public Builder cursor(String cursor) {
+            this.cursor = cursor;
+            return this;
+        }
+
         public Builder sortBy(String sortBy) {
             this.sortBy = sortBy;
             return this;
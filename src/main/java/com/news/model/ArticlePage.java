@@ -0,0 +1,9 @@
+package com.news.model;
+
+import java.util.List;
+
+/**
+ * One page of articles; nextCursor is null when there are no more rows
+ */
+public record ArticlePage(List<Article> articles, String nextCursor) {
+}
@@ -0,0 +1,34 @@
+package com.news.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position after the last row of a page: the sort key and id of that row, plus the sort it was
+ * taken from. Users only see the encoded token.
+ */
+public record PageCursor(String sortBy, boolean ascending, String sortKey, long id) {
+    private static final String SEPARATOR = "\u0000";
+
+    public String encode() {
+        String raw = sortBy + SEPARATOR + ascending + SEPARATOR + id + SEPARATOR + sortKey;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+     */
+    public static PageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // the sort key goes last, so it may contain anything
+            String[] parts = raw.split(SEPARATOR, 4);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return new PageCursor(parts[0], Boolean.parseBoolean(parts[1]), parts[3], Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
@@ -1,13 +1,22 @@
 package com.news.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class RequestModel {
     public String model;
     public String prompt;
     public boolean stream;
+    public String format;
 
     public RequestModel(String model, String prompt, boolean stream) {
+        this(model, prompt, stream, null);
+    }
+
+    public RequestModel(String model, String prompt, boolean stream, String format) {
         this.model = model;
         this.prompt = prompt;
         this.stream = stream;
+        this.format = format;
     }
-}
\ No newline at end of file
+}
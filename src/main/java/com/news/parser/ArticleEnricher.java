@@ -3,8 +3,24 @@ package com.news.parser;
 import com.news.model.Article;
 
 import java.io.IOException;
+import java.util.Set;
 
 public interface ArticleEnricher {
     void enrich(Article article) throws IOException;
     boolean supports(Article article);
+
+    /**
+     * Hosts this enricher handles, subdomains included; lets EnricherRegistry route by host
+     * instead of calling supports()
+     */
+    default Set<String> supportedHosts() {
+        return Set.of();
+    }
+
+    /**
+     * Article source names this enricher handles, for articles whose host is not listed
+     */
+    default Set<String> supportedSources() {
+        return Set.of();
+    }
 }
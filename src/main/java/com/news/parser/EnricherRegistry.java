@@ -0,0 +1,89 @@
+package com.news.parser;
+
+import com.news.model.Article;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds the enricher for an article without asking every enricher. The article's host is
+ * parsed once and looked up label by label (news.example.com, then example.com), then its
+ * source name; only enrichers that declare neither hosts nor sources are asked supports().
+ * The first enricher to claim a host or source keeps it, matching the old first-supporting
+ * enricher rule.
+ */
+public class EnricherRegistry {
+    private final Map<String, ArticleEnricher> byHost = new HashMap<>();
+    private final Map<String, ArticleEnricher> bySource = new HashMap<>();
+    private final List<ArticleEnricher> unindexed = new ArrayList<>();
+
+    public EnricherRegistry(List<ArticleEnricher> enrichers) {
+        for (ArticleEnricher enricher : enrichers) {
+            if (enricher.supportedHosts().isEmpty() && enricher.supportedSources().isEmpty()) {
+                unindexed.add(enricher);
+                continue;
+            }
+            for (String host : enricher.supportedHosts()) {
+                byHost.putIfAbsent(normalizeHost(host), enricher);
+            }
+            for (String source : enricher.supportedSources()) {
+                bySource.putIfAbsent(source.toLowerCase(), enricher);
+            }
+        }
+    }
+
+    /**
+     * @return the enricher for the article, or null if none supports it
+     */
+    public ArticleEnricher find(Article article) {
+        String host = hostOf(article.getUrl());
+        for (String suffix = host; suffix != null; suffix = parentDomain(suffix)) {
+            ArticleEnricher enricher = byHost.get(suffix);
+            if (enricher != null) {
+                return enricher;
+            }
+        }
+
+        if (article.getSourceName() != null) {
+            ArticleEnricher enricher = bySource.get(article.getSourceName().toLowerCase());
+            if (enricher != null) {
+                return enricher;
+            }
+        }
+
+        for (ArticleEnricher enricher : unindexed) {
+            if (enricher.supports(article)) {
+                return enricher;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Lower-case host without a leading www., or null for a missing or malformed url
+     */
+    public static String hostOf(String url) {
+        if (url == null) {
+            return null;
+        }
+        try {
+            String host = URI.create(url).getHost();
+            return host != null ? normalizeHost(host) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String normalizeHost(String host) {
+        String lower = host.toLowerCase();
+        return lower.startsWith("www.") ? lower.substring(4) : lower;
+    }
+
+    private static String parentDomain(String host) {
+        int dot = host.indexOf('.');
+        return dot >= 0 ? host.substring(dot + 1) : null;
+    }
+}
@@ -1,30 +1,257 @@
 package com.news.parser;
 
+import com.news.ConfigLoader;
+import com.news.metrics.MetricsRegistry;
 import com.news.model.Article;
 
-import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
 
+/**
+ * Enriches articles concurrently on virtual threads. Requests to the same host are capped
+ * by a per-host semaphore, and the total number of requests in flight has a global cap, so
+ * throughput grows with the number of distinct sources without hammering any one of them.
+ * Each article uses only the enricher EnricherRegistry picks for it.
+ */
 public class EnrichmentService {
-    private final List<ArticleEnricher> enrichers;
+    private static final int DEFAULT_MAX_PER_HOST = 2;
+    private static final int DEFAULT_MAX_IN_FLIGHT = 32;
+    private static final int DEFAULT_TIMEOUT_SECONDS = 60;
+
+    private final EnricherRegistry enrichers;
+    private final int maxPerHost;
+    private final int maxInFlight;
+    private final Duration requestTimeout;
+    private final Semaphore inFlight;
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+    // requests run on their own threads so a timed-out one can be abandoned
+    private final ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor();
+    private final MetricsRegistry metrics = MetricsRegistry.shared();
 
     public EnrichmentService(List<ArticleEnricher> enrichers) {
+        this(new EnricherRegistry(enrichers));
+    }
+
+    public EnrichmentService(EnricherRegistry enrichers) {
+        this(enrichers,
+                ConfigLoader.getInt("ENRICH_MAX_PER_HOST", DEFAULT_MAX_PER_HOST),
+                ConfigLoader.getInt("ENRICH_MAX_IN_FLIGHT", DEFAULT_MAX_IN_FLIGHT),
+                Duration.ofSeconds(ConfigLoader.getInt("ENRICH_TIMEOUT_SECONDS", DEFAULT_TIMEOUT_SECONDS)));
+    }
+
+    public EnrichmentService(List<ArticleEnricher> enrichers, int maxPerHost, int maxInFlight, Duration requestTimeout) {
+        this(new EnricherRegistry(enrichers), maxPerHost, maxInFlight, requestTimeout);
+    }
+
+    public EnrichmentService(EnricherRegistry enrichers, int maxPerHost, int maxInFlight, Duration requestTimeout) {
         this.enrichers = enrichers;
+        this.maxPerHost = Math.max(1, maxPerHost);
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.inFlight = new Semaphore(this.maxInFlight);
+        this.requestTimeout = requestTimeout;
     }
 
     public void enrichAll(List<Article> articles) {
-        for (Article article : articles) {
-            for (ArticleEnricher enricher : enrichers) {
-                if (enricher.supports(article)) {
+        if (articles.isEmpty()) {
+            return;
+        }
+
+        Progress progress = new Progress(articles.size());
+        try (ExecutorService tasks = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Article article : articles) {
+                tasks.submit(() -> progress.completed(enrich(article)));
+            }
+        }
+
+        if (progress.failed.get() > 0) {
+            System.out.println("Enrichment finished with " + progress.failed.get() + " failed articles");
+        }
+    }
+
+    /**
+     * Enriches articles as the stream produces them, so work starts on the first row. At most
+     * twice the global request limit are pending at once, and every processed article, failed
+     * or not, is handed to the sink in batches of batchSize.
+     *
+     * @return sum of the sink's results
+     */
+    public int enrichAll(Stream<Article> articles, int batchSize, ToIntFunction<List<Article>> sink) {
+        Semaphore pending = new Semaphore(maxInFlight * 2);
+        List<Article> batch = new ArrayList<>(batchSize);
+        AtomicInteger stored = new AtomicInteger();
+        Progress progress = new Progress(0);
+
+        try (ExecutorService tasks = Executors.newVirtualThreadPerTaskExecutor()) {
+            Iterator<Article> iterator = articles.iterator();
+            while (iterator.hasNext()) {
+                Article article = iterator.next();
+                pending.acquire();
+                tasks.submit(() -> {
                     try {
-                        enricher.enrich(article);
-                    } catch (IOException e) {
-                        System.out.println("Failed to enrich article: " + article.getUrl());
-                        System.out.println("Error: " + e.getMessage());
+                        progress.completed(enrich(article));
+                        List<Article> full = null;
+                        synchronized (batch) {
+                            batch.add(article);
+                            if (batch.size() >= batchSize) {
+                                full = new ArrayList<>(batch);
+                                batch.clear();
+                            }
+                        }
+                        if (full != null) {
+                            stored.addAndGet(store(full, sink));
+                        }
+                    } finally {
+                        pending.release();
                     }
-                    break;
+                });
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Enrichment interrupted, saving articles processed so far");
+        }
+
+        stored.addAndGet(store(batch, sink));
+        if (progress.failed.get() > 0) {
+            System.out.println("Enrichment finished with " + progress.failed.get() + " failed articles");
+        }
+        return stored.get();
+    }
+
+    private static int store(List<Article> batch, ToIntFunction<List<Article>> sink) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        try {
+            return sink.applyAsInt(batch);
+        } catch (RuntimeException e) {
+            System.err.println("Failed to save enriched articles: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Enriches a single article under the shared host and global limits; safe to call from
+     * many threads at once.
+     *
+     * @return false if the supporting enricher failed or timed out
+     */
+    public boolean enrich(Article article) {
+        ArticleEnricher enricher = enrichers.find(article);
+        if (enricher == null) {
+            return true;
+        }
+        Semaphore hostLimit = hostPermits.computeIfAbsent(hostOf(article), h -> new Semaphore(maxPerHost));
+        return enrichLimited(enricher, article, hostLimit);
+    }
+
+    /**
+     * Waits for a host slot before taking a global one, so a busy host doesn't hold global
+     * slots that other hosts could use
+     */
+    private boolean enrichLimited(ArticleEnricher enricher, Article article, Semaphore hostLimit) {
+        try {
+            hostLimit.acquire();
+            try {
+                inFlight.acquire();
+                try {
+                    return enrichWithTimeout(enricher, article);
+                } finally {
+                    inFlight.release();
                 }
+            } finally {
+                hostLimit.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Runs the enricher on a copy and copies the result back only on success: an enricher that
+     * ignores the interrupt keeps running after a timeout, and must not touch an article that
+     * may already be saved.
+     */
+    private boolean enrichWithTimeout(ArticleEnricher enricher, Article article) throws InterruptedException {
+        String host = hostOf(article);
+        long start = System.nanoTime();
+        Article copy = article.toBuilder()
+                .tags(article.getTags() != null ? new ArrayList<>(article.getTags()) : null)
+                .build();
+        Future<?> request = requests.submit(() -> {
+            enricher.enrich(copy);
+            return null;
+        });
+        try {
+            request.get(requestTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            applyEnriched(copy, article);
+            metrics.timer("news_enrich_seconds", "host", host).recordSince(start);
+            metrics.counter("news_articles_enriched_total", "host", host).increment();
+            return true;
+        } catch (TimeoutException e) {
+            request.cancel(true);
+            System.out.println("Failed to enrich article: " + article.getUrl());
+            System.out.println("Error: timed out after " + requestTimeout.toSeconds() + "s");
+        } catch (ExecutionException e) {
+            System.out.println("Failed to enrich article: " + article.getUrl());
+            System.out.println("Error: " + e.getCause().getMessage());
+        }
+        metrics.counter("news_enrich_failures_total", "host", host).increment();
+        return false;
+    }
+
+    private static void applyEnriched(Article source, Article target) {
+        target.setTitle(source.getTitle());
+        target.setUrl(source.getUrl());
+        target.setSummary(source.getSummary());
+        target.setContent(source.getContent());
+        target.setRegion(source.getRegion());
+        target.setTags(source.getTags());
+        target.setPublishedAt(source.getPublishedAt());
+        target.setAuthor(source.getAuthor());
+        target.setSourceName(source.getSourceName());
+        target.setImageUrl(source.getImageUrl());
+        target.setLanguage(source.getLanguage());
+        target.setStatus(source.getStatus());
+        target.setRating(source.getRating());
+    }
+
+    private static String hostOf(Article article) {
+        String host = EnricherRegistry.hostOf(article.getUrl());
+        return host != null ? host : "unknown";
+    }
+
+    private static final class Progress {
+        private final int total;
+        private final int step;
+        private final AtomicInteger done = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+
+        /**
+         * A total of 0 means unknown: progress is then reported every 100 articles
+         */
+        private Progress(int total) {
+            this.total = total;
+            this.step = total > 0 ? Math.max(1, total / 10) : 100;
+        }
+
+        private void completed(boolean success) {
+            if (!success) {
+                failed.incrementAndGet();
+            }
+            int finished = done.incrementAndGet();
+            if (total == 1 || (finished % step != 0 && finished != total)) {
+                return;
             }
+            System.out.println("Enrichment progress: " + finished + (total > 0 ? "/" + total : "") +
+                    (failed.get() > 0 ? " (" + failed.get() + " failed)" : ""));
         }
     }
 }
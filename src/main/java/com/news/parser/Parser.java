@@ -7,4 +7,11 @@ import java.util.List;
 public interface Parser {
     List<Article> fetchArticles();
     ArticleEnricher getEnricher();
+
+    /**
+     * Label for logs and metrics
+     */
+    default String getName() {
+        return getClass().getSimpleName();
+    }
 }
@@ -1,11 +1,18 @@
 package com.news.parser;
 
 import com.news.model.ParserName;
+import com.news.parser.feed.FeedParser;
+import com.news.parser.feed.SourceConfig;
+import com.news.parser.feed.SourceConfigLoader;
 import com.news.parser.raw.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 public class ParserRegistry {
     private static final Map<ParserName, Supplier<Parser>> PARSER_SUPPLIERS = Map.of(
@@ -17,8 +24,28 @@ public class ParserRegistry {
             ParserName.KEDR, KedrParser::new
     );
 
+    // configured feed sources by lower-case name, in file order
+    private final Map<String, Supplier<Parser>> feedSuppliers = new LinkedHashMap<>();
+    private List<ArticleEnricher> enrichers;
+    private EnricherRegistry enricherRegistry;
+
+    public ParserRegistry() {
+        this(SourceConfigLoader.loadFromConfig());
+    }
+
+    public ParserRegistry(List<SourceConfig> sources) {
+        for (SourceConfig source : sources) {
+            String name = source.getName().toLowerCase();
+            if (builtIn(name) != null) {
+                System.err.println("Warning: source '" + source.getName() + "' clashes with a built-in parser. Skipping...");
+                continue;
+            }
+            feedSuppliers.put(name, () -> new FeedParser(source));
+        }
+    }
+
     public List<Parser> getAllParsers() {
-        return PARSER_SUPPLIERS.values().stream()
+        return suppliers()
                 .map(Supplier::get)
                 .toList();
     }
@@ -31,10 +58,62 @@ public class ParserRegistry {
         return supplier.get();
     }
 
-    public List<ArticleEnricher> getAllEnrichers() {
-        return PARSER_SUPPLIERS.values().stream()
-                .map(Supplier::get)
-                .map(Parser::getEnricher)
-                .toList();
+    /**
+     * Looks a source up by name, built-in parsers first, ignoring case
+     */
+    public Parser getParser(String name) {
+        ParserName builtIn = builtIn(name);
+        if (builtIn != null) {
+            return getParser(builtIn);
+        }
+        Supplier<Parser> supplier = feedSuppliers.get(name.toLowerCase());
+        if (supplier == null) {
+            throw new IllegalArgumentException("Parser not found for name: " + name);
+        }
+        return supplier.get();
+    }
+
+    /**
+     * Lower-case names accepted by getParser(String)
+     */
+    public List<String> getSourceNames() {
+        List<String> names = new ArrayList<>();
+        for (ParserName name : ParserName.values()) {
+            names.add(name.name().toLowerCase());
+        }
+        names.addAll(feedSuppliers.keySet());
+        return names;
+    }
+
+    /**
+     * One enricher per source, created on first use and shared afterwards; enrichers keep no
+     * per-article state
+     */
+    public synchronized List<ArticleEnricher> getAllEnrichers() {
+        if (enrichers == null) {
+            enrichers = suppliers()
+                    .map(Supplier::get)
+                    .map(Parser::getEnricher)
+                    .toList();
+        }
+        return enrichers;
+    }
+
+    public synchronized EnricherRegistry getEnricherRegistry() {
+        if (enricherRegistry == null) {
+            enricherRegistry = new EnricherRegistry(getAllEnrichers());
+        }
+        return enricherRegistry;
+    }
+
+    private Stream<Supplier<Parser>> suppliers() {
+        return Stream.concat(PARSER_SUPPLIERS.values().stream(), feedSuppliers.values().stream());
+    }
+
+    private static ParserName builtIn(String name) {
+        return Arrays.stream(ParserName.values())
+                .filter(parserName -> parserName.name().equalsIgnoreCase(name))
+                .findFirst()
+                .orElse(null);
     }
-}
\ No newline at end of file
+}
@@ -1,93 +1,194 @@
 package com.news.parser;
 
+import com.news.ConfigLoader;
+import com.news.metrics.MetricsRegistry;
 import com.news.model.Article;
+import com.news.parser.util.CrawlStateStore;
+import com.news.storage.KnownUrls;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 public class ParserService {
+    private static final int DEFAULT_TIMEOUT_SECONDS = 120;
+
     private final List<Parser> parsers;
     private final Integer limit;
+    private final KnownUrls knownUrls;
+    private final CrawlStateStore crawlState;
+    private final Duration parserTimeout;
 
     public ParserService(List<Parser> parsers, Integer limit) {
+        this(parsers, limit, null, null);
+    }
+
+    /**
+     * @param knownUrls  if given, articles that are already stored are dropped right after
+     *                   parsing, before the per-source limit is applied
+     * @param crawlState if given, told about the dropped articles, which need no saving
+     */
+    public ParserService(List<Parser> parsers, Integer limit, KnownUrls knownUrls, CrawlStateStore crawlState) {
+        this(parsers, limit, knownUrls, crawlState,
+                Duration.ofSeconds(ConfigLoader.getInt("PARSER_TIMEOUT_SECONDS", DEFAULT_TIMEOUT_SECONDS)));
+    }
+
+    public ParserService(List<Parser> parsers, Integer limit, KnownUrls knownUrls, CrawlStateStore crawlState,
+                         Duration parserTimeout) {
         this.parsers = parsers;
         this.limit = limit;
+        this.knownUrls = knownUrls;
+        this.crawlState = crawlState;
+        this.parserTimeout = parserTimeout;
     }
 
     public List<Article> collectAllArticles() {
-        List<Article> all = new ArrayList<>();
-
-        if (parsers.isEmpty()) {
-            return all;
+        if (parsers.isEmpty() || (limit != null && limit <= 0)) {
+            return new ArrayList<>();
         }
 
-        if (limit == null) {
-            for (Parser parser : parsers) {
-                all.addAll(parser.fetchArticles());
-            }
-            return all;
+        List<List<Article>> results = new ArrayList<>();
+        for (Parser parser : parsers) {
+            results.add(fetchNew(parser));
         }
+        return distribute(results);
+    }
 
-        if (limit <= 0) {
-            return all;
+    /**
+     * Runs every parser on its own virtual thread. Parsers still running when the timeout
+     * expires, or once the finished ones already fill every parser's share of the limit, are
+     * cancelled and the articles collected so far are returned; a failing parser only loses
+     * its own articles.
+     */
+    public List<Article> collectAllArticlesParallel() {
+        if (parsers.isEmpty() || (limit != null && limit <= 0)) {
+            return List.of();
         }
 
-        int totalParsers = parsers.size();
-        int baseLimit = limit / totalParsers;
-        int remainder = limit % totalParsers;
-
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        CompletionService<List<Article>> completion = new ExecutorCompletionService<>(executor);
+        Map<Future<List<Article>>, Integer> parserIndex = new HashMap<>();
         for (int i = 0; i < parsers.size(); i++) {
             Parser parser = parsers.get(i);
-            int currentLimit = baseLimit + (i < remainder ? 1 : 0);
+            parserIndex.put(completion.submit(() -> fetchNew(parser)), i);
+        }
 
-            List<Article> articles = parser.fetchArticles().stream()
-                    .limit(currentLimit)
-                    .toList();
+        List<List<Article>> results = new ArrayList<>(Collections.nCopies(parsers.size(), List.of()));
+        long deadline = System.nanoTime() + parserTimeout.toNanos();
+        int pending = parsers.size();
+        int available = 0;
 
-            all.addAll(articles);
+        try {
+            while (pending > 0 && (limit == null || available < limit)) {
+                Future<List<Article>> done = completion.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    break;
+                }
+                pending--;
+                int index = parserIndex.get(done);
+                try {
+                    List<Article> articles = done.get();
+                    results.set(index, articles);
+                    if (limit != null) {
+                        // articles beyond its own share only count once the other parsers are done
+                        available += Math.min(articles.size(), quota(index));
+                    }
+                } catch (ExecutionException e) {
+                    System.err.println("Parser " + nameOf(index) + " failed: " + e.getCause().getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            String reason = limit != null && available >= limit ? "limit reached" : "timed out";
+            parserIndex.forEach((future, index) -> {
+                if (future.cancel(true)) {
+                    System.err.println("Parser " + nameOf(index) + " cancelled (" + reason + ")");
+                }
+            });
+            // don't wait for cancelled parsers; a hung browser session must not hold up the rest
+            executor.shutdownNow();
         }
 
-        return all;
+        return distribute(results);
     }
 
-    public List<Article> collectAllArticlesParallel() {
-        List<Article> all = Collections.synchronizedList(new ArrayList<>());
-
-        if (parsers.isEmpty()) {
-            return List.of();
+    /**
+     * Gives each parser an equal share of the limit (the first ones get the remainder), then
+     * hands shares that a parser could not fill to parsers with articles to spare, in order
+     */
+    private List<Article> distribute(List<List<Article>> results) {
+        List<Article> all = new ArrayList<>();
+        if (limit == null) {
+            results.forEach(all::addAll);
+            return all;
         }
 
-        if (limit != null && limit <= 0) {
-            return List.of();
+        int count = results.size();
+        int[] taken = new int[count];
+        int remaining = limit;
+        for (int i = 0; i < count; i++) {
+            taken[i] = Math.min(quota(i), results.get(i).size());
+            remaining -= taken[i];
+        }
+        for (int i = 0; i < count && remaining > 0; i++) {
+            int extra = Math.min(remaining, results.get(i).size() - taken[i]);
+            taken[i] += extra;
+            remaining -= extra;
         }
 
-        ExecutorService executor = Executors.newFixedThreadPool(parsers.size());
-        List<Future<?>> futures = new ArrayList<>();
-
-        for (Parser parser : parsers) {
-            futures.add(executor.submit(() -> {
-                List<Article> articles = parser.fetchArticles();
-                if (limit != null) {
-                    articles = articles.stream().limit(limit / parsers.size()).toList();
-                }
-                all.addAll(articles);
-            }));
+        for (int i = 0; i < count; i++) {
+            all.addAll(results.get(i).subList(0, taken[i]));
         }
+        return all;
+    }
 
+    /**
+     * Equal share of the limit, the first parsers getting the remainder
+     */
+    private int quota(int index) {
+        return limit / parsers.size() + (index < limit % parsers.size() ? 1 : 0);
+    }
 
-        for (Future<?> f : futures) {
-            try {
-                f.get(); // wait for all
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
+    private String nameOf(int index) {
+        return parsers.get(index).getName();
+    }
+
+    private List<Article> fetchNew(Parser parser) {
+        List<Article> articles = fetchTimed(parser);
+        if (knownUrls == null) {
+            return articles;
+        }
+        List<Article> unknown = knownUrls.dropKnown(articles);
+        if (crawlState != null) {
+            crawlState.collectedKnown(articles, unknown);
         }
+        return unknown;
+    }
 
-        executor.shutdown();
-        return all;
+    /**
+     * Runs the parser, recording its fetch latency and article count per source
+     */
+    public static List<Article> fetchTimed(Parser parser) {
+        String source = parser.getName();
+        MetricsRegistry metrics = MetricsRegistry.shared();
+        long start = System.nanoTime();
+        try {
+            List<Article> articles = parser.fetchArticles();
+            metrics.counter("news_articles_parsed_total", "source", source).add(articles.size());
+            return articles;
+        } finally {
+            metrics.timer("news_parser_fetch_seconds", "source", source).recordSince(start);
+        }
     }
-}
\ No newline at end of file
+}
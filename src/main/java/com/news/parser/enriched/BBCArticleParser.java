@@ -3,7 +3,7 @@ package com.news.parser.enriched;
 import com.news.model.Article;
 import com.news.model.ArticleStatus;
 import com.news.parser.ArticleEnricher;
-import org.jsoup.Jsoup;
+import com.news.parser.http.HttpFetcher;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
@@ -11,6 +11,7 @@ import org.jsoup.select.Elements;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import static com.news.parser.util.TimeUtil.ISOConverter;
 
@@ -18,8 +19,13 @@ public class BBCArticleParser implements ArticleEnricher {
 
     @Override
     public void enrich(Article article) throws IOException {
-        Document document = Jsoup.connect(article.getUrl()).get();
+        enrich(article, HttpFetcher.shared().fetchDocument(article.getUrl()));
+    }
 
+    /**
+     * Fills the article from an already fetched page
+     */
+    public void enrich(Article article, Document document) {
         Elements contentEl = document.select("div[data-component=\"text-block\"], div[data-component=\"subheadline-block\"]");
         Elements tagsEl = document.select("div[data-component=tags]");
         Element authorEl = document.select("div[data-testid=byline-new-contributors]").selectFirst("span");
@@ -52,4 +58,14 @@ public class BBCArticleParser implements ArticleEnricher {
     public boolean supports(Article article) {
         return article.getUrl().contains("bbc.com");
     }
+
+    @Override
+    public Set<String> supportedHosts() {
+        return Set.of("bbc.com");
+    }
+
+    @Override
+    public Set<String> supportedSources() {
+        return Set.of("BBC");
+    }
 }
@@ -3,7 +3,7 @@ package com.news.parser.enriched;
 import com.news.model.Article;
 import com.news.model.ArticleStatus;
 import com.news.parser.ArticleEnricher;
-import org.jsoup.Jsoup;
+import com.news.parser.http.HttpFetcher;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
@@ -14,12 +14,18 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.Locale;
+import java.util.Set;
 
 public class KedrArticleParser implements ArticleEnricher {
     @Override
     public void enrich(Article article) throws IOException {
-        Document document = Jsoup.connect(article.getUrl()).get();
+        enrich(article, HttpFetcher.shared().fetchDocument(article.getUrl()));
+    }
 
+    /**
+     * Fills the article from an already fetched page
+     */
+    public void enrich(Article article, Document document) {
         Elements contentEl = document.select("div.entry-content > p");
         Element titleEl = document.selectFirst("h1.entry-header__title");
         Element authorEl = document.selectFirst("span.entry-header__meta-authors > a");
@@ -76,4 +82,14 @@ public class KedrArticleParser implements ArticleEnricher {
     public boolean supports(Article article) {
         return article.getUrl().contains("kedr.media");
     }
+
+    @Override
+    public Set<String> supportedHosts() {
+        return Set.of("kedr.media");
+    }
+
+    @Override
+    public Set<String> supportedSources() {
+        return Set.of("kedr");
+    }
 }
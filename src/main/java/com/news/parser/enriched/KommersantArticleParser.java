@@ -3,7 +3,7 @@ package com.news.parser.enriched;
 import com.news.model.Article;
 import com.news.model.ArticleStatus;
 import com.news.parser.ArticleEnricher;
-import org.jsoup.Jsoup;
+import com.news.parser.http.HttpFetcher;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
@@ -11,17 +11,19 @@ import org.jsoup.select.Elements;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 public class KommersantArticleParser implements ArticleEnricher {
 
     @Override
     public void enrich(Article article) throws IOException {
-        Document document = Jsoup.connect(article.getUrl())
-                .userAgent("\"Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 Chrome/123.0.0.0 Safari/537.36\"")
-                .header("Accept-Language", "en-US,en;q=0.9")
-                .header("Accept-Encoding", "gzip, deflate")
-                .get();
+        enrich(article, HttpFetcher.shared().fetchDocument(article.getUrl()));
+    }
 
+    /**
+     * Fills the article from an already fetched page
+     */
+    public void enrich(Article article, Document document) {
         Element titleEl = document.selectFirst("article[data-article-title]");
         Element authorEl = document.selectFirst("p.document_authors");
         Element contentEl = document.selectFirst("div.article_text_wrapper");
@@ -57,4 +59,14 @@ public class KommersantArticleParser implements ArticleEnricher {
     public boolean supports(Article article) {
         return article.getUrl().contains("kommersant.ru");
     }
+
+    @Override
+    public Set<String> supportedHosts() {
+        return Set.of("kommersant.ru");
+    }
+
+    @Override
+    public Set<String> supportedSources() {
+        return Set.of("kommersant");
+    }
 }
@@ -3,20 +3,26 @@ package com.news.parser.enriched;
 import com.news.model.Article;
 import com.news.model.ArticleStatus;
 import com.news.parser.ArticleEnricher;
-import org.jsoup.Jsoup;
+import com.news.parser.http.HttpFetcher;
 import org.jsoup.nodes.Document;
 import org.jsoup.select.Elements;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 public class NHKArticleParser implements ArticleEnricher {
 
     @Override
     public void enrich(Article article) throws IOException {
-        Document doc = Jsoup.connect(article.getUrl()).get();
+        enrich(article, HttpFetcher.shared().fetchDocument(article.getUrl()));
+    }
 
+    /**
+     * Fills the article from an already fetched page
+     */
+    public void enrich(Article article, Document doc) {
         String content = doc.select("div.p-article__body").text();
         article.setContent(content);
 
@@ -36,4 +42,14 @@ public class NHKArticleParser implements ArticleEnricher {
     public boolean supports(Article article) {
         return article.getUrl().contains("nhk.or.jp");
     }
+
+    @Override
+    public Set<String> supportedHosts() {
+        return Set.of("nhk.or.jp");
+    }
+
+    @Override
+    public Set<String> supportedSources() {
+        return Set.of("NHK");
+    }
 }
@@ -3,7 +3,7 @@ package com.news.parser.enriched;
 import com.news.model.Article;
 import com.news.model.ArticleStatus;
 import com.news.parser.ArticleEnricher;
-import org.jsoup.Jsoup;
+import com.news.parser.http.HttpFetcher;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
@@ -11,16 +11,18 @@ import org.jsoup.select.Elements;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 public class NipponArticleParser implements ArticleEnricher {
     @Override
     public void enrich(Article article) throws IOException {
-        Document document = Jsoup.connect(article.getUrl())
-                .userAgent("\"Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 Chrome/123.0.0.0 Safari/537.36\"")
-                .header("Accept-Language", "en-US,en;q=0.9")
-                .header("Accept-Encoding", "gzip, deflate")
-                .get();
+        enrich(article, HttpFetcher.shared().fetchDocument(article.getUrl()));
+    }
 
+    /**
+     * Fills the article from an already fetched page
+     */
+    public void enrich(Article article, Document document) {
         Element titleEl = document.selectFirst("h1");
         Elements contentEl = document.select("div[class='editArea']");
         // section.c-detailkeyward -> tags without separation
@@ -52,4 +54,14 @@ public class NipponArticleParser implements ArticleEnricher {
     public boolean supports(Article article) {
         return article.getUrl().contains("nippon.com");
     }
+
+    @Override
+    public Set<String> supportedHosts() {
+        return Set.of("nippon.com");
+    }
+
+    @Override
+    public Set<String> supportedSources() {
+        return Set.of("nippon.com");
+    }
 }
@@ -3,83 +3,71 @@ package com.news.parser.enriched;
 import com.news.model.Article;
 import com.news.model.ArticleStatus;
 import com.news.parser.ArticleEnricher;
+import com.news.parser.http.HostRateLimiter;
+import com.news.parser.util.WebDriverPool;
 import org.openqa.selenium.By;
-import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.io.IOException;
+import java.net.URI;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 import static com.news.ConfigLoader.FORMATTER;
-import static com.news.ConfigLoader.TIMEOUT;
 
 public class VedomostiArticleParser implements ArticleEnricher {
+    private static final By PARAGRAPHS = By.cssSelector("div.article-boxes-list__item > div.box-paragraph > p");
+    private static final By PUBLISHED_TIME = By.cssSelector("div.article__meta > div.article-meta > time");
+
     @Override
     public void enrich(Article article) throws IOException {
 //        <div class="article-meta"><!----> <time datetime="2025-05-30T17:34:52.838+03:00" class="article-meta__date">30 мая, 17:34 /</time> <span class="tags"><span class="tags__tag tags__tag--salmon"><!----> <a href="/technologies/trendsrub">Тренды</a></span></span> <!----></div>
 //        article-boxes-list article__boxes
 
-        System.setProperty("webdriver.chrome.driver", "/usr/sbin/chromedriver");
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--headless");
-        options.addArguments("--no-sandbox");
-        options.addArguments("--disable-dev-shm-usage");
-        options.addArguments("--disable-gpu");
-        options.addArguments("--window-size=1920,1080");
-
-        WebDriver driver = new ChromeDriver(options);
-        WebDriverWait wait = new WebDriverWait(driver, TIMEOUT);
-
         try {
-            driver.get(article.getUrl());
-
-            // wait for the page to load completely
-            wait.until(ExpectedConditions.presenceOfElementLocated(
-                    By.cssSelector("div.article-boxes-list__item")));
-
-            Thread.sleep(2000);
-
-            List<WebElement> div = driver.findElements(By.cssSelector(
-                    "div.article-boxes-list__item > div.box-paragraph > p"));
+            HostRateLimiter.shared().acquire(URI.create(article.getUrl()));
+            WebDriverPool.shared().execute((driver, wait) -> {
+                driver.get(article.getUrl());
+                WebDriverPool.waitForDocumentReady(driver, wait);
+
+                // the body is rendered client-side; wait for paragraphs and the meta block explicitly
+                wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(PARAGRAPHS));
+                wait.until(ExpectedConditions.presenceOfElementLocated(PUBLISHED_TIME));
+
+                List<WebElement> div = driver.findElements(PARAGRAPHS);
+
+                StringBuilder content = new StringBuilder();
+
+                for (int i = 0; i < div.size(); i++) {
+                    WebElement p = div.get(i);
+                    try {
+                        content.append(p.getText());
+                    } catch (Exception e) {
+                        System.err.println("Error fetching paragraph" + e.getMessage());
+                    }
+                }
 
-            StringBuilder content = new StringBuilder();
+                WebElement time = driver.findElement(PUBLISHED_TIME);
 
-            for (int i = 0; i < div.size(); i++) {
-                WebElement p = div.get(i);
+                LocalDateTime publishedAt = null;
                 try {
-                    content.append(p.getText());
+                    String timeAttribute = time.getAttribute("datetime");
+                    if (timeAttribute != null) {
+                        publishedAt = LocalDateTime.parse(timeAttribute, FORMATTER);
+                    }
                 } catch (Exception e) {
-                    System.err.println("Error fetching paragraph" + e.getMessage());
+                    System.err.println("Error fetching time" + e.getMessage());
                 }
-            }
 
-            WebElement time = driver.findElement(By.cssSelector(
-                    "div.article__meta > div.article-meta > time"
-            ));
-
-            LocalDateTime publishedAt = null;
-            try {
-                String timeAttribute = time.getAttribute("datetime");
-                if (timeAttribute != null) {
-                    publishedAt = LocalDateTime.parse(timeAttribute, FORMATTER);
-                }
-            } catch (Exception e) {
-                System.err.println("Error fetching time" + e.getMessage());
-            }
-
-            article.setPublishedAt(publishedAt);
-            article.setContent(content.toString());
-            article.setStatus(ArticleStatus.ENRICHED);
-
-        } catch (Exception e) {
+                article.setPublishedAt(publishedAt);
+                article.setContent(content.toString());
+                article.setStatus(ArticleStatus.ENRICHED);
+                return null;
+            });
+        } catch (IOException e) {
             System.err.println("Error loading page " + e.getMessage());
-        } finally {
-            driver.quit();
         }
     }
 
@@ -87,4 +75,14 @@ public class VedomostiArticleParser implements ArticleEnricher {
     public boolean supports(Article article) {
         return article.getUrl().contains("vedomosti.ru");
     }
+
+    @Override
+    public Set<String> supportedHosts() {
+        return Set.of("vedomosti.ru");
+    }
+
+    @Override
+    public Set<String> supportedSources() {
+        return Set.of("vedomosti");
+    }
 }
@@ -0,0 +1,211 @@
+package com.news.parser.feed;
+
+import com.news.model.Article;
+import com.news.model.ArticleStatus;
+import com.news.parser.ArticleEnricher;
+import com.news.parser.Parser;
+import com.news.parser.http.HttpFetcher;
+import com.news.parser.util.CrawlStateStore;
+import com.news.parser.util.SitemapReader;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.news.ConfigLoader.FORMATTER;
+
+/**
+ * Parser for a source declared in the sources file. RSS and Atom feeds are read whole, since
+ * they are small and not reliably sorted; sitemaps are streamed and, when the source says
+ * they are newest first, read only up to the cutoff. Entries without a usable date are skipped.
+ */
+public class FeedParser implements Parser {
+    private static final Map<String, String> RFC_822_ZONES = Map.of(
+            "UT", "+0000", "UTC", "+0000",
+            "EST", "-0500", "EDT", "-0400",
+            "CST", "-0600", "CDT", "-0500",
+            "MST", "-0700", "MDT", "-0600",
+            "PST", "-0800", "PDT", "-0700");
+
+    private final SourceConfig source;
+    private final ArticleEnricher enricher;
+
+    public FeedParser(SourceConfig source) {
+        this.source = source;
+        this.enricher = new SelectorArticleEnricher(source);
+    }
+
+    @Override
+    public List<Article> fetchArticles() {
+        CrawlStateStore crawlState = CrawlStateStore.shared();
+
+        try {
+            Optional<HttpFetcher.Page> changed = crawlState.fetchPageIfChanged(source.getUrl());
+            if (changed.isEmpty()) {
+                System.out.println(source.getName() + " feed unchanged since the last crawl");
+                return List.of();
+            }
+
+            LocalDateTime maxAge = LocalDateTime.now().minusHours(source.getMaxAgeHours());
+            LocalDateTime watermark = crawlState.getWatermark(source.getUrl());
+            LocalDateTime cutoff = watermark != null && watermark.isAfter(maxAge) ? watermark : maxAge;
+
+            List<Article> articles = parseFeed(changed.get().openBody(), cutoff);
+
+            crawlState.advance(source.getUrl(), articles);
+            return articles;
+        } catch (IOException e) {
+            System.out.println("Failed to fetch articles from " + source.getName() + ": " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * Articles published at or after the cutoff, in feed order
+     */
+    public List<Article> parseFeed(InputStream feed, LocalDateTime cutoff) throws IOException {
+        if (source.getType() == SourceConfig.Type.SITEMAP) {
+            return parseSitemap(feed, cutoff);
+        }
+
+        Document document = Jsoup.parse(feed, null, source.getUrl(), org.jsoup.parser.Parser.xmlParser());
+        List<Article> articles = new ArrayList<>();
+        for (Element entry : document.select(source.getType() == SourceConfig.Type.ATOM ? "entry" : "item")) {
+            Article article = source.getType() == SourceConfig.Type.ATOM ? fromAtom(entry) : fromRss(entry);
+            if (article.getUrl() != null && article.getPublishedAt() != null && !article.getPublishedAt().isBefore(cutoff)) {
+                articles.add(article);
+            }
+        }
+        return articles;
+    }
+
+    private List<Article> parseSitemap(InputStream sitemap, LocalDateTime cutoff) throws IOException {
+        List<Article> articles = new ArrayList<>();
+
+        SitemapReader.read(sitemap, entry -> {
+            LocalDateTime publishedAt = parseDate(entry.publicationDate() != null ? entry.publicationDate() : entry.lastmod());
+            if (entry.loc() == null || publishedAt == null) {
+                return true;
+            }
+            if (publishedAt.isBefore(cutoff)) {
+                return !source.isNewestFirst();
+            }
+
+            Article article = newArticle(entry.loc(), publishedAt);
+            article.setTitle(entry.title());
+            article.setImageUrl(entry.imageLoc());
+            articles.add(article);
+            return true;
+        });
+
+        return articles;
+    }
+
+    private Article fromRss(Element item) {
+        String link = text(item, "link");
+        if (link == null) {
+            Element guid = item.selectFirst("guid");
+            link = guid != null && !"false".equals(guid.attr("isPermaLink")) ? guid.text() : null;
+        }
+
+        Article article = newArticle(link, parseDate(text(item, "pubDate")));
+        article.setTitle(text(item, "title"));
+        article.setAuthor(text(item, "dc|creator") != null ? text(item, "dc|creator") : text(item, "author"));
+        Element image = item.selectFirst("media|content[url], media|thumbnail[url], enclosure[type^=image]");
+        if (image != null) {
+            article.setImageUrl(image.attr("url"));
+        }
+        return article;
+    }
+
+    private Article fromAtom(Element entry) {
+        Element link = entry.selectFirst("link[rel=alternate], link:not([rel])");
+        String published = text(entry, "published");
+
+        Article article = newArticle(link != null ? link.attr("href") : null,
+                parseDate(published != null ? published : text(entry, "updated")));
+        article.setTitle(text(entry, "title"));
+        article.setAuthor(text(entry, "author > name"));
+        return article;
+    }
+
+    private Article newArticle(String url, LocalDateTime publishedAt) {
+        return Article.builder()
+                .url(url)
+                .publishedAt(publishedAt)
+                .sourceName(source.getName())
+                .language(source.getLanguage())
+                .status(ArticleStatus.RAW)
+                .build();
+    }
+
+    private static String text(Element parent, String selector) {
+        Element element = parent.selectFirst(selector);
+        return element != null && !element.text().isBlank() ? element.text().trim() : null;
+    }
+
+    /**
+     * Feed dates come as RFC 822/1123 (RSS), ISO offset (Atom, sitemaps) or a bare ISO date.
+     * Dates with an offset are converted to the local time of this machine, which the
+     * cutoffs are computed in.
+     */
+    static LocalDateTime parseDate(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String trimmed = value.trim();
+        try {
+            return OffsetDateTime.parse(trimmed, FORMATTER).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        } catch (DateTimeParseException e) {
+            // not ISO, try RFC 822
+        }
+        try {
+            return ZonedDateTime.parse(withNumericZone(trimmed), DateTimeFormatter.RFC_1123_DATE_TIME)
+                    .withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        } catch (DateTimeParseException e) {
+            // not RFC 822 either, try a bare date
+        }
+        try {
+            return LocalDate.parse(trimmed).atStartOfDay();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * RFC 1123 parsing only knows GMT and numeric offsets, so the other RFC 822 zone names
+     * (and the common UTC) are swapped for their offsets
+     */
+    private static String withNumericZone(String value) {
+        int space = value.lastIndexOf(' ');
+        String offset = RFC_822_ZONES.get(value.substring(space + 1).toUpperCase());
+        return offset != null ? value.substring(0, space + 1) + offset : value;
+    }
+
+    public SourceConfig getSource() {
+        return source;
+    }
+
+    @Override
+    public String getName() {
+        return source.getName();
+    }
+
+    @Override
+    public ArticleEnricher getEnricher() {
+        return enricher;
+    }
+}
@@ -0,0 +1,98 @@
+package com.news.parser.feed;
+
+import com.news.model.Article;
+import com.news.model.ArticleStatus;
+import com.news.parser.ArticleEnricher;
+import com.news.parser.EnricherRegistry;
+import com.news.parser.http.HttpFetcher;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Enricher for a configured source: the article page is read with the source's CSS selectors,
+ * and whatever the feed already gave (title, author, image) is kept when a selector finds nothing
+ */
+public class SelectorArticleEnricher implements ArticleEnricher {
+    private final SourceConfig.Selectors selectors;
+    private final String host;
+    private final String sourceName;
+
+    public SelectorArticleEnricher(SourceConfig source) {
+        this.selectors = source.getSelectors() != null ? source.getSelectors() : new SourceConfig.Selectors();
+        this.host = source.getHost();
+        this.sourceName = source.getName();
+    }
+
+    @Override
+    public void enrich(Article article) throws IOException {
+        enrich(article, HttpFetcher.shared().fetchDocument(article.getUrl()));
+    }
+
+    /**
+     * Fills the article from an already fetched page. It only becomes ENRICHED when the
+     * content selector finds text; otherwise its content and status are left as they were.
+     */
+    public void enrich(Article article, Document document) {
+        String content = selectors.getContent() == null ? "" : document.select(selectors.getContent()).stream()
+                .map(Element::text)
+                .filter(text -> !text.isBlank())
+                .collect(Collectors.joining("\n"));
+
+        String title = first(document, selectors.getTitle());
+        if (title != null) {
+            article.setTitle(title);
+        }
+
+        String author = first(document, selectors.getAuthor());
+        if (author != null) {
+            article.setAuthor(author);
+        }
+
+        String image = first(document, selectors.getImage());
+        if (image != null) {
+            article.setImageUrl(image);
+        }
+
+        if (!content.isEmpty()) {
+            article.setContent(content);
+            article.setStatus(ArticleStatus.ENRICHED);
+        }
+    }
+
+    private static String first(Document document, String selector) {
+        if (selector == null || selector.isBlank()) {
+            return null;
+        }
+        Element element = document.selectFirst(selector);
+        if (element == null) {
+            return null;
+        }
+
+        String value = switch (element.tagName()) {
+            case "meta" -> element.attr("content");
+            case "img" -> element.absUrl("src");
+            default -> element.text();
+        };
+        return value.isBlank() ? null : value.trim();
+    }
+
+    @Override
+    public boolean supports(Article article) {
+        String articleHost = EnricherRegistry.hostOf(article.getUrl());
+        return host != null && articleHost != null && (articleHost.equals(host) || articleHost.endsWith("." + host));
+    }
+
+    @Override
+    public Set<String> supportedHosts() {
+        return host != null ? Set.of(host) : Set.of();
+    }
+
+    @Override
+    public Set<String> supportedSources() {
+        return Set.of(sourceName);
+    }
+}
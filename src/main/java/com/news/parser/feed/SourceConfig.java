@@ -0,0 +1,53 @@
+package com.news.parser.feed;
+
+import lombok.Data;
+
+import java.net.URI;
+
+/**
+ * One entry of the sources file: where the feed lives, what kind of feed it is and how to
+ * read the article pages it links to
+ */
+@Data
+public class SourceConfig {
+    public enum Type {
+        RSS,
+        ATOM,
+        SITEMAP
+    }
+
+    private String name;
+    private Type type;
+    private String url;
+    // article host when it differs from the feed's, e.g. feeds.example.com -> example.com
+    private String host;
+    private String language;
+    private int maxAgeHours = 24;
+    // lets a sitemap read stop at the first entry older than the cutoff
+    private boolean newestFirst;
+    private Selectors selectors = new Selectors();
+
+    /**
+     * CSS selectors for the article page; meta elements yield their content attribute,
+     * images their src and everything else its text
+     */
+    @Data
+    public static class Selectors {
+        private String content = "article p";
+        private String title = "h1";
+        private String author = "meta[name=author]";
+        private String image = "meta[property=og:image]";
+    }
+
+    public String getHost() {
+        if (host != null && !host.isBlank()) {
+            return stripWww(host.trim().toLowerCase());
+        }
+        String feedHost = url != null ? URI.create(url).getHost() : null;
+        return feedHost != null ? stripWww(feedHost.toLowerCase()) : null;
+    }
+
+    private static String stripWww(String host) {
+        return host.startsWith("www.") ? host.substring(4) : host;
+    }
+}
@@ -0,0 +1,92 @@
+package com.news.parser.feed;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.news.ConfigLoader;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Reads the configured feed sources from a JSON array; a missing file means no extra sources
+ * and an invalid entry is skipped with a warning rather than failing startup
+ */
+public final class SourceConfigLoader {
+    private static final ObjectMapper objectMapper = JsonMapper.builder()
+            .enable(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    private SourceConfigLoader() {
+    }
+
+    /**
+     * Sources from the file named by SOURCES_FILE, sources.json by default
+     */
+    public static List<SourceConfig> loadFromConfig() {
+        return load(Path.of(Objects.requireNonNullElse(ConfigLoader.getProperty("SOURCES_FILE"), "sources.json")));
+    }
+
+    public static List<SourceConfig> load(Path file) {
+        if (!Files.exists(file)) {
+            return List.of();
+        }
+
+        List<SourceConfig> configured;
+        try {
+            configured = objectMapper.readValue(file.toFile(), new TypeReference<List<SourceConfig>>() {});
+        } catch (IOException e) {
+            System.err.println("Ignoring unreadable sources file " + file + ": " + e.getMessage());
+            return List.of();
+        }
+
+        List<SourceConfig> sources = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        for (SourceConfig source : configured) {
+            String problem = validate(source);
+            if (problem == null && !names.add(source.getName().toLowerCase())) {
+                problem = "duplicate name";
+            }
+            if (problem != null) {
+                System.err.println("Warning: skipping source '" + source.getName() + "' in " + file + ": " + problem);
+                continue;
+            }
+            sources.add(source);
+        }
+        return sources;
+    }
+
+    private static String validate(SourceConfig source) {
+        if (source.getName() == null || source.getName().isBlank()) {
+            return "missing name";
+        }
+        if (source.getType() == null) {
+            return "missing type";
+        }
+        if (source.getUrl() == null) {
+            return "missing url";
+        }
+        try {
+            URI uri = URI.create(source.getUrl());
+            if (uri.getHost() == null || !uri.getScheme().startsWith("http")) {
+                return "url must be an absolute http(s) url";
+            }
+        } catch (IllegalArgumentException e) {
+            return "invalid url";
+        }
+        if (source.getMaxAgeHours() <= 0) {
+            return "maxAgeHours must be positive";
+        }
+        return null;
+    }
+}
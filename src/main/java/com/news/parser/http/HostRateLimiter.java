@@ -0,0 +1,176 @@
+package com.news.parser.http;
+
+import com.news.ConfigLoader;
+
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Token bucket per host that every crawl request waits on. A host starts at the configured
+ * rate, or slower if its robots.txt asks for a Crawl-delay. A 429 or 503 halves the host's
+ * rate and pauses it for the Retry-After period; every successful answer wins back a tenth of
+ * the lost rate, so a host that recovers is soon crawled at full speed again.
+ */
+public class HostRateLimiter {
+    private static final double DEFAULT_RATE_PER_SECOND = 2.0;
+    private static final int DEFAULT_BURST = 4;
+    private static final double MIN_RATE_PER_SECOND = 0.05;
+    private static final Duration MAX_PAUSE = Duration.ofMinutes(5);
+
+    private final double defaultRate;
+    private final int burst;
+    private final Function<String, Optional<Duration>> crawlDelayLookup;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    private static final class Bucket {
+        private final double maxRate;
+        private final int capacity;
+        private double rate;
+        private double tokens;
+        private long refilledAt = System.nanoTime();
+        private long pausedUntil = refilledAt;
+
+        private Bucket(double maxRate, int capacity) {
+            this.maxRate = maxRate;
+            this.capacity = capacity;
+            this.rate = maxRate;
+            this.tokens = capacity;
+        }
+    }
+
+    private static final class SharedHolder {
+        private static final HostRateLimiter INSTANCE = new HostRateLimiter(
+                parseRate(ConfigLoader.getProperty("HTTP_HOST_RATE_PER_SECOND")),
+                ConfigLoader.getInt("HTTP_HOST_BURST", DEFAULT_BURST),
+                // a replayed crawl must not reach the real hosts, not even for robots.txt
+                ConfigLoader.getProperty(HttpFetcher.REPLAY_URL_KEY) != null ? host -> Optional.empty() : RobotsTxt::crawlDelay);
+    }
+
+    /**
+     * @param crawlDelayLookup called once per host, the first time it is seen
+     */
+    public HostRateLimiter(double ratePerSecond, int burst, Function<String, Optional<Duration>> crawlDelayLookup) {
+        this.defaultRate = Math.max(MIN_RATE_PER_SECOND, ratePerSecond);
+        this.burst = Math.max(1, burst);
+        this.crawlDelayLookup = crawlDelayLookup;
+    }
+
+    public static HostRateLimiter shared() {
+        return SharedHolder.INSTANCE;
+    }
+
+    /**
+     * Blocks until the host of the url may be sent another request
+     */
+    public void acquire(URI uri) throws InterruptedIOException {
+        Bucket bucket = bucket(hostOf(uri));
+        while (true) {
+            long waitNanos;
+            synchronized (bucket) {
+                long now = System.nanoTime();
+                refill(bucket, now);
+                if (now >= bucket.pausedUntil && bucket.tokens >= 1) {
+                    bucket.tokens -= 1;
+                    return;
+                }
+                waitNanos = Math.max(bucket.pausedUntil - now, (long) ((1 - bucket.tokens) / bucket.rate * 1e9));
+            }
+            try {
+                Thread.sleep(Duration.ofNanos(Math.max(waitNanos, 1_000_000)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted waiting for " + uri.getHost());
+            }
+        }
+    }
+
+    /**
+     * Feeds the answer back: throttling slows the host down, success lets it speed up again
+     */
+    public void onResponse(URI uri, int status, String retryAfter) {
+        Bucket bucket = bucket(hostOf(uri));
+        synchronized (bucket) {
+            if (status == 429 || status == 503) {
+                bucket.rate = Math.max(MIN_RATE_PER_SECOND, bucket.rate / 2);
+                bucket.tokens = Math.min(bucket.tokens, 0);
+                Duration pause = parseRetryAfter(retryAfter).orElse(Duration.ofNanos((long) (1e9 / bucket.rate)));
+                long pausedUntil = System.nanoTime() + Math.min(pause.toNanos(), MAX_PAUSE.toNanos());
+                bucket.pausedUntil = Math.max(bucket.pausedUntil, pausedUntil);
+            } else if (status < 400 && bucket.rate < bucket.maxRate) {
+                bucket.rate = Math.min(bucket.maxRate, bucket.rate + (bucket.maxRate - bucket.rate) / 10 + 0.01);
+            }
+        }
+    }
+
+    public double currentRate(URI uri) {
+        Bucket bucket = bucket(hostOf(uri));
+        synchronized (bucket) {
+            return bucket.rate;
+        }
+    }
+
+    /**
+     * Retry-After is either delay-seconds or an HTTP date
+     */
+    static Optional<Duration> parseRetryAfter(String retryAfter) {
+        if (retryAfter == null || retryAfter.isBlank()) {
+            return Optional.empty();
+        }
+        String value = retryAfter.trim();
+        try {
+            return Optional.of(Duration.ofSeconds(Math.max(0, Long.parseLong(value))));
+        } catch (NumberFormatException ignored) {
+        }
+        try {
+            Duration until = Duration.between(ZonedDateTime.now(), ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME));
+            return Optional.of(until.isNegative() ? Duration.ZERO : until);
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+
+    private Bucket bucket(String host) {
+        Bucket existing = buckets.get(host);
+        if (existing != null) {
+            return existing;
+        }
+        // robots.txt is looked up outside computeIfAbsent so a slow host doesn't block the map;
+        // a Crawl-delay means one request per delay, without bursts
+        Optional<Duration> crawlDelay = crawlDelayLookup.apply(host)
+                .filter(delay -> !delay.isZero() && !delay.isNegative());
+        double rate = crawlDelay.map(delay -> Math.min(defaultRate, 1e9 / delay.toNanos())).orElse(defaultRate);
+        int capacity = crawlDelay.isPresent() ? 1 : burst;
+        return buckets.computeIfAbsent(host, h -> new Bucket(Math.max(MIN_RATE_PER_SECOND, rate), capacity));
+    }
+
+    private static void refill(Bucket bucket, long now) {
+        bucket.tokens = Math.min(bucket.capacity, bucket.tokens + (now - bucket.refilledAt) / 1e9 * bucket.rate);
+        bucket.refilledAt = now;
+    }
+
+    static String hostOf(URI uri) {
+        String host = uri.getHost() != null ? uri.getHost().toLowerCase(Locale.ROOT) : "";
+        return host.startsWith("www.") ? host.substring(4) : host;
+    }
+
+    private static double parseRate(String value) {
+        if (value == null || value.isBlank()) {
+            return DEFAULT_RATE_PER_SECOND;
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            System.out.println("Invalid value for HTTP_HOST_RATE_PER_SECOND: " + value + ", using " + DEFAULT_RATE_PER_SECOND);
+            return DEFAULT_RATE_PER_SECOND;
+        }
+    }
+}
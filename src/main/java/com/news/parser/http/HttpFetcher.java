@@ -0,0 +1,275 @@
+package com.news.parser.http;
+
+import com.news.ConfigLoader;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.parser.Parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static com.news.ConfigLoader.TIMEOUT;
+
+/**
+ * Page fetching shared by all Jsoup-based parsers and enrichers. One HTTP/2-capable client
+ * keeps connections (and their TLS sessions) alive between requests to the same host, caps
+ * the requests per host, paces each host through a {@link HostRateLimiter}, decompresses
+ * gzip/deflate bodies, refuses oversized bodies and retries transient failures with jittered
+ * exponential backoff. Callers get the raw bytes and let Jsoup parse them.
+ */
+public class HttpFetcher {
+    private static final String USER_AGENT =
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/123.0.0.0 Safari/537.36";
+    private static final Set<Integer> RETRYABLE_STATUSES = Set.of(408, 429, 500, 502, 503, 504);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
+    private static final int DEFAULT_MAX_PER_HOST = 6;
+    private static final int DEFAULT_MAX_ATTEMPTS = 3;
+    private static final int DEFAULT_MAX_BODY_BYTES = 10 * 1024 * 1024;
+    public static final String REPLAY_URL_KEY = "HTTP_REPLAY_URL";
+
+    private final HttpClient client;
+    private final HostRateLimiter rateLimiter;
+    private final int maxPerHost;
+    private final int maxAttempts;
+    private final Duration baseBackoff;
+    private final long maxBodyBytes;
+    private final URI replayBase;
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+
+    public record Page(int status, URI uri, HttpHeaders headers, byte[] body) {
+        public Optional<String> header(String name) {
+            return headers.firstValue(name);
+        }
+
+        public InputStream openBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        public Document parse() throws IOException {
+            return parse(Parser.htmlParser());
+        }
+
+        public Document parse(Parser parser) throws IOException {
+            return Jsoup.parse(new ByteArrayInputStream(body), charset(), uri.toString(), parser);
+        }
+
+        // null lets Jsoup detect the charset from a BOM or <meta>
+        private String charset() {
+            return header("Content-Type")
+                    .map(type -> {
+                        int index = type.toLowerCase(Locale.ROOT).indexOf("charset=");
+                        return index < 0 ? null : type.substring(index + 8).replace("\"", "").split(";")[0].trim();
+                    })
+                    .filter(charset -> !charset.isEmpty())
+                    .orElse(null);
+        }
+    }
+
+    private static final class BodyTooLargeException extends IOException {
+        private BodyTooLargeException(String message) {
+            super(message);
+        }
+    }
+
+    private static final class SharedHolder {
+        private static final HttpFetcher INSTANCE = new HttpFetcher(
+                HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_2)
+                        .followRedirects(HttpClient.Redirect.NORMAL)
+                        .connectTimeout(TIMEOUT)
+                        .build(),
+                HostRateLimiter.shared(),
+                ConfigLoader.getInt("HTTP_MAX_PER_HOST", DEFAULT_MAX_PER_HOST),
+                ConfigLoader.getInt("HTTP_MAX_ATTEMPTS", DEFAULT_MAX_ATTEMPTS),
+                Duration.ofMillis(500),
+                ConfigLoader.getInt("HTTP_MAX_BODY_BYTES", DEFAULT_MAX_BODY_BYTES),
+                Optional.ofNullable(ConfigLoader.getProperty(REPLAY_URL_KEY))
+                        .filter(url -> !url.isBlank())
+                        .map(url -> URI.create(url.trim()))
+                        .orElse(null));
+    }
+
+    public HttpFetcher(HttpClient client, HostRateLimiter rateLimiter, int maxPerHost, int maxAttempts,
+                       Duration baseBackoff, long maxBodyBytes) {
+        this(client, rateLimiter, maxPerHost, maxAttempts, baseBackoff, maxBodyBytes, null);
+    }
+
+    /**
+     * @param replayBase if given, every request goes to this server instead, with the original
+     *                   host as the first path segment (see {@link com.news.replay.ReplayServer})
+     */
+    public HttpFetcher(HttpClient client, HostRateLimiter rateLimiter, int maxPerHost, int maxAttempts,
+                       Duration baseBackoff, long maxBodyBytes, URI replayBase) {
+        this.client = client;
+        this.rateLimiter = rateLimiter;
+        this.maxPerHost = Math.max(1, maxPerHost);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseBackoff = baseBackoff;
+        this.maxBodyBytes = maxBodyBytes;
+        this.replayBase = replayBase;
+    }
+
+    public static HttpFetcher shared() {
+        return SharedHolder.INSTANCE;
+    }
+
+    /**
+     * Fetches and parses an HTML page
+     *
+     * @throws IOException on network failure or a 4xx/5xx answer, after retries
+     */
+    public Document fetchDocument(String url) throws IOException {
+        return fetchOk(url).parse();
+    }
+
+    /**
+     * Fetches and parses an XML document such as a sitemap
+     */
+    public Document fetchXml(String url) throws IOException {
+        return fetchOk(url).parse(Parser.xmlParser());
+    }
+
+    public Page fetch(String url) throws IOException {
+        return fetch(url, Map.of());
+    }
+
+    /**
+     * Sends a GET with the given extra headers. Any final status is returned as a page;
+     * transient statuses are retried first.
+     */
+    public Page fetch(String url, Map<String, String> headers) throws IOException {
+        URI uri = URI.create(url);
+        Semaphore hostLimit = hostPermits.computeIfAbsent(
+                Optional.ofNullable(uri.getHost()).orElse(""), h -> new Semaphore(maxPerHost));
+
+        for (int attempt = 1; ; attempt++) {
+            Page page;
+            rateLimiter.acquire(uri);
+            try {
+                hostLimit.acquire();
+                try {
+                    page = send(uri, headers);
+                } finally {
+                    hostLimit.release();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted fetching " + url);
+            } catch (BodyTooLargeException e) {
+                throw e;
+            } catch (IOException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                backoff(attempt, url);
+                continue;
+            }
+
+            rateLimiter.onResponse(uri, page.status(), page.header("Retry-After").orElse(null));
+            if (!RETRYABLE_STATUSES.contains(page.status()) || attempt >= maxAttempts) {
+                return page;
+            }
+            // a throttled host is already paused by the rate limiter for its Retry-After
+            if (page.status() != 429 && page.status() != 503) {
+                backoff(attempt, url);
+            }
+        }
+    }
+
+    private Page fetchOk(String url) throws IOException {
+        Page page = fetch(url);
+        if (page.status() >= 400) {
+            throw new IOException("HTTP " + page.status() + " fetching " + url);
+        }
+        return page;
+    }
+
+    private Page send(URI uri, Map<String, String> headers) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(route(uri))
+                .timeout(TIMEOUT)
+                .header("User-Agent", USER_AGENT)
+                .header("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8")
+                .header("Accept-Language", "en-US,en;q=0.9")
+                .header("Accept-Encoding", "gzip, deflate")
+                .GET();
+        headers.forEach(request::setHeader);
+
+        HttpResponse<InputStream> response = client.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+        long declaredLength = response.headers().firstValueAsLong("Content-Length").orElse(-1);
+        if (declaredLength > maxBodyBytes) {
+            response.body().close();
+            throw new BodyTooLargeException(uri + " is " + declaredLength + " bytes, limit is " + maxBodyBytes);
+        }
+
+        try (InputStream body = decode(response.body(), response.headers().firstValue("Content-Encoding").orElse(""))) {
+            // a replayed page keeps its original address so relative links resolve against the real site
+            URI pageUri = replayBase != null ? uri : response.uri();
+            return new Page(response.statusCode(), pageUri, response.headers(), readCapped(body, uri));
+        }
+    }
+
+    /**
+     * Where a request is actually sent: the url itself, or host and path under the replay server
+     */
+    URI route(URI uri) {
+        if (replayBase == null) {
+            return uri;
+        }
+        String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+        String query = uri.getRawQuery() != null ? "?" + uri.getRawQuery() : "";
+        return replayBase.resolve("/" + uri.getHost() + path + query);
+    }
+
+    private static InputStream decode(InputStream body, String contentEncoding) throws IOException {
+        return switch (contentEncoding.trim().toLowerCase(Locale.ROOT)) {
+            case "gzip", "x-gzip" -> new GZIPInputStream(body);
+            case "deflate" -> new InflaterInputStream(body);
+            default -> body;
+        };
+    }
+
+    private byte[] readCapped(InputStream body, URI uri) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[16 * 1024];
+        int read;
+        while ((read = body.read(buffer)) != -1) {
+            if (out.size() + read > maxBodyBytes) {
+                throw new BodyTooLargeException(uri + " exceeds the body limit of " + maxBodyBytes + " bytes");
+            }
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Full-jitter exponential backoff
+     */
+    private void backoff(int attempt, String url) throws InterruptedIOException {
+        long delayMillis = ThreadLocalRandom.current().nextLong(baseBackoff.toMillis() * (1L << Math.min(attempt - 1, 16)) + 1);
+        try {
+            Thread.sleep(Math.min(delayMillis, MAX_BACKOFF.toMillis()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while retrying " + url);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.news.parser.http;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Just enough robots.txt support for rate limiting: the Crawl-delay of the "*" group
+ */
+final class RobotsTxt {
+    private static final HttpClient client = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private RobotsTxt() {
+    }
+
+    static Optional<Duration> crawlDelay(String host) {
+        if (host.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("https://" + host + "/robots.txt"))
+                    .timeout(Duration.ofSeconds(5))
+                    .GET()
+                    .build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            return response.statusCode() == 200 ? parseCrawlDelay(response.body()) : Optional.empty();
+        } catch (IOException | IllegalArgumentException e) {
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Crawl-delay (in seconds, fractions allowed) declared for the group that applies to all agents
+     */
+    static Optional<Duration> parseCrawlDelay(String robots) {
+        boolean inWildcardGroup = false;
+        boolean groupHasRules = false;
+
+        for (String rawLine : robots.split("\r?\n")) {
+            String line = rawLine.split("#", 2)[0].trim();
+            int colon = line.indexOf(':');
+            if (colon < 0) {
+                continue;
+            }
+            String field = line.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+            String value = line.substring(colon + 1).trim();
+
+            if (field.equals("user-agent")) {
+                // consecutive user-agent lines share one group
+                if (groupHasRules) {
+                    inWildcardGroup = false;
+                    groupHasRules = false;
+                }
+                inWildcardGroup |= value.equals("*");
+            } else {
+                groupHasRules = true;
+                if (inWildcardGroup && field.equals("crawl-delay")) {
+                    try {
+                        return Optional.of(Duration.ofMillis((long) (Double.parseDouble(value) * 1000)));
+                    } catch (NumberFormatException e) {
+                        return Optional.empty();
+                    }
+                }
+            }
+        }
+        return Optional.empty();
+    }
+}
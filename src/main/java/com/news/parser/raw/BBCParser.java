@@ -5,7 +5,7 @@ import com.news.model.ArticleStatus;
 import com.news.parser.ArticleEnricher;
 import com.news.parser.Parser;
 import com.news.parser.enriched.BBCArticleParser;
-import org.jsoup.Jsoup;
+import com.news.parser.util.CrawlStateStore;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 
@@ -13,6 +13,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 
@@ -24,39 +25,56 @@ public class BBCParser implements Parser {
     @Override
     public List<Article> fetchArticles() {
         List<Article> articles = new ArrayList<>();
-        Set<String> uniqueArticles = new HashSet<>();
+
+        CrawlStateStore crawlState = CrawlStateStore.shared();
 
         try {
-            Document doc = Jsoup.connect(URL).get();
+            Optional<Document> changed = crawlState.fetchIfChanged(URL);
+            if (changed.isEmpty()) {
+                System.out.println("BBC front page unchanged since the last crawl");
+                return articles;
+            }
+            articles.addAll(parseFrontPage(changed.get()));
+            crawlState.advance(URL, articles);
+        } catch (IOException e) {
+            System.out.println("Failed to fetch articles from BBC: " + e.getMessage());
+        }
 
-            for (Element card : doc.select("div[data-testid=dundee-card]")) {
-                Element urlEl = card.selectFirst("a[data-testid=internal-link]");
-                if (urlEl == null) continue;
+        return articles;
+    }
 
-                String url = "https://www.bbc.com" + urlEl.attr("href");
+    /**
+     * Extracts the news cards of the front page, skipping videos, sport and duplicates
+     */
+    public List<Article> parseFrontPage(Document doc) {
+        List<Article> articles = new ArrayList<>();
+        Set<String> uniqueArticles = new HashSet<>();
 
-                if (url.contains("/videos") || url.contains("/sport")) continue;
-                if (uniqueArticles.contains(url)) continue; // Skipping duplicated article
+        for (Element card : doc.select("div[data-testid=dundee-card]")) {
+            Element urlEl = card.selectFirst("a[data-testid=internal-link]");
+            if (urlEl == null) continue;
 
-                uniqueArticles.add(url);
+            String url = "https://www.bbc.com" + urlEl.attr("href");
 
-                Element titleEl = card.selectFirst("h2[data-testid=card-headline]");
-                Element regionEl = card.selectFirst("span[data-testid=card-metadata-tag]");
+            if (url.contains("/videos") || url.contains("/sport")) continue;
+            if (uniqueArticles.contains(url)) continue; // Skipping duplicated article
 
-                String title = titleEl != null ? titleEl.text() : "Untitled";
-                String region = regionEl != null ? regionEl.text() : "Unknown";
+            uniqueArticles.add(url);
 
-                articles.add(Article.builder()
-                        .title(title)
-                        .url(url)
-                        .region(region)
-                        .sourceName("BBC")
-                        .language("eng")
-                        .status(ArticleStatus.RAW)
-                        .build());
-            }
-        } catch (IOException e) {
-            System.out.println("Failed to fetch articles from BBC: " + e.getMessage());
+            Element titleEl = card.selectFirst("h2[data-testid=card-headline]");
+            Element regionEl = card.selectFirst("span[data-testid=card-metadata-tag]");
+
+            String title = titleEl != null ? titleEl.text() : "Untitled";
+            String region = regionEl != null ? regionEl.text() : "Unknown";
+
+            articles.add(Article.builder()
+                    .title(title)
+                    .url(url)
+                    .region(region)
+                    .sourceName("BBC")
+                    .language("eng")
+                    .status(ArticleStatus.RAW)
+                    .build());
         }
 
         return articles;
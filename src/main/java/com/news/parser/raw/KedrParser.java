@@ -5,13 +5,14 @@ import com.news.model.ArticleStatus;
 import com.news.parser.ArticleEnricher;
 import com.news.parser.Parser;
 import com.news.parser.enriched.KedrArticleParser;
-import org.jsoup.Jsoup;
+import com.news.parser.util.CrawlStateStore;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 public class KedrParser implements Parser {
     private final static String BASE_URL = "https://kedr.media/category";
@@ -27,23 +28,22 @@ public class KedrParser implements Parser {
     public List<Article> fetchArticles() {
         List<Article> articles = new ArrayList<>();
 
+        CrawlStateStore crawlState = CrawlStateStore.shared();
+
         for (String subUrl : SECTIONS) {
+            String sectionUrl = BASE_URL + subUrl;
             try {
-                Document document = Jsoup.connect(BASE_URL + subUrl).get();
-
-                for (Element urlEl : document.select("a.frame-news__content-title")) {
-                    String url = urlEl.attr("href");
-
-                    Article article = Article.builder()
-                            .url(url)
-                            .language("ru")
-                            .status(ArticleStatus.RAW)
-                            .sourceName("kedr")
-                            .build();
-
-                    articles.add(article);
+                Optional<Document> changed = crawlState.fetchIfChanged(sectionUrl);
+                if (changed.isEmpty()) {
+                    continue;
                 }
 
+                // the section lists newest first, so everything from the last crawl's top item down is known
+                String newestSeen = crawlState.getNewestUrl(sectionUrl);
+                List<Article> sectionArticles = parseSection(changed.get(), newestSeen);
+
+                crawlState.advance(sectionUrl, sectionArticles);
+                articles.addAll(sectionArticles);
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
@@ -52,6 +52,33 @@ public class KedrParser implements Parser {
         return articles;
     }
 
+    /**
+     * Extracts the links of a section page, stopping at the newest one seen before
+     *
+     * @param newestSeen may be null
+     */
+    public List<Article> parseSection(Document section, String newestSeen) {
+        List<Article> articles = new ArrayList<>();
+
+        for (Element urlEl : section.select("a.frame-news__content-title")) {
+            String url = urlEl.attr("href");
+            if (url.equals(newestSeen)) {
+                break;
+            }
+
+            Article article = Article.builder()
+                    .url(url)
+                    .language("ru")
+                    .status(ArticleStatus.RAW)
+                    .sourceName("kedr")
+                    .build();
+
+            articles.add(article);
+        }
+
+        return articles;
+    }
+
     @Override
     public ArticleEnricher getEnricher() {
         return enricher;
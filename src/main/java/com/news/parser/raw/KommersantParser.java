@@ -5,15 +5,21 @@ import com.news.model.ArticleStatus;
 import com.news.parser.ArticleEnricher;
 import com.news.parser.Parser;
 import com.news.parser.enriched.KommersantArticleParser;
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
+import com.news.parser.http.HttpFetcher;
+import com.news.parser.util.CrawlStateStore;
+import com.news.parser.util.SitemapReader;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static com.news.ConfigLoader.FORMATTER;
 
@@ -21,65 +27,91 @@ public class KommersantParser implements Parser {
     private final ArticleEnricher enricher = new KommersantArticleParser();
 
     private final static String BASE_URL = "https://www.kommersant.ru/sitemaps/";
+    // there is a strange naming, but 2, 3, 4, 5 mean politics, economy etc
+    private final static List<Integer> RUBRICS = List.of(2, 3, 4, 5);
 
+    /**
+     * Fetches the rubric sitemaps concurrently; a failing rubric only loses its own articles
+     */
     @Override
     public List<Article> fetchArticles() {
         List<Article> articles = new ArrayList<>();
 
-        for (int i = 2; i < 6; i++) {
-            // there is a strange naming, but 2, 3, 4, 5 mean politics, economy etc
-            String rubricUrl = String.format(BASE_URL + "sitemap_rubric_%d.xml", i);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<List<Article>>> rubrics = new ArrayList<>();
+            for (int rubric : RUBRICS) {
+                String rubricUrl = String.format(BASE_URL + "sitemap_rubric_%d.xml", rubric);
+                rubrics.add(executor.submit(() -> fetchRubric(rubricUrl)));
+            }
 
-            try {
-                Document document = Jsoup.connect(rubricUrl).parser(org.jsoup.parser.Parser.xmlParser()).get();
-
-                Elements urlElements = document.select("url");
-
-                LocalDateTime oneDaysAgo = LocalDateTime.now().minusDays(1);
-
-                for (Element urlElement : urlElements) {
-                    Element locEl = urlElement.selectFirst("loc");
-                    Element dateEl = urlElement.selectFirst("news\\:publication_date");
-                    Element imageUrlEl = urlElement.selectFirst("image\\:loc");
-
-                    if (locEl == null || dateEl == null) {
-                        continue;
-                    }
-
-                    String url = locEl.text();
-                    String date = dateEl.text();
-                    String imageUrl = imageUrlEl != null ? imageUrlEl.text() : "No image provided";
-
-                    LocalDateTime publishedAt;
-                    try {
-                        publishedAt = LocalDateTime.parse(date, FORMATTER);
-                    } catch (Exception e) {
-                        continue;
-                    }
-
-                    if (publishedAt.isBefore(oneDaysAgo)) {
-                        break;
-                    }
-
-                    articles.add(Article.builder()
-                            .url(url)
-                            .publishedAt(publishedAt)
-                            .sourceName("kommersant")
-                            .imageUrl(imageUrl)
-                            .language("ru")
-                            .status(ArticleStatus.RAW)
-                            .build()
-                    );
+            for (Future<List<Article>> rubric : rubrics) {
+                try {
+                    articles.addAll(rubric.get());
+                } catch (ExecutionException e) {
+                    System.out.println("Failed to fetch articles from Kommersant: " + e.getCause().getMessage());
                 }
-
-            } catch (IOException e) {
-                System.out.println("Failed to fetch articles from Kommersant: " + e.getMessage());
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
 
         return articles;
     }
 
+    private List<Article> fetchRubric(String rubricUrl) throws IOException {
+        CrawlStateStore crawlState = CrawlStateStore.shared();
+        Optional<HttpFetcher.Page> changed = crawlState.fetchPageIfChanged(rubricUrl);
+        if (changed.isEmpty()) {
+            return List.of();
+        }
+
+        // stop at whichever comes later: the one-day window or the newest entry of the last crawl
+        LocalDateTime oneDaysAgo = LocalDateTime.now().minusDays(1);
+        LocalDateTime watermark = crawlState.getWatermark(rubricUrl);
+        LocalDateTime cutoff = watermark != null && watermark.isAfter(oneDaysAgo) ? watermark : oneDaysAgo;
+        List<Article> rubricArticles = parseRubric(changed.get().openBody(), cutoff);
+
+        crawlState.advance(rubricUrl, rubricArticles);
+        return rubricArticles;
+    }
+
+    /**
+     * Streams the entries of a rubric sitemap, newest first, and stops reading at the cutoff
+     */
+    public List<Article> parseRubric(InputStream sitemap, LocalDateTime cutoff) throws IOException {
+        List<Article> articles = new ArrayList<>();
+
+        SitemapReader.read(sitemap, entry -> {
+            if (entry.loc() == null || entry.publicationDate() == null) {
+                return true;
+            }
+
+            LocalDateTime publishedAt;
+            try {
+                publishedAt = LocalDateTime.parse(entry.publicationDate(), FORMATTER);
+            } catch (DateTimeParseException e) {
+                return true;
+            }
+
+            if (publishedAt.isBefore(cutoff)) {
+                return false;
+            }
+
+            articles.add(Article.builder()
+                    .url(entry.loc())
+                    .publishedAt(publishedAt)
+                    .sourceName("kommersant")
+                    .imageUrl(entry.imageLoc() != null ? entry.imageLoc() : "No image provided")
+                    .language("ru")
+                    .status(ArticleStatus.RAW)
+                    .build()
+            );
+            return true;
+        });
+
+        return articles;
+    }
+
     @Override
     public ArticleEnricher getEnricher() {
         return enricher;
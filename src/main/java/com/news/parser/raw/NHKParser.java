@@ -5,13 +5,15 @@ import com.news.model.ArticleStatus;
 import com.news.parser.ArticleEnricher;
 import com.news.parser.Parser;
 import com.news.parser.enriched.NHKArticleParser;
-import org.jsoup.Jsoup;
+import com.news.parser.util.CrawlStateStore;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import static com.news.parser.util.TimeUtil.dateConverter;
 
@@ -25,71 +27,90 @@ public class NHKParser implements Parser {
     public List<Article> fetchArticles() {
         List<Article> articles = new ArrayList<>();
 
+        CrawlStateStore crawlState = CrawlStateStore.shared();
+
         try {
-            Document doc = Jsoup.connect(NEWS_LIST_URL).userAgent("\"Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 Chrome/123.0.0.0 Safari/537.36\"")
-                    .header("Accept-Language", "en-US,en;q=0.9")
-                    .header("Accept-Encoding", "gzip, deflate")
-                    .get();
-
-            for (Element article : doc.select("article.c-mainSectionArticle")) {
-                Element titleEl = article.selectFirst("h2.c-mainSectionArticle__title a");
-                Element dateEl = article.selectFirst("div.c-mainSectionArticle__date");
-
-                if (titleEl != null && dateEl != null) {
-                    String title = titleEl.text();
-                    String date = dateEl.attr("data-time");
-                    String url = BASE_URL + titleEl.attr("href");
-
-                    articles.add(Article.builder()
-                            .title(title)
-                            .url(url)
-                            .sourceName("NHK")
-                            .publishedAt(dateConverter(date))
-                            .status(ArticleStatus.RAW)
-                            .build());
-                }
+            Optional<Document> changed = crawlState.fetchIfChanged(NEWS_LIST_URL);
+            if (changed.isEmpty()) {
+                System.out.println("NHK news list unchanged since the last crawl");
+                return articles;
+            }
+            articles.addAll(parseNewsList(changed.get()));
+
+            // articles older than the newest one from the last crawl were collected back then
+            LocalDateTime watermark = crawlState.getWatermark(NEWS_LIST_URL);
+            if (watermark != null) {
+                articles.removeIf(article -> article.getPublishedAt() != null && article.getPublishedAt().isBefore(watermark));
             }
+            crawlState.advance(NEWS_LIST_URL, articles);
+        } catch (IOException e) {
+            System.out.println("Failed to fetch articles from NHK: " + e.getMessage());
+        }
+
+        return articles;
+    }
+
+    /**
+     * Extracts the articles listed on a news list page
+     */
+    public List<Article> parseNewsList(Document doc) {
+        List<Article> articles = new ArrayList<>();
 
-            for (Element article : doc.select("div.c-articleList article.c-article")) {
-                Element titleEl = article.selectFirst("h3.c-article__title a");
-                Element dateEl = article.selectFirst("div.c-article__date");
-
-                if (titleEl != null && dateEl != null) {
-                    String title = titleEl.text();
-                    String url = BASE_URL + titleEl.attr("href");
-                    String dataTime = dateEl.attr("data-time");
-                    articles.add(Article.builder()
-                            .title(title)
-                            .url(url)
-                            .sourceName("NHK")
-                            .publishedAt(dateConverter(dataTime))
-                            .status(ArticleStatus.RAW)
-                            .build());
-                }
+        for (Element article : doc.select("article.c-mainSectionArticle")) {
+            Element titleEl = article.selectFirst("h2.c-mainSectionArticle__title a");
+            Element dateEl = article.selectFirst("div.c-mainSectionArticle__date");
+
+            if (titleEl != null && dateEl != null) {
+                String title = titleEl.text();
+                String date = dateEl.attr("data-time");
+                String url = BASE_URL + titleEl.attr("href");
+
+                articles.add(Article.builder()
+                        .title(title)
+                        .url(url)
+                        .sourceName("NHK")
+                        .publishedAt(dateConverter(date))
+                        .status(ArticleStatus.RAW)
+                        .build());
             }
+        }
 
-            for (Element article : doc.select("div.c-articleMediaList article.c-articleMedia")) {
-                Element titleEl = article.selectFirst("h3.c-articleMedia__title");
-                Element linkEl = article.selectFirst("a");
-                Element dateEl = article.selectFirst("div.c-article__date");
-
-                if (titleEl != null && linkEl != null && dateEl != null) {
-                    String title = titleEl.text();
-                    String url = BASE_URL + linkEl.attr("href");
-                    String dataTime = dateEl.attr("data-time");
-                    articles.add(Article.builder()
-                            .title(title)
-                            .url(url)
-                            .sourceName("NHK")
-                            .language("eng")
-                            .publishedAt(dateConverter(dataTime))
-                            .status(ArticleStatus.RAW)
-                            .build());
-                }
+        for (Element article : doc.select("div.c-articleList article.c-article")) {
+            Element titleEl = article.selectFirst("h3.c-article__title a");
+            Element dateEl = article.selectFirst("div.c-article__date");
+
+            if (titleEl != null && dateEl != null) {
+                String title = titleEl.text();
+                String url = BASE_URL + titleEl.attr("href");
+                String dataTime = dateEl.attr("data-time");
+                articles.add(Article.builder()
+                        .title(title)
+                        .url(url)
+                        .sourceName("NHK")
+                        .publishedAt(dateConverter(dataTime))
+                        .status(ArticleStatus.RAW)
+                        .build());
             }
+        }
 
-        } catch (IOException e) {
-            System.out.println("Failed to fetch articles from NHK: " + e.getMessage());
+        for (Element article : doc.select("div.c-articleMediaList article.c-articleMedia")) {
+            Element titleEl = article.selectFirst("h3.c-articleMedia__title");
+            Element linkEl = article.selectFirst("a");
+            Element dateEl = article.selectFirst("div.c-article__date");
+
+            if (titleEl != null && linkEl != null && dateEl != null) {
+                String title = titleEl.text();
+                String url = BASE_URL + linkEl.attr("href");
+                String dataTime = dateEl.attr("data-time");
+                articles.add(Article.builder()
+                        .title(title)
+                        .url(url)
+                        .sourceName("NHK")
+                        .language("eng")
+                        .publishedAt(dateConverter(dataTime))
+                        .status(ArticleStatus.RAW)
+                        .build());
+            }
         }
 
         return articles;
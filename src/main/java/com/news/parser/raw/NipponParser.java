@@ -5,15 +5,17 @@ import com.news.model.ArticleStatus;
 import com.news.parser.ArticleEnricher;
 import com.news.parser.Parser;
 import com.news.parser.enriched.NipponArticleParser;
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
+import com.news.parser.http.HttpFetcher;
+import com.news.parser.util.CrawlStateStore;
+import com.news.parser.util.SitemapReader;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import static com.news.ConfigLoader.FORMATTER;
 
@@ -26,46 +28,60 @@ public class NipponParser implements Parser {
     public List<Article> fetchArticles() {
         List<Article> articles = new ArrayList<>();
 
+        CrawlStateStore crawlState = CrawlStateStore.shared();
+
         try {
-            Document xmlDoc = Jsoup.connect(SITEMAP_URL).parser(org.jsoup.parser.Parser.xmlParser()).get();
-            Elements urlElements = xmlDoc.select("url");
+            Optional<HttpFetcher.Page> changed = crawlState.fetchPageIfChanged(SITEMAP_URL);
+            if (changed.isEmpty()) {
+                System.out.println("nippon.com sitemap unchanged since the last crawl");
+                return articles;
+            }
 
             LocalDateTime sevenDaysAgo = LocalDateTime.now().minusDays(7);
+            LocalDateTime watermark = crawlState.getWatermark(SITEMAP_URL);
+            LocalDateTime cutoff = watermark != null && watermark.isAfter(sevenDaysAgo) ? watermark : sevenDaysAgo;
 
-            for (Element urlElement : urlElements) {
+            articles.addAll(parseSitemap(changed.get().openBody(), cutoff));
 
-                Element locEl = urlElement.selectFirst("loc");
-                Element lastmodEl = urlElement.selectFirst("lastmod");
+            crawlState.advance(SITEMAP_URL, articles);
+        } catch (IOException e) {
+            System.out.println("Failed to fetch articles from nippon.com: " + e.getMessage());
+        }
 
-                if (locEl == null || lastmodEl == null) {
-                    continue;
-                }
+        return articles;
+    }
 
-                String url = locEl.text();
-                String lastmodStr = lastmodEl.text();
+    /**
+     * Streams the sitemap entries, newest first, and stops reading at the cutoff
+     */
+    public List<Article> parseSitemap(InputStream sitemap, LocalDateTime cutoff) throws IOException {
+        List<Article> articles = new ArrayList<>();
 
-                LocalDateTime publishedAt;
-                try {
-                    publishedAt = LocalDateTime.parse(lastmodStr, FORMATTER);
-                } catch (Exception e) {
-                    continue;
-                }
+        SitemapReader.read(sitemap, entry -> {
+            if (entry.loc() == null || entry.lastmod() == null) {
+                return true;
+            }
 
-                if (publishedAt.isBefore(sevenDaysAgo)) {
-                    break; // Stop processing older articles
-                }
+            LocalDateTime publishedAt;
+            try {
+                publishedAt = LocalDateTime.parse(entry.lastmod(), FORMATTER);
+            } catch (DateTimeParseException e) {
+                return true;
+            }
 
-                articles.add(Article.builder()
-                        .url(url)
-                        .publishedAt(publishedAt)
-                        .sourceName("nippon.com")
-                        .language("ru")
-                        .status(ArticleStatus.RAW)
-                        .build());
+            if (publishedAt.isBefore(cutoff)) {
+                return false; // Stop processing older articles
             }
-        } catch (IOException e) {
-            System.out.println("Failed to fetch articles from nippon.com: " + e.getMessage());
-        }
+
+            articles.add(Article.builder()
+                    .url(entry.loc())
+                    .publishedAt(publishedAt)
+                    .sourceName("nippon.com")
+                    .language("ru")
+                    .status(ArticleStatus.RAW)
+                    .build());
+            return true;
+        });
 
         return articles;
     }
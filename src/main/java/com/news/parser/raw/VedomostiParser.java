@@ -5,19 +5,17 @@ import com.news.model.ArticleStatus;
 import com.news.parser.ArticleEnricher;
 import com.news.parser.Parser;
 import com.news.parser.enriched.VedomostiArticleParser;
+import com.news.parser.http.HostRateLimiter;
+import com.news.parser.util.WebDriverPool;
 import org.openqa.selenium.By;
-import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
+import java.io.IOException;
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
 
-import static com.news.ConfigLoader.TIMEOUT;
-
 public class VedomostiParser implements Parser {
 
     private static final String BASE_URL = "https://www.vedomosti.ru";
@@ -27,6 +25,8 @@ public class VedomostiParser implements Parser {
             "/technologies"
     );
 
+    private static final By CARD_LINKS = By.cssSelector("div.articles-cards-list__cell > div.grid-cell__body > a");
+
     private final ArticleEnricher enricher = new VedomostiArticleParser();
 
     @Override
@@ -39,72 +39,61 @@ public class VedomostiParser implements Parser {
     }
 
     private static List<Article> parseFromSection(String url) {
-        System.setProperty("webdriver.chrome.driver", "/usr/sbin/chromedriver");
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--headless");
-        options.addArguments("--no-sandbox");
-        options.addArguments("--disable-dev-shm-usage");
-        options.addArguments("--disable-gpu");
-        options.addArguments("--window-size=1920,1080");
-
-        WebDriver driver = new ChromeDriver(options);
-        WebDriverWait wait = new WebDriverWait(driver, TIMEOUT);
-
-        List<Article> sectionArticles = new ArrayList<>();
-
         try {
-            driver.get(url);
-
-            // wait for the page to load completely
-            wait.until(ExpectedConditions.presenceOfElementLocated(
-                    By.cssSelector("div.articles-cards-list__cell")));
-
-            Thread.sleep(2000);
+            // wait for the host's turn before taking a browser from the pool
+            HostRateLimiter.shared().acquire(URI.create(url));
+            return WebDriverPool.shared().execute((driver, wait) -> {
+                driver.get(url);
+                WebDriverPool.waitForDocumentReady(driver, wait);
+
+                // cards are rendered client-side; wait until their links are in place
+                wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(CARD_LINKS));
+                return extractArticles(driver.findElements(CARD_LINKS));
+            });
+        } catch (IOException e) {
+            System.err.println("Error loading page " + url + ": " + e.getMessage());
+            return List.of();
+        }
+    }
 
-            List<WebElement> articleCards = driver.findElements(By.cssSelector(
-                    "div.articles-cards-list__cell > div.grid-cell__body > a"));
+    private static List<Article> extractArticles(List<WebElement> articleCards) {
+        List<Article> sectionArticles = new ArrayList<>();
 
-            for (int i = 0; i < articleCards.size(); i++) {
-                WebElement card = articleCards.get(i);
-                try {
-                    String href = card.getAttribute("href");
-                    if (href == null || href.isEmpty()) {
-                        System.err.println("Card " + (i + 1) + ": No href found, skipping");
-                        continue;
-                    }
+        for (int i = 0; i < articleCards.size(); i++) {
+            WebElement card = articleCards.get(i);
+            try {
+                String href = card.getAttribute("href");
+                if (href == null || href.isEmpty()) {
+                    System.err.println("Card " + (i + 1) + ": No href found, skipping");
+                    continue;
+                }
 
-                    String link = href.startsWith("http") ? href : BASE_URL + href;
+                String link = href.startsWith("http") ? href : BASE_URL + href;
 
-                    String title = extractTitle(card);
-                    if (title.equals("Title not found")) {
-                        System.err.println("Card " + (i + 1) + ": Could not extract title, skipping");
-                        continue;
-                    }
+                String title = extractTitle(card);
+                if (title.equals("Title not found")) {
+                    System.err.println("Card " + (i + 1) + ": Could not extract title, skipping");
+                    continue;
+                }
 
-                    String imageUrl = extractImageUrl(card);
-                    String author = extractAuthor(card);
+                String imageUrl = extractImageUrl(card);
+                String author = extractAuthor(card);
 
-                    Article article = Article.builder()
-                            .url(link)
-                            .title(title)
-                            .imageUrl(imageUrl)
-                            .author(author)
-                            .language("ru")
-                            .sourceName("vedomosti")
-                            .status(ArticleStatus.RAW)
-                            .build();
+                Article article = Article.builder()
+                        .url(link)
+                        .title(title)
+                        .imageUrl(imageUrl)
+                        .author(author)
+                        .language("ru")
+                        .sourceName("vedomosti")
+                        .status(ArticleStatus.RAW)
+                        .build();
 
-                    sectionArticles.add(article);
+                sectionArticles.add(article);
 
-                } catch (Exception e) {
-                    System.err.println("Error fetching article card " + (i + 1) + ": " + e.getMessage());
-                }
+            } catch (Exception e) {
+                System.err.println("Error fetching article card " + (i + 1) + ": " + e.getMessage());
             }
-
-        } catch (Exception e) {
-            System.err.println("Error loading page " + url + ": " + e.getMessage());
-        } finally {
-            driver.quit();
         }
 
         return sectionArticles;
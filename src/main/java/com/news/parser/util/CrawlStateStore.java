@@ -0,0 +1,325 @@
+package com.news.parser.util;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.news.ConfigLoader;
+import com.news.model.Article;
+import com.news.parser.http.HttpFetcher;
+import lombok.Data;
+import org.jsoup.nodes.Document;
+import org.jsoup.parser.Parser;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers what each listing page looked like on the previous crawl: its ETag and
+ * Last-Modified validators, a hash of its body and the newest article seen on it. Listing
+ * fetches go out as conditional requests, and a page that answers 304 or comes back
+ * byte-identical is not parsed again. State is kept in a small JSON file between runs.
+ * <p>
+ * A listing's new state stays pending until its articles are stored: callers report stored
+ * articles with {@link #collected}. The watermark and newest URL only move past articles that
+ * were stored along with everything newer, and the validators are kept once the whole listing
+ * is stored, so articles dropped by a limit, a timeout or a failed save are found again by the
+ * next crawl.
+ */
+public class CrawlStateStore {
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private final Path file;
+    private final boolean enabled;
+    private final HttpFetcher fetcher;
+    private final Map<String, CrawlState> states = new ConcurrentHashMap<>();
+    // validators of pages fetched but not yet handed to advance()
+    private final Map<String, CrawlState> fetched = new HashMap<>();
+    // listings whose articles are not all stored yet
+    private final Map<String, PendingListing> pending = new HashMap<>();
+
+    @Data
+    public static class CrawlState {
+        private String etag;
+        private String lastModified;
+        private String contentHash;
+        private String newestUrl;
+        private LocalDateTime newestPublishedAt;
+    }
+
+    private static final class SharedHolder {
+        private static final CrawlStateStore INSTANCE = new CrawlStateStore(
+                Path.of(Objects.requireNonNullElse(ConfigLoader.getProperty("CRAWL_STATE_FILE"),
+                        defaultStateFile(ConfigLoader.getProperty(HttpFetcher.REPLAY_URL_KEY)))),
+                !"false".equalsIgnoreCase(ConfigLoader.getProperty("CRAWL_INCREMENTAL")),
+                HttpFetcher.shared());
+    }
+
+    /**
+     * Replayed listings are stamped with the time of the replay, so their watermarks must
+     * never end up in the state of real crawls
+     */
+    static String defaultStateFile(String replayUrl) {
+        return replayUrl != null ? "crawl-state.replay.json" : "crawl-state.json";
+    }
+
+    public CrawlStateStore(Path file, boolean enabled, HttpFetcher fetcher) {
+        this.file = file;
+        this.enabled = enabled;
+        this.fetcher = fetcher;
+        load();
+    }
+
+    /**
+     * Store used by the listing parsers; CRAWL_INCREMENTAL=false turns it into a pass-through
+     */
+    public static CrawlStateStore shared() {
+        return SharedHolder.INSTANCE;
+    }
+
+    public Optional<Document> fetchIfChanged(String url) throws IOException {
+        return fetchIfChanged(url, Parser.htmlParser());
+    }
+
+    /**
+     * Fetches the page with a conditional request.
+     *
+     * @return the parsed page, or empty if it has not changed since the previous crawl
+     */
+    public Optional<Document> fetchIfChanged(String url, Parser parser) throws IOException {
+        Optional<HttpFetcher.Page> page = fetchPageIfChanged(url);
+        return page.isPresent() ? Optional.of(page.get().parse(parser)) : Optional.empty();
+    }
+
+    /**
+     * Like {@link #fetchIfChanged(String, Parser)}, but leaves reading the body to the caller,
+     * e.g. to stream a sitemap instead of building a DOM
+     */
+    public Optional<HttpFetcher.Page> fetchPageIfChanged(String url) throws IOException {
+        CrawlState previous = enabled ? states.get(url) : null;
+        Map<String, String> headers = new HashMap<>();
+        if (previous != null && previous.getEtag() != null) {
+            headers.put("If-None-Match", previous.getEtag());
+        }
+        if (previous != null && previous.getLastModified() != null) {
+            headers.put("If-Modified-Since", previous.getLastModified());
+        }
+
+        HttpFetcher.Page page = fetcher.fetch(url, headers);
+        if (page.status() == 304) {
+            return Optional.empty();
+        }
+        if (page.status() >= 400) {
+            throw new IOException("HTTP " + page.status() + " fetching " + url);
+        }
+        if (!enabled) {
+            return Optional.of(page);
+        }
+
+        String hash = sha256(page.body());
+        if (previous != null && hash.equals(previous.getContentHash())) {
+            return Optional.empty();
+        }
+
+        CrawlState validators = new CrawlState();
+        validators.setEtag(page.header("ETag").orElse(null));
+        validators.setLastModified(page.header("Last-Modified").orElse(null));
+        validators.setContentHash(hash);
+        synchronized (this) {
+            fetched.put(url, validators);
+        }
+        return Optional.of(page);
+    }
+
+    /**
+     * Publication date of the newest article seen on the page, or null if unknown. Anything
+     * strictly older was already collected by an earlier crawl.
+     */
+    public LocalDateTime getWatermark(String key) {
+        CrawlState state = states.get(key);
+        return enabled && state != null ? state.getNewestPublishedAt() : null;
+    }
+
+    /**
+     * URL of the first article on the page at the previous crawl, for listings without dates
+     */
+    public String getNewestUrl(String key) {
+        CrawlState state = states.get(key);
+        return enabled && state != null ? state.getNewestUrl() : null;
+    }
+
+    /**
+     * Registers the articles just parsed from a listing (newest first). Nothing is recorded
+     * until they are reported by {@link #collected}; an empty listing is recorded right away.
+     */
+    public void advance(String key, List<Article> articles) {
+        if (!enabled) {
+            return;
+        }
+
+        synchronized (this) {
+            PendingListing listing = new PendingListing(fetched.remove(key), articles);
+            if (articles.isEmpty()) {
+                pending.remove(key);
+                commit(key, listing);
+                save();
+            } else {
+                pending.put(key, listing);
+            }
+        }
+    }
+
+    /**
+     * Records that these articles are stored (or were stored by an earlier run), moving the
+     * state of the listings they came from forward
+     */
+    public void collected(Collection<Article> articles) {
+        if (!enabled || articles.isEmpty()) {
+            return;
+        }
+
+        synchronized (this) {
+            boolean changed = false;
+            Iterator<Map.Entry<String, PendingListing>> listings = pending.entrySet().iterator();
+            while (listings.hasNext()) {
+                Map.Entry<String, PendingListing> entry = listings.next();
+                PendingListing listing = entry.getValue();
+                boolean progressed = false;
+                for (Article article : articles) {
+                    progressed |= listing.remaining.remove(article.getUrl());
+                }
+                if (!progressed) {
+                    continue;
+                }
+                commit(entry.getKey(), listing);
+                if (listing.remaining.isEmpty()) {
+                    listings.remove();
+                }
+                changed = true;
+            }
+            if (changed) {
+                save();
+            }
+        }
+    }
+
+    /**
+     * Reports the parsed articles that were dropped because they are already stored
+     *
+     * @param unknown the articles of {@code parsed} that were kept
+     */
+    public void collectedKnown(List<Article> parsed, List<Article> unknown) {
+        if (parsed.size() == unknown.size()) {
+            return;
+        }
+        Set<Article> kept = Collections.newSetFromMap(new IdentityHashMap<>());
+        kept.addAll(unknown);
+        collected(parsed.stream().filter(article -> !kept.contains(article)).toList());
+    }
+
+    /**
+     * Moves the listing's state as far as its stored articles allow
+     */
+    private void commit(String key, PendingListing listing) {
+        CrawlState state = states.computeIfAbsent(key, k -> new CrawlState());
+        synchronized (state) {
+            if (listing.remaining.isEmpty() && listing.validators != null) {
+                state.setEtag(listing.validators.getEtag());
+                state.setLastModified(listing.validators.getLastModified());
+                state.setContentHash(listing.validators.getContentHash());
+            }
+
+            // newest first: the newest url may move up to the first stored article that only
+            // has stored articles below it
+            List<Article> articles = listing.articles;
+            for (int i = articles.size() - 1; i >= 0 && !listing.remaining.contains(articles.get(i).getUrl()); i--) {
+                if (i == 0 || listing.remaining.contains(articles.get(i - 1).getUrl())) {
+                    state.setNewestUrl(articles.get(i).getUrl());
+                }
+            }
+
+            // nothing at or after the watermark is skipped, so it may not pass a missing article
+            LocalDateTime oldestMissing = null;
+            for (Article article : articles) {
+                LocalDateTime publishedAt = article.getPublishedAt();
+                if (publishedAt != null && listing.remaining.contains(article.getUrl())
+                        && (oldestMissing == null || publishedAt.isBefore(oldestMissing))) {
+                    oldestMissing = publishedAt;
+                }
+            }
+            for (Article article : articles) {
+                LocalDateTime publishedAt = article.getPublishedAt();
+                if (publishedAt != null && !listing.remaining.contains(article.getUrl())
+                        && (oldestMissing == null || !publishedAt.isAfter(oldestMissing))
+                        && (state.getNewestPublishedAt() == null || publishedAt.isAfter(state.getNewestPublishedAt()))) {
+                    state.setNewestPublishedAt(publishedAt);
+                }
+            }
+        }
+    }
+
+    private static final class PendingListing {
+        private final CrawlState validators;
+        private final List<Article> articles;
+        private final Set<String> remaining = new HashSet<>();
+
+        private PendingListing(CrawlState validators, List<Article> articles) {
+            this.validators = validators;
+            this.articles = List.copyOf(articles);
+            for (Article article : articles) {
+                remaining.add(article.getUrl());
+            }
+        }
+    }
+
+    private void load() {
+        if (!enabled || !Files.exists(file)) {
+            return;
+        }
+        try {
+            states.putAll(objectMapper.readValue(file.toFile(), new TypeReference<Map<String, CrawlState>>() {}));
+        } catch (IOException e) {
+            System.err.println("Ignoring unreadable crawl state " + file + ": " + e.getMessage());
+        }
+    }
+
+    private synchronized void save() {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            objectMapper.writeValue(tmp.toFile(), states);
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            System.err.println("Failed to save crawl state: " + e.getMessage());
+        }
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.news.parser.util;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Predicate;
+
+/**
+ * Streaming reader for sitemaps and sitemap indexes. Entries are handed out one at a time as
+ * the XML is read, so memory stays constant however large the sitemap is, and reading stops
+ * as soon as the consumer has seen enough; for newest-first sitemaps that bounds the work by
+ * the number of fresh entries.
+ * <p>
+ * Elements are matched by local name, so any namespace prefix works: loc and lastmod of the
+ * url (or sitemap) element, the news extension's publication_date and title, and the first
+ * image:loc.
+ */
+public final class SitemapReader {
+    private static final XMLInputFactory factory = createFactory();
+
+    public record Entry(String loc, String lastmod, String publicationDate, String title, String imageLoc) {
+    }
+
+    private SitemapReader() {
+    }
+
+    /**
+     * @param consumer gets each entry in document order and returns false to stop reading
+     * @return number of entries handed to the consumer
+     */
+    public static int read(InputStream sitemap, Predicate<Entry> consumer) throws IOException {
+        XMLStreamReader reader = null;
+        try {
+            reader = factory.createXMLStreamReader(sitemap);
+            return read(reader, consumer);
+        } catch (XMLStreamException e) {
+            throw new IOException("Malformed sitemap: " + e.getMessage(), e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException ignored) {
+                }
+            }
+        }
+    }
+
+    private static int read(XMLStreamReader reader, Predicate<Entry> consumer) throws XMLStreamException {
+        int count = 0;
+        Deque<String> path = new ArrayDeque<>();
+        StringBuilder text = new StringBuilder();
+        EntryBuilder entry = null;
+
+        while (reader.hasNext()) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT -> {
+                    String name = reader.getLocalName();
+                    if (entry == null && (name.equals("url") || name.equals("sitemap"))) {
+                        entry = new EntryBuilder();
+                    }
+                    path.push(name);
+                    text.setLength(0);
+                }
+                case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA -> {
+                    if (entry != null) {
+                        text.append(reader.getText());
+                    }
+                }
+                case XMLStreamConstants.END_ELEMENT -> {
+                    String name = path.pop();
+                    if (entry == null) {
+                        continue;
+                    }
+                    if (name.equals("url") || name.equals("sitemap")) {
+                        count++;
+                        if (!consumer.test(entry.build())) {
+                            return count;
+                        }
+                        entry = null;
+                    } else {
+                        entry.set(name, path.peek(), text.toString().trim());
+                    }
+                    text.setLength(0);
+                }
+                default -> {
+                }
+            }
+        }
+        return count;
+    }
+
+    private static final class EntryBuilder {
+        private String loc;
+        private String lastmod;
+        private String publicationDate;
+        private String title;
+        private String imageLoc;
+
+        private void set(String name, String parent, String value) {
+            boolean topLevel = "url".equals(parent) || "sitemap".equals(parent);
+            switch (name) {
+                case "loc" -> {
+                    if (topLevel) {
+                        loc = value;
+                    } else if ("image".equals(parent) && imageLoc == null) {
+                        imageLoc = value;
+                    }
+                }
+                case "lastmod" -> {
+                    if (topLevel) {
+                        lastmod = value;
+                    }
+                }
+                case "publication_date" -> publicationDate = value;
+                case "title" -> {
+                    if ("news".equals(parent)) {
+                        title = value;
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+
+        private Entry build() {
+            return new Entry(loc, lastmod, publicationDate, title, imageLoc);
+        }
+    }
+
+    private static XMLInputFactory createFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        // sitemaps never need DTDs; refusing them also rules out external entity tricks
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+}
@@ -0,0 +1,191 @@
+package com.news.parser.util;
+
+import com.news.ConfigLoader;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static com.news.ConfigLoader.TIMEOUT;
+
+/**
+ * Bounded pool of headless browsers shared by the Selenium-backed sources. A driver keeps a
+ * single tab that is reused from page to page. Drivers are health-checked before every use
+ * and replaced after a fixed number of pages, so Chrome's memory does not grow without bound.
+ */
+public class WebDriverPool {
+    private static final int DEFAULT_SIZE = 2;
+    private static final int DEFAULT_MAX_PAGES = 50;
+
+    private final Supplier<WebDriver> factory;
+    private final int maxPagesPerDriver;
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<PooledDriver> idle = new LinkedBlockingDeque<>();
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    @FunctionalInterface
+    public interface DriverTask<T> {
+        T run(WebDriver driver, WebDriverWait wait) throws Exception;
+    }
+
+    private static final class PooledDriver {
+        private final WebDriver driver;
+        private final String tab;
+        private int pages;
+
+        private PooledDriver(WebDriver driver) {
+            this.driver = driver;
+            this.tab = driver.getWindowHandle();
+        }
+    }
+
+    private static final class SharedHolder {
+        private static final WebDriverPool INSTANCE = new WebDriverPool(
+                WebDriverPool::createChromeDriver,
+                ConfigLoader.getInt("WEBDRIVER_POOL_SIZE", DEFAULT_SIZE),
+                ConfigLoader.getInt("WEBDRIVER_MAX_PAGES", DEFAULT_MAX_PAGES));
+
+        static {
+            Runtime.getRuntime().addShutdownHook(new Thread(INSTANCE::close, "webdriver-pool-shutdown"));
+        }
+    }
+
+    public WebDriverPool(Supplier<WebDriver> factory, int maxSize, int maxPagesPerDriver) {
+        this.factory = factory;
+        this.maxPagesPerDriver = Math.max(1, maxPagesPerDriver);
+        this.permits = new Semaphore(Math.max(1, maxSize), true);
+    }
+
+    /**
+     * Pool used by all Vedomosti parsing; browsers are started lazily on first use
+     */
+    public static WebDriverPool shared() {
+        return SharedHolder.INSTANCE;
+    }
+
+    /**
+     * Runs the task with a driver from the pool. The driver is returned afterwards, or
+     * discarded if it has stopped responding.
+     */
+    public <T> T execute(DriverTask<T> task) throws IOException {
+        if (closed.get()) {
+            throw new IOException("WebDriver pool is closed");
+        }
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a browser", e);
+        }
+
+        PooledDriver pooled = null;
+        try {
+            pooled = takeHealthy();
+            pooled.pages++;
+            return task.run(pooled.driver, new WebDriverWait(pooled.driver, TIMEOUT));
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e.getMessage(), e);
+        } finally {
+            if (pooled != null) {
+                release(pooled);
+            }
+            permits.release();
+        }
+    }
+
+    /**
+     * Explicit readiness check used instead of fixed sleeps: the document has finished parsing
+     */
+    public static void waitForDocumentReady(WebDriver driver, WebDriverWait wait) {
+        wait.until(d -> {
+            Object state = ((JavascriptExecutor) d).executeScript("return document.readyState");
+            return "interactive".equals(state) || "complete".equals(state);
+        });
+    }
+
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        PooledDriver pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            quit(pooled);
+        }
+    }
+
+    private PooledDriver takeHealthy() {
+        PooledDriver pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            if (isHealthy(pooled)) {
+                return pooled;
+            }
+            quit(pooled);
+        }
+        return new PooledDriver(factory.get());
+    }
+
+    private boolean isHealthy(PooledDriver pooled) {
+        try {
+            pooled.driver.switchTo().window(pooled.tab);
+            return true;
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    private void release(PooledDriver pooled) {
+        if (closed.get() || pooled.pages >= maxPagesPerDriver) {
+            quit(pooled);
+            return;
+        }
+        try {
+            // close anything the page opened and park the tab on a blank page
+            for (String handle : pooled.driver.getWindowHandles()) {
+                if (!handle.equals(pooled.tab)) {
+                    pooled.driver.switchTo().window(handle).close();
+                }
+            }
+            pooled.driver.switchTo().window(pooled.tab).get("about:blank");
+            idle.offerFirst(pooled);
+        } catch (WebDriverException e) {
+            quit(pooled);
+        }
+    }
+
+    private static void quit(PooledDriver pooled) {
+        try {
+            pooled.driver.quit();
+        } catch (WebDriverException ignored) {
+        }
+    }
+
+    private static WebDriver createChromeDriver() {
+        String driverPath = ConfigLoader.getProperty("CHROMEDRIVER_PATH");
+        System.setProperty("webdriver.chrome.driver", driverPath != null ? driverPath : "/usr/sbin/chromedriver");
+
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--headless");
+        options.addArguments("--no-sandbox");
+        options.addArguments("--disable-dev-shm-usage");
+        options.addArguments("--disable-gpu");
+        options.addArguments("--window-size=1920,1080");
+        // readiness is decided by explicit waits, so don't block on late subresources
+        options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+
+        WebDriver driver = new ChromeDriver(options);
+        driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(60));
+        return driver;
+    }
+}
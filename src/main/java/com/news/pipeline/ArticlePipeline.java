@@ -0,0 +1,375 @@
+package com.news.pipeline;
+
+import com.news.ai.AIAnalysisService;
+import com.news.model.Article;
+import com.news.model.ArticleStatus;
+import com.news.parser.EnrichmentService;
+import com.news.parser.Parser;
+import com.news.parser.ParserService;
+import com.news.parser.util.CrawlStateStore;
+import com.news.storage.DatabaseService;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Streams articles from the parsers through enrichment, optional AI analysis and batched
+ * persistence. Stages are connected by bounded queues, so a slow stage holds back the ones
+ * before it and memory stays bounded by the queue sizes. Each stage shuts down when its
+ * upstream is done: the last worker of a stage sends one end marker per downstream worker.
+ * Stored backlog (articles earlier runs did not finish) is fed in next to the parsers' output.
+ */
+public class ArticlePipeline {
+    // identity-compared end-of-stream marker
+    private static final Article END = new Article();
+
+    private final List<Parser> parsers;
+    private final List<Supplier<Stream<Article>>> backlog;
+    private final Integer perSourceLimit;
+    private final EnrichmentService enrichmentService;
+    private final AIAnalysisService analysisService;
+    private final DatabaseService databaseService;
+    private final CrawlStateStore crawlState;
+    private final int queueCapacity;
+    private final int enrichWorkers;
+    private final int analyzeWorkers;
+    private final int saveBatchSize;
+    private final Duration saveMaxDelay;
+    private final BooleanSupplier stopRequested;
+
+    private final AtomicInteger fetched = new AtomicInteger();
+    private final AtomicInteger resumed = new AtomicInteger();
+    private final AtomicInteger enriched = new AtomicInteger();
+    private final AtomicInteger analyzed = new AtomicInteger();
+    private final AtomicInteger saved = new AtomicInteger();
+
+    public record Result(int fetched, int resumed, int enriched, int analyzed, int saved) {
+    }
+
+    private interface Step {
+        void process(Article article) throws InterruptedException;
+    }
+
+    private ArticlePipeline(Builder builder) {
+        this.parsers = builder.parsers;
+        this.backlog = builder.backlog;
+        this.perSourceLimit = builder.perSourceLimit;
+        this.enrichmentService = builder.enrichmentService;
+        this.analysisService = builder.analysisService;
+        this.databaseService = builder.databaseService;
+        this.crawlState = builder.crawlState;
+        this.queueCapacity = builder.queueCapacity;
+        this.enrichWorkers = builder.enrichWorkers;
+        this.analyzeWorkers = builder.analyzeWorkers;
+        this.saveBatchSize = builder.saveBatchSize;
+        this.saveMaxDelay = builder.saveMaxDelay;
+        this.stopRequested = builder.stopRequested;
+    }
+
+    public Result run() {
+        BlockingQueue<Article> enrichQueue = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Article> analyzeQueue = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Article> saveQueue = new ArrayBlockingQueue<>(queueCapacity);
+        boolean analyze = analysisService != null;
+        BlockingQueue<Article> afterEnrich = analyze ? analyzeQueue : saveQueue;
+        int afterEnrichWorkers = analyze ? analyzeWorkers : 1;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            AtomicInteger activeSources = new AtomicInteger(parsers.size() + (backlog.isEmpty() ? 0 : 1));
+            for (Parser parser : parsers) {
+                executor.submit(() -> {
+                    try {
+                        fetch(parser, enrichQueue);
+                    } finally {
+                        finishWorker(activeSources, enrichQueue, enrichWorkers);
+                    }
+                    return null;
+                });
+            }
+            if (!backlog.isEmpty()) {
+                executor.submit(() -> {
+                    try {
+                        feedBacklog(enrichQueue);
+                    } finally {
+                        finishWorker(activeSources, enrichQueue, enrichWorkers);
+                    }
+                    return null;
+                });
+            }
+            if (activeSources.get() == 0) {
+                putQuietly(enrichQueue, END, enrichWorkers);
+            }
+
+            // stored ENRICHED articles only come from the backlog and just need analysis
+            startStage(executor, enrichWorkers, enrichQueue, afterEnrich, afterEnrichWorkers, article -> {
+                if (article.getStatus() != ArticleStatus.ENRICHED
+                        && enrichmentService.enrich(article) && article.getStatus() == ArticleStatus.ENRICHED) {
+                    enriched.incrementAndGet();
+                }
+                afterEnrich.put(article);
+            });
+
+            if (analyze) {
+                startStage(executor, analyzeWorkers, analyzeQueue, saveQueue, 1, article -> {
+                    if (article.getStatus() == ArticleStatus.ENRICHED && analysisService.analyzeWithRetry(article)) {
+                        analyzed.incrementAndGet();
+                    }
+                    saveQueue.put(article);
+                });
+            }
+
+            executor.submit(() -> {
+                saveBatches(saveQueue);
+                return null;
+            });
+        }
+
+        return new Result(fetched.get(), resumed.get(), enriched.get(), analyzed.get(), saved.get());
+    }
+
+    private void fetch(Parser parser, BlockingQueue<Article> output) throws InterruptedException {
+        List<Article> articles;
+        try {
+            List<Article> parsed = ParserService.fetchTimed(parser);
+            articles = databaseService.getKnownUrls().dropKnown(parsed);
+            if (crawlState != null) {
+                crawlState.collectedKnown(parsed, articles);
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Parser " + parser.getName() + " failed: " + e.getMessage());
+            return;
+        }
+
+        int limit = perSourceLimit != null ? perSourceLimit : Integer.MAX_VALUE;
+        for (int i = 0; i < articles.size() && i < limit && !stopRequested.getAsBoolean(); i++) {
+            output.put(articles.get(i));
+            fetched.incrementAndGet();
+        }
+    }
+
+    /**
+     * Every backlog stream is opened up front, so each sees the rows stored before this run
+     * and not the ones the run saves while the backlog is being read
+     */
+    private void feedBacklog(BlockingQueue<Article> output) throws InterruptedException {
+        List<Stream<Article>> streams = new ArrayList<>();
+        try {
+            for (Supplier<Stream<Article>> source : backlog) {
+                streams.add(source.get());
+            }
+            for (Stream<Article> stream : streams) {
+                Iterator<Article> articles = stream.iterator();
+                while (articles.hasNext() && !stopRequested.getAsBoolean()) {
+                    output.put(articles.next());
+                    resumed.incrementAndGet();
+                }
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Failed to read stored articles: " + e.getMessage());
+        } finally {
+            streams.forEach(Stream::close);
+        }
+    }
+
+    private void startStage(ExecutorService executor, int workers, BlockingQueue<Article> input,
+                            BlockingQueue<Article> output, int downstreamWorkers, Step step) {
+        AtomicInteger active = new AtomicInteger(workers);
+        for (int i = 0; i < workers; i++) {
+            executor.submit(() -> {
+                try {
+                    Article article;
+                    while ((article = input.take()) != END) {
+                        try {
+                            step.process(article);
+                        } catch (RuntimeException e) {
+                            System.err.println("Pipeline failed on article " + article.getUrl() + ": " + e.getMessage());
+                        }
+                    }
+                } finally {
+                    finishWorker(active, output, downstreamWorkers);
+                }
+                return null;
+            });
+        }
+    }
+
+    private void finishWorker(AtomicInteger active, BlockingQueue<Article> output, int downstreamWorkers) {
+        if (active.decrementAndGet() == 0) {
+            putQuietly(output, END, downstreamWorkers);
+        }
+    }
+
+    private void saveBatches(BlockingQueue<Article> input) throws InterruptedException {
+        List<Article> batch = new ArrayList<>(saveBatchSize);
+        long deadline = 0;
+        while (true) {
+            // a batch is written when it is full or its oldest article has waited saveMaxDelay
+            Article article = batch.isEmpty()
+                    ? input.take()
+                    : input.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            if (article == END) {
+                flush(batch);
+                return;
+            }
+            if (article == null) {
+                flush(batch);
+                continue;
+            }
+            if (batch.isEmpty()) {
+                deadline = System.nanoTime() + saveMaxDelay.toNanos();
+            }
+            batch.add(article);
+            if (batch.size() >= saveBatchSize) {
+                flush(batch);
+            }
+        }
+    }
+
+    private void flush(List<Article> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            saved.addAndGet(databaseService.saveArticles(batch));
+            if (crawlState != null) {
+                crawlState.collected(batch.stream().filter(article -> article.getId() != null).toList());
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Failed to save " + batch.size() + " articles: " + e.getMessage());
+        }
+        batch.clear();
+    }
+
+    /**
+     * End markers must get through even when the thread was interrupted, otherwise the
+     * downstream workers would wait forever
+     */
+    private static void putQuietly(BlockingQueue<Article> queue, Article article, int copies) {
+        boolean interrupted = false;
+        for (int i = 0; i < copies; i++) {
+            while (true) {
+                try {
+                    queue.put(article);
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static class Builder {
+        private List<Parser> parsers = List.of();
+        private final List<Supplier<Stream<Article>>> backlog = new ArrayList<>();
+        private Integer perSourceLimit;
+        private EnrichmentService enrichmentService;
+        private AIAnalysisService analysisService;
+        private DatabaseService databaseService;
+        private CrawlStateStore crawlState;
+        private int queueCapacity = 100;
+        private int enrichWorkers = 16;
+        private int analyzeWorkers = 1;
+        private int saveBatchSize = 100;
+        private Duration saveMaxDelay = Duration.ofSeconds(2);
+        private BooleanSupplier stopRequested = () -> false;
+
+        public Builder parsers(List<Parser> parsers) {
+            this.parsers = parsers;
+            return this;
+        }
+
+        /**
+         * Adds stored articles to process along with the parsers' output. RAW articles go
+         * through enrichment; ENRICHED ones skip it. The stream is opened when the run starts.
+         */
+        public Builder backlog(Supplier<Stream<Article>> articles) {
+            this.backlog.add(articles);
+            return this;
+        }
+
+        public Builder perSourceLimit(Integer perSourceLimit) {
+            this.perSourceLimit = perSourceLimit;
+            return this;
+        }
+
+        public Builder enrichmentService(EnrichmentService enrichmentService) {
+            this.enrichmentService = enrichmentService;
+            return this;
+        }
+
+        /**
+         * Optional; without it enriched articles go straight to the save stage
+         */
+        public Builder analysisService(AIAnalysisService analysisService) {
+            this.analysisService = analysisService;
+            return this;
+        }
+
+        public Builder databaseService(DatabaseService databaseService) {
+            this.databaseService = databaseService;
+            return this;
+        }
+
+        /**
+         * Optional; told which parsed articles were stored, so listings only advance past them
+         */
+        public Builder crawlState(CrawlStateStore crawlState) {
+            this.crawlState = crawlState;
+            return this;
+        }
+
+        public Builder queueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        public Builder enrichWorkers(int enrichWorkers) {
+            this.enrichWorkers = enrichWorkers;
+            return this;
+        }
+
+        public Builder analyzeWorkers(int analyzeWorkers) {
+            this.analyzeWorkers = analyzeWorkers;
+            return this;
+        }
+
+        public Builder saveBatchSize(int saveBatchSize) {
+            this.saveBatchSize = saveBatchSize;
+            return this;
+        }
+
+        public Builder saveMaxDelay(Duration saveMaxDelay) {
+            this.saveMaxDelay = saveMaxDelay;
+            return this;
+        }
+
+        public Builder stopRequested(BooleanSupplier stopRequested) {
+            this.stopRequested = stopRequested;
+            return this;
+        }
+
+        public ArticlePipeline build() {
+            if (enrichmentService == null || databaseService == null) {
+                throw new IllegalStateException("Pipeline needs an enrichment service and a database service");
+            }
+            if (queueCapacity <= 0 || enrichWorkers <= 0 || analyzeWorkers <= 0 || saveBatchSize <= 0) {
+                throw new IllegalStateException("Pipeline queue capacity, worker counts and batch size must be positive");
+            }
+            return new ArticlePipeline(this);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.news.replay;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Canned answers to /api/generate in the shape OllamaClient expects, picked by what the
+ * prompt asks for, with token counts so tokens/sec metrics have something to show
+ */
+final class OllamaStandIn {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final String SUMMARY = "Officials announced new measures to support households facing higher " +
+            "energy costs, while analysts warned that markets in the region remain volatile.";
+    private static final String REGION = "East Asia";
+    private static final String TAGS = "energy, economy, government";
+    private static final String RATING = "72";
+
+    private OllamaStandIn() {
+    }
+
+    /**
+     * @param generation how long the fake model took, reported as eval_duration
+     */
+    static String respond(String requestBody, Duration generation) throws IOException {
+        JsonNode request = objectMapper.readTree(requestBody);
+        String prompt = request.path("prompt").asText("");
+        String answer = "json".equals(request.path("format").asText(null)) ? combined() : answer(prompt);
+
+        ObjectNode response = objectMapper.createObjectNode();
+        response.put("model", request.path("model").asText("replay"));
+        response.put("response", answer);
+        response.put("done", true);
+        response.put("eval_count", Math.max(1, answer.length() / 4));
+        response.put("eval_duration", Math.max(1, generation.toNanos()));
+        return objectMapper.writeValueAsString(response);
+    }
+
+    private static String answer(String prompt) {
+        if (prompt.contains("Rate how appealing")) {
+            return RATING;
+        }
+        if (prompt.contains("relevant tags")) {
+            return TAGS;
+        }
+        if (prompt.contains("geographic region")) {
+            return REGION;
+        }
+        return SUMMARY;
+    }
+
+    private static String combined() throws IOException {
+        ObjectNode result = objectMapper.createObjectNode();
+        result.put("summary", SUMMARY);
+        result.put("region", REGION);
+        result.putArray("tags").add("energy").add("economy").add("government");
+        result.put("rating", Integer.parseInt(RATING));
+        return objectMapper.writeValueAsString(result);
+    }
+}
@@ -0,0 +1,291 @@
+package com.news.replay;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Local stand-in for every news source and for Ollama, so parse, enrich, supplement and cron
+ * can be load-tested offline and reproducibly. Point the application at it with
+ * HTTP_REPLAY_URL and OLLAMA_URL in config.properties.
+ * <p>
+ * A crawl request for https://host/path arrives as /host/path and is answered from the
+ * snapshot directory: routes.txt lists "regex file" lines, matched in order against
+ * host/path, and the matched file is served as a {@link SnapshotTemplate} expanded to the
+ * configured number of listed articles. Every answer can be delayed and can fail at a
+ * configured rate; /api/generate answers like Ollama after its own delay.
+ */
+public class ReplayServer implements AutoCloseable {
+    private static final String ROUTES_FILE = "routes.txt";
+
+    private final HttpServer server;
+    private final Path snapshotDir;
+    private final List<Route> routes;
+    private final Map<Path, SnapshotTemplate> templates = new ConcurrentHashMap<>();
+    private final int items;
+    private final Duration latency;
+    private final Duration jitter;
+    private final double errorRate;
+    private final Duration ollamaLatency;
+    private final Random random;
+    private final AtomicLong served = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private record Route(Pattern pattern, Path file) {
+    }
+
+    private ReplayServer(Builder builder) throws IOException {
+        this.snapshotDir = builder.snapshotDir;
+        this.routes = loadRoutes(builder.snapshotDir);
+        this.items = builder.items;
+        this.latency = builder.latency;
+        this.jitter = builder.jitter;
+        this.errorRate = builder.errorRate;
+        this.ollamaLatency = builder.ollamaLatency;
+        this.random = new Random(builder.seed);
+
+        this.server = HttpServer.create(new InetSocketAddress("localhost", builder.port), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/api/generate", this::handleGenerate);
+        server.createContext("/", this::handlePage);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public ReplayServer start() {
+        server.start();
+        return this;
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public long getServed() {
+        return served.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handlePage(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            delay(latency, jitter);
+            if (shouldFail()) {
+                failed.incrementAndGet();
+                send(exchange, 503, "text/plain", "Service Unavailable (injected)");
+                return;
+            }
+
+            String key = exchange.getRequestURI().getRawPath().replaceFirst("^/+", "");
+            Route route = routes.stream().filter(r -> r.pattern().matcher(key).matches()).findFirst().orElse(null);
+            if (route == null) {
+                send(exchange, 404, "text/plain", "No snapshot for " + key);
+                return;
+            }
+
+            SnapshotTemplate template = templates.computeIfAbsent(route.file(), this::loadTemplate);
+            served.incrementAndGet();
+            send(exchange, 200, contentType(route.file()), template.render(items, key, ZonedDateTime.now()));
+        }
+    }
+
+    private void handleGenerate(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                send(exchange, 405, "text/plain", "POST only");
+                return;
+            }
+            String request = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            delay(ollamaLatency, Duration.ZERO);
+            if (shouldFail()) {
+                failed.incrementAndGet();
+                send(exchange, 503, "text/plain", "Service Unavailable (injected)");
+                return;
+            }
+            served.incrementAndGet();
+            send(exchange, 200, "application/json", OllamaStandIn.respond(request, ollamaLatency));
+        }
+    }
+
+    private boolean shouldFail() {
+        return errorRate > 0 && random.nextDouble() < errorRate;
+    }
+
+    private void delay(Duration base, Duration spread) {
+        long millis = base.toMillis() + (spread.isZero() ? 0 : (long) (random.nextDouble() * spread.toMillis()));
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private SnapshotTemplate loadTemplate(Path file) {
+        try {
+            return new SnapshotTemplate(Files.readString(snapshotDir.resolve(file), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read snapshot " + file, e);
+        }
+    }
+
+    private static List<Route> loadRoutes(Path snapshotDir) throws IOException {
+        List<Route> routes = new ArrayList<>();
+        for (String line : Files.readAllLines(snapshotDir.resolve(ROUTES_FILE), StandardCharsets.UTF_8)) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            String[] parts = trimmed.split("\\s+", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected \"regex file\" in " + ROUTES_FILE + ": " + line);
+            }
+            routes.add(new Route(Pattern.compile(parts[0]), Path.of(parts[1])));
+        }
+        return routes;
+    }
+
+    private static String contentType(Path file) {
+        String name = file.getFileName().toString();
+        if (name.endsWith(".xml")) {
+            return "application/xml; charset=utf-8";
+        }
+        if (name.endsWith(".html")) {
+            return "text/html; charset=utf-8";
+        }
+        return "text/plain; charset=utf-8";
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    public static class Builder {
+        private int port = 8089;
+        private Path snapshotDir = Path.of("replay");
+        private int items = 100;
+        private Duration latency = Duration.ZERO;
+        private Duration jitter = Duration.ZERO;
+        private double errorRate = 0;
+        private Duration ollamaLatency = Duration.ZERO;
+        private long seed = 42;
+
+        /**
+         * 0 picks a free port
+         */
+        public Builder port(int port) {
+            this.port = port;
+            return this;
+        }
+
+        public Builder snapshotDir(Path snapshotDir) {
+            this.snapshotDir = snapshotDir;
+            return this;
+        }
+
+        /**
+         * Articles listed on every listing page
+         */
+        public Builder items(int items) {
+            this.items = Math.max(0, items);
+            return this;
+        }
+
+        /**
+         * Every page answer takes latency plus a random share of jitter
+         */
+        public Builder latency(Duration latency, Duration jitter) {
+            this.latency = latency;
+            this.jitter = jitter;
+            return this;
+        }
+
+        /**
+         * Share of answers, from 0 to 1, replaced by a 503
+         */
+        public Builder errorRate(double errorRate) {
+            this.errorRate = Math.min(1, Math.max(0, errorRate));
+            return this;
+        }
+
+        public Builder ollamaLatency(Duration ollamaLatency) {
+            this.ollamaLatency = ollamaLatency;
+            return this;
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public ReplayServer build() throws IOException {
+            return new ReplayServer(this);
+        }
+    }
+
+    /**
+     * Usage: ReplayServer [--port 8089] [--snapshots replay] [--items 100] [--latency-ms 0]
+     * [--jitter-ms 0] [--error-rate 0] [--ollama-latency-ms 0] [--seed 42]
+     */
+    public static void main(String[] args) throws IOException {
+        Builder builder = builder();
+        long latencyMs = 0;
+        long jitterMs = 0;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--port" -> builder.port(Integer.parseInt(value));
+                case "--snapshots" -> builder.snapshotDir(Path.of(value));
+                case "--items" -> builder.items(Integer.parseInt(value));
+                case "--latency-ms" -> latencyMs = Long.parseLong(value);
+                case "--jitter-ms" -> jitterMs = Long.parseLong(value);
+                case "--error-rate" -> builder.errorRate(Double.parseDouble(value));
+                case "--ollama-latency-ms" -> builder.ollamaLatency(Duration.ofMillis(Long.parseLong(value)));
+                case "--seed" -> builder.seed(Long.parseLong(value));
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        builder.latency(Duration.ofMillis(latencyMs), Duration.ofMillis(jitterMs));
+
+        ReplayServer replay = builder.build().start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            replay.close();
+            System.out.println("Replay server stopped: " + replay.getServed() + " served, " + replay.getFailed() + " failed");
+        }));
+        System.out.println("Replay server listening on http://localhost:" + replay.getPort());
+        System.out.println("Set HTTP_REPLAY_URL=http://localhost:" + replay.getPort() +
+                " and OLLAMA_URL=http://localhost:" + replay.getPort() + " in config.properties");
+    }
+}
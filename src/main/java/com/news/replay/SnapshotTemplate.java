@@ -0,0 +1,62 @@
+package com.news.replay;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * A recorded page whose {{#items}}...{{/items}} block is repeated once per listed article, so
+ * one snapshot can list any number of articles. Inside the block:
+ * <ul>
+ *     <li>{{i}} - position in the listing, from 0</li>
+ *     <li>{{id}} - number unique to the listing url and position, for article links</li>
+ *     <li>{{isoTime}} / {{epochMillis}} - publication time, newest first, one second apart</li>
+ * </ul>
+ */
+final class SnapshotTemplate {
+    private static final String ITEMS_START = "{{#items}}";
+    private static final String ITEMS_END = "{{/items}}";
+    private static final ZoneOffset MOSCOW = ZoneOffset.ofHours(3);
+
+    private final String head;
+    private final String item;
+    private final String tail;
+
+    SnapshotTemplate(String page) {
+        int start = page.indexOf(ITEMS_START);
+        int end = page.indexOf(ITEMS_END);
+        if (start < 0 || end < start) {
+            head = page;
+            item = null;
+            tail = "";
+        } else {
+            head = page.substring(0, start);
+            item = page.substring(start + ITEMS_START.length(), end);
+            tail = page.substring(end + ITEMS_END.length());
+        }
+    }
+
+    /**
+     * @param listingKey host and path of the request, so different listings get different ids
+     */
+    String render(int items, String listingKey, ZonedDateTime now) {
+        if (item == null) {
+            return head;
+        }
+        long idBase = (Math.floorMod(listingKey.hashCode(), 900) + 100) * 1_000_000L;
+        ZonedDateTime newest = now.withZoneSameInstant(MOSCOW).truncatedTo(ChronoUnit.SECONDS);
+
+        StringBuilder out = new StringBuilder(head.length() + tail.length() + items * (item.length() + 16));
+        out.append(head);
+        for (int i = 0; i < items; i++) {
+            ZonedDateTime publishedAt = newest.minusSeconds(i);
+            out.append(item
+                    .replace("{{i}}", String.valueOf(i))
+                    .replace("{{id}}", String.valueOf(idBase + i))
+                    .replace("{{isoTime}}", publishedAt.format(DateTimeFormatter.ISO_OFFSET_DATE_TIME))
+                    .replace("{{epochMillis}}", String.valueOf(publishedAt.toInstant().toEpochMilli())));
+        }
+        return out.append(tail).toString();
+    }
+}
@@ -0,0 +1,392 @@
+package com.news.search;
+
+import com.news.model.Article;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Embedded BM25 index over article titles and content. It does not depend on the database.
+ * New documents go into an in-memory buffer, which is flushed as an immutable memory-mapped
+ * segment once it fills up. When too many segments pile up, they are merged in the background.
+ * An article that is indexed again is kept in several segments until the next merge, and a
+ * deleted one stays in its segments behind a tombstone (persisted in deleted.ids) until then.
+ * Queries only look at the newest live copy, and the BM25 statistics (document count, average
+ * length, document frequency) are computed over live copies only.
+ */
+public class InvertedIndex implements AutoCloseable {
+    private static final Pattern SEGMENT_FILE = Pattern.compile("(segment|merged)-(\\d+)\\.seg");
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MAX_SEGMENTS = 8;
+    private static final String TOMBSTONE_FILE = "deleted.ids";
+
+    private final Path directory;
+    private final int flushThreshold;
+    private final Object lock = new Object();
+    private final ExecutorService merger;
+    private final AtomicBoolean merging = new AtomicBoolean(false);
+
+    // newest first
+    private final List<Segment> segments = new ArrayList<>();
+    private SegmentBuilder buffer = new SegmentBuilder();
+    private long nextGeneration;
+    // ids deleted while some segment still holds a copy of them
+    private final Set<Long> deleted = new HashSet<>();
+    // live document count and total length over the segments, null when they changed
+    private long[] segmentStats;
+
+    private InvertedIndex(Path directory, int flushThreshold) {
+        this.directory = directory;
+        this.flushThreshold = Math.max(1, flushThreshold);
+        this.merger = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "search-index-merger");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static InvertedIndex open(Path directory, int flushThreshold) throws IOException {
+        Files.createDirectories(directory);
+        InvertedIndex index = new InvertedIndex(directory, flushThreshold);
+        index.loadSegments();
+        return index;
+    }
+
+    private void loadSegments() throws IOException {
+        Map<Path, Long> generations = new HashMap<>();
+        long newestMerge = -1;
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".tmp")) {
+                    Files.deleteIfExists(file);
+                    continue;
+                }
+                Matcher matcher = SEGMENT_FILE.matcher(name);
+                if (matcher.matches()) {
+                    long generation = Long.parseLong(matcher.group(2));
+                    generations.put(file, generation);
+                    if (matcher.group(1).equals("merged")) {
+                        newestMerge = Math.max(newestMerge, generation);
+                    }
+                }
+            }
+        }
+
+        // a merge that finished before its inputs were deleted already covers them
+        long mergeCutoff = newestMerge;
+        for (Map.Entry<Path, Long> entry : generations.entrySet()) {
+            String name = entry.getKey().getFileName().toString();
+            if (entry.getValue() < mergeCutoff
+                    || (entry.getValue() == mergeCutoff && !name.startsWith("merged"))) {
+                Files.deleteIfExists(entry.getKey());
+                continue;
+            }
+            segments.add(Segment.open(entry.getKey()));
+            nextGeneration = Math.max(nextGeneration, entry.getValue() + 1);
+        }
+        segments.sort(Comparator.comparingLong(Segment::generation).reversed());
+
+        Path tombstones = directory.resolve(TOMBSTONE_FILE);
+        if (Files.exists(tombstones)) {
+            for (String line : Files.readAllLines(tombstones)) {
+                if (!line.isBlank()) {
+                    deleted.add(Long.parseLong(line.trim()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Indexes an article that already has a database id; later calls for the same id
+     * replace the earlier version
+     */
+    public void index(Article article) {
+        if (article.getId() == null) {
+            return;
+        }
+        List<String> tokens = new ArrayList<>(Tokenizer.tokenize(article.getTitle()));
+        tokens.addAll(Tokenizer.tokenize(article.getContent()));
+        if (tokens.isEmpty()) {
+            return;
+        }
+
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        for (String token : tokens) {
+            termFrequencies.merge(token, 1, Integer::sum);
+        }
+
+        synchronized (lock) {
+            if (deleted.remove(article.getId())) {
+                segmentStats = null;
+                writeTombstones();
+            }
+            buffer.add(article.getId(), article.getTitle(), article.getUrl(), termFrequencies, tokens.size());
+            if (buffer.docCount() >= flushThreshold) {
+                flushLocked();
+            }
+        }
+    }
+
+    /**
+     * Removes an article from search results. Copies already flushed to segments are hidden by
+     * a tombstone and dropped by the next merge.
+     */
+    public void delete(long articleId) {
+        synchronized (lock) {
+            buffer.remove(articleId);
+            if (segments.stream().anyMatch(segment -> segment.contains(articleId)) && deleted.add(articleId)) {
+                segmentStats = null;
+                writeTombstones();
+            }
+        }
+    }
+
+    private void writeTombstones() {
+        Path target = directory.resolve(TOMBSTONE_FILE);
+        Path tmp = directory.resolve(TOMBSTONE_FILE + ".tmp");
+        try {
+            if (deleted.isEmpty()) {
+                Files.deleteIfExists(target);
+                return;
+            }
+            Files.write(tmp, deleted.stream().map(String::valueOf).toList());
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write search index tombstones", e);
+        }
+    }
+
+    public void flush() {
+        synchronized (lock) {
+            flushLocked();
+        }
+    }
+
+    private void flushLocked() {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        long generation = nextGeneration++;
+        try {
+            Segment segment = writeSegment(buffer, "segment-" + generation + ".seg", generation);
+            segments.add(0, segment);
+            buffer = new SegmentBuilder();
+            segmentStats = null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to flush search index segment", e);
+        }
+
+        if (segments.size() > MAX_SEGMENTS && merging.compareAndSet(false, true)) {
+            merger.submit(this::mergeSegments);
+        }
+    }
+
+    private Segment writeSegment(SegmentBuilder builder, String fileName, long generation) throws IOException {
+        Path target = directory.resolve(fileName);
+        Path tmp = directory.resolve(fileName + ".tmp");
+        builder.writeTo(tmp, generation);
+        Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return Segment.open(target);
+    }
+
+    /**
+     * Folds every segment that exists right now into one. Segments flushed while the merge
+     * runs are newer than all of its inputs, so the merged segment goes to the end of the list.
+     * Deleted documents are left out, and their tombstones go once no segment holds them.
+     */
+    void mergeSegments() {
+        try {
+            List<Segment> inputs;
+            Set<Long> deletedIds;
+            synchronized (lock) {
+                inputs = List.copyOf(segments);
+                deletedIds = Set.copyOf(deleted);
+            }
+            if (inputs.size() < 2) {
+                return;
+            }
+
+            SegmentBuilder merged = new SegmentBuilder();
+            for (int i = inputs.size() - 1; i >= 0; i--) {
+                inputs.get(i).copyInto(merged, deletedIds);
+            }
+            long generation = inputs.get(0).generation();
+            Segment segment = writeSegment(merged, "merged-" + generation + ".seg", generation);
+
+            synchronized (lock) {
+                // cleared while merging: the merged data is stale
+                if (!segments.containsAll(inputs)) {
+                    Files.deleteIfExists(segment.file());
+                    return;
+                }
+                segments.removeAll(inputs);
+                segments.add(segment);
+                segmentStats = null;
+                if (deleted.removeIf(id -> segments.stream().noneMatch(s -> s.contains(id)))) {
+                    writeTombstones();
+                }
+            }
+            for (Segment input : inputs) {
+                Files.deleteIfExists(input.file());
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Search index merge failed: " + e.getMessage());
+        } finally {
+            merging.set(false);
+        }
+    }
+
+    public List<SearchHit> search(String query, int limit) {
+        List<String> terms = Tokenizer.tokenize(query).stream().distinct().toList();
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        synchronized (lock) {
+            List<SegmentReader> readers = new ArrayList<>(segments.size() + 1);
+            readers.add(buffer);
+            readers.addAll(segments);
+
+            long[] stats = liveStats();
+            long docCount = stats[0];
+            if (docCount == 0) {
+                return List.of();
+            }
+            double averageLength = (double) stats[1] / docCount;
+
+            Map<Long, Double> scores = new HashMap<>();
+            Map<Long, SegmentReader> owners = new HashMap<>();
+            for (String term : terms) {
+                Map<Long, Integer> frequencies = new HashMap<>();
+                Map<Long, SegmentReader> postingOwners = new HashMap<>();
+                for (int i = 0; i < readers.size(); i++) {
+                    SegmentReader reader = readers.get(i);
+                    List<SegmentReader> newer = readers.subList(0, i);
+                    reader.forEachPosting(term, (articleId, frequency) -> {
+                        if (deleted.contains(articleId) || isSuperseded(newer, articleId)) {
+                            return;
+                        }
+                        frequencies.put(articleId, frequency);
+                        postingOwners.put(articleId, reader);
+                    });
+                }
+                int docFreq = frequencies.size();
+                if (docFreq == 0) {
+                    continue;
+                }
+                double idf = Math.log(1 + (docCount - docFreq + 0.5) / (docFreq + 0.5));
+
+                frequencies.forEach((articleId, frequency) -> {
+                    SegmentReader reader = postingOwners.get(articleId);
+                    double norm = K1 * (1 - B + B * reader.docLength(articleId) / averageLength);
+                    scores.merge(articleId, idf * frequency * (K1 + 1) / (frequency + norm), Double::sum);
+                    owners.putIfAbsent(articleId, reader);
+                });
+            }
+
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+                    .limit(limit)
+                    .map(entry -> owners.get(entry.getKey()).hit(entry.getKey(), entry.getValue()))
+                    .toList();
+        }
+    }
+
+    /**
+     * Live document count and total length. The segment part is cached until the segments or
+     * tombstones change; buffered documents replace their older segment copies.
+     */
+    private long[] liveStats() {
+        if (segmentStats == null) {
+            long[] stats = new long[2];
+            for (int i = 0; i < segments.size(); i++) {
+                List<Segment> newer = segments.subList(0, i);
+                segments.get(i).forEachDoc((articleId, length) -> {
+                    if (deleted.contains(articleId) || isSuperseded(newer, articleId)) {
+                        return;
+                    }
+                    stats[0]++;
+                    stats[1] += length;
+                });
+            }
+            segmentStats = stats;
+        }
+
+        long[] stats = {segmentStats[0] + buffer.docCount(), segmentStats[1] + buffer.totalLength()};
+        buffer.forEachDoc((articleId, length) -> {
+            for (Segment segment : segments) {
+                if (segment.contains(articleId)) {
+                    stats[0]--;
+                    stats[1] -= segment.docLength(articleId);
+                    return;
+                }
+            }
+        });
+        return stats;
+    }
+
+    private static boolean isSuperseded(List<? extends SegmentReader> newer, long articleId) {
+        for (SegmentReader reader : newer) {
+            if (reader.contains(articleId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean contains(long articleId) {
+        synchronized (lock) {
+            return buffer.contains(articleId)
+                    || (!deleted.contains(articleId) && segments.stream().anyMatch(segment -> segment.contains(articleId)));
+        }
+    }
+
+    /**
+     * Drops every indexed document, e.g. after the articles table was truncated and ids restart
+     */
+    public void clear() {
+        synchronized (lock) {
+            buffer = new SegmentBuilder();
+            for (Segment segment : segments) {
+                try {
+                    Files.deleteIfExists(segment.file());
+                } catch (IOException e) {
+                    System.err.println("Failed to delete search index segment " + segment.file() + ": " + e.getMessage());
+                }
+            }
+            segments.clear();
+            deleted.clear();
+            segmentStats = null;
+            writeTombstones();
+        }
+    }
+
+    public int segmentCount() {
+        synchronized (lock) {
+            return segments.size();
+        }
+    }
+
+    @Override
+    public void close() {
+        flush();
+        merger.shutdown();
+        try {
+            merger.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.news.search;
+
+public record SearchHit(long articleId, double score, String title, String url) {
+}
@@ -0,0 +1,194 @@
+package com.news.search;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable on-disk segment, memory-mapped read-only. Layout:
+ * <pre>
+ * header     magic, version, generation, docCount, termCount, totalLength, section offsets
+ * doc table  docCount fixed entries (articleId, length, stored offset), sorted by id
+ * stored     title and url per document
+ * terms      term, docFreq, postings offset, postings length (all varints)
+ * postings   per term: (article id gap, term frequency) varint pairs
+ * </pre>
+ * The term dictionary is loaded on open; postings and stored fields stay in the mapping.
+ */
+final class Segment implements SegmentReader {
+    static final int MAGIC = 0x4E574958;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 44;
+    static final int DOC_ENTRY_SIZE = 16;
+
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final long generation;
+    private final int docCount;
+    private final long totalLength;
+    private final int storedOffset;
+    private final int postingsOffset;
+    private final Map<String, TermInfo> terms;
+
+    private record TermInfo(int docFreq, int offset, int length) {
+    }
+
+    private Segment(Path file, MappedByteBuffer buffer) throws IOException {
+        this.file = file;
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a search index segment: " + file);
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported segment version " + buffer.getInt(4) + " in " + file);
+        }
+        this.generation = buffer.getLong(8);
+        this.docCount = buffer.getInt(16);
+        int termCount = buffer.getInt(20);
+        this.totalLength = buffer.getLong(24);
+        this.storedOffset = buffer.getInt(32);
+        int termsOffset = buffer.getInt(36);
+        this.postingsOffset = buffer.getInt(40);
+
+        this.terms = new HashMap<>(termCount * 2);
+        int[] position = {termsOffset};
+        for (int i = 0; i < termCount; i++) {
+            String term = readString(position);
+            int docFreq = (int) VarInt.read(buffer, position);
+            int offset = (int) VarInt.read(buffer, position);
+            int length = (int) VarInt.read(buffer, position);
+            terms.put(term, new TermInfo(docFreq, offset, length));
+        }
+    }
+
+    static Segment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new Segment(file, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    Path file() {
+        return file;
+    }
+
+    long generation() {
+        return generation;
+    }
+
+    @Override
+    public int docCount() {
+        return docCount;
+    }
+
+    @Override
+    public long totalLength() {
+        return totalLength;
+    }
+
+    @Override
+    public boolean contains(long articleId) {
+        return findDoc(articleId) >= 0;
+    }
+
+    @Override
+    public int docLength(long articleId) {
+        int index = findDoc(articleId);
+        return index >= 0 ? buffer.getInt(docEntry(index) + 8) : 0;
+    }
+
+    @Override
+    public void forEachDoc(DocConsumer consumer) {
+        for (int i = 0; i < docCount; i++) {
+            int entry = docEntry(i);
+            consumer.accept(buffer.getLong(entry), buffer.getInt(entry + 8));
+        }
+    }
+
+    @Override
+    public int docFreq(String term) {
+        TermInfo info = terms.get(term);
+        return info != null ? info.docFreq() : 0;
+    }
+
+    @Override
+    public void forEachPosting(String term, PostingConsumer consumer) {
+        TermInfo info = terms.get(term);
+        if (info == null) {
+            return;
+        }
+        int[] position = {postingsOffset + info.offset()};
+        long articleId = 0;
+        for (int i = 0; i < info.docFreq(); i++) {
+            articleId += VarInt.read(buffer, position);
+            consumer.accept(articleId, (int) VarInt.read(buffer, position));
+        }
+    }
+
+    @Override
+    public SearchHit hit(long articleId, double score) {
+        int index = findDoc(articleId);
+        if (index < 0) {
+            return new SearchHit(articleId, score, null, null);
+        }
+        int[] position = {storedOffset + buffer.getInt(docEntry(index) + 12)};
+        String title = readString(position);
+        String url = readString(position);
+        return new SearchHit(articleId, score, title.isEmpty() ? null : title, url.isEmpty() ? null : url);
+    }
+
+    /**
+     * Replays every document of this segment, except the deleted ones, into {@code target}.
+     * Used by merges; documents added later to the target replace these.
+     */
+    void copyInto(SegmentBuilder target, Set<Long> deleted) {
+        Map<Long, Map<String, Integer>> termsByDoc = new HashMap<>();
+        for (String term : terms.keySet()) {
+            forEachPosting(term, (articleId, frequency) ->
+                    termsByDoc.computeIfAbsent(articleId, k -> new HashMap<>()).put(term, frequency));
+        }
+        for (int i = 0; i < docCount; i++) {
+            long articleId = buffer.getLong(docEntry(i));
+            if (deleted.contains(articleId)) {
+                continue;
+            }
+            SearchHit stored = hit(articleId, 0);
+            target.add(articleId, stored.title(), stored.url(),
+                    termsByDoc.getOrDefault(articleId, Map.of()), docLength(articleId));
+        }
+    }
+
+    private int docEntry(int index) {
+        return HEADER_SIZE + index * DOC_ENTRY_SIZE;
+    }
+
+    private int findDoc(long articleId) {
+        int low = 0;
+        int high = docCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midId = buffer.getLong(docEntry(mid));
+            if (midId < articleId) {
+                low = mid + 1;
+            } else if (midId > articleId) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private String readString(int[] position) {
+        int length = (int) VarInt.read(buffer, position);
+        byte[] bytes = new byte[length];
+        buffer.get(position[0], bytes);
+        position[0] += length;
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,170 @@
+package com.news.search;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mutable, searchable in-memory segment. New documents collect here until the index flushes
+ * them to disk; merges also use it to rebuild one segment from several.
+ */
+final class SegmentBuilder implements SegmentReader {
+    private final TreeMap<Long, Doc> docs = new TreeMap<>();
+    private final TreeMap<String, TreeMap<Long, Integer>> postings = new TreeMap<>();
+    private long totalLength;
+
+    private record Doc(int length, String title, String url, Map<String, Integer> termFrequencies) {
+    }
+
+    /**
+     * Adds a document, replacing any earlier version with the same id
+     */
+    void add(long articleId, String title, String url, Map<String, Integer> termFrequencies, int length) {
+        remove(articleId);
+        docs.put(articleId, new Doc(length, title, url, termFrequencies));
+        termFrequencies.forEach((term, frequency) ->
+                postings.computeIfAbsent(term, k -> new TreeMap<>()).put(articleId, frequency));
+        totalLength += length;
+    }
+
+    void remove(long articleId) {
+        Doc old = docs.remove(articleId);
+        if (old == null) {
+            return;
+        }
+        for (String term : old.termFrequencies().keySet()) {
+            TreeMap<Long, Integer> termPostings = postings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(articleId);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= old.length();
+    }
+
+    boolean isEmpty() {
+        return docs.isEmpty();
+    }
+
+    @Override
+    public int docCount() {
+        return docs.size();
+    }
+
+    @Override
+    public long totalLength() {
+        return totalLength;
+    }
+
+    @Override
+    public boolean contains(long articleId) {
+        return docs.containsKey(articleId);
+    }
+
+    @Override
+    public int docLength(long articleId) {
+        Doc doc = docs.get(articleId);
+        return doc != null ? doc.length() : 0;
+    }
+
+    @Override
+    public void forEachDoc(DocConsumer consumer) {
+        docs.forEach((articleId, doc) -> consumer.accept(articleId, doc.length()));
+    }
+
+    @Override
+    public int docFreq(String term) {
+        TreeMap<Long, Integer> termPostings = postings.get(term);
+        return termPostings != null ? termPostings.size() : 0;
+    }
+
+    @Override
+    public void forEachPosting(String term, PostingConsumer consumer) {
+        TreeMap<Long, Integer> termPostings = postings.get(term);
+        if (termPostings != null) {
+            termPostings.forEach(consumer::accept);
+        }
+    }
+
+    @Override
+    public SearchHit hit(long articleId, double score) {
+        Doc doc = docs.get(articleId);
+        return new SearchHit(articleId, score, doc != null ? doc.title() : null, doc != null ? doc.url() : null);
+    }
+
+    /**
+     * Writes the segment in the layout described in {@link Segment}
+     */
+    void writeTo(Path file, long generation) throws IOException {
+        ByteArrayOutputStream stored = new ByteArrayOutputStream();
+        ByteBuffer docTable = ByteBuffer.allocate(docs.size() * Segment.DOC_ENTRY_SIZE);
+        for (Map.Entry<Long, Doc> entry : docs.entrySet()) {
+            docTable.putLong(entry.getKey());
+            docTable.putInt(entry.getValue().length());
+            docTable.putInt(stored.size());
+            writeString(stored, entry.getValue().title());
+            writeString(stored, entry.getValue().url());
+        }
+
+        ByteArrayOutputStream terms = new ByteArrayOutputStream();
+        ByteArrayOutputStream postingLists = new ByteArrayOutputStream();
+        for (Map.Entry<String, TreeMap<Long, Integer>> entry : postings.entrySet()) {
+            int offset = postingLists.size();
+            long previousId = 0;
+            for (Map.Entry<Long, Integer> posting : entry.getValue().entrySet()) {
+                VarInt.write(postingLists, posting.getKey() - previousId);
+                VarInt.write(postingLists, posting.getValue());
+                previousId = posting.getKey();
+            }
+            writeString(terms, entry.getKey());
+            VarInt.write(terms, entry.getValue().size());
+            VarInt.write(terms, offset);
+            VarInt.write(terms, postingLists.size() - offset);
+        }
+
+        int storedOffset = Segment.HEADER_SIZE + docTable.capacity();
+        int termsOffset = storedOffset + stored.size();
+        int postingsOffset = termsOffset + terms.size();
+        long fileSize = (long) postingsOffset + postingLists.size();
+        if (fileSize > Integer.MAX_VALUE) {
+            throw new IOException("Segment too large to map: " + fileSize + " bytes");
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(Segment.HEADER_SIZE);
+        header.putInt(Segment.MAGIC);
+        header.putInt(Segment.VERSION);
+        header.putLong(generation);
+        header.putInt(docs.size());
+        header.putInt(postings.size());
+        header.putLong(totalLength);
+        header.putInt(storedOffset);
+        header.putInt(termsOffset);
+        header.putInt(postingsOffset);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (ByteBuffer buffer : new ByteBuffer[]{header.flip(), docTable.flip(),
+                    ByteBuffer.wrap(stored.toByteArray()), ByteBuffer.wrap(terms.toByteArray()),
+                    ByteBuffer.wrap(postingLists.toByteArray())}) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            channel.force(true);
+        }
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] bytes = (value != null ? value : "").getBytes(StandardCharsets.UTF_8);
+        VarInt.write(out, bytes.length);
+        out.writeBytes(bytes);
+    }
+}
@@ -0,0 +1,34 @@
+package com.news.search;
+
+/**
+ * Read side shared by the in-memory buffer and on-disk segments, so a query runs the same
+ * way over both.
+ */
+interface SegmentReader {
+
+    @FunctionalInterface
+    interface PostingConsumer {
+        void accept(long articleId, int termFrequency);
+    }
+
+    @FunctionalInterface
+    interface DocConsumer {
+        void accept(long articleId, int length);
+    }
+
+    int docCount();
+
+    long totalLength();
+
+    boolean contains(long articleId);
+
+    int docLength(long articleId);
+
+    void forEachDoc(DocConsumer consumer);
+
+    int docFreq(String term);
+
+    void forEachPosting(String term, PostingConsumer consumer);
+
+    SearchHit hit(long articleId, double score);
+}
@@ -0,0 +1,42 @@
+package com.news.search;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * LEB128-style variable length encoding used for posting lists and the term dictionary.
+ * Small numbers (doc id gaps, term frequencies) take a single byte.
+ */
+final class VarInt {
+
+    private VarInt() {
+    }
+
+    static void write(ByteArrayOutputStream out, long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("VarInt cannot encode negative value " + value);
+        }
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    /**
+     * Reads a value starting at {@code position[0]} and advances it; absolute reads keep the
+     * shared mapped buffer safe to use from several threads.
+     */
+    static long read(ByteBuffer buffer, int[] position) {
+        long result = 0;
+        int shift = 0;
+        while (true) {
+            byte b = buffer.get(position[0]++);
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+            shift += 7;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.news.storage;
+
+import com.news.storage.pool.ConnectionPool;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Hands out connections per unit of work. Outside a transaction every call borrows a fresh
+ * connection from the pool; inside {@link #inTransaction} the thread's transactional
+ * connection is returned instead, so repositories called from the same block share it.
+ */
+public class ConnectionProvider {
+    private final ConnectionPool pool;
+    private final ThreadLocal<Connection> transactionConnection = new ThreadLocal<>();
+
+    @FunctionalInterface
+    public interface SqlWork<T> {
+        T execute(Connection connection) throws SQLException;
+    }
+
+    public ConnectionProvider(ConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    public Connection getConnection() throws SQLException {
+        Connection bound = transactionConnection.get();
+        return bound != null ? ConnectionPool.unclosable(bound) : pool.borrow();
+    }
+
+    public <T> T inTransaction(SqlWork<T> work) throws SQLException {
+        if (transactionConnection.get() != null) {
+            return work.execute(transactionConnection.get());
+        }
+
+        try (Connection connection = pool.borrow()) {
+            connection.setAutoCommit(false);
+            transactionConnection.set(connection);
+            try {
+                T result = work.execute(connection);
+                connection.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                try {
+                    connection.rollback();
+                } catch (SQLException rollbackEx) {
+                    e.addSuppressed(rollbackEx);
+                }
+                throw e;
+            } finally {
+                transactionConnection.remove();
+            }
+        }
+    }
+
+    public ConnectionPool getPool() {
+        return pool;
+    }
+}
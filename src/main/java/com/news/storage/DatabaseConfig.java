@@ -1,18 +1,31 @@
 package com.news.storage;
 
 import com.news.ConfigLoader;
+import com.news.storage.pool.ConnectionPool;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.time.Duration;
 
 public class DatabaseConfig {
     public static Connection getConnection() throws SQLException {
         String url = ConfigLoader.getDBUrl();
         String user = ConfigLoader.getDBUser();
         String password = ConfigLoader.getDBPassword();
-        System.out.println("Successfully connected to database!");
         assert url != null;
         return DriverManager.getConnection(url, user, password);
     }
+
+    public static ConnectionPool createConnectionPool() throws SQLException {
+        ConnectionPool pool = new ConnectionPool(
+                DatabaseConfig::getConnection,
+                ConfigLoader.getInt("DB_POOL_SIZE", 10),
+                ConfigLoader.getInt("DB_POOL_MIN_IDLE", 1),
+                Duration.ofSeconds(ConfigLoader.getInt("DB_POOL_IDLE_TIMEOUT_SECONDS", 300)),
+                Duration.ofSeconds(ConfigLoader.getInt("DB_POOL_BORROW_TIMEOUT_SECONDS", 30))
+        );
+        System.out.println("Successfully connected to database!");
+        return pool;
+    }
 }
@@ -1,71 +1,235 @@
 package com.news.storage;
 
+import com.news.ConfigLoader;
+import com.news.metrics.MetricsRegistry;
+import com.news.metrics.TimedProxy;
 import com.news.model.Article;
+import com.news.model.ArticleStatus;
+import com.news.search.InvertedIndex;
 import com.news.storage.impl.JdbcArticleRepository;
 import com.news.storage.impl.JdbcArticleStatsRepository;
 import com.news.storage.impl.JdbcArticleTagLinker;
+import com.news.storage.impl.JdbcStatsSnapshotRepository;
 import com.news.storage.impl.JdbcTagRepository;
 import com.news.storage.inter.ArticleRepository;
 import com.news.storage.inter.ArticleStatsRepository;
 import com.news.storage.inter.ArticleTagLinker;
 import com.news.storage.inter.TagRepository;
+import com.news.storage.pool.PoolStats;
 import com.news.storage.util.StorageException;
 import lombok.Getter;
 
-import java.sql.Connection;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 @Getter
 public class DatabaseService {
-    private final Connection connection;
+    private static final int SAVE_CHUNK_SIZE = 500;
+    private static final String DB_QUERY_METRIC = "news_db_query_seconds";
+
+    private final ConnectionProvider connectionProvider;
     private final ArticleRepository articleRepository;
     private final TagRepository tagRepository;
     private final ArticleTagLinker articleTagLinker;
     private final ArticleStatsRepository articleStatsRepository;
+    private final JdbcStatsSnapshotRepository statsSnapshotRepository;
+    private final InvertedIndex searchIndex;
+    private final KnownUrls knownUrls;
 
     public DatabaseService() throws SQLException {
-        this.connection = DatabaseConfig.getConnection();
-        this.connection.setAutoCommit(false);
+        this(new ConnectionProvider(DatabaseConfig.createConnectionPool()), openSearchIndex());
+    }
+
+    public DatabaseService(ConnectionProvider connectionProvider) {
+        this(connectionProvider, null);
+    }
+
+    public DatabaseService(ConnectionProvider connectionProvider, InvertedIndex searchIndex) {
+        // every repository call is timed per method as news_db_query_seconds
+        this(connectionProvider, searchIndex,
+                TimedProxy.wrap(ArticleRepository.class, new JdbcArticleRepository(connectionProvider),
+                        MetricsRegistry.shared(), DB_QUERY_METRIC, "repository", "article"),
+                TimedProxy.wrap(TagRepository.class, new JdbcTagRepository(connectionProvider),
+                        MetricsRegistry.shared(), DB_QUERY_METRIC, "repository", "tag"),
+                TimedProxy.wrap(ArticleTagLinker.class, new JdbcArticleTagLinker(connectionProvider),
+                        MetricsRegistry.shared(), DB_QUERY_METRIC, "repository", "article_tag"),
+                TimedProxy.wrap(ArticleStatsRepository.class, new JdbcArticleStatsRepository(connectionProvider),
+                        MetricsRegistry.shared(), DB_QUERY_METRIC, "repository", "stats"));
+        registerPoolMetrics(MetricsRegistry.shared());
+    }
 
-        this.articleRepository = new JdbcArticleRepository(connection);
-        this.tagRepository = new JdbcTagRepository(connection);
-        this.articleTagLinker = new JdbcArticleTagLinker(connection);
-        this.articleStatsRepository = new JdbcArticleStatsRepository(connection);
+    DatabaseService(ConnectionProvider connectionProvider, InvertedIndex searchIndex,
+                    ArticleRepository articleRepository, TagRepository tagRepository,
+                    ArticleTagLinker articleTagLinker, ArticleStatsRepository articleStatsRepository) {
+        this.connectionProvider = connectionProvider;
+        this.searchIndex = searchIndex;
+        this.articleRepository = articleRepository;
+        this.tagRepository = tagRepository;
+        this.articleTagLinker = articleTagLinker;
+        this.articleStatsRepository = articleStatsRepository;
+        this.statsSnapshotRepository = new JdbcStatsSnapshotRepository(connectionProvider, articleStatsRepository);
+        this.knownUrls = new KnownUrls(articleRepository, articleStatsRepository);
     }
 
     public void saveArticle(Article article) {
         try {
-            Optional<Article> existingArticle = articleRepository.findByUrl(article.getUrl());
+            Article stored = connectionProvider.inTransaction(connection -> saveSingle(article));
+            article.setId(stored.getId());
+            knownUrls.addAll(List.of(stored));
+            indexSaved(List.of(stored));
+        } catch (SQLException e) {
+            throw new StorageException("Database error when saving article", e);
+        }
+    }
 
-            if (existingArticle.isPresent()) {
-                Article updated = mergeArticles(existingArticle.get(), article);
-                articleRepository.update(updated);
-            } else {
-                articleRepository.save(article);
+    /**
+     * @return the article as it now looks in the database, with its id
+     */
+    private Article saveSingle(Article article) throws SQLException {
+        Optional<Article> existingArticle = articleRepository.findByUrl(article.getUrl());
+
+        Article stored;
+        if (existingArticle.isPresent()) {
+            stored = mergeArticles(existingArticle.get(), article);
+            articleRepository.update(stored);
+            stored.setId(existingArticle.get().getId());
+        } else {
+            articleRepository.save(article);
+            stored = article;
+        }
+
+        Optional<Long> articleId = articleRepository.findIdByUrl(article.getUrl());
+        articleId.ifPresent(stored::setId);
+        if (articleId.isPresent() && article.getTags() != null && !article.getTags().isEmpty()) {
+            for (String tag : article.getTags()) {
+                int tagId = tagRepository.getOrCreateTagId(tag);
+                articleTagLinker.linkArticleTags(articleId.get(), tagId);
             }
+        }
+        return stored;
+    }
+
+    /**
+     * Bulk variant of {@link #saveArticle}: upserts, tags and links every chunk in a few
+     * set-based statements and commits once per chunk. A chunk that fails is rolled back
+     * and retried article by article, so one bad row doesn't cost the whole batch. Stored
+     * articles, including repeated urls folded into one, get their id set.
+     *
+     * @return number of articles that were stored
+     */
+    public int saveArticles(List<Article> articles) {
+        int savedCount = 0;
+        List<Article> unique = deduplicateByUrl(articles);
 
-            if (article.getTags() != null && !article.getTags().isEmpty()) {
-                Optional<Long> articleId = articleRepository.findIdByUrl(article.getUrl());
-                if (articleId.isPresent()) {
-                    for (String tag : article.getTags()) {
-                        int tagId = tagRepository.getOrCreateTagId(tag);
-                        articleTagLinker.linkArticleTags(articleId.get(), tagId);
+        for (int from = 0; from < unique.size(); from += SAVE_CHUNK_SIZE) {
+            List<Article> chunk = unique.subList(from, Math.min(from + SAVE_CHUNK_SIZE, unique.size()));
+            try {
+                Map<String, Long> idsByUrl = connectionProvider.inTransaction(connection -> saveChunk(chunk));
+                chunk.forEach(article -> article.setId(idsByUrl.get(article.getUrl())));
+                knownUrls.addAll(chunk);
+                indexSaved(chunk);
+                savedCount += chunk.size();
+            } catch (SQLException | StorageException e) {
+                System.err.println("Batch save failed (" + e.getMessage() + "), falling back to per-article saves");
+                for (Article article : chunk) {
+                    try {
+                        saveArticle(article);
+                        savedCount++;
+                    } catch (Exception ex) {
+                        System.err.println("Failed to save article: " + article.getUrl());
                     }
                 }
             }
+        }
 
-            connection.commit();
-        } catch (SQLException e) {
-            try {
-                connection.rollback();
-            } catch (SQLException rollbackEx) {
-                throw new StorageException("Failed to rollback transaction", rollbackEx);
+        if (unique.size() < articles.size()) {
+            Map<String, Long> ids = new HashMap<>();
+            unique.stream().filter(article -> article.getId() != null).forEach(article -> ids.put(article.getUrl(), article.getId()));
+            for (Article article : articles) {
+                Long id = ids.get(article.getUrl());
+                if (id != null) {
+                    article.setId(id);
+                }
             }
-            throw new StorageException("Database error when saving article", e);
         }
+        return savedCount;
+    }
+
+    private Map<String, Long> saveChunk(List<Article> chunk) throws SQLException {
+        Map<String, Long> idsByUrl = articleRepository.upsertAll(chunk);
+
+        Set<String> tagNames = new HashSet<>();
+        for (Article article : chunk) {
+            if (article.getTags() != null) {
+                article.getTags().stream().filter(Objects::nonNull).forEach(tagNames::add);
+            }
+        }
+
+        if (!tagNames.isEmpty()) {
+            Map<String, Integer> tagIds = tagRepository.getOrCreateTagIds(tagNames);
+            Map<Long, Set<Integer>> links = new HashMap<>();
+            for (Article article : chunk) {
+                Long articleId = idsByUrl.get(article.getUrl());
+                if (articleId == null || article.getTags() == null) {
+                    continue;
+                }
+                for (String tag : article.getTags()) {
+                    Integer tagId = tag != null ? tagIds.get(tag) : null;
+                    if (tagId != null) {
+                        links.computeIfAbsent(articleId, k -> new HashSet<>()).add(tagId);
+                    }
+                }
+            }
+            articleTagLinker.linkArticleTags(links);
+        }
+        return idsByUrl;
+    }
+
+    /**
+     * Feeds committed articles to the offline search index. A batch upsert keeps the stored
+     * content when the incoming article has none, so such articles only replace an indexed
+     * version if there is none yet.
+     */
+    private void indexSaved(Collection<Article> saved) {
+        if (searchIndex == null) {
+            return;
+        }
+        try {
+            for (Article article : saved) {
+                if (article.getId() != null
+                        && (article.getContent() != null || !searchIndex.contains(article.getId()))) {
+                    searchIndex.index(article);
+                }
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Failed to update search index: " + e.getMessage());
+        }
+    }
+
+    private static InvertedIndex openSearchIndex() {
+        String directory = ConfigLoader.getProperty("SEARCH_INDEX_DIR");
+        try {
+            return InvertedIndex.open(Path.of(directory != null ? directory : "search-index"),
+                    ConfigLoader.getInt("SEARCH_INDEX_FLUSH_DOCS", 1000));
+        } catch (IOException e) {
+            System.err.println("Offline search index disabled: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * ON CONFLICT DO UPDATE can't touch the same row twice in one statement,
+     * so repeated urls inside a batch are folded together first
+     */
+    private List<Article> deduplicateByUrl(List<Article> articles) {
+        Map<String, Article> byUrl = new LinkedHashMap<>();
+        for (Article article : articles) {
+            byUrl.merge(article.getUrl(), article, this::mergeArticles);
+        }
+        return new ArrayList<>(byUrl.values());
     }
 
     /**
@@ -82,6 +246,7 @@ public class DatabaseService {
                 .publishedAt(newArticle.getPublishedAt() != null ? newArticle.getPublishedAt() : existing.getPublishedAt())
                 .sourceName(newArticle.getSourceName() != null ? newArticle.getSourceName() : existing.getSourceName())
                 .language(newArticle.getLanguage() != null ? newArticle.getLanguage() : existing.getLanguage())
+                .imageUrl(newArticle.getImageUrl() != null ? newArticle.getImageUrl() : existing.getImageUrl())
                 .rating(newArticle.getRating() != null ? newArticle.getRating() : existing.getRating());
 
         if (newArticle.getSummary() != null) {
@@ -91,7 +256,7 @@ public class DatabaseService {
         }
 
         if (existing.getTags() != null && newArticle.getTags() != null) {
-            List<String> mergedTags = existing.getTags();
+            List<String> mergedTags = new ArrayList<>(existing.getTags());
             for (String tag : newArticle.getTags()) {
                 if (!mergedTags.contains(tag)) {
                     mergedTags.add(tag);
@@ -104,10 +269,12 @@ public class DatabaseService {
             builder.tags(existing.getTags());
         }
 
-        if (newArticle.getStatus().ordinal() > existing.getStatus().ordinal()) {
-            builder.status(newArticle.getStatus());
+        ArticleStatus newStatus = newArticle.getStatus() != null ? newArticle.getStatus() : ArticleStatus.RAW;
+        ArticleStatus existingStatus = existing.getStatus() != null ? existing.getStatus() : ArticleStatus.RAW;
+        if (newStatus.ordinal() > existingStatus.ordinal()) {
+            builder.status(newStatus);
         } else {
-            builder.status(existing.getStatus());
+            builder.status(existingStatus);
         }
 
         if (newArticle.getRating() != null) {
@@ -119,32 +286,61 @@ public class DatabaseService {
         return builder.build();
     }
 
+    /**
+     * Deletes an article and drops it from the offline search index
+     */
+    public void deleteArticle(Long id) {
+        articleRepository.deleteById(id);
+        if (searchIndex != null) {
+            try {
+                searchIndex.delete(id);
+            } catch (RuntimeException e) {
+                System.err.println("Failed to update search index: " + e.getMessage());
+            }
+        }
+    }
+
     public void cleanupDatabase() throws SQLException {
         try {
-            try (PreparedStatement stmt = connection.prepareStatement(
-                    "TRUNCATE TABLE articles, article_tags, tags RESTART IDENTITY CASCADE;"
-            )) {
-                stmt.executeUpdate();
+            connectionProvider.inTransaction(connection -> {
+                try (PreparedStatement stmt = connection.prepareStatement(
+                        "TRUNCATE TABLE articles, article_tags, tags RESTART IDENTITY CASCADE;"
+                )) {
+                    return stmt.executeUpdate();
+                }
+            });
+            if (searchIndex != null) {
+                searchIndex.clear();
             }
-            connection.commit();
-
         } catch (SQLException e) {
-            try {
-                connection.rollback();
-            } catch (SQLException rollbackEx) {
-                throw new StorageException("Failed to rollback transaction", rollbackEx);
-            }
             throw new StorageException("Database error during cleanup", e);
         }
     }
 
+    public PoolStats getPoolStats() {
+        return connectionProvider.getPool().stats();
+    }
+
+    /**
+     * Pool state as news_db_pool_* series, sampled from the pool whenever metrics are read
+     */
+    void registerPoolMetrics(MetricsRegistry metrics) {
+        metrics.gauge("news_db_pool_max_connections", () -> getPoolStats().maxSize());
+        metrics.gauge("news_db_pool_connections", () -> getPoolStats().active(), "state", "active");
+        metrics.gauge("news_db_pool_connections", () -> getPoolStats().idle(), "state", "idle");
+        metrics.gauge("news_db_pool_waiting_threads", () -> getPoolStats().waiting());
+        metrics.gauge("news_db_pool_average_wait_ms", () -> getPoolStats().averageWaitMs());
+        metrics.functionCounter("news_db_pool_borrows_total", () -> getPoolStats().borrowCount());
+        metrics.functionCounter("news_db_pool_connections_created_total", () -> getPoolStats().createdCount());
+        metrics.functionCounter("news_db_pool_connections_destroyed_total", () -> getPoolStats().destroyedCount());
+        metrics.functionCounter("news_db_pool_borrow_timeouts_total", () -> getPoolStats().timeoutCount());
+        metrics.functionCounter("news_db_pool_validation_failures_total", () -> getPoolStats().validationFailures());
+    }
+
     public void close() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-            }
-        } catch (SQLException e) {
-            throw new StorageException("Failed to close database connection", e);
+        if (searchIndex != null) {
+            searchIndex.close();
         }
+        connectionProvider.getPool().close();
     }
-}
\ No newline at end of file
+}
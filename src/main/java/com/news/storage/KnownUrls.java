@@ -0,0 +1,124 @@
+package com.news.storage;
+
+import com.news.ConfigLoader;
+import com.news.model.Article;
+import com.news.storage.inter.ArticleRepository;
+import com.news.storage.inter.ArticleStatsRepository;
+import com.news.storage.util.BloomFilter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * In-memory view of which urls are already stored, so freshly parsed listings can shed known
+ * articles before they are enriched or saved. A Bloom filter, warmed from articles.url on
+ * first use and fed on every save, answers "definitely new" without touching the database;
+ * its "maybe" answers are confirmed with a single batched lookup, so a false positive never
+ * drops a new article and deleted urls simply come back as new.
+ */
+public class KnownUrls {
+    private static final int MIN_EXPECTED_URLS = 100_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int WARM_FETCH_SIZE = 5000;
+
+    private final ArticleRepository articleRepository;
+    private final ArticleStatsRepository statsRepository;
+    private final boolean enabled;
+    private volatile BloomFilter filter;
+    private volatile boolean warmFailed;
+
+    public KnownUrls(ArticleRepository articleRepository, ArticleStatsRepository statsRepository) {
+        this(articleRepository, statsRepository, !"false".equalsIgnoreCase(ConfigLoader.getProperty("KNOWN_URL_FILTER")));
+    }
+
+    public KnownUrls(ArticleRepository articleRepository, ArticleStatsRepository statsRepository, boolean enabled) {
+        this.articleRepository = articleRepository;
+        this.statsRepository = statsRepository;
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return the articles whose url is not stored yet, in their original order
+     */
+    public List<Article> dropKnown(List<Article> articles) {
+        BloomFilter current = filter();
+        if (current == null || articles.isEmpty()) {
+            return articles;
+        }
+
+        List<String> candidates = new ArrayList<>();
+        for (Article article : articles) {
+            if (article.getUrl() != null && current.mightContain(article.getUrl())) {
+                candidates.add(article.getUrl());
+            }
+        }
+        if (candidates.isEmpty()) {
+            return articles;
+        }
+
+        Set<String> existing;
+        try {
+            existing = articleRepository.findExistingUrls(candidates);
+        } catch (RuntimeException e) {
+            System.err.println("Known url check failed, keeping all articles: " + e.getMessage());
+            return articles;
+        }
+
+        List<Article> unknown = new ArrayList<>(articles.size() - existing.size());
+        for (Article article : articles) {
+            if (article.getUrl() == null || !existing.contains(article.getUrl())) {
+                unknown.add(article);
+            }
+        }
+        return unknown;
+    }
+
+    public void addAll(Collection<Article> saved) {
+        BloomFilter current = filter;
+        if (current == null) {
+            // not warmed yet; warming will read these from the table
+            return;
+        }
+        for (Article article : saved) {
+            if (article.getUrl() != null) {
+                current.put(article.getUrl());
+            }
+        }
+    }
+
+    private BloomFilter filter() {
+        if (!enabled || warmFailed) {
+            return null;
+        }
+        BloomFilter current = filter;
+        if (current == null) {
+            synchronized (this) {
+                if (filter == null && !warmFailed) {
+                    filter = warm();
+                }
+                current = filter;
+            }
+        }
+        return current;
+    }
+
+    private BloomFilter warm() {
+        try {
+            // room for the table to double before the false positive rate degrades
+            long stored = statsRepository.countAllArticles();
+            BloomFilter warmed = new BloomFilter(Math.max(MIN_EXPECTED_URLS, stored * 2), FALSE_POSITIVE_RATE);
+            articleRepository.forEachUrl(WARM_FETCH_SIZE, url -> {
+                if (url != null) {
+                    warmed.put(url);
+                }
+            });
+            return warmed;
+        } catch (RuntimeException e) {
+            warmFailed = true;
+            System.err.println("Known url filter disabled: " + e.getMessage());
+            return null;
+        }
+    }
+}
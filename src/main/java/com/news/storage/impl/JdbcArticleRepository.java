@@ -2,9 +2,13 @@ package com.news.storage.impl;
 
 import com.news.model.Article;
 import com.news.model.ArticleFilter;
+import com.news.model.ArticlePage;
 import com.news.model.ArticleStatus;
+import com.news.model.PageCursor;
+import com.news.storage.ConnectionProvider;
 import com.news.storage.inter.ArticleRepository;
 import com.news.storage.util.StorageException;
+import com.news.storage.util.ArticleCursor;
 import com.news.storage.util.ArticleResultSetMapper;
 
 import java.sql.*;
@@ -12,17 +16,62 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.stream.Collectors;
 
 public class JdbcArticleRepository implements ArticleRepository {
-    private final Connection connection;
-
-    public JdbcArticleRepository(Connection connection) {
-        this.connection = connection;
+    // search_vector is only used for matching, so it is never pulled back to the client
+    private static final String ARTICLE_COLUMNS = "id, title, author, url, content, summary, region, " +
+            "source_name, image_url, language, status, rating, published_at";
+    private static final String PREFIXED_ARTICLE_COLUMNS = Arrays.stream(ARTICLE_COLUMNS.split(", "))
+            .map(column -> "a." + column)
+            .collect(Collectors.joining(", "));
+
+    // Sources are mixed ru/en, so the query is parsed with both configurations
+    private static final String FULL_TEXT_SEARCH_SQL =
+            "SELECT " + PREFIXED_ARTICLE_COLUMNS + ", ts_rank(a.search_vector, q.query) AS rank " +
+                    "FROM articles a, " +
+                    "(SELECT websearch_to_tsquery('russian', ?) || websearch_to_tsquery('english', ?) AS query) q " +
+                    "WHERE a.search_vector @@ q.query " +
+                    "ORDER BY rank DESC, a.published_at DESC NULLS LAST, a.id DESC " +
+                    "LIMIT ? OFFSET ?";
+
+    private static final String STATUS_ORDER = Arrays.stream(ArticleStatus.values())
+            .map(status -> "'" + status.name() + "'")
+            .collect(Collectors.joining(", ", "ARRAY[", "]"));
+
+    // One round-trip for a whole batch: newer non-null values win, status never goes backwards
+    private static final String UPSERT_SQL =
+            "INSERT INTO articles (title, content, url, author, region, published_at, source_name, language, status, summary, image_url, rating) " +
+                    "SELECT * FROM unnest(?::text[], ?::text[], ?::text[], ?::text[], ?::text[], ?::timestamp[], " +
+                    "?::text[], ?::text[], ?::text[], ?::text[], ?::text[], ?::int[]) " +
+                    "ON CONFLICT (url) DO UPDATE SET " +
+                    "title = COALESCE(EXCLUDED.title, articles.title), " +
+                    "content = COALESCE(EXCLUDED.content, articles.content), " +
+                    "author = COALESCE(EXCLUDED.author, articles.author), " +
+                    "region = COALESCE(EXCLUDED.region, articles.region), " +
+                    "published_at = COALESCE(EXCLUDED.published_at, articles.published_at), " +
+                    "source_name = COALESCE(EXCLUDED.source_name, articles.source_name), " +
+                    "language = COALESCE(EXCLUDED.language, articles.language), " +
+                    "status = CASE WHEN array_position(" + STATUS_ORDER + ", EXCLUDED.status) > " +
+                    "array_position(" + STATUS_ORDER + ", articles.status) THEN EXCLUDED.status ELSE articles.status END, " +
+                    "summary = COALESCE(EXCLUDED.summary, articles.summary), " +
+                    "image_url = COALESCE(EXCLUDED.image_url, articles.image_url), " +
+                    "rating = COALESCE(NULLIF(EXCLUDED.rating, 0), articles.rating) " +
+                    "RETURNING id, url";
+
+    private final ConnectionProvider connectionProvider;
+
+    public JdbcArticleRepository(ConnectionProvider connectionProvider) {
+        this.connectionProvider = connectionProvider;
     }
 
     @Override
     public void save(Article article) {
-        try (PreparedStatement stmt = connection.prepareStatement(
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(
                 "INSERT INTO articles (title, content, url, author, region, published_at, source_name, language, status, summary, image_url, rating) " +
                         "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT DO NOTHING")) {
             stmt.setString(1, article.getTitle());
@@ -51,11 +100,76 @@ public class JdbcArticleRepository implements ArticleRepository {
         }
     }
 
+    @Override
+    public Map<String, Long> upsertAll(List<Article> articles) {
+        Map<String, Long> idsByUrl = new HashMap<>();
+        if (articles.isEmpty()) {
+            return idsByUrl;
+        }
+
+        int size = articles.size();
+        String[] titles = new String[size];
+        String[] contents = new String[size];
+        String[] urls = new String[size];
+        String[] authors = new String[size];
+        String[] regions = new String[size];
+        Timestamp[] publishedAt = new Timestamp[size];
+        String[] sourceNames = new String[size];
+        String[] languages = new String[size];
+        String[] statuses = new String[size];
+        String[] summaries = new String[size];
+        String[] imageUrls = new String[size];
+        Integer[] ratings = new Integer[size];
+
+        for (int i = 0; i < size; i++) {
+            Article article = articles.get(i);
+            titles[i] = article.getTitle();
+            contents[i] = article.getContent();
+            urls[i] = article.getUrl();
+            authors[i] = article.getAuthor();
+            regions[i] = article.getRegion();
+            publishedAt[i] = article.getPublishedAt() != null ? Timestamp.valueOf(article.getPublishedAt()) : null;
+            sourceNames[i] = article.getSourceName();
+            languages[i] = article.getLanguage();
+            statuses[i] = article.getStatus() != null ? article.getStatus().name() : ArticleStatus.RAW.name();
+            summaries[i] = article.getSummary();
+            imageUrls[i] = article.getImageUrl();
+            ratings[i] = article.getRating() != null ? article.getRating() : 0;
+        }
+
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(UPSERT_SQL)) {
+            stmt.setArray(1, connection.createArrayOf("text", titles));
+            stmt.setArray(2, connection.createArrayOf("text", contents));
+            stmt.setArray(3, connection.createArrayOf("text", urls));
+            stmt.setArray(4, connection.createArrayOf("text", authors));
+            stmt.setArray(5, connection.createArrayOf("text", regions));
+            stmt.setArray(6, connection.createArrayOf("timestamp", publishedAt));
+            stmt.setArray(7, connection.createArrayOf("text", sourceNames));
+            stmt.setArray(8, connection.createArrayOf("text", languages));
+            stmt.setArray(9, connection.createArrayOf("text", statuses));
+            stmt.setArray(10, connection.createArrayOf("text", summaries));
+            stmt.setArray(11, connection.createArrayOf("text", imageUrls));
+            stmt.setArray(12, connection.createArrayOf("int4", ratings));
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    idsByUrl.put(rs.getString("url"), rs.getLong("id"));
+                }
+            }
+        } catch (SQLException e) {
+            throw new StorageException("Failed to upsert batch of " + size + " articles", e);
+        }
+
+        return idsByUrl;
+    }
+
     @Override
     public void deleteById(Long id) {
         String sql = "DELETE FROM articles WHERE id = ?";
         if (findById(id).isPresent()) {
-            try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            try (Connection connection = connectionProvider.getConnection();
+                 PreparedStatement stmt = connection.prepareStatement(sql)) {
                 stmt.setLong(1, id);
                 stmt.executeUpdate();
             } catch (SQLException e) {
@@ -68,8 +182,9 @@ public class JdbcArticleRepository implements ArticleRepository {
 
     @Override
     public Optional<Article> findByUrl(String url) {
-        String sql = "SELECT * FROM articles WHERE url = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        String sql = "SELECT " + ARTICLE_COLUMNS + " FROM articles WHERE url = ?";
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, url);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
@@ -84,8 +199,9 @@ public class JdbcArticleRepository implements ArticleRepository {
 
     @Override
     public Optional<Article> findById(Long id) {
-        String sql = "SELECT * FROM articles WHERE id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        String sql = "SELECT " + ARTICLE_COLUMNS + " FROM articles WHERE id = ?";
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setLong(1, id);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
@@ -100,8 +216,9 @@ public class JdbcArticleRepository implements ArticleRepository {
 
     @Override
     public Optional<List<Article>> findBySubstrInContent(String substr) {
-        String sql = "SELECT * FROM articles WHERE content ILIKE ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        String sql = "SELECT " + ARTICLE_COLUMNS + " FROM articles WHERE content ILIKE ?";
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, "%" + substr + "%");
             try (ResultSet rs = stmt.executeQuery()) {
                 List<Article> articles = ArticleResultSetMapper.mapRows(rs, connection);
@@ -114,8 +231,9 @@ public class JdbcArticleRepository implements ArticleRepository {
 
     @Override
     public Optional<List<Article>> findBySubstrInTitle(String substr) {
-        String sql = "SELECT * FROM articles WHERE title ILIKE ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        String sql = "SELECT " + ARTICLE_COLUMNS + " FROM articles WHERE title ILIKE ?";
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, "%" + substr + "%");
             try (ResultSet rs = stmt.executeQuery()) {
                 List<Article> articles = ArticleResultSetMapper.mapRows(rs, connection);
@@ -126,10 +244,27 @@ public class JdbcArticleRepository implements ArticleRepository {
         }
     }
 
+    @Override
+    public List<Article> fullTextSearch(String query, int limit, int offset) {
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(FULL_TEXT_SEARCH_SQL)) {
+            stmt.setString(1, query);
+            stmt.setString(2, query);
+            stmt.setInt(3, limit);
+            stmt.setInt(4, offset);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return ArticleResultSetMapper.mapRows(rs, connection);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error running full-text search: " + query, e);
+        }
+    }
+
     @Override
     public Optional<Long> findIdByUrl(String url) {
         String sql = "SELECT id FROM articles WHERE url = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, url);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
@@ -142,10 +277,54 @@ public class JdbcArticleRepository implements ArticleRepository {
         }
     }
 
+    @Override
+    public Set<String> findExistingUrls(Collection<String> urls) {
+        Set<String> existing = new HashSet<>();
+        if (urls.isEmpty()) {
+            return existing;
+        }
+
+        String sql = "SELECT url FROM articles WHERE url = ANY(?)";
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setArray(1, connection.createArrayOf("text", urls.toArray()));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    existing.add(rs.getString("url"));
+                }
+            }
+        } catch (SQLException e) {
+            throw new StorageException("Error checking " + urls.size() + " urls", e);
+        }
+        return existing;
+    }
+
+    @Override
+    public void forEachUrl(int fetchSize, Consumer<String> action) {
+        String sql = "SELECT url FROM articles";
+        try (Connection connection = connectionProvider.getConnection()) {
+            // see openCursor: streaming needs autocommit off, the pool restores it
+            if (connection.getAutoCommit()) {
+                connection.setAutoCommit(false);
+            }
+            try (PreparedStatement stmt = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                stmt.setFetchSize(fetchSize);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        action.accept(rs.getString("url"));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new StorageException("Error reading article urls", e);
+        }
+    }
+
     @Override
     public List<Article> findAll() {
-        String sql = "SELECT * FROM articles";
-        try (PreparedStatement stmt = connection.prepareStatement(sql);
+        String sql = "SELECT " + ARTICLE_COLUMNS + " FROM articles";
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             return ArticleResultSetMapper.mapRows(rs, connection);
         } catch (SQLException e) {
@@ -153,10 +332,65 @@ public class JdbcArticleRepository implements ArticleRepository {
         }
     }
 
+    @Override
+    public Stream<Article> streamAll(int fetchSize) {
+        return openCursor("SELECT " + ARTICLE_COLUMNS + " FROM articles ORDER BY id", fetchSize);
+    }
+
+    @Override
+    public Stream<Article> streamByStatus(ArticleStatus status, int fetchSize) {
+        return openCursor("SELECT " + ARTICLE_COLUMNS + " FROM articles WHERE status = ? ORDER BY id",
+                fetchSize, status.name());
+    }
+
+    /**
+     * The connection, statement and result set stay open until the returned stream is closed
+     */
+    private Stream<Article> openCursor(String sql, int fetchSize, Object... params) {
+        Connection connection = null;
+        PreparedStatement stmt = null;
+        try {
+            connection = connectionProvider.getConnection();
+            // the driver only streams with a fetch size when autocommit is off; the pool rolls
+            // back and restores autocommit when the connection comes back
+            if (connection.getAutoCommit()) {
+                connection.setAutoCommit(false);
+            }
+            stmt = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            stmt.setFetchSize(fetchSize);
+            for (int i = 0; i < params.length; i++) {
+                setParameter(stmt, i + 1, params[i]);
+            }
+            ResultSet rs = stmt.executeQuery();
+
+            Connection cursorConnection = connection;
+            PreparedStatement cursorStatement = stmt;
+            return StreamSupport.stream(new ArticleCursor(rs, connection, fetchSize), false)
+                    .onClose(() -> closeQuietly(rs, cursorStatement, cursorConnection));
+        } catch (SQLException e) {
+            closeQuietly(stmt, connection);
+            throw new StorageException("Error opening article cursor", e);
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable... resources) {
+        for (AutoCloseable resource : resources) {
+            if (resource == null) {
+                continue;
+            }
+            try {
+                resource.close();
+            } catch (Exception e) {
+                System.err.println("Failed to close cursor resource: " + e.getMessage());
+            }
+        }
+    }
+
     @Override
     public List<Article> findByStatus(ArticleStatus status) {
-        String sql = "SELECT * FROM articles WHERE status = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        String sql = "SELECT " + ARTICLE_COLUMNS + " FROM articles WHERE status = ?";
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, status.name());
             try (ResultSet rs = stmt.executeQuery()) {
                 return ArticleResultSetMapper.mapRows(rs, connection);
@@ -168,7 +402,8 @@ public class JdbcArticleRepository implements ArticleRepository {
 
     @Override
     public void update(Article article) {
-        try (PreparedStatement stmt = connection.prepareStatement(
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(
                 "UPDATE articles SET title = ?, content = ?, author = ?, region = ?, published_at = ?, " +
                         "source_name = ?, language = ?, status = ?, summary = ?, image_url = ?, rating = ? WHERE url = ?")) {
             stmt.setString(1, article.getTitle());
@@ -199,130 +434,184 @@ public class JdbcArticleRepository implements ArticleRepository {
 
     @Override
     public List<Article> findArticlesWithFilters(ArticleFilter filter) {
-        StringBuilder sql = new StringBuilder();
+        StringBuilder sql = new StringBuilder("SELECT " + PREFIXED_ARTICLE_COLUMNS + " FROM articles a WHERE 1=1");
         List<Object> params = new ArrayList<>();
+        appendFilterConditions(filter, sql, params);
+        appendOrderBy(filter, sql);
 
-        boolean needsTagJoin = filter.getTags() != null && !filter.getTags().isEmpty();
+        if (filter.getLimit() != null) {
+            sql.append(" LIMIT ?");
+            params.add(filter.getLimit());
+        }
 
-        if (needsTagJoin) {
-            sql.append("SELECT DISTINCT a.* FROM articles a ");
-            sql.append("JOIN article_tags at ON a.id = at.article_id ");
-            sql.append("JOIN tags t ON at.tag_id = t.id ");
-            sql.append("WHERE 1=1");
-        } else {
-            sql.append("SELECT * FROM articles WHERE 1=1");
+        if (filter.getOffset() != null) {
+            sql.append(" OFFSET ?");
+            params.add(filter.getOffset());
         }
 
-        if (filter.getSource() != null) {
-            if (needsTagJoin) {
-                sql.append(" AND a.source_name = ?");
-            } else {
-                sql.append(" AND source_name = ?");
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql.toString())) {
+            for (int i = 0; i < params.size(); i++) {
+                setParameter(stmt, i + 1, params.get(i));
+            }
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return ArticleResultSetMapper.mapRows(rs, connection);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error finding articles with filters", e);
+        }
+    }
+
+    @Override
+    public ArticlePage findArticlesPage(ArticleFilter filter) {
+        SortKey sortKey = SortKey.of(filter.getSortBy());
+        int limit = filter.getLimit() != null ? filter.getLimit() : 10;
+        String direction = filter.isAscending() ? ">" : "<";
+
+        StringBuilder sql = new StringBuilder("SELECT " + PREFIXED_ARTICLE_COLUMNS + ", " +
+                sortKey.expression + "::text AS sort_key FROM articles a WHERE 1=1");
+        List<Object> params = new ArrayList<>();
+        appendFilterConditions(filter, sql, params);
+
+        if (filter.getCursor() != null) {
+            PageCursor cursor = PageCursor.decode(filter.getCursor());
+            if (!cursor.sortBy().equals(sortKey.column) || cursor.ascending() != filter.isAscending()) {
+                throw new IllegalArgumentException("Cursor was created for a different sort order");
+            }
+            // row comparison, so the (sort key, id) index can seek straight to the position
+            sql.append(" AND (").append(sortKey.expression).append(", a.id) ").append(direction)
+                    .append(" (?::").append(sortKey.type).append(", ?)");
+            params.add(cursor.sortKey());
+            params.add(cursor.id());
+        }
+
+        appendOrderBy(filter, sql);
+        // one extra row tells whether there is a next page
+        sql.append(" LIMIT ?");
+        params.add(limit + 1);
+
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql.toString())) {
+            for (int i = 0; i < params.size(); i++) {
+                setParameter(stmt, i + 1, params.get(i));
+            }
+
+            List<Article> articles = new ArrayList<>();
+            String lastSortKey = null;
+            boolean hasMore = false;
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    if (articles.size() == limit) {
+                        hasMore = true;
+                        break;
+                    }
+                    articles.add(ArticleResultSetMapper.mapRow(rs, null));
+                    lastSortKey = rs.getString("sort_key");
+                }
+            }
+            ArticleResultSetMapper.loadTagsForArticles(articles, connection);
+
+            String nextCursor = hasMore
+                    ? new PageCursor(sortKey.column, filter.isAscending(), lastSortKey, articles.getLast().getId()).encode()
+                    : null;
+            return new ArticlePage(articles, nextCursor);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error finding articles page", e);
+        }
+    }
+
+    /**
+     * Sortable columns. NULLs are folded into a sentinel so the key is total and the
+     * expression indexes in init.sql cover both the ORDER BY and the cursor comparison.
+     */
+    private enum SortKey {
+        PUBLISHED_AT("published_at", "COALESCE(a.published_at, '-infinity'::timestamptz)", "timestamptz"),
+        TITLE("title", "COALESCE(a.title, '')", "text"),
+        SOURCE_NAME("source_name", "COALESCE(a.source_name, '')", "text"),
+        AUTHOR("author", "COALESCE(a.author, '')", "text");
+
+        private final String column;
+        private final String expression;
+        private final String type;
+
+        SortKey(String column, String expression, String type) {
+            this.column = column;
+            this.expression = expression;
+            this.type = type;
+        }
+
+        private static SortKey of(String column) {
+            for (SortKey key : values()) {
+                if (key.column.equals(column)) {
+                    return key;
+                }
             }
+            return PUBLISHED_AT;
+        }
+    }
+
+    private static void appendOrderBy(ArticleFilter filter, StringBuilder sql) {
+        String direction = filter.isAscending() ? " ASC" : " DESC";
+        sql.append(" ORDER BY ").append(SortKey.of(filter.getSortBy()).expression).append(direction)
+                .append(", a.id").append(direction);
+    }
+
+    private static void appendFilterConditions(ArticleFilter filter, StringBuilder sql, List<Object> params) {
+        if (filter.getSource() != null) {
+            sql.append(" AND a.source_name = ?");
             params.add(filter.getSource());
         }
 
         if (filter.getStatus() != null) {
-            if (needsTagJoin) {
-                sql.append(" AND a.status = ?");
-            } else {
-                sql.append(" AND status = ?");
-            }
+            sql.append(" AND a.status = ?");
             params.add(filter.getStatus().name());
         }
 
         if (filter.getLanguage() != null) {
-            if (needsTagJoin) {
-                sql.append(" AND a.language = ?");
-            } else {
-                sql.append(" AND language = ?");
-            }
+            sql.append(" AND a.language = ?");
             params.add(filter.getLanguage());
         }
 
         if (filter.getAuthor() != null) {
-            if (needsTagJoin) {
-                sql.append(" AND a.author = ?");
-            } else {
-                sql.append(" AND author = ?");
-            }
+            sql.append(" AND a.author = ?");
             params.add(filter.getAuthor());
         }
 
         if (filter.getPublishedAfter() != null) {
-            if (needsTagJoin) {
-                sql.append(" AND a.published_at >= ?");
-            } else {
-                sql.append(" AND published_at >= ?");
-            }
+            sql.append(" AND a.published_at >= ?");
             params.add(filter.getPublishedAfter());
         }
 
         if (filter.getPublishedBefore() != null) {
-            if (needsTagJoin) {
-                sql.append(" AND a.published_at <= ?");
-            } else {
-                sql.append(" AND published_at <= ?");
-            }
+            sql.append(" AND a.published_at <= ?");
             params.add(filter.getPublishedBefore());
         }
 
         if (filter.isTodayOnly()) {
             LocalDate today = LocalDate.now();
-            if (needsTagJoin) {
-                sql.append(" AND a.published_at BETWEEN ? AND ?");
-            } else {
-                sql.append(" AND published_at BETWEEN ? AND ?");
-            }
+            sql.append(" AND a.published_at BETWEEN ? AND ?");
             params.add(today.atStartOfDay());
             params.add(today.atTime(LocalTime.MAX));
         }
 
+        // EXISTS keeps one row per article without the DISTINCT sort over the join
         if (filter.getTags() != null && !filter.getTags().isEmpty()) {
-            sql.append(" AND t.name IN (");
+            sql.append(" AND EXISTS (SELECT 1 FROM article_tags at JOIN tags t ON at.tag_id = t.id " +
+                    "WHERE at.article_id = a.id AND t.name IN (");
             for (int i = 0; i < filter.getTags().size(); i++) {
                 sql.append(i > 0 ? ", ?" : "?");
                 params.add(filter.getTags().get(i));
             }
-            sql.append(")");
-        }
-
-        if (filter.getSortBy() != null) {
-            if (needsTagJoin) {
-                sql.append(" ORDER BY a.").append(filter.getSortBy());
-            } else {
-                sql.append(" ORDER BY ").append(filter.getSortBy());
-            }
-            sql.append(filter.isAscending() ? " ASC" : " DESC");
-        }
-
-        if (filter.getLimit() != null) {
-            sql.append(" LIMIT ?");
-            params.add(filter.getLimit());
-        }
-
-        if (filter.getOffset() != null) {
-            sql.append(" OFFSET ?");
-            params.add(filter.getOffset());
-        }
-
-        try (PreparedStatement stmt = connection.prepareStatement(sql.toString())) {
-            for (int i = 0; i < params.size(); i++) {
-                setParameter(stmt, i + 1, params.get(i));
-            }
-
-            try (ResultSet rs = stmt.executeQuery()) {
-                return ArticleResultSetMapper.mapRows(rs, connection);
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Error finding articles with filters", e);
+            sql.append("))");
         }
     }
 
     @Override
     public void deleteOlderThanDays(int days) {
         String sql = "DELETE FROM articles WHERE published_at < ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setObject(1, LocalDateTime.now().minusDays(days));
             stmt.executeUpdate();
         } catch (SQLException e) {
@@ -332,8 +621,9 @@ public class JdbcArticleRepository implements ArticleRepository {
 
     @Override
     public Optional<List<Article>> findBySubstrInContentAndTitle(String contentSubstr, String titleSubstr) {
-        String sql = "SELECT * FROM articles WHERE content ILIKE ? AND title ILIKE ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        String sql = "SELECT " + ARTICLE_COLUMNS + " FROM articles WHERE content ILIKE ? AND title ILIKE ?";
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, "%" + contentSubstr + "%");
             stmt.setString(2, "%" + titleSubstr + "%");
             try (ResultSet rs = stmt.executeQuery()) {
@@ -350,7 +640,7 @@ public class JdbcArticleRepository implements ArticleRepository {
         if (tagNames.isEmpty()) return Optional.of(List.of());
 
         StringBuilder sql = new StringBuilder();
-        sql.append("SELECT DISTINCT a.* FROM articles a ");
+        sql.append("SELECT DISTINCT " + PREFIXED_ARTICLE_COLUMNS + " FROM articles a ");
         sql.append("JOIN article_tags at ON a.id = at.article_id ");
         sql.append("JOIN tags t ON at.tag_id = t.id ");
         sql.append("WHERE t.name IN (");
@@ -360,7 +650,8 @@ public class JdbcArticleRepository implements ArticleRepository {
         }
         sql.append(")");
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql.toString())) {
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql.toString())) {
             for (int i = 0; i < tagNames.size(); i++) {
                 stmt.setString(i + 1, tagNames.get(i));
             }
@@ -377,7 +668,7 @@ public class JdbcArticleRepository implements ArticleRepository {
     @Override
     public Optional<List<Article>> findBySubstrInContentAndTitleAndTags(String contentSubstr, String titleSubstr, List<String> tagNames) {
         StringBuilder sql = new StringBuilder();
-        sql.append("SELECT DISTINCT a.* FROM articles a ");
+        sql.append("SELECT DISTINCT " + PREFIXED_ARTICLE_COLUMNS + " FROM articles a ");
         sql.append("JOIN article_tags at ON a.id = at.article_id ");
         sql.append("JOIN tags t ON at.tag_id = t.id ");
         sql.append("WHERE a.content ILIKE ? AND a.title ILIKE ? AND t.name IN (");
@@ -387,7 +678,8 @@ public class JdbcArticleRepository implements ArticleRepository {
         }
         sql.append(")");
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql.toString())) {
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql.toString())) {
             stmt.setString(1, "%" + contentSubstr + "%");
             stmt.setString(2, "%" + titleSubstr + "%");
 
@@ -407,7 +699,7 @@ public class JdbcArticleRepository implements ArticleRepository {
     @Override
     public Optional<List<Article>> findBySubstrInContentAndTags(String contentSubstr, List<String> tagNames) {
         StringBuilder sql = new StringBuilder();
-        sql.append("SELECT DISTINCT a.* FROM articles a ");
+        sql.append("SELECT DISTINCT " + PREFIXED_ARTICLE_COLUMNS + " FROM articles a ");
         sql.append("JOIN article_tags at ON a.id = at.article_id ");
         sql.append("JOIN tags t ON at.tag_id = t.id ");
         sql.append("WHERE a.content ILIKE ? AND t.name IN (");
@@ -417,7 +709,8 @@ public class JdbcArticleRepository implements ArticleRepository {
         }
         sql.append(")");
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql.toString())) {
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql.toString())) {
             stmt.setString(1, "%" + contentSubstr + "%");
 
             for (int i = 0; i < tagNames.size(); i++) {
@@ -436,7 +729,7 @@ public class JdbcArticleRepository implements ArticleRepository {
     @Override
     public Optional<List<Article>> findBySubstrInTitleAndTags(String titleSubstr, List<String> tagNames) {
         StringBuilder sql = new StringBuilder();
-        sql.append("SELECT DISTINCT a.* FROM articles a ");
+        sql.append("SELECT DISTINCT " + PREFIXED_ARTICLE_COLUMNS + " FROM articles a ");
         sql.append("JOIN article_tags at ON a.id = at.article_id ");
         sql.append("JOIN tags t ON at.tag_id = t.id ");
         sql.append("WHERE a.title ILIKE ? AND t.name IN (");
@@ -446,7 +739,8 @@ public class JdbcArticleRepository implements ArticleRepository {
         }
         sql.append(")");
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql.toString())) {
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql.toString())) {
             stmt.setString(1, "%" + titleSubstr + "%");
 
             for (int i = 0; i < tagNames.size(); i++) {
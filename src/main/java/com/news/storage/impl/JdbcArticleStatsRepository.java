@@ -1,6 +1,7 @@
 package com.news.storage.impl;
 
 import com.news.model.ArticleStatus;
+import com.news.storage.ConnectionProvider;
 import com.news.storage.inter.ArticleStatsRepository;
 
 import java.sql.*;
@@ -8,16 +9,19 @@ import java.time.LocalDateTime;
 import java.util.*;
 
 public class JdbcArticleStatsRepository implements ArticleStatsRepository {
-    private final Connection connection;
+    static final String[] DATE_PERIODS = {"Today", "This Week", "This Month", "This Year", "Older"};
 
-    public JdbcArticleStatsRepository(Connection connection) {
-        this.connection = connection;
+    private final ConnectionProvider connectionProvider;
+
+    public JdbcArticleStatsRepository(ConnectionProvider connectionProvider) {
+        this.connectionProvider = connectionProvider;
     }
 
     @Override
     public long countAllArticles() {
         String sql = "SELECT COUNT(*) FROM articles";
-        try (PreparedStatement stmt = connection.prepareStatement(sql);
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             if (rs.next()) {
                 return rs.getLong(1);
@@ -31,7 +35,8 @@ public class JdbcArticleStatsRepository implements ArticleStatsRepository {
     @Override
     public long countByStatus(ArticleStatus status) {
         String sql = "SELECT COUNT(*) FROM articles WHERE status = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, status.name());
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
@@ -49,7 +54,8 @@ public class JdbcArticleStatsRepository implements ArticleStatsRepository {
         String sql = "SELECT source_name, COUNT(*) as count FROM articles WHERE source_name IS NOT NULL GROUP BY source_name ORDER BY count DESC";
         Map<String, Long> sourceCounts = new LinkedHashMap<>();
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql);
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             while (rs.next()) {
                 sourceCounts.put(rs.getString("source_name"), rs.getLong("count"));
@@ -66,7 +72,8 @@ public class JdbcArticleStatsRepository implements ArticleStatsRepository {
         String sql = "SELECT language, COUNT(*) as count FROM articles WHERE language IS NOT NULL GROUP BY language ORDER BY count DESC";
         Map<String, Long> languageCounts = new LinkedHashMap<>();
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql);
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             while (rs.next()) {
                 languageCounts.put(rs.getString("language"), rs.getLong("count"));
@@ -88,7 +95,8 @@ public class JdbcArticleStatsRepository implements ArticleStatsRepository {
 
         Map<String, Map<String, Long>> sourceStatusCounts = new LinkedHashMap<>();
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql);
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             while (rs.next()) {
                 String source = rs.getString("source_name");
@@ -107,66 +115,23 @@ public class JdbcArticleStatsRepository implements ArticleStatsRepository {
 
     @Override
     public Map<String, Long> getDateRangeStats() {
-        String sql = """
-                SELECT 
-                    CASE 
-                        WHEN published_at >= NOW() - INTERVAL '1 day' THEN 'Today'
-                        WHEN published_at >= NOW() - INTERVAL '7 days' THEN 'This Week'
-                        WHEN published_at >= NOW() - INTERVAL '30 days' THEN 'This Month'
-                        WHEN published_at >= NOW() - INTERVAL '365 days' THEN 'This Year'
-                        ELSE 'Older'
-                    END as time_period,
-                    COUNT(*) as count
-                FROM articles 
-                WHERE published_at IS NOT NULL
-                GROUP BY 
-                    CASE 
-                        WHEN published_at >= NOW() - INTERVAL '1 day' THEN 'Today'
-                        WHEN published_at >= NOW() - INTERVAL '7 days' THEN 'This Week'
-                        WHEN published_at >= NOW() - INTERVAL '30 days' THEN 'This Month'
-                        WHEN published_at >= NOW() - INTERVAL '365 days' THEN 'This Year'
-                        ELSE 'Older'
-                    END
-                ORDER BY 
-                    CASE 
-                        WHEN CASE 
-                            WHEN published_at >= NOW() - INTERVAL '1 day' THEN 'Today'
-                            WHEN published_at >= NOW() - INTERVAL '7 days' THEN 'This Week'
-                            WHEN published_at >= NOW() - INTERVAL '30 days' THEN 'This Month'
-                            WHEN published_at >= NOW() - INTERVAL '365 days' THEN 'This Year'
-                            ELSE 'Older'
-                        END = 'Today' THEN 1
-                        WHEN CASE 
-                            WHEN published_at >= NOW() - INTERVAL '1 day' THEN 'Today'
-                            WHEN published_at >= NOW() - INTERVAL '7 days' THEN 'This Week'
-                            WHEN published_at >= NOW() - INTERVAL '30 days' THEN 'This Month'
-                            WHEN published_at >= NOW() - INTERVAL '365 days' THEN 'This Year'
-                            ELSE 'Older'
-                        END = 'This Week' THEN 2
-                        WHEN CASE 
-                            WHEN published_at >= NOW() - INTERVAL '1 day' THEN 'Today'
-                            WHEN published_at >= NOW() - INTERVAL '7 days' THEN 'This Week'
-                            WHEN published_at >= NOW() - INTERVAL '30 days' THEN 'This Month'
-                            WHEN published_at >= NOW() - INTERVAL '365 days' THEN 'This Year'
-                            ELSE 'Older'
-                        END = 'This Month' THEN 3
-                        WHEN CASE 
-                            WHEN published_at >= NOW() - INTERVAL '1 day' THEN 'Today'
-                            WHEN published_at >= NOW() - INTERVAL '7 days' THEN 'This Week'
-                            WHEN published_at >= NOW() - INTERVAL '30 days' THEN 'This Month'
-                            WHEN published_at >= NOW() - INTERVAL '365 days' THEN 'This Year'
-                            ELSE 'Older'
-                        END = 'This Year' THEN 4
-                        ELSE 5
-                    END
-                """;
+        // buckets are numbered so they sort in order and the CASE is written once
+        String sql = "SELECT CASE " +
+                "WHEN published_at >= NOW() - INTERVAL '1 day' THEN 0 " +
+                "WHEN published_at >= NOW() - INTERVAL '7 days' THEN 1 " +
+                "WHEN published_at >= NOW() - INTERVAL '30 days' THEN 2 " +
+                "WHEN published_at >= NOW() - INTERVAL '365 days' THEN 3 " +
+                "ELSE 4 END AS bucket, COUNT(*) AS count " +
+                "FROM articles WHERE published_at IS NOT NULL " +
+                "GROUP BY bucket ORDER BY bucket";
 
         Map<String, Long> dateStats = new LinkedHashMap<>();
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql);
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             while (rs.next()) {
-                dateStats.put(rs.getString("time_period"), rs.getLong("count"));
+                dateStats.put(DATE_PERIODS[rs.getInt("bucket")], rs.getLong("count"));
             }
         } catch (SQLException e) {
             throw new RuntimeException("Error getting date range statistics", e);
@@ -180,7 +145,8 @@ public class JdbcArticleStatsRepository implements ArticleStatsRepository {
         String sql = "SELECT author, COUNT(*) as count FROM articles WHERE author IS NOT NULL GROUP BY author ORDER BY count DESC LIMIT ?";
         List<String> topAuthors = new ArrayList<>();
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, limit);
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
@@ -205,7 +171,8 @@ public class JdbcArticleStatsRepository implements ArticleStatsRepository {
 
         Map<String, Long> topTags = new LinkedHashMap<>();
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, limit);
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
@@ -229,7 +196,8 @@ public class JdbcArticleStatsRepository implements ArticleStatsRepository {
 
         List<String> topRatedArticles = new ArrayList<>();
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, limit);
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
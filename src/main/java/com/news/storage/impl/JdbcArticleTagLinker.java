@@ -1,25 +1,56 @@
 package com.news.storage.impl;
 
+import com.news.storage.ConnectionProvider;
 import com.news.storage.inter.ArticleTagLinker;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 public class JdbcArticleTagLinker implements ArticleTagLinker {
-    private final Connection connection;
+    private final ConnectionProvider connectionProvider;
 
-    public JdbcArticleTagLinker(Connection connection) {
-        this.connection = connection;
+    public JdbcArticleTagLinker(ConnectionProvider connectionProvider) {
+        this.connectionProvider = connectionProvider;
     }
 
     @Override
     public void linkArticleTags(long articleId, int tagId) throws SQLException {
-        try (PreparedStatement ps = connection.prepareStatement(
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement ps = connection.prepareStatement(
                 "INSERT INTO article_tags (article_id, tag_id) VALUES (?, ?) ON CONFLICT DO NOTHING")) {
             ps.setLong(1, articleId);
             ps.setInt(2, tagId);
             ps.executeUpdate();
         }
     }
+
+    @Override
+    public void linkArticleTags(Map<Long, ? extends Collection<Integer>> tagIdsByArticle) throws SQLException {
+        List<Long> articleIds = new ArrayList<>();
+        List<Integer> tagIds = new ArrayList<>();
+        tagIdsByArticle.forEach((articleId, ids) -> {
+            for (Integer tagId : ids) {
+                articleIds.add(articleId);
+                tagIds.add(tagId);
+            }
+        });
+
+        if (articleIds.isEmpty()) {
+            return;
+        }
+
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement ps = connection.prepareStatement(
+                "INSERT INTO article_tags (article_id, tag_id) " +
+                        "SELECT * FROM unnest(?::bigint[], ?::int[]) ON CONFLICT DO NOTHING")) {
+            ps.setArray(1, connection.createArrayOf("int8", articleIds.toArray()));
+            ps.setArray(2, connection.createArrayOf("int4", tagIds.toArray()));
+            ps.executeUpdate();
+        }
+    }
 }
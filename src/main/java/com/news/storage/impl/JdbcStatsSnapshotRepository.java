@@ -0,0 +1,185 @@
+package com.news.storage.impl;
+
+import com.news.model.ArticleStatus;
+import com.news.storage.ConnectionProvider;
+import com.news.storage.inter.ArticleStatsRepository;
+
+import java.sql.*;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Statistics read from the materialized views in init.sql instead of the articles table, so
+ * every query scans a few thousand pre-aggregated rows at most. The views are refreshed
+ * concurrently (readers are never blocked) after cron runs, on demand, or when the snapshot
+ * is older than the allowed age. Date buckets are day-granular.
+ */
+public class JdbcStatsSnapshotRepository implements ArticleStatsRepository {
+    private static final List<String> VIEWS = List.of("article_counts_mv", "author_counts_mv", "tag_counts_mv");
+
+    private final ConnectionProvider connectionProvider;
+    // top rated articles come from an index-backed LIMIT query, so they stay live
+    private final ArticleStatsRepository live;
+
+    public JdbcStatsSnapshotRepository(ConnectionProvider connectionProvider, ArticleStatsRepository live) {
+        this.connectionProvider = connectionProvider;
+        this.live = live;
+    }
+
+    public void refresh() {
+        try (Connection connection = connectionProvider.getConnection();
+             Statement stmt = connection.createStatement()) {
+            for (String view : VIEWS) {
+                stmt.execute("REFRESH MATERIALIZED VIEW CONCURRENTLY " + view);
+            }
+            stmt.executeUpdate("INSERT INTO stats_snapshot (id, refreshed_at) VALUES (1, NOW()) " +
+                    "ON CONFLICT (id) DO UPDATE SET refreshed_at = EXCLUDED.refreshed_at");
+        } catch (SQLException e) {
+            throw new RuntimeException("Error refreshing statistics snapshot", e);
+        }
+    }
+
+    /**
+     * @return true if the snapshot was stale and has been refreshed
+     */
+    public boolean refreshIfOlderThan(Duration maxAge) {
+        Optional<LocalDateTime> refreshedAt = getRefreshedAt();
+        if (refreshedAt.isPresent() && refreshedAt.get().isAfter(LocalDateTime.now().minus(maxAge))) {
+            return false;
+        }
+        refresh();
+        return true;
+    }
+
+    public Optional<LocalDateTime> getRefreshedAt() {
+        String sql = "SELECT refreshed_at FROM stats_snapshot WHERE id = 1";
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            if (rs.next() && rs.getTimestamp("refreshed_at") != null) {
+                return Optional.of(rs.getTimestamp("refreshed_at").toLocalDateTime());
+            }
+            return Optional.empty();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error reading statistics snapshot time", e);
+        }
+    }
+
+    @Override
+    public long countAllArticles() {
+        return querySum("SELECT COALESCE(SUM(count), 0) FROM article_counts_mv", null);
+    }
+
+    @Override
+    public long countByStatus(ArticleStatus status) {
+        return querySum("SELECT COALESCE(SUM(count), 0) FROM article_counts_mv WHERE status = ?", status.name());
+    }
+
+    @Override
+    public Map<String, Long> countBySource() {
+        return queryCounts("SELECT source_name AS name, SUM(count) AS count FROM article_counts_mv " +
+                "WHERE source_name IS NOT NULL GROUP BY source_name ORDER BY count DESC", null);
+    }
+
+    @Override
+    public Map<String, Long> countByLanguage() {
+        return queryCounts("SELECT language AS name, SUM(count) AS count FROM article_counts_mv " +
+                "WHERE language IS NOT NULL GROUP BY language ORDER BY count DESC", null);
+    }
+
+    @Override
+    public Map<String, Map<String, Long>> countBySourceAndStatus() {
+        String sql = "SELECT source_name, status, SUM(count) AS count FROM article_counts_mv " +
+                "WHERE source_name IS NOT NULL GROUP BY source_name, status ORDER BY source_name, status";
+        Map<String, Map<String, Long>> sourceStatusCounts = new LinkedHashMap<>();
+
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                sourceStatusCounts.computeIfAbsent(rs.getString("source_name"), k -> new LinkedHashMap<>())
+                        .put(rs.getString("status"), rs.getLong("count"));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error counting articles by source and status", e);
+        }
+
+        return sourceStatusCounts;
+    }
+
+    @Override
+    public Map<String, Long> getDateRangeStats() {
+        String sql = "SELECT CASE " +
+                "WHEN published_day >= (NOW() - INTERVAL '1 day')::date THEN 0 " +
+                "WHEN published_day >= (NOW() - INTERVAL '7 days')::date THEN 1 " +
+                "WHEN published_day >= (NOW() - INTERVAL '30 days')::date THEN 2 " +
+                "WHEN published_day >= (NOW() - INTERVAL '365 days')::date THEN 3 " +
+                "ELSE 4 END AS bucket, SUM(count) AS count " +
+                "FROM article_counts_mv WHERE published_day IS NOT NULL " +
+                "GROUP BY bucket ORDER BY bucket";
+        Map<String, Long> dateStats = new LinkedHashMap<>();
+
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                dateStats.put(JdbcArticleStatsRepository.DATE_PERIODS[rs.getInt("bucket")], rs.getLong("count"));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error getting date range statistics", e);
+        }
+
+        return dateStats;
+    }
+
+    @Override
+    public List<String> getTopAuthors(int limit) {
+        List<String> topAuthors = new ArrayList<>();
+        queryCounts("SELECT author AS name, count FROM author_counts_mv ORDER BY count DESC LIMIT ?", limit)
+                .forEach((author, count) -> topAuthors.add(author + " (" + count + " articles)"));
+        return topAuthors;
+    }
+
+    @Override
+    public Map<String, Long> getTopTags(int limit) {
+        return queryCounts("SELECT name, count FROM tag_counts_mv ORDER BY count DESC LIMIT ?", limit);
+    }
+
+    @Override
+    public List<String> getTopRatedArticles(int limit) {
+        return live.getTopRatedArticles(limit);
+    }
+
+    private long querySum(String sql, Object param) {
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            if (param != null) {
+                stmt.setObject(1, param);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error reading statistics snapshot", e);
+        }
+    }
+
+    private Map<String, Long> queryCounts(String sql, Object param) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            if (param != null) {
+                stmt.setObject(1, param);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    counts.put(rs.getString("name"), rs.getLong("count"));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error reading statistics snapshot", e);
+        }
+        return counts;
+    }
+}
@@ -1,5 +1,6 @@
 package com.news.storage.impl;
 
+import com.news.storage.ConnectionProvider;
 import com.news.storage.inter.TagRepository;
 
 import java.sql.Connection;
@@ -7,19 +8,23 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 public class JdbcTagRepository implements TagRepository {
-    private final Connection connection;
+    private final ConnectionProvider connectionProvider;
 
-    public JdbcTagRepository(Connection connection) {
-        this.connection = connection;
+    public JdbcTagRepository(ConnectionProvider connectionProvider) {
+        this.connectionProvider = connectionProvider;
     }
 
     @Override
     public int getOrCreateTagId(String tagName) throws SQLException {
-        try (PreparedStatement ps = connection.prepareStatement("SELECT id FROM tags WHERE name = ?")) {
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement ps = connection.prepareStatement("SELECT id FROM tags WHERE name = ?")) {
             ps.setString(1, tagName);
             ResultSet rs = ps.executeQuery();
             if (rs.next()) {
@@ -27,13 +32,58 @@ public class JdbcTagRepository implements TagRepository {
             }
         }
 
-        try (PreparedStatement ps = connection.prepareStatement("INSERT INTO tags (name) VALUES (?) RETURNING id")) {
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement ps = connection.prepareStatement("INSERT INTO tags (name) VALUES (?) RETURNING id")) {
             ps.setString(1, tagName);
             ResultSet rs = ps.executeQuery();
             return rs.next() ? rs.getInt("id") : -1;
         }
     }
 
+    @Override
+    public Map<String, Integer> getOrCreateTagIds(Collection<String> tagNames) throws SQLException {
+        Map<String, Integer> idsByName = new HashMap<>();
+        if (tagNames.isEmpty()) {
+            return idsByName;
+        }
+
+        // rows inserted by the CTE are invisible to the join, so both branches together cover every name
+        // that existed or was inserted here; a name another transaction inserted concurrently is
+        // in neither (the conflict skips it, the join's snapshot predates it) and is read again below
+        String sql = "WITH input AS (SELECT DISTINCT unnest(?::text[]) AS name), " +
+                "inserted AS (INSERT INTO tags (name) SELECT name FROM input ON CONFLICT (name) DO NOTHING RETURNING id, name) " +
+                "SELECT id, name FROM inserted " +
+                "UNION ALL " +
+                "SELECT t.id, t.name FROM tags t JOIN input i ON t.name = i.name";
+
+        try (Connection connection = connectionProvider.getConnection()) {
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                ps.setArray(1, connection.createArrayOf("text", tagNames.toArray()));
+                readIds(ps, idsByName);
+            }
+
+            List<String> missing = tagNames.stream()
+                    .filter(name -> !idsByName.containsKey(name))
+                    .distinct()
+                    .toList();
+            if (!missing.isEmpty()) {
+                try (PreparedStatement ps = connection.prepareStatement("SELECT id, name FROM tags WHERE name = ANY(?::text[])")) {
+                    ps.setArray(1, connection.createArrayOf("text", missing.toArray()));
+                    readIds(ps, idsByName);
+                }
+            }
+        }
+        return idsByName;
+    }
+
+    private static void readIds(PreparedStatement ps, Map<String, Integer> idsByName) throws SQLException {
+        try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                idsByName.put(rs.getString("name"), rs.getInt("id"));
+            }
+        }
+    }
+
     public static List<String> parseTags(String tagsCommaSeparated) {
         if (tagsCommaSeparated == null || tagsCommaSeparated.isEmpty()) return List.of();
         return Arrays.stream(tagsCommaSeparated.split(","))
@@ -2,14 +2,22 @@ package com.news.storage.inter;
 
 import com.news.model.Article;
 import com.news.model.ArticleFilter;
+import com.news.model.ArticlePage;
 import com.news.model.ArticleStatus;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface ArticleRepository {
     void save(Article article);
 
+    Map<String, Long> upsertAll(List<Article> articles);
+
     void deleteById(Long id);
 
     Optional<Article> findByUrl(String url);
@@ -18,20 +26,63 @@ public interface ArticleRepository {
 
     Optional<Long> findIdByUrl(String url);
 
+    /**
+     * @return the subset of the given urls that are already stored, found with one query
+     */
+    Set<String> findExistingUrls(Collection<String> urls);
+
+    /**
+     * Passes every stored url to the action, reading fetchSize rows at a time
+     */
+    void forEachUrl(int fetchSize, Consumer<String> action);
+
     List<Article> findAll();
 
+    /**
+     * Lazily reads every article in id order through a server-side cursor, fetchSize rows at
+     * a time. The stream holds a database connection until it is closed.
+     */
+    Stream<Article> streamAll(int fetchSize);
+
+    /**
+     * Cursor-backed like {@link #streamAll}; must be closed
+     */
+    Stream<Article> streamByStatus(ArticleStatus status, int fetchSize);
+
+    /**
+     * Passes every article to the action in id order; only one fetched batch is in memory
+     */
+    default void forEachArticle(int fetchSize, Consumer<Article> action) {
+        try (Stream<Article> articles = streamAll(fetchSize)) {
+            articles.forEach(action);
+        }
+    }
+
     List<Article> findByStatus(ArticleStatus status);
 
     void update(Article article);
 
     List<Article> findArticlesWithFilters(ArticleFilter filter);
 
+    /**
+     * Keyset pagination: seeks past the filter's cursor on (sort key, id) instead of skipping
+     * rows, so every page costs the same
+     *
+     * @throws IllegalArgumentException if the cursor is malformed or belongs to another sort
+     */
+    ArticlePage findArticlesPage(ArticleFilter filter);
+
     void deleteOlderThanDays(int days);
 
     Optional<List<Article>> findBySubstrInTitle(String substr);
 
     Optional<List<Article>> findBySubstrInContent(String substr);
 
+    /**
+     * Ranked full-text search over title and content, best matches first
+     */
+    List<Article> fullTextSearch(String query, int limit, int offset);
+
     Optional<List<Article>> findByTags(List<String> tagNames);
 
     Optional<List<Article>> findBySubstrInContentAndTitle(String contentSubstring, String titleSubstring);
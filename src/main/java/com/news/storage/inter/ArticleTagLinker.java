@@ -1,7 +1,11 @@
 package com.news.storage.inter;
 
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Map;
 
 public interface ArticleTagLinker {
     void linkArticleTags(long articleId, int tagId) throws SQLException;
+
+    void linkArticleTags(Map<Long, ? extends Collection<Integer>> tagIdsByArticle) throws SQLException;
 }
@@ -1,7 +1,11 @@
 package com.news.storage.inter;
 
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Map;
 
 public interface TagRepository {
     int getOrCreateTagId(String tagName) throws SQLException;
+
+    Map<String, Integer> getOrCreateTagIds(Collection<String> tagNames) throws SQLException;
 }
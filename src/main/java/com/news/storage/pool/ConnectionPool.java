@@ -0,0 +1,282 @@
+package com.news.storage.pool;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded JDBC connection pool. Callers borrow a connection per unit of work and give it
+ * back by closing it; the returned object is a proxy whose {@code close()} hands the
+ * physical connection back to the pool instead of closing it.
+ */
+public class ConnectionPool implements AutoCloseable {
+    private static final Duration VALIDATION_INTERVAL = Duration.ofSeconds(30);
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final ConnectionFactory factory;
+    private final int maxSize;
+    private final int minIdle;
+    private final Duration idleTimeout;
+    private final Duration borrowTimeout;
+
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Semaphore permits;
+    private final ScheduledExecutorService evictor;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong destroyedCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong validationFailures = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection create() throws SQLException;
+    }
+
+    public ConnectionPool(ConnectionFactory factory, int maxSize, int minIdle,
+                          Duration idleTimeout, Duration borrowTimeout) throws SQLException {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Pool size must be positive, got " + maxSize);
+        }
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.minIdle = Math.min(Math.max(minIdle, 0), maxSize);
+        this.idleTimeout = idleTimeout;
+        this.borrowTimeout = borrowTimeout;
+        this.permits = new Semaphore(maxSize, true);
+
+        for (int i = 0; i < this.minIdle; i++) {
+            idle.offerFirst(createPooled());
+        }
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "db-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, idleTimeout.toSeconds() / 2);
+        evictor.scheduleAtFixedRate(this::evictIdle, period, period, TimeUnit.SECONDS);
+    }
+
+    public Connection borrow() throws SQLException {
+        if (closed.get()) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        long start = System.nanoTime();
+        waiting.incrementAndGet();
+        try {
+            if (!permits.tryAcquire(borrowTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                timeoutCount.incrementAndGet();
+                throw new SQLException("Timed out after " + borrowTimeout.toMillis() +
+                        "ms waiting for a database connection (pool size " + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        } finally {
+            waiting.decrementAndGet();
+            totalWaitNanos.addAndGet(System.nanoTime() - start);
+        }
+
+        try {
+            PooledConnection pooled = takeValidIdle();
+            if (pooled == null) {
+                pooled = createPooled();
+            }
+            borrowCount.incrementAndGet();
+            return pooled.lease();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public PoolStats stats() {
+        int idleCount = idle.size();
+        int totalCount = total.get();
+        long borrows = borrowCount.get();
+        return new PoolStats(
+                maxSize,
+                totalCount,
+                totalCount - idleCount,
+                idleCount,
+                waiting.get(),
+                borrows,
+                createdCount.get(),
+                destroyedCount.get(),
+                timeoutCount.get(),
+                validationFailures.get(),
+                borrows == 0 ? 0.0 : totalWaitNanos.get() / 1_000_000.0 / borrows
+        );
+    }
+
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        evictor.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            destroy(pooled);
+        }
+    }
+
+    /**
+     * Wraps a connection so that {@code close()} is a no-op. Used to hand a connection
+     * that belongs to an enclosing transaction to code that closes what it borrows.
+     */
+    public static Connection unclosable(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                ConnectionPool.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close")) {
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    private PooledConnection takeValidIdle() {
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            if (pooled.idleFor().compareTo(VALIDATION_INTERVAL) < 0 || isValid(pooled)) {
+                return pooled;
+            }
+            validationFailures.incrementAndGet();
+            destroy(pooled);
+        }
+        return null;
+    }
+
+    private boolean isValid(PooledConnection pooled) {
+        try {
+            return pooled.physical.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private PooledConnection createPooled() throws SQLException {
+        Connection physical = factory.create();
+        total.incrementAndGet();
+        createdCount.incrementAndGet();
+        return new PooledConnection(physical);
+    }
+
+    private void release(PooledConnection pooled, boolean broken) {
+        try {
+            if (closed.get() || broken || pooled.physical.isClosed()) {
+                destroy(pooled);
+                return;
+            }
+            if (!pooled.physical.getAutoCommit()) {
+                pooled.physical.rollback();
+                pooled.physical.setAutoCommit(true);
+            }
+            pooled.lastUsed = System.nanoTime();
+            // most recently used first, so the tail of the deque is what goes idle
+            idle.offerFirst(pooled);
+        } catch (SQLException e) {
+            destroy(pooled);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void destroy(PooledConnection pooled) {
+        total.decrementAndGet();
+        destroyedCount.incrementAndGet();
+        try {
+            pooled.physical.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    private void evictIdle() {
+        List<PooledConnection> expired = new ArrayList<>();
+        for (PooledConnection pooled : idle) {
+            if (idle.size() - expired.size() <= minIdle) {
+                break;
+            }
+            if (pooled.idleFor().compareTo(idleTimeout) >= 0) {
+                expired.add(pooled);
+            }
+        }
+        for (PooledConnection pooled : expired) {
+            if (idle.remove(pooled)) {
+                destroy(pooled);
+            }
+        }
+    }
+
+    private final class PooledConnection {
+        private final Connection physical;
+        private volatile long lastUsed = System.nanoTime();
+
+        private PooledConnection(Connection physical) {
+            this.physical = physical;
+        }
+
+        private Duration idleFor() {
+            return Duration.ofNanos(System.nanoTime() - lastUsed);
+        }
+
+        private Connection lease() {
+            AtomicBoolean returned = new AtomicBoolean(false);
+            AtomicBoolean broken = new AtomicBoolean(false);
+            return (Connection) Proxy.newProxyInstance(
+                    ConnectionPool.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "close" -> {
+                                if (returned.compareAndSet(false, true)) {
+                                    release(this, broken.get());
+                                }
+                                return null;
+                            }
+                            case "isClosed" -> {
+                                return returned.get() || physical.isClosed();
+                            }
+                            case "toString", "hashCode", "equals" -> {
+                            }
+                            default -> {
+                                if (returned.get()) {
+                                    throw new SQLException("Connection has already been returned to the pool");
+                                }
+                            }
+                        }
+                        try {
+                            return method.invoke(physical, args);
+                        } catch (InvocationTargetException e) {
+                            // connection-level failures (08xxx) mean the socket is gone
+                            if (e.getCause() instanceof SQLException sqlEx
+                                    && sqlEx.getSQLState() != null && sqlEx.getSQLState().startsWith("08")) {
+                                broken.set(true);
+                            }
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.news.storage.pool;
+
+public record PoolStats(int maxSize,
+                        int total,
+                        int active,
+                        int idle,
+                        int waiting,
+                        long borrowCount,
+                        long createdCount,
+                        long destroyedCount,
+                        long timeoutCount,
+                        long validationFailures,
+                        double averageWaitMs) {
+}
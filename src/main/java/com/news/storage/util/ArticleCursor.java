@@ -0,0 +1,60 @@
+package com.news.storage.util;
+
+import com.news.model.Article;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Walks a forward-only article result set in batches of the fetch size, loading the tags of
+ * each batch with one query. Only the current batch is held in memory.
+ */
+public class ArticleCursor extends Spliterators.AbstractSpliterator<Article> {
+    private final ResultSet rs;
+    private final Connection connection;
+    private final int batchSize;
+    private final Deque<Article> buffer = new ArrayDeque<>();
+    private boolean exhausted;
+
+    public ArticleCursor(ResultSet rs, Connection connection, int batchSize) {
+        super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+        this.rs = rs;
+        this.connection = connection;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Article> action) {
+        if (buffer.isEmpty() && !exhausted) {
+            fill();
+        }
+        Article next = buffer.pollFirst();
+        if (next == null) {
+            return false;
+        }
+        action.accept(next);
+        return true;
+    }
+
+    private void fill() {
+        try {
+            List<Article> batch = new ArrayList<>(batchSize);
+            while (batch.size() < batchSize && rs.next()) {
+                batch.add(ArticleResultSetMapper.mapRow(rs, null));
+            }
+            exhausted = batch.size() < batchSize;
+            ArticleResultSetMapper.loadTagsForArticles(batch, connection);
+            buffer.addAll(batch);
+        } catch (SQLException e) {
+            throw new StorageException("Error reading articles from cursor", e);
+        }
+    }
+}
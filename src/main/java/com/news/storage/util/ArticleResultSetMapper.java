@@ -8,7 +8,9 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class ArticleResultSetMapper {
 
@@ -36,14 +38,53 @@ public class ArticleResultSetMapper {
         return builder.build();
     }
 
+    /**
+     * Maps the whole result set first and then fetches tags for all rows in a single
+     * query, instead of one tag lookup per row.
+     */
     public static List<Article> mapRows(ResultSet rs, Connection connection) throws SQLException {
         List<Article> articles = new ArrayList<>();
         while (rs.next()) {
-            articles.add(mapRow(rs, connection));
+            articles.add(mapRow(rs, null));
+        }
+
+        if (connection != null) {
+            loadTagsForArticles(articles, connection);
         }
         return articles;
     }
 
+    public static void loadTagsForArticles(List<Article> articles, Connection connection) throws SQLException {
+        if (articles.isEmpty()) {
+            return;
+        }
+
+        Map<Long, List<String>> tagsById = new HashMap<>();
+        for (Article article : articles) {
+            tagsById.put(article.getId(), new ArrayList<>());
+        }
+
+        String sql = "SELECT at.article_id, t.name FROM article_tags at " +
+                "JOIN tags t ON t.id = at.tag_id " +
+                "WHERE at.article_id = ANY(?)";
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setArray(1, connection.createArrayOf("int8", tagsById.keySet().toArray()));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    List<String> tags = tagsById.get(rs.getLong("article_id"));
+                    if (tags != null) {
+                        tags.add(rs.getString("name"));
+                    }
+                }
+            }
+        }
+
+        for (Article article : articles) {
+            article.setTags(tagsById.get(article.getId()));
+        }
+    }
+
     private static List<String> loadTagsForArticle(Long articleId, Connection connection) throws SQLException {
         List<String> tags = new ArrayList<>();
         String sql = "SELECT t.name FROM tags t " +
@@ -0,0 +1,97 @@
+package com.news.ai;
+
+import com.news.ai.client.OllamaRequestScheduler;
+import com.news.model.Article;
+import com.news.model.ArticleStatus;
+import com.news.storage.DatabaseService;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AIAnalysisServiceTest {
+
+    private static List<Article> articles(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> Article.builder()
+                        .title("article " + i)
+                        .content("content " + i)
+                        .status(ArticleStatus.ENRICHED)
+                        .build())
+                .toList();
+    }
+
+    @Test
+    void analyzesArticlesConcurrentlyUpToTheLimit() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        ArticleAnalyzer slowAnalyzer = article -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            running.decrementAndGet();
+            return EnrichmentResult.builder().summary("summary").build();
+        };
+        DatabaseService databaseService = mock(DatabaseService.class);
+        AIAnalysisService service = new AIAnalysisService(databaseService, slowAnalyzer, 3);
+        List<Article> articles = articles(12);
+
+        int analyzed = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> service.analyzeArticles(articles));
+
+        assertEquals(12, analyzed);
+        assertEquals(3, peak.get());
+        assertTrue(articles.stream().allMatch(article -> article.getStatus() == ArticleStatus.ANALYZED));
+        verify(databaseService, times(12)).saveArticle(any());
+    }
+
+    @Test
+    void submitCompletesPerArticle() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ArticleAnalyzer analyzer = article -> {
+            if (article.getTitle().equals("article 0")) {
+                release.await();
+            }
+            return EnrichmentResult.builder().rating(50).build();
+        };
+        AIAnalysisService service = new AIAnalysisService(mock(DatabaseService.class), analyzer, 2);
+        List<Article> articles = articles(2);
+
+        CompletableFuture<Boolean> blocked = service.submit(articles.get(0));
+        CompletableFuture<Boolean> quick = service.submit(articles.get(1));
+
+        assertTrue(quick.get(5, TimeUnit.SECONDS));
+        assertFalse(blocked.isDone());
+        release.countDown();
+        assertTrue(blocked.get(5, TimeUnit.SECONDS));
+        assertEquals(50, articles.get(0).getRating());
+    }
+
+    @Test
+    void schedulerBoundsRequestsInFlight() throws Exception {
+        OllamaRequestScheduler scheduler = new OllamaRequestScheduler(2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 10; i++) {
+                executor.submit(() -> scheduler.submit(() -> {
+                    peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    Thread.sleep(20);
+                    return running.decrementAndGet();
+                }));
+            }
+        }
+
+        assertEquals(2, peak.get());
+    }
+}
@@ -0,0 +1,44 @@
+package com.news.ai.client;
+
+import com.news.ai.EnrichmentResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OllamaClientTest {
+
+    @Test
+    void parsesAllFieldsOfCombinedResponse() {
+        EnrichmentResult result = OllamaClient.parseCombinedResponse("""
+                {"summary": " Short summary. ", "region": "Tokyo", "tags": ["AI", " ", "Japan"], "rating": 72}
+                """);
+
+        assertEquals("Short summary.", result.getSummary());
+        assertEquals("Tokyo", result.getRegion());
+        assertEquals(List.of("AI", "Japan"), result.getTags());
+        assertEquals(72, result.getRating());
+    }
+
+    @Test
+    void leavesMissingOrMalformedFieldsNullForFallback() {
+        EnrichmentResult result = OllamaClient.parseCombinedResponse("""
+                {"summary": "", "tags": "economy, markets", "rating": "high"}
+                """);
+
+        assertNull(result.getSummary());
+        assertNull(result.getRegion());
+        assertEquals(List.of("economy", "markets"), result.getTags());
+        assertNull(result.getRating());
+    }
+
+    @Test
+    void nonJsonResponseYieldsEmptyResult() {
+        EnrichmentResult result = OllamaClient.parseCombinedResponse("I cannot answer that");
+
+        assertNull(result.getSummary());
+        assertNull(result.getTags());
+        assertNull(result.getRating());
+    }
+}
@@ -0,0 +1,114 @@
+package com.news.executor.impl.manip;
+
+import com.news.executor.CommandParser;
+import com.news.model.Article;
+import com.news.storage.DatabaseService;
+import com.news.storage.inter.ArticleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SearchCommandTest {
+
+    @Mock
+    private DatabaseService databaseService;
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    private SearchCommand command;
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    private PrintStream originalOut;
+    private PrintStream originalErr;
+
+    @BeforeEach
+    void setUp() {
+        when(databaseService.getArticleRepository()).thenReturn(articleRepository);
+        command = new SearchCommand(databaseService);
+        originalOut = System.out;
+        originalErr = System.err;
+        System.setOut(new PrintStream(output));
+        System.setErr(new PrintStream(output));
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.setOut(originalOut);
+        System.setErr(originalErr);
+    }
+
+    @Test
+    void fullTextQueryJoinsWordsAndAsksForOneExtraRow() {
+        when(articleRepository.fullTextSearch("energy prices", 3, 20)).thenReturn(articles(3));
+
+        command.execute(CommandParser.parse("search --query energy prices --limit 2 --offset 20"));
+
+        assertTrue(output.toString().contains("Found 2 articles"));
+        assertTrue(output.toString().contains("More results: search --query \"energy prices\" --limit 2 --offset 22"));
+    }
+
+    @Test
+    void lastFullTextPageHasNoMoreResultsHint() {
+        when(articleRepository.fullTextSearch("energy", 11, 0)).thenReturn(articles(10));
+
+        command.execute(CommandParser.parse("search --query energy"));
+
+        assertTrue(output.toString().contains("Found 10 articles"));
+        assertFalse(output.toString().contains("More results"));
+    }
+
+    @Test
+    void zeroLimitFallsBackToTheDefault() {
+        when(articleRepository.fullTextSearch("energy", 11, 0)).thenReturn(List.of());
+
+        command.execute(CommandParser.parse("search --query energy --limit 0"));
+
+        assertTrue(output.toString().contains("Invalid limit value, must be at least 1"));
+        assertFalse(output.toString().contains("More results"));
+    }
+
+    @Test
+    void substringSearchesArePagedToo() {
+        when(articleRepository.findBySubstrInTitle("energy")).thenReturn(Optional.of(articles(5)));
+
+        command.execute(CommandParser.parse("search --title energy --limit 2 --offset 1"));
+
+        String printed = output.toString();
+        assertTrue(printed.contains("ID:     2"));
+        assertTrue(printed.contains("ID:     3"));
+        assertFalse(printed.contains("ID:     1\n"));
+        assertFalse(printed.contains("ID:     4"));
+        assertTrue(printed.contains("Showing 2 of 5 matches; use --offset 3 for more"));
+    }
+
+    @Test
+    void substringSearchesWithoutLimitShowEverything() {
+        when(articleRepository.findByTags(List.of("energy", "economy"))).thenReturn(Optional.of(articles(12)));
+
+        command.execute(CommandParser.parse("search --tags energy economy"));
+
+        assertTrue(output.toString().contains("Found 12 articles"));
+        assertFalse(output.toString().contains("Showing"));
+    }
+
+    private static List<Article> articles(int count) {
+        List<Article> articles = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            articles.add(Article.builder().id((long) i).title("Article " + i).build());
+        }
+        return articles;
+    }
+}
@@ -0,0 +1,89 @@
+package com.news.executor.impl.system.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.news.model.Article;
+import com.news.model.ArticleStatus;
+import com.news.model.ExportFormat;
+import com.news.storage.inter.ArticleRepository;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class ExportServiceTest {
+
+    private static ArticleRepository streamingRepository(int count) {
+        List<Article> articles = LongStream.rangeClosed(1, count)
+                .mapToObj(id -> Article.builder()
+                        .id(id)
+                        .title("Title, " + id)
+                        .url("http://example.com/" + id)
+                        .tags(List.of("tag" + id))
+                        .status(ArticleStatus.ENRICHED)
+                        .build())
+                .toList();
+        ArticleRepository repository = mock(ArticleRepository.class);
+        doAnswer(invocation -> {
+            Consumer<Article> action = invocation.getArgument(1);
+            articles.forEach(action);
+            return null;
+        }).when(repository).forEachArticle(anyInt(), any());
+        return repository;
+    }
+
+    @Test
+    void csvExportWritesHeaderOnceAndOneRowPerArticle() throws IOException {
+        ExportService service = new ExportService(streamingRepository(250));
+        StringWriter out = new StringWriter();
+
+        int exported = service.exportAll(ExportFormat.CSV, out);
+
+        String[] lines = out.toString().split("\n");
+        assertEquals(250, exported);
+        assertEquals(251, lines.length);
+        assertTrue(lines[0].startsWith("id,title,url"));
+        assertEquals("1,\"Title, 1\",http://example.com/1,,,,tag1,,,,,,ENRICHED,", lines[1]);
+    }
+
+    @Test
+    void jsonExportIsOneValidArray() throws IOException {
+        ExportService service = new ExportService(streamingRepository(3));
+        StringWriter out = new StringWriter();
+
+        service.exportAll(ExportFormat.JSON, out);
+
+        JsonNode root = new ObjectMapper().readTree(out.toString());
+        assertTrue(root.isArray());
+        assertEquals(3, root.size());
+        assertEquals("Title, 3", root.get(2).get("title").asText());
+    }
+
+    @Test
+    void emptyExportsAreStillCompleteDocuments() {
+        ExportService service = new ExportService(streamingRepository(0));
+
+        assertEquals("[ ]", service.exportAll(ExportFormat.JSON).trim().replaceAll("\\s+", " "));
+        assertTrue(service.exportAll(ExportFormat.HTML).endsWith("<p>No articles to display.</p></body></html>"));
+    }
+
+    @Test
+    void streamingAndListExportProduceTheSameHtml() {
+        ArticleRepository repository = streamingRepository(2);
+        List<Article> articles = new ArrayList<>();
+        repository.forEachArticle(10, articles::add);
+
+        String streamed = new ExportService(repository).exportAll(ExportFormat.HTML);
+
+        assertEquals(ExporterFactory.getExporter(ExportFormat.HTML).export(articles), streamed);
+    }
+}
@@ -0,0 +1,105 @@
+package com.news.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsRegistryTest {
+
+    interface Repository {
+        List<String> findAll();
+
+        void fail() throws IOException;
+    }
+
+    @Test
+    void sameNameAndLabelsReturnTheSameSeries() {
+        MetricsRegistry registry = new MetricsRegistry();
+
+        registry.counter("news_articles_parsed_total", "source", "BbcParser").add(3);
+        registry.counter("news_articles_parsed_total", "source", "BbcParser").increment();
+        registry.counter("news_articles_parsed_total", "source", "NhkParser").increment();
+
+        assertEquals(4, registry.counter("news_articles_parsed_total", "source", "BbcParser").get());
+        assertEquals(2, registry.snapshot().size());
+        assertThrows(IllegalArgumentException.class, () -> registry.timer("news_articles_parsed_total"));
+    }
+
+    @Test
+    void scrapeWritesPrometheusTextFormat() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("news_articles_analyzed_total").add(5);
+        Histogram histogram = registry.histogram("news_tokens", new double[]{10, 1}, "operation", "say \"hi\"");
+        histogram.observe(0.5);
+        histogram.observe(5);
+        histogram.observe(50);
+
+        String scrape = registry.scrape();
+
+        assertTrue(scrape.contains("# TYPE news_articles_analyzed_total counter\nnews_articles_analyzed_total 5\n"));
+        assertTrue(scrape.contains("# TYPE news_tokens histogram\n"));
+        assertTrue(scrape.contains("news_tokens_bucket{operation=\"say \\\"hi\\\"\",le=\"1\"} 1\n"));
+        assertTrue(scrape.contains("news_tokens_bucket{operation=\"say \\\"hi\\\"\",le=\"10\"} 2\n"));
+        assertTrue(scrape.contains("news_tokens_bucket{operation=\"say \\\"hi\\\"\",le=\"+Inf\"} 3\n"));
+        assertTrue(scrape.contains("news_tokens_sum{operation=\"say \\\"hi\\\"\"} 55.5\n"));
+        assertTrue(scrape.contains("news_tokens_count{operation=\"say \\\"hi\\\"\"} 3\n"));
+    }
+
+    @Test
+    void gaugesAreSampledOnReadAndRebound() {
+        MetricsRegistry registry = new MetricsRegistry();
+        int[] active = {2};
+        registry.gauge("news_db_pool_connections", () -> active[0], "state", "active");
+
+        active[0] = 5;
+        assertTrue(registry.scrape().contains("# TYPE news_db_pool_connections gauge\nnews_db_pool_connections{state=\"active\"} 5\n"));
+
+        registry.gauge("news_db_pool_connections", () -> 7, "state", "active");
+        assertEquals(7, registry.gauge("news_db_pool_connections", () -> 7, "state", "active").get());
+        assertEquals(1, registry.snapshot().size());
+    }
+
+    @Test
+    void quantileIsTheUpperBoundOfItsBucket() {
+        Histogram histogram = new MetricsRegistry().histogram("latency", new double[]{1, 2, 5});
+        for (int i = 0; i < 90; i++) {
+            histogram.observe(0.5);
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.observe(4);
+        }
+
+        assertEquals(1, histogram.quantile(0.5));
+        assertEquals(5, histogram.quantile(0.95));
+        assertEquals(0.85, histogram.mean(), 1e-9);
+    }
+
+    @Test
+    void timedProxyTimesEachMethodAndRethrowsTheOriginalException() {
+        MetricsRegistry registry = new MetricsRegistry();
+        Supplier<List<String>> rows = () -> List.of("a", "b");
+        Repository repository = TimedProxy.wrap(Repository.class, new Repository() {
+            @Override
+            public List<String> findAll() {
+                return rows.get();
+            }
+
+            @Override
+            public void fail() throws IOException {
+                throw new IOException("boom");
+            }
+        }, registry, "news_db_query_seconds", "repository", "article");
+
+        assertEquals(List.of("a", "b"), repository.findAll());
+        repository.findAll();
+        IOException thrown = assertThrows(IOException.class, repository::fail);
+        assertEquals("boom", thrown.getMessage());
+
+        assertEquals(2, registry.timer("news_db_query_seconds", "repository", "article", "method", "findAll").count());
+        assertEquals(1, registry.timer("news_db_query_seconds", "repository", "article", "method", "fail").count());
+    }
+}
@@ -0,0 +1,31 @@
+package com.news.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageCursorTest {
+
+    @Test
+    void roundTripsSortKeysWithArbitraryText() {
+        PageCursor cursor = new PageCursor("title", true, "Заголовок, with \u0000 separators|and=padding", 42);
+
+        String token = cursor.encode();
+
+        assertTrue(token.matches("[A-Za-z0-9_-]+"), "Token should be URL- and shell-safe");
+        assertEquals(cursor, PageCursor.decode(token));
+    }
+
+    @Test
+    void roundTripsTimestampKeys() {
+        PageCursor cursor = new PageCursor("published_at", false, "2025-05-01 10:15:30.123456+03", 7);
+
+        assertEquals(cursor, PageCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void rejectsTokensItDidNotProduce() {
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("not a cursor!"));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("aGVsbG8"));
+    }
+}
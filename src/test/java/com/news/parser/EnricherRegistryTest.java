@@ -0,0 +1,103 @@
+package com.news.parser;
+
+import com.news.model.Article;
+import com.news.parser.enriched.BBCArticleParser;
+import com.news.parser.enriched.KedrArticleParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnricherRegistryTest {
+
+    static class IndexedEnricher implements ArticleEnricher {
+        private final Set<String> hosts;
+        private final Set<String> sources;
+
+        IndexedEnricher(Set<String> hosts, Set<String> sources) {
+            this.hosts = hosts;
+            this.sources = sources;
+        }
+
+        @Override
+        public void enrich(Article article) {
+        }
+
+        @Override
+        public boolean supports(Article article) {
+            throw new AssertionError("indexed enrichers are not scanned");
+        }
+
+        @Override
+        public Set<String> supportedHosts() {
+            return hosts;
+        }
+
+        @Override
+        public Set<String> supportedSources() {
+            return sources;
+        }
+    }
+
+    static class ScannedEnricher implements ArticleEnricher {
+        @Override
+        public void enrich(Article article) {
+        }
+
+        @Override
+        public boolean supports(Article article) {
+            return article.getUrl().contains("/scanned/");
+        }
+    }
+
+    private static Article article(String url, String sourceName) {
+        return Article.builder().url(url).sourceName(sourceName).build();
+    }
+
+    @Test
+    void routesByHostIncludingSubdomains() {
+        ArticleEnricher example = new IndexedEnricher(Set.of("www.Example.com"), Set.of());
+        ArticleEnricher other = new IndexedEnricher(Set.of("other.org"), Set.of());
+        EnricherRegistry registry = new EnricherRegistry(List.of(example, other));
+
+        assertSame(example, registry.find(article("https://example.com/a", null)));
+        assertSame(example, registry.find(article("https://WWW.example.com/a", null)));
+        assertSame(example, registry.find(article("https://news.eu.example.com/a", null)));
+        assertSame(other, registry.find(article("http://other.org/b", null)));
+        assertNull(registry.find(article("https://notexample.com/a", null)));
+        assertNull(registry.find(article("not a url", null)));
+    }
+
+    @Test
+    void fallsBackToSourceNameThenToSupports() {
+        ArticleEnricher feed = new IndexedEnricher(Set.of("example.com"), Set.of("Example"));
+        ArticleEnricher scanned = new ScannedEnricher();
+        EnricherRegistry registry = new EnricherRegistry(List.of(scanned, feed));
+
+        assertSame(feed, registry.find(article("https://cdn.elsewhere.net/1", "example")));
+        assertSame(feed, registry.find(article("https://example.com/scanned/1", null)));
+        assertSame(scanned, registry.find(article("https://elsewhere.net/scanned/1", "unknown")));
+        assertNull(registry.find(article("https://elsewhere.net/1", null)));
+    }
+
+    @Test
+    void firstEnricherToClaimAHostKeepsIt() {
+        ArticleEnricher first = new IndexedEnricher(Set.of("example.com"), Set.of());
+        ArticleEnricher second = new IndexedEnricher(Set.of("example.com"), Set.of());
+
+        assertSame(first, new EnricherRegistry(List.of(first, second)).find(article("https://example.com/1", null)));
+    }
+
+    @Test
+    void builtInEnrichersAreIndexedAndShared() {
+        ParserRegistry parserRegistry = new ParserRegistry(List.of());
+        EnricherRegistry registry = parserRegistry.getEnricherRegistry();
+
+        assertInstanceOf(BBCArticleParser.class, registry.find(article("https://www.bbc.com/news/articles/c1", "BBC")));
+        assertInstanceOf(KedrArticleParser.class, registry.find(article("https://kedr.media/news/1", "kedr")));
+        assertSame(parserRegistry.getAllEnrichers(), parserRegistry.getAllEnrichers());
+        assertSame(registry, parserRegistry.getEnricherRegistry());
+    }
+}
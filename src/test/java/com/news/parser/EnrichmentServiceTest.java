@@ -5,8 +5,18 @@ import lombok.Getter;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -194,4 +204,165 @@ class EnrichmentServiceTest {
         assertTrue(article1.getTitle().contains("_enriched_"), "Article1 should be enriched");
         assertTrue(article2.getTitle().contains("_enriched_"), "Article2 should be enriched");
     }
-}
\ No newline at end of file
+
+    // Records how many enrich calls overlap, per host and overall
+    static class ConcurrencyTrackingEnricher implements ArticleEnricher {
+        private final long sleepMillis;
+        private final Map<String, AtomicInteger> activePerHost = new ConcurrentHashMap<>();
+        private final Map<String, AtomicInteger> maxPerHost = new ConcurrentHashMap<>();
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicInteger maxActive = new AtomicInteger();
+
+        ConcurrencyTrackingEnricher(long sleepMillis) {
+            this.sleepMillis = sleepMillis;
+        }
+
+        @Override
+        public boolean supports(Article article) {
+            return true;
+        }
+
+        @Override
+        public void enrich(Article article) throws IOException {
+            String host = URI.create(article.getUrl()).getHost();
+            int hostActive = activePerHost.computeIfAbsent(host, h -> new AtomicInteger()).incrementAndGet();
+            maxPerHost.computeIfAbsent(host, h -> new AtomicInteger()).accumulateAndGet(hostActive, Math::max);
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(sleepMillis);
+            } catch (InterruptedException e) {
+                throw new IOException("Interrupted", e);
+            } finally {
+                active.decrementAndGet();
+                activePerHost.get(host).decrementAndGet();
+            }
+            article.setTitle(article.getTitle() + "_enriched");
+        }
+    }
+
+    @Test
+    void perHostLimitIsRespectedWhileHostsRunInParallel() {
+        // Arrange
+        ConcurrencyTrackingEnricher enricher = new ConcurrencyTrackingEnricher(50);
+        EnrichmentService service = new EnrichmentService(List.of(enricher), 1, 10, Duration.ofSeconds(5));
+        List<Article> articles = new ArrayList<>();
+        for (String host : List.of("a.example", "b.example", "c.example")) {
+            for (int i = 0; i < 3; i++) {
+                Article article = new Article();
+                article.setTitle(host + i);
+                article.setUrl("http://" + host + "/" + i);
+                articles.add(article);
+            }
+        }
+
+        // Act
+        service.enrichAll(articles);
+
+        // Assert
+        assertTrue(articles.stream().allMatch(a -> a.getTitle().endsWith("_enriched")), "All articles should be enriched");
+        enricher.maxPerHost.values().forEach(max -> assertEquals(1, max.get(), "Only one request per host at a time"));
+        assertTrue(enricher.maxActive.get() > 1, "Different hosts should be enriched concurrently");
+    }
+
+    @Test
+    void globalLimitCapsRequestsInFlight() {
+        // Arrange
+        ConcurrencyTrackingEnricher enricher = new ConcurrencyTrackingEnricher(30);
+        EnrichmentService service = new EnrichmentService(List.of(enricher), 4, 2, Duration.ofSeconds(5));
+        List<Article> articles = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            articles.add(createTestArticle("Article" + i));
+        }
+
+        // Act
+        service.enrichAll(articles);
+
+        // Assert
+        assertTrue(enricher.maxActive.get() <= 2, "No more than two requests should be in flight");
+    }
+
+    @Test
+    void slowEnrichmentTimesOutAndLeavesArticleUnchanged() {
+        // Arrange
+        ConcurrencyTrackingEnricher enricher = new ConcurrencyTrackingEnricher(5_000);
+        EnrichmentService service = new EnrichmentService(List.of(enricher), 1, 1, Duration.ofMillis(100));
+        Article article = createTestArticle("Slow");
+
+        // Act
+        long start = System.nanoTime();
+        service.enrichAll(List.of(article));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert
+        assertTrue(elapsedMillis < 2_000, "enrichAll should not wait for the timed-out request");
+        assertEquals("Slow", article.getTitle(), "Timed-out article should remain unchanged");
+    }
+
+    @Test
+    void enricherIgnoringInterruptsCannotChangeATimedOutArticle() throws InterruptedException {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        ArticleEnricher stubborn = new ArticleEnricher() {
+            @Override
+            public boolean supports(Article article) {
+                return true;
+            }
+
+            @Override
+            public void enrich(Article article) {
+                boolean released = false;
+                while (!released) {
+                    try {
+                        released = release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException ignored) {
+                        // keeps going, like blocking I/O that can't be interrupted
+                    }
+                }
+                article.setTitle("Late");
+                article.getTags().add("late");
+                finished.countDown();
+            }
+        };
+        EnrichmentService service = new EnrichmentService(List.of(stubborn), 1, 1, Duration.ofMillis(100));
+        Article article = createTestArticle("Slow");
+        article.setTags(new ArrayList<>(List.of("kept")));
+
+        // Act
+        service.enrichAll(List.of(article));
+        release.countDown();
+
+        // Assert
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertEquals("Slow", article.getTitle(), "Timed-out article should remain unchanged");
+        assertEquals(List.of("kept"), article.getTags());
+    }
+
+    @Test
+    void streamedArticlesAreReadLazilyAndSavedInBatches() {
+        // Arrange
+        ConcurrencyTrackingEnricher enricher = new ConcurrencyTrackingEnricher(1);
+        EnrichmentService service = new EnrichmentService(List.of(enricher), 4, 4, Duration.ofSeconds(5));
+        AtomicInteger read = new AtomicInteger();
+        AtomicInteger maxReadAhead = new AtomicInteger();
+        AtomicInteger processed = new AtomicInteger();
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        Stream<Article> articles = IntStream.range(0, 250)
+                .mapToObj(i -> {
+                    maxReadAhead.accumulateAndGet(read.incrementAndGet() - processed.get(), Math::max);
+                    return createTestArticle("Article" + i);
+                });
+
+        // Act
+        int saved = service.enrichAll(articles, 100, batch -> {
+            processed.addAndGet(batch.size());
+            batchSizes.add(batch.size());
+            return batch.size();
+        });
+
+        // Assert
+        assertEquals(250, saved);
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 100), "Batches should not exceed the batch size");
+        assertTrue(maxReadAhead.get() <= 100 + 8 + 1, "Only a bounded window should be read ahead of the saved articles");
+    }
+}
@@ -4,8 +4,11 @@ import com.news.model.Article;
 import com.news.model.ArticleStatus;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -284,4 +287,103 @@ class ParserServiceTest {
         assertEquals("SingleArticle", result.get(0).getTitle());
         assertEquals("SingleSource", result.get(0).getSourceName());
     }
-}
\ No newline at end of file
+
+    // Parser that blocks until interrupted, like a hung browser session
+    static class HangingParser implements Parser {
+        private final CountDownLatch interrupted = new CountDownLatch(1);
+
+        @Override
+        public List<Article> fetchArticles() {
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return List.of();
+        }
+
+        @Override
+        public ArticleEnricher getEnricher() {
+            return null;
+        }
+    }
+
+    @Test
+    void collectAllArticlesParallelReturnsPartialResultsOnTimeout() throws InterruptedException {
+        TestParser fast = new TestParser(List.of(createTestArticle("Article1", "Source1")));
+        HangingParser hanging = new HangingParser();
+        ParserService service = new ParserService(List.of(hanging, fast), null, null, null, Duration.ofMillis(200));
+
+        List<Article> result = assertTimeoutPreemptively(Duration.ofSeconds(5), service::collectAllArticlesParallel);
+
+        assertEquals(1, result.size());
+        assertTrue(hanging.interrupted.await(5, TimeUnit.SECONDS), "Hung parser should be cancelled");
+    }
+
+    @Test
+    void collectAllArticlesParallelIsolatesFailingParser() {
+        Parser failing = new TestParser(List.of()) {
+            @Override
+            public List<Article> fetchArticles() {
+                throw new IllegalStateException("layout changed");
+            }
+        };
+        TestParser working = new TestParser(List.of(
+                createTestArticle("Article1", "Source1"),
+                createTestArticle("Article2", "Source1")
+        ));
+        ParserService service = new ParserService(List.of(failing, working), null);
+
+        assertEquals(2, service.collectAllArticlesParallel().size());
+    }
+
+    @Test
+    void collectAllArticlesParallelRedistributesUnusedShares() {
+        TestParser small = new TestParser(List.of(createTestArticle("Article1", "Source1")));
+        TestParser large = new TestParser(List.of(
+                createTestArticle("Article2", "Source2"),
+                createTestArticle("Article3", "Source2"),
+                createTestArticle("Article4", "Source2"),
+                createTestArticle("Article5", "Source2")
+        ));
+        ParserService service = new ParserService(List.of(small, large), 4);
+
+        List<Article> result = service.collectAllArticlesParallel();
+
+        assertEquals(4, result.size(), "Source2 should fill the share Source1 could not");
+        assertEquals(1, result.stream().filter(a -> a.getSourceName().equals("Source1")).count());
+    }
+
+    @Test
+    void collectAllArticlesParallelCancelsRemainingParsersOnceEveryShareIsFilled() throws InterruptedException {
+        TestParser first = new TestParser(List.of(createTestArticle("Article1", "Source1")));
+        TestParser second = new TestParser(List.of(createTestArticle("Article2", "Source2")));
+        HangingParser hanging = new HangingParser();
+        // limit 2 over three parsers: shares 1, 1, 0
+        ParserService service = new ParserService(List.of(first, second, hanging), 2, null, null, Duration.ofMinutes(1));
+
+        List<Article> result = assertTimeoutPreemptively(Duration.ofSeconds(5), service::collectAllArticlesParallel);
+
+        assertEquals(List.of("Source1", "Source2"), result.stream().map(Article::getSourceName).toList());
+        assertTrue(hanging.interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void collectAllArticlesParallelWaitsForOtherSharesWhenOneSourceCoversTheLimit() throws InterruptedException {
+        TestParser fast = new TestParser(List.of(
+                createTestArticle("Article1", "Source1"),
+                createTestArticle("Article2", "Source1")
+        ));
+        HangingParser hanging = new HangingParser();
+        ParserService service = new ParserService(List.of(hanging, fast), 2, null, null, Duration.ofMillis(500));
+
+        long start = System.nanoTime();
+        List<Article> result = assertTimeoutPreemptively(Duration.ofSeconds(5), service::collectAllArticlesParallel);
+
+        // not cancelled as soon as the fast source returned: the hanging one had a share too
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(500));
+        assertTrue(hanging.interrupted.await(5, TimeUnit.SECONDS));
+        // after the deadline the unfilled share goes to the source that has articles
+        assertEquals(2, result.size());
+    }
+}
@@ -0,0 +1,191 @@
+package com.news.parser.feed;
+
+import com.news.model.Article;
+import com.news.model.ArticleStatus;
+import org.jsoup.Jsoup;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeedParserTest {
+    private static final LocalDateTime CUTOFF = local("2025-06-10T12:00:00Z");
+
+    @Test
+    void readsRssItemsAfterTheCutoff() throws IOException {
+        String rss = """
+                <rss version="2.0" xmlns:dc="http://purl.org/dc/elements/1.1/"
+                     xmlns:media="http://search.yahoo.com/mrss/">
+                  <channel>
+                    <title>World</title>
+                    <link>https://www.example.com/world</link>
+                    <item>
+                      <title>Fresh</title>
+                      <link>https://www.example.com/world/1</link>
+                      <pubDate>Tue, 10 Jun 2025 18:00:00 +0300</pubDate>
+                      <dc:creator>Jane Smith</dc:creator>
+                      <media:content url="https://i.example.com/1.jpg" medium="image"/>
+                    </item>
+                    <item>
+                      <title>Stale</title>
+                      <link>https://www.example.com/world/0</link>
+                      <pubDate>Mon, 09 Jun 2025 18:00:00 GMT</pubDate>
+                    </item>
+                    <item>
+                      <title>Undated</title>
+                      <link>https://www.example.com/world/2</link>
+                    </item>
+                  </channel>
+                </rss>
+                """;
+
+        List<Article> articles = parser(SourceConfig.Type.RSS).parseFeed(stream(rss), CUTOFF);
+
+        assertEquals(1, articles.size());
+        Article article = articles.getFirst();
+        assertEquals("https://www.example.com/world/1", article.getUrl());
+        assertEquals("Fresh", article.getTitle());
+        assertEquals("Jane Smith", article.getAuthor());
+        assertEquals("https://i.example.com/1.jpg", article.getImageUrl());
+        assertEquals(local("2025-06-10T18:00:00+03:00"), article.getPublishedAt());
+        assertEquals("example", article.getSourceName());
+        assertEquals("eng", article.getLanguage());
+        assertEquals(ArticleStatus.RAW, article.getStatus());
+    }
+
+    @Test
+    void readsAtomEntries() throws IOException {
+        String atom = """
+                <feed xmlns="http://www.w3.org/2005/Atom">
+                  <link rel="self" href="https://www.example.com/feed.atom"/>
+                  <entry>
+                    <title>Updated only</title>
+                    <link rel="alternate" href="https://www.example.com/a/1"/>
+                    <updated>2025-06-10T15:00:00Z</updated>
+                    <author><name>John Doe</name></author>
+                  </entry>
+                  <entry>
+                    <title>Published</title>
+                    <link href="https://www.example.com/a/2"/>
+                    <published>2025-06-10T16:00:00+03:00</published>
+                    <updated>2025-06-11T10:00:00+03:00</updated>
+                  </entry>
+                </feed>
+                """;
+
+        List<Article> articles = parser(SourceConfig.Type.ATOM).parseFeed(stream(atom), CUTOFF);
+
+        assertEquals(List.of("https://www.example.com/a/1", "https://www.example.com/a/2"),
+                articles.stream().map(Article::getUrl).toList());
+        assertEquals("John Doe", articles.get(0).getAuthor());
+        assertEquals(local("2025-06-10T16:00:00+03:00"), articles.get(1).getPublishedAt());
+    }
+
+    @Test
+    void convertsDatesToLocalTimeAndReadsRfc822ZoneNames() {
+        LocalDateTime expected = local("2025-06-10T15:00:00Z");
+
+        assertEquals(expected, FeedParser.parseDate("Tue, 10 Jun 2025 15:00:00 GMT"));
+        assertEquals(expected, FeedParser.parseDate("Tue, 10 Jun 2025 15:00:00 UTC"));
+        assertEquals(expected, FeedParser.parseDate("Tue, 10 Jun 2025 10:00:00 EST"));
+        assertEquals(expected, FeedParser.parseDate("10 Jun 2025 08:00:00 PDT"));
+        assertEquals(expected, FeedParser.parseDate("2025-06-10T18:00:00+03:00"));
+        assertEquals(LocalDateTime.of(2025, 6, 10, 0, 0), FeedParser.parseDate("2025-06-10"));
+        assertNull(FeedParser.parseDate("yesterday"));
+    }
+
+    @Test
+    void stopsANewestFirstSitemapAtTheCutoff() throws IOException {
+        String sitemap = """
+                <urlset xmlns="http://www.sitemaps.org/schemas/sitemap/0.9">
+                  <url><loc>https://www.example.com/s/2</loc><lastmod>2025-06-10T18:00:00+03:00</lastmod></url>
+                  <url><loc>https://www.example.com/s/1</loc><lastmod>2025-06-09T18:00:00+03:00</lastmod></url>
+                  <url><loc>https://www.example.com/s/0</loc><lastmod>2025-06-10T17:00:00+03:00</lastmod></url>
+                </urlset>
+                """;
+        SourceConfig source = source(SourceConfig.Type.SITEMAP);
+
+        assertEquals(2, new FeedParser(source).parseFeed(stream(sitemap), CUTOFF).size());
+
+        source.setNewestFirst(true);
+        assertEquals(List.of("https://www.example.com/s/2"), new FeedParser(source).parseFeed(stream(sitemap), CUTOFF)
+                .stream().map(Article::getUrl).toList());
+    }
+
+    @Test
+    void enrichesWithSelectorsAndKeepsFeedValuesWhenNothingMatches() {
+        SourceConfig source = source(SourceConfig.Type.RSS);
+        source.getSelectors().setContent("div.body p");
+        SelectorArticleEnricher enricher = new SelectorArticleEnricher(source);
+        Article article = Article.builder()
+                .url("https://news.example.com/world/1")
+                .title("Feed title")
+                .author("Feed author")
+                .build();
+        String page = """
+                <html><head><meta property="og:image" content="https://i.example.com/og.jpg"></head>
+                <body><h1> Page title </h1><div class="body"><p>First.</p><p> </p><p>Second.</p></div></body></html>
+                """;
+
+        enricher.enrich(article, Jsoup.parse(page, article.getUrl()));
+
+        assertEquals("First.\nSecond.", article.getContent());
+        assertEquals("Page title", article.getTitle());
+        assertEquals("Feed author", article.getAuthor());
+        assertEquals("https://i.example.com/og.jpg", article.getImageUrl());
+        assertEquals(ArticleStatus.ENRICHED, article.getStatus());
+        assertTrue(enricher.supports(article));
+        assertFalse(enricher.supports(Article.builder().url("https://notexample.com/1").build()));
+    }
+
+    @Test
+    void articleWithoutContentIsNotMarkedEnriched() {
+        Article article = Article.builder()
+                .url("https://www.example.com/world/1")
+                .title("Feed title")
+                .status(ArticleStatus.RAW)
+                .build();
+        String page = "<html><body><h1>Page title</h1><p>Some text</p></body></html>";
+
+        // no content selector, like the meduza example
+        new SelectorArticleEnricher(source(SourceConfig.Type.RSS)).enrich(article, Jsoup.parse(page, article.getUrl()));
+        assertEquals(ArticleStatus.RAW, article.getStatus());
+        assertNull(article.getContent());
+
+        SourceConfig source = source(SourceConfig.Type.RSS);
+        source.getSelectors().setContent("div.body p");
+        new SelectorArticleEnricher(source).enrich(article, Jsoup.parse(page, article.getUrl()));
+        assertEquals(ArticleStatus.RAW, article.getStatus());
+        assertNull(article.getContent());
+    }
+
+    private static LocalDateTime local(String isoInstant) {
+        return OffsetDateTime.parse(isoInstant).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+    }
+
+    private static FeedParser parser(SourceConfig.Type type) {
+        return new FeedParser(source(type));
+    }
+
+    private static SourceConfig source(SourceConfig.Type type) {
+        SourceConfig source = new SourceConfig();
+        source.setName("example");
+        source.setType(type);
+        source.setUrl("https://feeds.example.com/world");
+        source.setHost("www.example.com");
+        source.setLanguage("eng");
+        return source;
+    }
+
+    private static InputStream stream(String xml) {
+        return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,70 @@
+package com.news.parser.feed;
+
+import com.news.parser.ParserRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SourceConfigLoaderTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void loadsValidSourcesAndSkipsBrokenOnes() throws IOException {
+        Path file = dir.resolve("sources.json");
+        Files.writeString(file, """
+                [
+                  {"name": "guardian", "type": "RSS", "url": "https://www.theguardian.com/world/rss",
+                   "language": "eng", "selectors": {"content": "div.body p"}, "comment": "ignored"},
+                  {"name": "maps", "type": "sitemap", "url": "https://example.com/news.xml", "newestFirst": true},
+                  {"name": "Guardian", "type": "atom", "url": "https://example.com/atom"},
+                  {"name": "nourl", "type": "rss"},
+                  {"name": "relative", "type": "rss", "url": "/feed"}
+                ]
+                """);
+
+        List<SourceConfig> sources = SourceConfigLoader.load(file);
+
+        assertEquals(List.of("guardian", "maps"), sources.stream().map(SourceConfig::getName).toList());
+        SourceConfig guardian = sources.getFirst();
+        assertEquals(SourceConfig.Type.RSS, guardian.getType());
+        assertEquals("theguardian.com", guardian.getHost());
+        assertEquals("div.body p", guardian.getSelectors().getContent());
+        assertEquals("h1", guardian.getSelectors().getTitle());
+        assertEquals(24, guardian.getMaxAgeHours());
+        assertTrue(sources.get(1).isNewestFirst());
+    }
+
+    @Test
+    void missingOrUnreadableFilesGiveNoSources() throws IOException {
+        assertEquals(List.of(), SourceConfigLoader.load(dir.resolve("absent.json")));
+
+        Path broken = Files.writeString(dir.resolve("broken.json"), "{not json");
+        assertEquals(List.of(), SourceConfigLoader.load(broken));
+    }
+
+    @Test
+    void registryServesConfiguredSourcesNextToBuiltInOnes() throws IOException {
+        Path file = Files.writeString(dir.resolve("sources.json"), """
+                [
+                  {"name": "guardian", "type": "rss", "url": "https://www.theguardian.com/world/rss"},
+                  {"name": "bbc", "type": "rss", "url": "https://feeds.bbci.co.uk/news/rss.xml"}
+                ]
+                """);
+
+        ParserRegistry registry = new ParserRegistry(SourceConfigLoader.load(file));
+
+        assertTrue(registry.getSourceNames().contains("guardian"));
+        assertEquals("guardian", registry.getParser("Guardian").getName());
+        assertFalse(registry.getParser("bbc") instanceof FeedParser);
+        assertEquals(7, registry.getAllParsers().size());
+        assertThrows(IllegalArgumentException.class, () -> registry.getParser("reuters"));
+    }
+}
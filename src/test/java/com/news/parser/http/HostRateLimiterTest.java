@@ -0,0 +1,91 @@
+package com.news.parser.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HostRateLimiterTest {
+
+    private static final URI PAGE = URI.create("https://www.example.com/news/1");
+
+    @Test
+    void pacesRequestsToTheConfiguredRate() throws IOException {
+        HostRateLimiter limiter = new HostRateLimiter(20, 1, host -> Optional.empty());
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire(PAGE);
+        }
+
+        // the first request is free, the other four wait 50ms each
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 180);
+    }
+
+    @Test
+    void throttlingHalvesTheRateAndSuccessWinsItBack() {
+        HostRateLimiter limiter = new HostRateLimiter(10, 4, host -> Optional.empty());
+
+        limiter.onResponse(PAGE, 429, null);
+        assertEquals(5, limiter.currentRate(PAGE), 1e-9);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.onResponse(PAGE, 200, null);
+        }
+        assertEquals(10, limiter.currentRate(PAGE), 1e-9);
+    }
+
+    @Test
+    void retryAfterPausesTheHost() throws IOException {
+        HostRateLimiter limiter = new HostRateLimiter(1000, 10, host -> Optional.empty());
+
+        limiter.onResponse(PAGE, 503, "1");
+        long start = System.nanoTime();
+        limiter.acquire(URI.create("https://example.com/other"));
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 900);
+    }
+
+    @Test
+    void crawlDelayCapsTheRate() {
+        HostRateLimiter limiter = new HostRateLimiter(10, 4,
+                host -> host.equals("example.com") ? Optional.of(Duration.ofMillis(500)) : Optional.empty());
+
+        assertEquals(2, limiter.currentRate(PAGE), 1e-9);
+        assertEquals(10, limiter.currentRate(URI.create("https://example.org/")), 1e-9);
+    }
+
+    @Test
+    void parsesRetryAfterSecondsAndDates() {
+        assertEquals(Duration.ofSeconds(120), HostRateLimiter.parseRetryAfter("120").orElseThrow());
+
+        String date = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(60));
+        Duration untilDate = HostRateLimiter.parseRetryAfter(date).orElseThrow();
+        assertTrue(untilDate.toSeconds() > 50 && untilDate.toSeconds() <= 60);
+
+        assertTrue(HostRateLimiter.parseRetryAfter("soon").isEmpty());
+    }
+
+    @Test
+    void readsCrawlDelayOfTheWildcardGroup() {
+        String robots = """
+                User-agent: Googlebot
+                Crawl-delay: 1
+
+                User-agent: Bingbot
+                User-agent: *
+                Disallow: /search # no search pages
+                Crawl-delay: 2.5
+                """;
+
+        assertEquals(Duration.ofMillis(2500), RobotsTxt.parseCrawlDelay(robots).orElseThrow());
+        assertTrue(RobotsTxt.parseCrawlDelay("User-agent: *\nDisallow: /private").isEmpty());
+    }
+}
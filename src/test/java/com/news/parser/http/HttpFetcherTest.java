@@ -0,0 +1,100 @@
+package com.news.parser.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpFetcherTest {
+
+    private static final HostRateLimiter UNLIMITED = new HostRateLimiter(1000, 1000, host -> Optional.empty());
+
+    private HttpServer server;
+    private String baseUrl;
+    private final AtomicInteger flakyCalls = new AtomicInteger();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/gzip", exchange -> {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write("<h1>Сжатый заголовок</h1>".getBytes(StandardCharsets.UTF_8));
+            }
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            exchange.getResponseHeaders().add("Content-Type", "text/html; charset=UTF-8");
+            respond(exchange, 200, compressed.toByteArray());
+        });
+        server.createContext("/flaky", exchange -> {
+            if (flakyCalls.incrementAndGet() < 3) {
+                respond(exchange, 503, new byte[0]);
+            } else {
+                respond(exchange, 200, "<p>ok</p>".getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        server.createContext("/large", exchange -> respond(exchange, 200, new byte[4096]));
+        server.createContext("/missing", exchange -> respond(exchange, 404, new byte[0]));
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    private HttpFetcher fetcher(int maxAttempts, long maxBodyBytes) {
+        return new HttpFetcher(HttpClient.newHttpClient(), UNLIMITED, 2, maxAttempts, Duration.ofMillis(1), maxBodyBytes);
+    }
+
+    @Test
+    void decompressesGzipAndHonoursCharset() throws IOException {
+        assertEquals("Сжатый заголовок", fetcher(1, 1 << 20).fetchDocument(baseUrl + "/gzip").selectFirst("h1").text());
+    }
+
+    @Test
+    void retriesTransientStatuses() throws IOException {
+        assertEquals("ok", fetcher(3, 1 << 20).fetchDocument(baseUrl + "/flaky").text());
+        assertEquals(3, flakyCalls.get());
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        assertThrows(IOException.class, () -> fetcher(2, 1 << 20).fetchDocument(baseUrl + "/flaky"));
+        assertEquals(2, flakyCalls.get());
+    }
+
+    @Test
+    void rejectsBodiesOverTheCap() {
+        assertThrows(IOException.class, () -> fetcher(3, 1024).fetch(baseUrl + "/large"));
+    }
+
+    @Test
+    void clientErrorsAreNotRetried() throws IOException {
+        HttpFetcher fetcher = fetcher(3, 1 << 20);
+
+        assertEquals(404, fetcher.fetch(baseUrl + "/missing").status());
+        assertThrows(IOException.class, () -> fetcher.fetchDocument(baseUrl + "/missing"));
+    }
+}
@@ -0,0 +1,229 @@
+package com.news.parser.util;
+
+import com.news.model.Article;
+import com.news.parser.ArticleEnricher;
+import com.news.parser.Parser;
+import com.news.parser.ParserService;
+import com.news.parser.http.HostRateLimiter;
+import com.news.parser.http.HttpFetcher;
+import com.sun.net.httpserver.HttpServer;
+import org.jsoup.nodes.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CrawlStateStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static final HostRateLimiter UNLIMITED = new HostRateLimiter(1000, 1000, host -> Optional.empty());
+
+    private final HttpFetcher fetcher = new HttpFetcher(HttpClient.newHttpClient(), UNLIMITED, 4, 1, Duration.ZERO, 1 << 20);
+    private HttpServer server;
+    private String url;
+    private final AtomicReference<String> body = new AtomicReference<>("<p>first</p>");
+    private final AtomicReference<String> etag = new AtomicReference<>("\"v1\"");
+    private final AtomicInteger notModified = new AtomicInteger();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/list", exchange -> {
+            String currentEtag = etag.get();
+            if (currentEtag != null && currentEtag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModified.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            byte[] bytes = body.get().getBytes(StandardCharsets.UTF_8);
+            if (currentEtag != null) {
+                exchange.getResponseHeaders().add("ETag", currentEtag);
+            }
+            exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/list";
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void skipsPageThatAnswersNotModified() throws IOException {
+        CrawlStateStore store = new CrawlStateStore(tempDir.resolve("state.json"), true, fetcher);
+
+        assertTrue(store.fetchIfChanged(url).isPresent());
+        store.advance(url, List.of());
+        assertTrue(store.fetchIfChanged(url).isEmpty());
+        assertEquals(1, notModified.get());
+
+        etag.set("\"v2\"");
+        body.set("<p>second</p>");
+        assertEquals("second", store.fetchIfChanged(url).orElseThrow().text());
+    }
+
+    @Test
+    void skipsIdenticalBodyWithoutValidators() throws IOException {
+        etag.set(null);
+        CrawlStateStore store = new CrawlStateStore(tempDir.resolve("state.json"), true, fetcher);
+
+        assertTrue(store.fetchIfChanged(url).isPresent());
+        store.advance(url, List.of());
+        assertTrue(store.fetchIfChanged(url).isEmpty());
+
+        body.set("<p>changed</p>");
+        assertTrue(store.fetchIfChanged(url).isPresent());
+    }
+
+    @Test
+    void statePersistsBetweenRuns() throws IOException {
+        Path file = tempDir.resolve("state.json");
+        LocalDateTime newest = LocalDateTime.of(2025, 6, 1, 12, 0);
+        CrawlStateStore first = new CrawlStateStore(file, true, fetcher);
+        List<Article> articles = List.of(
+                Article.builder().url("https://example.com/b").publishedAt(newest.minusHours(1)).build(),
+                Article.builder().url("https://example.com/a").publishedAt(newest).build());
+        first.fetchIfChanged(url);
+        first.advance(url, articles);
+        first.collected(articles);
+
+        CrawlStateStore second = new CrawlStateStore(file, true, fetcher);
+
+        assertEquals(newest, second.getWatermark(url));
+        assertEquals("https://example.com/b", second.getNewestUrl(url));
+        assertTrue(second.fetchIfChanged(url).isEmpty());
+    }
+
+    @Test
+    void listingTruncatedByALimitIsReturnedInFullByTheNextCrawl() {
+        LocalDateTime noon = LocalDateTime.of(2025, 6, 1, 12, 0);
+        body.set(listing(noon, 5));
+        Path file = tempDir.resolve("state.json");
+        CrawlStateStore store = new CrawlStateStore(file, true, fetcher);
+
+        // parse --limit 2 keeps the two newest; only those are saved
+        List<Article> kept = new ParserService(List.of(listingParser(store)), 2).collectAllArticles();
+        assertEquals(List.of("https://example.com/4", "https://example.com/3"), urls(kept));
+        store.collected(kept);
+
+        CrawlStateStore restarted = new CrawlStateStore(file, true, fetcher);
+        assertNull(restarted.getWatermark(url));
+        List<Article> next = new ParserService(List.of(listingParser(restarted)), null).collectAllArticles();
+        assertEquals(5, next.size());
+        assertEquals(0, notModified.get());
+
+        // once everything is stored the listing is skipped and the watermark is the newest article
+        restarted.collected(next);
+        assertEquals(noon.plusHours(4), restarted.getWatermark(url));
+        assertEquals("https://example.com/4", restarted.getNewestUrl(url));
+        assertTrue(new ParserService(List.of(listingParser(restarted)), null).collectAllArticles().isEmpty());
+        assertEquals(1, notModified.get());
+    }
+
+    @Test
+    void watermarkStopsBeforeTheOldestMissingArticle() {
+        LocalDateTime noon = LocalDateTime.of(2025, 6, 1, 12, 0);
+        body.set(listing(noon, 4));
+        CrawlStateStore store = new CrawlStateStore(tempDir.resolve("state.json"), true, fetcher);
+        List<Article> articles = listingParser(store).fetchArticles();
+
+        // the newest article failed to save, the older ones made it
+        store.collected(articles.subList(1, 4));
+
+        assertEquals(noon.plusHours(2), store.getWatermark(url));
+        assertEquals("https://example.com/2", store.getNewestUrl(url));
+        assertEquals(List.of("https://example.com/3", "https://example.com/2"), urls(listingParser(store).fetchArticles()));
+    }
+
+    /**
+     * Newest first, one article per hour from {@code first}
+     */
+    private static String listing(LocalDateTime first, int count) {
+        StringBuilder html = new StringBuilder();
+        for (int i = count - 1; i >= 0; i--) {
+            html.append("<a href=\"https://example.com/").append(i).append("\" data-published=\"")
+                    .append(first.plusHours(i)).append("\"></a>");
+        }
+        return html.toString();
+    }
+
+    /**
+     * Reads {@link #listing} pages the way the listing parsers do: conditional fetch, drop
+     * what is older than the watermark, register the rest
+     */
+    private Parser listingParser(CrawlStateStore store) {
+        return new Parser() {
+            @Override
+            public List<Article> fetchArticles() {
+                try {
+                    Optional<Document> page = store.fetchIfChanged(url);
+                    if (page.isEmpty()) {
+                        return List.of();
+                    }
+                    LocalDateTime watermark = store.getWatermark(url);
+                    List<Article> articles = page.get().select("a").stream()
+                            .map(link -> Article.builder()
+                                    .url(link.attr("href"))
+                                    .publishedAt(LocalDateTime.parse(link.attr("data-published")))
+                                    .build())
+                            .filter(article -> watermark == null || !article.getPublishedAt().isBefore(watermark))
+                            .toList();
+                    store.advance(url, articles);
+                    return articles;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public ArticleEnricher getEnricher() {
+                return null;
+            }
+        };
+    }
+
+    private static List<String> urls(List<Article> articles) {
+        return articles.stream().map(Article::getUrl).toList();
+    }
+
+    @Test
+    void replayRunsKeepTheirOwnStateFile() {
+        assertEquals("crawl-state.json", CrawlStateStore.defaultStateFile(null));
+        assertEquals("crawl-state.replay.json", CrawlStateStore.defaultStateFile("http://localhost:8089"));
+    }
+
+    @Test
+    void disabledStoreAlwaysFetches() throws IOException {
+        CrawlStateStore store = new CrawlStateStore(tempDir.resolve("state.json"), false, fetcher);
+
+        assertTrue(store.fetchIfChanged(url).isPresent());
+        assertTrue(store.fetchIfChanged(url).isPresent());
+        assertEquals(0, notModified.get());
+        assertNull(store.getWatermark(url));
+    }
+}
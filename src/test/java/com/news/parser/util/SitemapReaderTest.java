@@ -0,0 +1,104 @@
+package com.news.parser.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SitemapReaderTest {
+
+    private static final String NEWS_SITEMAP = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <urlset xmlns="http://www.sitemaps.org/schemas/sitemap/0.9"
+                    xmlns:news="http://www.google.com/schemas/sitemap-news/0.9"
+                    xmlns:image="http://www.google.com/schemas/sitemap-image/1.1">
+              <url>
+                <loc>https://www.kommersant.ru/doc/2</loc>
+                <news:news>
+                  <news:publication><news:name>Kommersant</news:name></news:publication>
+                  <news:publication_date>2025-06-10T18:00:00+03:00</news:publication_date>
+                  <news:title><![CDATA[Title & more]]></news:title>
+                </news:news>
+                <image:image><image:loc>https://im.kommersant.ru/2.jpg</image:loc></image:image>
+              </url>
+              <url>
+                <loc>https://www.kommersant.ru/doc/1</loc>
+                <lastmod>2025-06-10T17:00:00+03:00</lastmod>
+              </url>
+            </urlset>
+            """;
+
+    @Test
+    void readsUrlEntriesWithNewsAndImageExtensions() throws IOException {
+        List<SitemapReader.Entry> entries = new ArrayList<>();
+
+        int read = SitemapReader.read(stream(NEWS_SITEMAP), entries::add);
+
+        assertEquals(2, read);
+        assertEquals(new SitemapReader.Entry("https://www.kommersant.ru/doc/2", null,
+                "2025-06-10T18:00:00+03:00", "Title & more", "https://im.kommersant.ru/2.jpg"), entries.get(0));
+        assertEquals(new SitemapReader.Entry("https://www.kommersant.ru/doc/1", "2025-06-10T17:00:00+03:00",
+                null, null, null), entries.get(1));
+    }
+
+    @Test
+    void readsSitemapIndexes() throws IOException {
+        String index = """
+                <sitemapindex xmlns="http://www.sitemaps.org/schemas/sitemap/0.9">
+                  <sitemap><loc>https://example.com/a.xml</loc><lastmod>2025-06-10</lastmod></sitemap>
+                  <sitemap><loc>https://example.com/b.xml</loc></sitemap>
+                </sitemapindex>
+                """;
+        List<String> locs = new ArrayList<>();
+
+        SitemapReader.read(stream(index), entry -> locs.add(entry.loc()));
+
+        assertEquals(List.of("https://example.com/a.xml", "https://example.com/b.xml"), locs);
+    }
+
+    @Test
+    void stopsReadingWhenTheConsumerIsDone() throws IOException {
+        EndlessSitemap sitemap = new EndlessSitemap();
+
+        int read = SitemapReader.read(sitemap, entry -> !entry.loc().endsWith("/99"));
+
+        // an unbounded sitemap only works if nothing past the stop point is needed
+        assertEquals(100, read);
+        assertTrue(sitemap.served < 64 * 1024);
+    }
+
+    @Test
+    void rejectsMalformedXml() {
+        assertThrows(IOException.class, () -> SitemapReader.read(stream("<urlset><url><loc>x</url>"), entry -> true));
+    }
+
+    private static InputStream stream(String xml) {
+        return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * A sitemap that never ends
+     */
+    private static final class EndlessSitemap extends InputStream {
+        private byte[] chunk = "<urlset>".getBytes(StandardCharsets.UTF_8);
+        private int position;
+        private int next;
+        private long served;
+
+        @Override
+        public int read() {
+            if (position == chunk.length) {
+                chunk = ("<url><loc>https://example.com/" + next++ + "</loc></url>\n").getBytes(StandardCharsets.UTF_8);
+                position = 0;
+            }
+            served++;
+            return chunk[position++] & 0xff;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.news.parser.util;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class WebDriverPoolTest {
+
+    private final List<WebDriver> created = new ArrayList<>();
+
+    private WebDriver newDriver() {
+        WebDriver driver = mock(WebDriver.class);
+        WebDriver.TargetLocator locator = mock(WebDriver.TargetLocator.class);
+        when(driver.getWindowHandle()).thenReturn("tab");
+        when(driver.getWindowHandles()).thenReturn(Set.of("tab"));
+        when(driver.switchTo()).thenReturn(locator);
+        when(locator.window(anyString())).thenReturn(driver);
+        created.add(driver);
+        return driver;
+    }
+
+    @Test
+    void reusesDriverAndItsTabBetweenPages() throws IOException {
+        WebDriverPool pool = new WebDriverPool(this::newDriver, 2, 10);
+
+        WebDriver first = pool.execute((driver, wait) -> driver);
+        WebDriver second = pool.execute((driver, wait) -> driver);
+
+        assertSame(first, second);
+        assertEquals(1, created.size());
+        verify(first, times(2)).get("about:blank");
+        verify(first, never()).quit();
+    }
+
+    @Test
+    void recyclesDriverAfterMaxPages() throws IOException {
+        WebDriverPool pool = new WebDriverPool(this::newDriver, 1, 2);
+
+        for (int i = 0; i < 3; i++) {
+            pool.execute((driver, wait) -> null);
+        }
+
+        assertEquals(2, created.size());
+        verify(created.get(0)).quit();
+    }
+
+    @Test
+    void replacesDriverThatFailsHealthCheck() throws IOException {
+        WebDriverPool pool = new WebDriverPool(this::newDriver, 1, 10);
+        WebDriver first = pool.execute((driver, wait) -> driver);
+
+        when(first.switchTo()).thenThrow(new NoSuchSessionException("browser crashed"));
+        WebDriver second = pool.execute((driver, wait) -> driver);
+
+        assertNotSame(first, second);
+        verify(first).quit();
+    }
+
+    @Test
+    void taskFailureIsReportedAsIOExceptionAndDriverIsReturned() throws IOException {
+        WebDriverPool pool = new WebDriverPool(this::newDriver, 1, 10);
+
+        assertThrows(IOException.class, () -> pool.execute((driver, wait) -> {
+            throw new IllegalStateException("selector not found");
+        }));
+        pool.execute((driver, wait) -> null);
+
+        assertEquals(1, created.size());
+    }
+}
@@ -0,0 +1,157 @@
+package com.news.pipeline;
+
+import com.news.model.Article;
+import com.news.model.ArticleStatus;
+import com.news.parser.ArticleEnricher;
+import com.news.parser.EnrichmentService;
+import com.news.parser.Parser;
+import com.news.storage.DatabaseService;
+import com.news.storage.KnownUrls;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class ArticlePipelineTest {
+
+    private static Parser parser(String host, int count) {
+        List<Article> articles = IntStream.range(0, count)
+                .mapToObj(i -> Article.builder()
+                        .url("http://" + host + "/" + i)
+                        .title(host + i)
+                        .status(ArticleStatus.RAW)
+                        .build())
+                .toList();
+        return new Parser() {
+            @Override
+            public List<Article> fetchArticles() {
+                return articles;
+            }
+
+            @Override
+            public ArticleEnricher getEnricher() {
+                return null;
+            }
+        };
+    }
+
+    private static final ArticleEnricher MARK_ENRICHED = new ArticleEnricher() {
+        @Override
+        public void enrich(Article article) {
+            article.setContent("content of " + article.getTitle());
+            article.setStatus(ArticleStatus.ENRICHED);
+        }
+
+        @Override
+        public boolean supports(Article article) {
+            return true;
+        }
+    };
+
+    private static DatabaseService recordingDatabase(List<List<Article>> batches) {
+        DatabaseService databaseService = mock(DatabaseService.class);
+        when(databaseService.saveArticles(anyList())).thenAnswer(invocation -> {
+            List<Article> batch = new ArrayList<>(invocation.getArgument(0));
+            batches.add(batch);
+            return batch.size();
+        });
+        when(databaseService.getKnownUrls()).thenReturn(new KnownUrls(null, null, false));
+        return databaseService;
+    }
+
+    @Test
+    void everyFetchedArticleIsEnrichedAndSavedInBatches() {
+        List<List<Article>> batches = new CopyOnWriteArrayList<>();
+        ArticlePipeline pipeline = new ArticlePipeline.Builder()
+                .parsers(List.of(parser("a.example", 25), parser("b.example", 12)))
+                .enrichmentService(new EnrichmentService(List.of(MARK_ENRICHED), 4, 8, Duration.ofSeconds(5)))
+                .databaseService(recordingDatabase(batches))
+                .queueCapacity(5)
+                .enrichWorkers(3)
+                .saveBatchSize(10)
+                .build();
+
+        ArticlePipeline.Result result = pipeline.run();
+
+        assertEquals(new ArticlePipeline.Result(37, 0, 37, 0, 37), result);
+        assertTrue(batches.stream().allMatch(batch -> batch.size() <= 10));
+        List<Article> saved = batches.stream().flatMap(List::stream).toList();
+        assertEquals(37, saved.size());
+        assertTrue(saved.stream().allMatch(article -> article.getStatus() == ArticleStatus.ENRICHED));
+    }
+
+    @Test
+    void perSourceLimitAndStopRequestBoundWhatIsFetched() {
+        List<List<Article>> batches = new CopyOnWriteArrayList<>();
+        ArticlePipeline limited = new ArticlePipeline.Builder()
+                .parsers(List.of(parser("a.example", 25), parser("b.example", 12)))
+                .perSourceLimit(5)
+                .enrichmentService(new EnrichmentService(List.of(MARK_ENRICHED), 4, 8, Duration.ofSeconds(5)))
+                .databaseService(recordingDatabase(batches))
+                .build();
+        assertEquals(10, limited.run().saved());
+
+        ArticlePipeline stopped = new ArticlePipeline.Builder()
+                .parsers(List.of(parser("a.example", 25)))
+                .enrichmentService(new EnrichmentService(List.of(MARK_ENRICHED), 4, 8, Duration.ofSeconds(5)))
+                .databaseService(recordingDatabase(batches))
+                .stopRequested(() -> true)
+                .build();
+        assertEquals(new ArticlePipeline.Result(0, 0, 0, 0, 0), stopped.run());
+    }
+
+    @Test
+    void storedBacklogIsProcessedAlongWithFreshArticles() {
+        List<Article> raw = IntStream.range(0, 4)
+                .mapToObj(i -> Article.builder().id((long) i).url("http://old.example/" + i).status(ArticleStatus.RAW).build())
+                .toList();
+        Article enriched = Article.builder().id(9L).url("http://old.example/9").content("kept")
+                .status(ArticleStatus.ENRICHED).build();
+        AtomicBoolean closed = new AtomicBoolean();
+        List<List<Article>> batches = new CopyOnWriteArrayList<>();
+        ArticlePipeline pipeline = new ArticlePipeline.Builder()
+                .parsers(List.of(parser("a.example", 3)))
+                .backlog(() -> raw.stream().onClose(() -> closed.set(true)))
+                .backlog(() -> Stream.of(enriched))
+                .enrichmentService(new EnrichmentService(List.of(MARK_ENRICHED), 4, 8, Duration.ofSeconds(5)))
+                .databaseService(recordingDatabase(batches))
+                .build();
+
+        assertEquals(new ArticlePipeline.Result(3, 5, 7, 0, 8), pipeline.run());
+        assertTrue(closed.get());
+        assertEquals("kept", enriched.getContent());
+        assertTrue(raw.stream().allMatch(article -> article.getStatus() == ArticleStatus.ENRICHED));
+    }
+
+        @Test
+    void failingParserDoesNotStallThePipeline() {
+        Parser broken = new Parser() {
+            @Override
+            public List<Article> fetchArticles() {
+                throw new IllegalStateException("site is down");
+            }
+
+            @Override
+            public ArticleEnricher getEnricher() {
+                return null;
+            }
+        };
+        List<List<Article>> batches = new CopyOnWriteArrayList<>();
+        ArticlePipeline pipeline = new ArticlePipeline.Builder()
+                .parsers(List.of(broken, parser("a.example", 3)))
+                .enrichmentService(new EnrichmentService(List.of(MARK_ENRICHED), 4, 8, Duration.ofSeconds(5)))
+                .databaseService(recordingDatabase(batches))
+                .build();
+
+        assertEquals(3, assertTimeoutPreemptively(Duration.ofSeconds(10), pipeline::run).saved());
+    }
+}
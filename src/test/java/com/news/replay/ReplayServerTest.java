@@ -0,0 +1,88 @@
+package com.news.replay;
+
+import com.news.ai.EnrichmentResult;
+import com.news.ai.client.OllamaClient;
+import com.news.ai.client.OllamaRequestScheduler;
+import com.news.parser.http.HostRateLimiter;
+import com.news.parser.http.HttpFetcher;
+import org.jsoup.nodes.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayServerTest {
+
+    private static final HostRateLimiter UNLIMITED = new HostRateLimiter(1000, 1000, host -> Optional.empty());
+
+    @TempDir
+    Path snapshots;
+
+    @BeforeEach
+    void writeSnapshots() throws IOException {
+        Files.writeString(snapshots.resolve("routes.txt"), """
+                # listing first, articles after
+                www\\.example\\.com/list        list.html
+                www\\.example\\.com/a/.+        article.html
+                """);
+        Files.writeString(snapshots.resolve("list.html"),
+                "<ul>{{#items}}<li><a href=\"/a/{{id}}\" data-time=\"{{epochMillis}}\">{{i}}</a></li>{{/items}}</ul>");
+        Files.writeString(snapshots.resolve("article.html"), "<h1>Recorded article</h1>");
+    }
+
+    @Test
+    void servesListingsExpandedToTheConfiguredSizeUnderTheOriginalUrl() throws IOException {
+        try (ReplayServer replay = ReplayServer.builder().port(0).snapshotDir(snapshots).items(2500).build().start()) {
+            HttpFetcher fetcher = fetcherFor(replay);
+
+            Document listing = fetcher.fetchDocument("https://www.example.com/list");
+            Document article = fetcher.fetchDocument(listing.selectFirst("a").absUrl("href"));
+
+            assertEquals(2500, listing.select("li").size());
+            assertEquals(2500, listing.select("a").eachAttr("href").stream().distinct().count());
+            assertTrue(listing.selectFirst("a").absUrl("href").startsWith("https://www.example.com/a/"));
+            assertEquals("Recorded article", article.selectFirst("h1").text());
+            assertEquals(404, fetcher.fetch("https://www.example.com/unknown").status());
+        }
+    }
+
+    @Test
+    void injectsErrorsAtTheConfiguredRate() throws IOException {
+        try (ReplayServer replay = ReplayServer.builder().port(0).snapshotDir(snapshots).errorRate(1).build().start()) {
+            assertEquals(503, fetcherFor(replay).fetch("https://www.example.com/list").status());
+            assertEquals(1, replay.getFailed());
+        }
+    }
+
+    @Test
+    void answersOllamaRequestsWithCannedResults() throws Exception {
+        try (ReplayServer replay = ReplayServer.builder().port(0).snapshotDir(snapshots).build().start()) {
+            OllamaClient client = new OllamaClient("replay", new OllamaRequestScheduler(2),
+                    "http://localhost:" + replay.getPort());
+
+            EnrichmentResult result = client.analyzeCombined("Title", "Content",
+                    Set.of("summarization", "region_classification", "tag_generation", "evaluation"));
+
+            assertNotNull(result.getSummary());
+            assertEquals("East Asia", result.getRegion());
+            assertEquals(3, result.getTags().size());
+            assertEquals(72, result.getRating());
+            assertEquals(72, client.evaluateArticle("Title"));
+        }
+    }
+
+    private static HttpFetcher fetcherFor(ReplayServer replay) {
+        return new HttpFetcher(HttpClient.newHttpClient(), UNLIMITED, 4, 1, Duration.ofMillis(1), 10_000_000,
+                URI.create("http://localhost:" + replay.getPort()));
+    }
+}
@@ -0,0 +1,136 @@
+package com.news.search;
+
+import com.news.model.Article;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvertedIndexTest {
+
+    @TempDir
+    Path directory;
+
+    private static Article article(long id, String title, String content) {
+        return Article.builder()
+                .id(id)
+                .title(title)
+                .content(content)
+                .url("https://example.com/" + id)
+                .build();
+    }
+
+    @Test
+    void ranksTitleAndFrequentMatchesFirst() throws IOException {
+        try (InvertedIndex index = InvertedIndex.open(directory, 100)) {
+            index.index(article(1, "Weather report", "Rain expected over Moscow tomorrow"));
+            index.index(article(2, "Moscow exchange", "Moscow stocks rose. Moscow traders are optimistic"));
+            index.index(article(3, "Tokyo news", "Nothing about the capital of Russia"));
+
+            List<SearchHit> hits = index.search("moscow", 10);
+
+            assertEquals(2, hits.size());
+            assertEquals(2, hits.get(0).articleId());
+            assertEquals("Moscow exchange", hits.get(0).title());
+            assertEquals("https://example.com/2", hits.get(0).url());
+        }
+    }
+
+    @Test
+    void persistsSegmentsAcrossReopen() throws IOException {
+        try (InvertedIndex index = InvertedIndex.open(directory, 100)) {
+            index.index(article(1, "Санкции и рынки", "Ёлки и рынок акций"));
+        }
+
+        try (InvertedIndex reopened = InvertedIndex.open(directory, 100)) {
+            assertEquals(1, reopened.segmentCount());
+            List<SearchHit> hits = reopened.search("елки", 10);
+            assertEquals(1, hits.size());
+            assertEquals("Санкции и рынки", hits.get(0).title());
+        }
+    }
+
+    @Test
+    void reindexedArticleOnlyMatchesItsLatestVersion() throws IOException {
+        try (InvertedIndex index = InvertedIndex.open(directory, 1)) {
+            index.index(article(7, "Draft", "election results pending"));
+            index.index(article(7, "Final", "turnout figures published"));
+
+            assertTrue(index.search("election", 10).isEmpty());
+            assertEquals(List.of(7L), index.search("turnout", 10).stream().map(SearchHit::articleId).toList());
+        }
+    }
+
+    @Test
+    void mergeKeepsLatestVersionsAndDropsOldSegments() throws IOException {
+        try (InvertedIndex index = InvertedIndex.open(directory, 1)) {
+            for (long id = 1; id <= 5; id++) {
+                index.index(article(id, "Article " + id, "shared body text version one"));
+            }
+            index.index(article(3, "Article 3", "rewritten body"));
+
+            index.mergeSegments();
+
+            assertEquals(1, index.segmentCount());
+            assertEquals(4, index.search("version", 10).size());
+            assertEquals(3, index.search("rewritten", 10).get(0).articleId());
+        }
+    }
+
+    @Test
+    void deletedArticleStaysHiddenAfterReopenAndIsDroppedByMerge() throws IOException {
+        try (InvertedIndex index = InvertedIndex.open(directory, 1)) {
+            index.index(article(1, "Budget", "parliament budget vote"));
+            index.index(article(2, "Budget again", "budget amendments"));
+            index.delete(1);
+
+            assertFalse(index.contains(1));
+            assertEquals(List.of(2L), index.search("budget", 10).stream().map(SearchHit::articleId).toList());
+        }
+
+        try (InvertedIndex reopened = InvertedIndex.open(directory, 1)) {
+            assertTrue(reopened.search("parliament", 10).isEmpty());
+
+            reopened.mergeSegments();
+
+            assertEquals(1, reopened.segmentCount());
+            assertTrue(reopened.search("parliament", 10).isEmpty());
+            assertFalse(directory.resolve("deleted.ids").toFile().exists());
+
+            reopened.index(article(1, "Budget", "parliament budget vote"));
+            assertEquals(List.of(1L), reopened.search("parliament", 10).stream().map(SearchHit::articleId).toList());
+        }
+    }
+
+    @Test
+    void statisticsOnlyCountLiveCopies() throws IOException {
+        try (InvertedIndex stale = InvertedIndex.open(directory.resolve("stale"), 1);
+             InvertedIndex fresh = InvertedIndex.open(directory.resolve("fresh"), 100)) {
+            for (int version = 0; version < 5; version++) {
+                stale.index(article(1, "Rates", "central bank rates"));
+            }
+            stale.index(article(2, "Deleted", "central bank rates hike"));
+            stale.delete(2);
+            stale.index(article(3, "Other", "weather"));
+            fresh.index(article(1, "Rates", "central bank rates"));
+            fresh.index(article(3, "Other", "weather"));
+
+            assertEquals(fresh.search("bank", 10).get(0).score(), stale.search("bank", 10).get(0).score(), 1e-9);
+        }
+    }
+
+        @Test
+    void clearRemovesEverything() throws IOException {
+        try (InvertedIndex index = InvertedIndex.open(directory, 1)) {
+            index.index(article(1, "Something", "searchable"));
+            index.clear();
+
+            assertFalse(index.contains(1));
+            assertTrue(index.search("searchable", 10).isEmpty());
+        }
+    }
+}
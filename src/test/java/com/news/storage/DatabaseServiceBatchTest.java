@@ -0,0 +1,169 @@
+package com.news.storage;
+
+import com.news.metrics.MetricsRegistry;
+import com.news.model.Article;
+import com.news.search.InvertedIndex;
+import com.news.storage.inter.ArticleRepository;
+import com.news.storage.inter.ArticleStatsRepository;
+import com.news.storage.inter.ArticleTagLinker;
+import com.news.storage.inter.TagRepository;
+import com.news.storage.pool.ConnectionPool;
+import com.news.storage.pool.PoolStats;
+import com.news.storage.util.StorageException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DatabaseServiceBatchTest {
+
+    @Mock
+    private ConnectionPool pool;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    @Mock
+    private TagRepository tagRepository;
+
+    @Mock
+    private ArticleTagLinker articleTagLinker;
+
+    @Mock
+    private ArticleStatsRepository articleStatsRepository;
+
+    private DatabaseService databaseService;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        lenient().when(pool.borrow()).thenReturn(connection);
+        databaseService = new DatabaseService(new ConnectionProvider(pool), null,
+                articleRepository, tagRepository, articleTagLinker, articleStatsRepository);
+    }
+
+    @Test
+    void savesLargeBatchesInChunksAndFoldsRepeatedUrls() {
+        List<Article> articles = articles(1200);
+        articles.add(Article.builder().url("https://example.com/0").title("again").build());
+        List<Integer> chunkSizes = new ArrayList<>();
+        when(articleRepository.upsertAll(anyList())).thenAnswer(invocation -> {
+            List<Article> chunk = invocation.getArgument(0);
+            chunkSizes.add(chunk.size());
+            return idsOf(chunk);
+        });
+
+        int saved = databaseService.saveArticles(articles);
+
+        assertEquals(1200, saved);
+        assertEquals(List.of(500, 500, 200), chunkSizes);
+        assertEquals(1L, articles.get(1).getId());
+        assertEquals(1199L, articles.get(1199).getId());
+        // the folded repeat is reported as stored too
+        assertEquals(0L, articles.get(1200).getId());
+        verifyNoInteractions(tagRepository, articleTagLinker);
+    }
+
+    @Test
+    void resolvesTagsOncePerChunkAndLinksThemInOneCall() throws SQLException {
+        List<Article> articles = articles(3);
+        articles.get(0).setTags(List.of("Economy", "Energy"));
+        articles.get(1).setTags(List.of("Energy"));
+        when(articleRepository.upsertAll(anyList())).thenAnswer(invocation -> idsOf(invocation.getArgument(0)));
+        when(tagRepository.getOrCreateTagIds(anyCollection())).thenReturn(Map.of("Economy", 10, "Energy", 11));
+
+        databaseService.saveArticles(articles);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<String>> names = ArgumentCaptor.forClass(Collection.class);
+        verify(tagRepository).getOrCreateTagIds(names.capture());
+        assertEquals(Set.of("Economy", "Energy"), Set.copyOf(names.getValue()));
+        verify(articleTagLinker).linkArticleTags(Map.of(0L, Set.of(10, 11), 1L, Set.of(11)));
+        verify(connection).commit();
+    }
+
+    @Test
+    void fallsBackToPerArticleSavesWhenAChunkFails() throws SQLException {
+        List<Article> articles = articles(3);
+        when(articleRepository.upsertAll(anyList())).thenThrow(new StorageException("batch failed", null));
+        when(articleRepository.findByUrl(anyString())).thenReturn(Optional.empty());
+        when(articleRepository.findIdByUrl(anyString())).thenReturn(Optional.of(7L));
+        doNothing().when(articleRepository).save(argThat(article -> !article.getUrl().endsWith("/1")));
+        doThrow(new StorageException("bad row", null)).when(articleRepository)
+                .save(argThat(article -> article.getUrl().endsWith("/1")));
+
+        int saved = databaseService.saveArticles(articles);
+
+        assertEquals(2, saved);
+        verify(articleRepository, times(3)).save(any());
+        // the failed chunk and the failed article are both rolled back
+        verify(connection, times(2)).rollback();
+        verify(connection, times(2)).commit();
+    }
+
+    @Test
+    void deleteArticleDropsItFromTheSearchIndex(@TempDir Path directory) throws IOException {
+        try (InvertedIndex index = InvertedIndex.open(directory, 1)) {
+            index.index(Article.builder().id(5L).title("Doomed").content("doomed article").build());
+            DatabaseService service = new DatabaseService(new ConnectionProvider(pool), index,
+                    articleRepository, tagRepository, articleTagLinker, articleStatsRepository);
+
+            service.deleteArticle(5L);
+
+            verify(articleRepository).deleteById(5L);
+            assertTrue(index.search("doomed", 10).isEmpty());
+        }
+    }
+
+        @Test
+    void exportsPoolStatsAsMetrics() {
+        MetricsRegistry metrics = new MetricsRegistry();
+        when(pool.stats()).thenReturn(new PoolStats(10, 4, 3, 1, 2, 120, 5, 1, 0, 0, 1.5));
+
+        databaseService.registerPoolMetrics(metrics);
+        String scrape = metrics.scrape();
+
+        assertTrue(scrape.contains("news_db_pool_connections{state=\"active\"} 3\n"));
+        assertTrue(scrape.contains("news_db_pool_waiting_threads 2\n"));
+        assertTrue(scrape.contains("news_db_pool_average_wait_ms 1.5\n"));
+        assertTrue(scrape.contains("# TYPE news_db_pool_borrows_total counter\nnews_db_pool_borrows_total 120\n"));
+    }
+
+    private static List<Article> articles(int count) {
+        List<Article> articles = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            articles.add(Article.builder().url("https://example.com/" + i).title("Article " + i).build());
+        }
+        return articles;
+    }
+
+    private static Map<String, Long> idsOf(List<Article> chunk) {
+        Map<String, Long> ids = new HashMap<>();
+        for (Article article : chunk) {
+            ids.put(article.getUrl(), Long.parseLong(article.getUrl().substring(article.getUrl().lastIndexOf('/') + 1)));
+        }
+        return ids;
+    }
+}
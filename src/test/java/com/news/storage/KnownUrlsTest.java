@@ -0,0 +1,61 @@
+package com.news.storage;
+
+import com.news.model.Article;
+import com.news.storage.inter.ArticleRepository;
+import com.news.storage.inter.ArticleStatsRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class KnownUrlsTest {
+
+    private static Article article(String url) {
+        return Article.builder().url(url).build();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void dropsStoredUrlsAndOnlyAsksTheDatabaseAboutCandidates() {
+        ArticleRepository repository = mock(ArticleRepository.class);
+        ArticleStatsRepository stats = mock(ArticleStatsRepository.class);
+        when(stats.countAllArticles()).thenReturn(2L);
+        doAnswer(invocation -> {
+            Consumer<String> action = invocation.getArgument(1);
+            action.accept("https://example.com/old");
+            action.accept("https://example.com/deleted");
+            return null;
+        }).when(repository).forEachUrl(anyInt(), any());
+        when(repository.findExistingUrls(any())).thenReturn(Set.of("https://example.com/old"));
+        KnownUrls knownUrls = new KnownUrls(repository, stats, true);
+
+        List<Article> fresh = knownUrls.dropKnown(List.of(
+                article("https://example.com/old"),
+                article("https://example.com/new"),
+                article("https://example.com/deleted")));
+
+        assertEquals(List.of("https://example.com/new", "https://example.com/deleted"),
+                fresh.stream().map(Article::getUrl).toList());
+        verify(repository).findExistingUrls(argThat(urls -> !urls.contains("https://example.com/new")));
+    }
+
+    @Test
+    void savedUrlsBecomeCandidates() {
+        ArticleRepository repository = mock(ArticleRepository.class);
+        KnownUrls knownUrls = new KnownUrls(repository, mock(ArticleStatsRepository.class), true);
+        List<Article> batch = List.of(article("https://example.com/a"));
+
+        assertEquals(batch, knownUrls.dropKnown(batch));
+        verify(repository, never()).findExistingUrls(any());
+
+        when(repository.findExistingUrls(any())).thenReturn(Set.of("https://example.com/a"));
+        knownUrls.addAll(batch);
+
+        assertTrue(knownUrls.dropKnown(batch).isEmpty());
+    }
+}
@@ -0,0 +1,136 @@
+package com.news.storage;
+
+import com.news.model.Article;
+import com.news.model.ArticleStatus;
+import com.news.storage.impl.JdbcTagRepository;
+import com.news.storage.pool.ConnectionPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs the batch SQL against a real PostgreSQL. Skipped unless TEST_DB_URL (plus
+ * TEST_DB_USERNAME and TEST_DB_PASSWORD) points at a scratch database: its public schema is
+ * dropped and recreated from initdb/init.sql before every test.
+ */
+class PostgresStorageTest {
+    private static final String URL = System.getenv("TEST_DB_URL");
+    private static final String USER = System.getenv("TEST_DB_USERNAME");
+    private static final String PASSWORD = System.getenv("TEST_DB_PASSWORD");
+
+    private ConnectionPool pool;
+    private DatabaseService databaseService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        assumeTrue(URL != null, "TEST_DB_URL is not set");
+
+        try (Connection connection = connect(); Statement stmt = connection.createStatement()) {
+            stmt.execute("DROP SCHEMA public CASCADE");
+            stmt.execute("CREATE SCHEMA public");
+            stmt.execute(Files.readString(Path.of("initdb/init.sql")));
+        }
+
+        pool = new ConnectionPool(PostgresStorageTest::connect, 4, 0, Duration.ofMinutes(1), Duration.ofSeconds(10));
+        databaseService = new DatabaseService(new ConnectionProvider(pool));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    void batchUpsertKeepsStoredValuesTheNewRowLacks() {
+        databaseService.saveArticles(List.of(Article.builder()
+                .url("https://example.com/1").title("Old").content("Body")
+                .status(ArticleStatus.ANALYZED).rating(70).build()));
+
+        // a re-parsed copy: no content, RAW, unrated
+        databaseService.saveArticles(List.of(Article.builder()
+                .url("https://example.com/1").title("New").status(ArticleStatus.RAW).build()));
+
+        Article merged = databaseService.getArticleRepository().findByUrl("https://example.com/1").orElseThrow();
+        assertEquals("New", merged.getTitle());
+        assertEquals("Body", merged.getContent());
+        assertEquals(ArticleStatus.ANALYZED, merged.getStatus());
+        assertEquals(70, merged.getRating());
+
+        databaseService.saveArticles(List.of(Article.builder().url("https://example.com/1").rating(40).build()));
+
+        assertEquals(40, databaseService.getArticleRepository().findByUrl("https://example.com/1").orElseThrow().getRating());
+    }
+
+    @Test
+    void batchSaveLinksTagsAcrossChunks() throws SQLException {
+        List<Article> articles = new ArrayList<>();
+        for (int i = 0; i < 1100; i++) {
+            articles.add(Article.builder()
+                    .url("https://example.com/" + i)
+                    .tags(new ArrayList<>(List.of("tag" + i % 3, "all")))
+                    .build());
+        }
+
+        assertEquals(1100, databaseService.saveArticles(articles));
+
+        assertEquals(4, count("SELECT count(*) FROM tags"));
+        assertEquals(2200, count("SELECT count(*) FROM article_tags"));
+    }
+
+    @Test
+    void tagInsertedByAConcurrentTransactionIsStillResolved() throws Exception {
+        JdbcTagRepository tags = new JdbcTagRepository(new ConnectionProvider(pool));
+
+        try (Connection other = connect(); ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            other.setAutoCommit(false);
+            try (Statement stmt = other.createStatement()) {
+                stmt.executeUpdate("INSERT INTO tags (name) VALUES ('Energy')");
+            }
+
+            // the insert waits on the other transaction's uncommitted row, then skips it
+            Future<Map<String, Integer>> resolved = executor.submit(() -> tags.getOrCreateTagIds(List.of("Energy", "Economy")));
+            Thread.sleep(300);
+            assertFalse(resolved.isDone());
+            other.commit();
+
+            Map<String, Integer> ids = resolved.get(10, TimeUnit.SECONDS);
+            assertEquals(Set.of("Energy", "Economy"), ids.keySet());
+            assertEquals(1, ids.get("Energy"));
+        }
+    }
+
+    private long count(String sql) throws SQLException {
+        try (Connection connection = connect();
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(URL, USER, PASSWORD);
+    }
+}
@@ -0,0 +1,94 @@
+package com.news.storage.pool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ConnectionPoolTest {
+
+    private final List<Connection> created = new ArrayList<>();
+    private ConnectionPool pool;
+
+    private ConnectionPool newPool(int maxSize, Duration borrowTimeout) throws SQLException {
+        pool = new ConnectionPool(() -> {
+            Connection connection = mock(Connection.class);
+            when(connection.getAutoCommit()).thenReturn(true);
+            created.add(connection);
+            return connection;
+        }, maxSize, 0, Duration.ofMinutes(5), borrowTimeout);
+        return pool;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    void closingBorrowedConnectionReturnsItToPool() throws SQLException {
+        newPool(2, Duration.ofSeconds(1));
+
+        Connection first = pool.borrow();
+        first.close();
+        Connection second = pool.borrow();
+        second.close();
+
+        assertEquals(1, created.size());
+        verify(created.get(0), never()).close();
+        assertEquals(1, pool.stats().idle());
+        assertEquals(2, pool.stats().borrowCount());
+    }
+
+    @Test
+    void borrowTimesOutWhenPoolIsExhausted() throws SQLException {
+        newPool(1, Duration.ofMillis(50));
+
+        try (Connection ignored = pool.borrow()) {
+            assertThrows(SQLException.class, () -> pool.borrow());
+        }
+
+        assertEquals(1, pool.stats().timeoutCount());
+        assertDoesNotThrow(() -> pool.borrow().close());
+    }
+
+    @Test
+    void returnedConnectionIsRolledBackAndResetToAutoCommit() throws SQLException {
+        newPool(1, Duration.ofSeconds(1));
+
+        Connection connection = pool.borrow();
+        Connection physical = created.get(0);
+        when(physical.getAutoCommit()).thenReturn(false);
+        connection.close();
+
+        verify(physical).rollback();
+        verify(physical).setAutoCommit(true);
+        assertThrows(SQLException.class, () -> connection.prepareStatement("SELECT 1"));
+    }
+
+    @Test
+    void brokenConnectionIsDestroyedInsteadOfReused() throws SQLException {
+        newPool(1, Duration.ofSeconds(1));
+
+        Connection connection = pool.borrow();
+        Connection physical = created.get(0);
+        when(physical.prepareStatement(anyString())).thenThrow(new SQLException("socket closed", "08006"));
+
+        assertThrows(SQLException.class, () -> connection.prepareStatement("SELECT 1"));
+        connection.close();
+
+        verify(physical).close();
+        assertEquals(0, pool.stats().total());
+        pool.borrow().close();
+        assertEquals(2, created.size());
+    }
+}